@@ -1,14 +1,11 @@
 package com.acme.prism.common;
 
-import cn.hutool.core.lang.Opt;
-import com.acme.prism.core.parser.TypeResolver;
-import com.intellij.psi.*;
+import com.intellij.psi.CommonClassNames;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
 import com.intellij.psi.util.InheritanceUtil;
 
-import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 
 /**
  * 集合类型处理程序
@@ -24,135 +21,50 @@ public class CollectionTypeHandler {
      * @return boolean
      */
     public static boolean isCollection(final PsiClassType type) {
-        return isSubType(type, CommonClassNames.JAVA_UTIL_COLLECTION) ||
-                isSubType(type, CommonClassNames.JAVA_UTIL_LIST) ||
-                isSubType(type, CommonClassNames.JAVA_UTIL_SET);
+        return Objects.nonNull(type) && isCollection(type.resolve());
     }
 
     /**
-     * 是`Map`
+     * 是集合
      *
-     * @param type 类型
+     * @param psiClass 已解析的类
      * @return boolean
      */
-    public static boolean isMap(final PsiClassType type) {
-        return isSubType(type, CommonClassNames.JAVA_UTIL_MAP);
-    }
-
-    /**
-     * 处理数组
-     *
-     * @param arrayType 数组类型
-     * @param processed 处理
-     * @return {@link Object }
-     */
-    public static Object handleArray(final PsiArrayType arrayType, final Set<PsiClass> processed) {
-        if (Objects.isNull(arrayType)) {
-            return null;
-        }
-        final PsiType componentType = arrayType.getComponentType();
-        final Object element = TypeResolver.resolve(componentType, processed);
-        return componentType instanceof PsiPrimitiveType ?
-                createPrimitiveArray((PsiPrimitiveType) componentType, element) :
-                new Object[]{element};
-    }
-
-    /**
-     * 处理集合
-     *
-     * @param type      类型
-     * @param processed 处理
-     * @return {@link Object }
-     */
-    public static Object handleCollection(final PsiClassType type, final Set<PsiClass> processed) {
-        return Opt.ofNullable(TypeResolver.resolve(GenericInfo.fromCollection(type).elementType(), processed))
-                .map(List::of)
-                .orElseGet(List::of);
+    public static boolean isCollection(final PsiClass psiClass) {
+        return isSubType(psiClass, CommonClassNames.JAVA_UTIL_COLLECTION) ||
+                isSubType(psiClass, CommonClassNames.JAVA_UTIL_LIST) ||
+                isSubType(psiClass, CommonClassNames.JAVA_UTIL_SET);
     }
 
     /**
-     * 处理`Map`
+     * 是`Map`
      *
-     * @param type      类型
-     * @param processed 处理
-     * @return {@link Object }
+     * @param type 类型
+     * @return boolean
      */
-    public static Object handleMap(final PsiClassType type, final Set<PsiClass> processed) {
-        final GenericInfo genericInfo = GenericInfo.fromMap(type);
-        final Object key = TypeResolver.resolve(genericInfo.keyType(), processed);
-        final Object value = TypeResolver.resolve(genericInfo.valueType(), processed);
-        return Map.ofEntries(Map.entry(
-                Opt.ofNullable(key).orElse(""), Opt.ofNullable(value).orElse("")
-        ));
+    public static boolean isMap(final PsiClassType type) {
+        return Objects.nonNull(type) && isMap(type.resolve());
     }
 
     /**
-     * 创建基本数组
+     * 是`Map`
      *
-     * @param type  类型
-     * @param value 价值
-     * @return {@link Object }
+     * @param psiClass 已解析的类
+     * @return boolean
      */
-    private static Object createPrimitiveArray(final PsiPrimitiveType type, final Object value) {
-        final String typeName = type.getCanonicalText();
-        if ("byte".equals(typeName) && value instanceof byte[]) {
-            return value;
-        }
-        return switch (typeName) {
-            case "int" -> new int[]{(int) value};
-            case "char" -> new char[]{(char) value};
-            case "byte" -> new byte[]{(byte) value};
-            case "long" -> new long[]{(long) value};
-            case "float" -> new float[]{(float) value};
-            case "short" -> new short[]{(short) value};
-            case "double" -> new double[]{(double) value};
-            case "boolean" -> new boolean[]{(boolean) value};
-            default -> new Object[]{value};
-        };
+    public static boolean isMap(final PsiClass psiClass) {
+        return isSubType(psiClass, CommonClassNames.JAVA_UTIL_MAP);
     }
 
     /**
      * 是子类型
      *
-     * @param type      类型
+     * @param psiClass  已解析的类（泛型擦除后的原始类）
      * @param superType 超级类型
      * @return boolean
      */
-    private static boolean isSubType(final PsiClassType type, final String superType) {
-        if (Objects.isNull(type)) {
-            return Boolean.FALSE;
-        }
-        // 获取PSI类（resolve 结果即为泛型擦除后的原始类）
-        final PsiClass psiClass = type.resolve();
+    private static boolean isSubType(final PsiClass psiClass, final String superType) {
         if (Objects.isNull(psiClass)) return Boolean.FALSE;
         return InheritanceUtil.isInheritor(psiClass, superType);
     }
-
-    /**
-     * 通用信息
-     *
-     * @author 拒绝者
-     * @date 2025-01-25
-     */
-    private record GenericInfo(PsiType keyType, PsiType valueType, PsiType elementType) {
-        public static GenericInfo fromCollection(PsiClassType type) {
-            final var types = type.getParameters();
-            return new GenericInfo(null, null, types.length > 0 ? types[0] : null);
-        }
-
-        /**
-         * 将对象转为`Map`
-         *
-         * @param type 类型
-         * @return {@link GenericInfo }
-         */
-        public static GenericInfo fromMap(final PsiClassType type) {
-            final var types = type.getParameters();
-            return new GenericInfo(
-                    types.length > 0 ? types[0] : null,
-                    types.length > 1 ? types[1] : null,
-                    null
-            );
-        }
-    }
-}
\ No newline at end of file
+}
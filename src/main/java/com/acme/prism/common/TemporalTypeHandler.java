@@ -48,38 +48,57 @@ public class TemporalTypeHandler {
                 .isPresent();
     }
 
+    /**
+     * 支持处理的时间类型
+     *
+     * @return {@link Set }<{@link String }>
+     */
+    public static Set<String> supportedTypes() {
+        return TEMPORAL_TYPES;
+    }
+
     /**
      * 格式化当前时间为指定类型的字符串表示
      *
      * @param temporalClass 时态类
      * @return {@link String }
      */
-    @SuppressWarnings("DataFlowIssue")
     public static String format(final PsiClass temporalClass) {
         return Opt.ofNullable(temporalClass)
                 .map(PsiClass::getQualifiedName)
-                .map(className -> {
-                    final Temporal temporal = createTemporalInstance(className);
-                    final DateTimeFormatter formatter = FORMATTERS.get(className);
-                    return Objects.nonNull(formatter) && Objects.nonNull(temporal) ? formatter.format(temporal) : "";
-                }).orElse("");
+                .map(className -> format(className, Clock.systemDefaultZone()))
+                .orElse("");
+    }
+
+    /**
+     * 按时钟格式化指定类型的时间（时钟时区同时用于无时区信息的格式化，如 {@code java.util.Date}）
+     *
+     * @param className 时间类全限定名
+     * @param clock     时钟
+     * @return {@link String }
+     */
+    public static String format(final String className, final Clock clock) {
+        final Temporal temporal = createTemporalInstance(className, clock);
+        final DateTimeFormatter formatter = FORMATTERS.get(className);
+        return Objects.nonNull(formatter) && Objects.nonNull(temporal) ? formatter.withZone(clock.getZone()).format(temporal) : "";
     }
 
     /**
      * 创建对应时间类型的当前实例
      *
      * @param className 类名
+     * @param clock     时钟
      * @return Temporal
      */
-    private static Temporal createTemporalInstance(final String className) {
+    private static Temporal createTemporalInstance(final String className, final Clock clock) {
         return switch (className) {
-            case "java.util.Date" -> ZonedDateTime.now().toInstant();
-            case "java.time.LocalTime" -> LocalTime.now();
-            case "java.time.LocalDate" -> LocalDate.now();
-            case "java.time.LocalDateTime" -> LocalDateTime.now();
-            case "java.time.OffsetDateTime" -> OffsetDateTime.now();
-            case "java.time.ZonedDateTime" -> ZonedDateTime.now();
-            case "java.time.Instant" -> Instant.now();
+            case "java.util.Date" -> ZonedDateTime.now(clock).toInstant();
+            case "java.time.LocalTime" -> LocalTime.now(clock);
+            case "java.time.LocalDate" -> LocalDate.now(clock);
+            case "java.time.LocalDateTime" -> LocalDateTime.now(clock);
+            case "java.time.OffsetDateTime" -> OffsetDateTime.now(clock);
+            case "java.time.ZonedDateTime" -> ZonedDateTime.now(clock);
+            case "java.time.Instant" -> Instant.now(clock);
             default -> null;
         };
     }
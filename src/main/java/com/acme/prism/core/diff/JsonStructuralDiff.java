@@ -0,0 +1,612 @@
+package com.acme.prism.core.diff;
+
+import cn.hutool.core.util.StrUtil;
+import com.acme.prism.core.parser.JsonScanner;
+import com.alibaba.fastjson2.JSON;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * JSON 结构化差异
+ * <p>
+ * 直接在两份原文的偏移上比较，不构建 DOM。每个值有一个与格式无关的 64 位结构哈希（对象与键顺序无关，
+ * 数值按大小，字符串按解码后的内容），较大容器的哈希按起始偏移缓存，整棵树只计算一次；
+ * 自顶向下比较时哈希相同的子树直接跳过（Merkle 剪枝），只下钻到真正不同的分支
+ * <p>
+ * 数组先剪掉首尾相同的元素，中间部分按哈希配对内容相同的元素（移位的相同元素不报告）；
+ * 剩余元素若都是带匹配键的对象则按键值配对，否则按顺序两两比较。
+ * 变更按深度优先顺序逐条交给接收方，接收方可随时中止
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public final class JsonStructuralDiff {
+    /**
+     * 缓存哈希的最小容器长度（字符），更小的容器重算比查表更便宜
+     */
+    static final int HASH_CACHE_MIN_LENGTH = 256;
+    /**
+     * 最大比较深度（更深的子树按原文整体比较，避免极深嵌套栈溢出）
+     */
+    private static final int MAX_DEPTH = 512;
+    /**
+     * 可直接用点号表示的键
+     */
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_$][A-Za-z0-9_$]*");
+    /**
+     * 指数形式的整数展开为整数字面量的最大补零位数
+     */
+    private static final int INTEGER_DIGITS = 32;
+    private static final long OBJECT_SEED = 0x9E3779B97F4A7C15L;
+    private static final long ARRAY_SEED = 0xC2B2AE3D27D4EB4FL;
+    private static final long STRING_SEED = 0x165667B19E3779F9L;
+    private static final long LITERAL_SEED = 0x27D4EB2F165667C5L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    /**
+     * 数组元素匹配键（为空时不按键匹配）
+     */
+    private final String arrayKey;
+
+    /**
+     * JSON 结构化差异
+     *
+     * @param arrayKey 数组元素匹配键（如 id，为空时不按键匹配）
+     */
+    public JsonStructuralDiff(final String arrayKey) {
+        this.arrayKey = StrUtil.isBlank(arrayKey) ? null : arrayKey.trim();
+    }
+
+    /**
+     * 比较两份 JSON
+     *
+     * @param left  原 JSON
+     * @param right 新 JSON
+     * @param sink  变更接收方（返回 false 中止比较）
+     * @return 是否比较完整（接收方中止时为 false）
+     * @throws IllegalArgumentException 任一文本不是合法 JSON
+     */
+    public boolean diff(final String left, final String right, final Predicate<Change> sink) {
+        final Side oldSide = new Side(left);
+        final Side newSide = new Side(right);
+        final Run run = new Run(oldSide, newSide, sink);
+        run.compare(oldSide.rootStart, oldSide.rootEnd, newSide.rootStart, newSide.rootEnd, null, 0);
+        return !run.stopped;
+    }
+
+    /**
+     * 比较两份 JSON 并收集全部变更
+     *
+     * @param left  原 JSON
+     * @param right 新 JSON
+     * @return {@link List }<{@link Change }>
+     * @throws IllegalArgumentException 任一文本不是合法 JSON
+     */
+    public List<Change> diff(final String left, final String right) {
+        final List<Change> changes = new ArrayList<>();
+        this.diff(left, right, changes::add);
+        return changes;
+    }
+
+    /**
+     * 变更类型
+     */
+    public enum ChangeType {
+        /**
+         * 新增
+         */
+        ADDED,
+        /**
+         * 删除
+         */
+        REMOVED,
+        /**
+         * 修改
+         */
+        CHANGED
+    }
+
+    /**
+     * 路径级变更
+     *
+     * @param type     变更类型
+     * @param segments 路径片段（如 .name、[3]；根节点为空）
+     * @param oldStart 原值起始偏移（新增时为 -1）
+     * @param oldEnd   原值结束偏移（不含，新增时为 -1）
+     * @param newStart 新值起始偏移（删除时为 -1）
+     * @param newEnd   新值结束偏移（不含，删除时为 -1）
+     */
+    public record Change(ChangeType type, List<String> segments, int oldStart, int oldEnd, int newStart, int newEnd) {
+        /**
+         * JSON 路径
+         *
+         * @return {@link String }
+         */
+        public String path() {
+            return "$" + String.join("", this.segments);
+        }
+    }
+
+    /**
+     * 路径片段链（只在产生变更时展开为列表）
+     *
+     * @param parent 上级
+     * @param text   片段
+     */
+    private record Segment(Segment parent, String text) {
+        private List<String> toList() {
+            final LinkedList<String> segments = new LinkedList<>();
+            for (Segment segment = this; Objects.nonNull(segment); segment = segment.parent) {
+                segments.addFirst(segment.text);
+            }
+            return List.copyOf(segments);
+        }
+    }
+
+    /**
+     * 数组元素
+     *
+     * @param ranges 元素区间（[start0, end0, start1, end1, ...]）
+     * @param hashes 元素结构哈希
+     */
+    private record Items(int[] ranges, long[] hashes) {
+    }
+
+    /**
+     * 一侧文档（原文与容器哈希缓存）
+     */
+    private static final class Side {
+        private final String source;
+        private final int rootStart;
+        private final int rootEnd;
+        /**
+         * 容器起始偏移 → 结构哈希
+         */
+        private final Map<Integer, Long> hashes = new HashMap<>();
+        /**
+         * 最近一次扫描的结束偏移
+         */
+        private int cursor;
+
+        private Side(final String source) {
+            final int length = source.length();
+            final int start = JsonScanner.skipWhitespace(source, 0, length);
+            final int end = start < length ? JsonScanner.skipValue(source, start, length) : JsonScanner.INVALID;
+            if (end == JsonScanner.INVALID || JsonScanner.skipWhitespace(source, end, length) != length) {
+                throw new IllegalArgumentException("Not a valid JSON document");
+            }
+            this.source = source;
+            this.rootStart = start;
+            this.rootEnd = end;
+        }
+
+        /**
+         * 值的结构哈希（容器优先查缓存）
+         */
+        private long hash(final int start, final int depth) {
+            final char first = this.source.charAt(start);
+            if ((first == '{' || first == '[') && depth < MAX_DEPTH) {
+                final Long cached = this.hashes.get(start);
+                if (Objects.nonNull(cached)) {
+                    return cached;
+                }
+            }
+            return this.scan(start, depth);
+        }
+
+        /**
+         * 单遍扫描一个值并计算结构哈希，结束偏移写入 {@link #cursor}；沿途缓存较大容器的哈希
+         * （文本已在构造时校验，此处不再检查语法）
+         */
+        private long scan(final int start, final int depth) {
+            final char first = this.source.charAt(start);
+            if (first == '"') {
+                return this.scanString(start);
+            }
+            if (first != '{' && first != '[') {
+                return this.scanLiteral(start);
+            }
+            if (depth >= MAX_DEPTH) {
+                this.cursor = JsonScanner.skipValue(this.source, start, this.source.length());
+                return hashText(first, this.source, start, this.cursor);
+            }
+            final char close = first == '{' ? '}' : ']';
+            long hash = first == '{' ? OBJECT_SEED : ARRAY_SEED;
+            int count = 0;
+            int index = this.skip(start + 1);
+            while (this.source.charAt(index) != close) {
+                if (first == '{') {
+                    final long key = this.scanString(index);
+                    final int valueStart = this.skip(this.skip(this.cursor) + 1);
+                    // 成员哈希相加，与键顺序无关
+                    hash += mix(key * 31 + this.scan(valueStart, depth + 1));
+                } else {
+                    hash = hash * FNV_PRIME + this.scan(index, depth + 1);
+                }
+                count++;
+                index = this.skip(this.cursor);
+                if (this.source.charAt(index) == ',') {
+                    index = this.skip(index + 1);
+                }
+            }
+            this.cursor = index + 1;
+            final long result = mix(hash ^ count);
+            if (this.cursor - start >= HASH_CACHE_MIN_LENGTH) {
+                this.hashes.put(start, result);
+            }
+            return result;
+        }
+
+        /**
+         * 字符串哈希（按解码后的内容；无转义时直接在原文上计算，不创建子串）
+         */
+        private long scanString(final int start) {
+            long hash = STRING_SEED;
+            for (int index = start + 1; ; index++) {
+                final char c = this.source.charAt(index);
+                if (c == '"') {
+                    this.cursor = index + 1;
+                    return mix(hash ^ (index - start - 1));
+                }
+                if (c == '\\') {
+                    this.cursor = JsonScanner.skipString(this.source, start, this.source.length());
+                    return hashText(STRING_SEED, this.string(start, this.cursor), 0, -1);
+                }
+                hash = (hash ^ c) * FNV_PRIME;
+            }
+        }
+
+        /**
+         * 标量字面量哈希（带小数或指数的数值先按大小归一）
+         */
+        private long scanLiteral(final int start) {
+            final int length = this.source.length();
+            long hash = LITERAL_SEED;
+            boolean decimal = Boolean.FALSE;
+            int index = start;
+            while (index < length) {
+                final char c = this.source.charAt(index);
+                if (c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) {
+                    break;
+                }
+                decimal |= c == '.' || c == 'e' || c == 'E';
+                hash = (hash ^ c) * FNV_PRIME;
+                index++;
+            }
+            this.cursor = index;
+            final char first = this.source.charAt(start);
+            return decimal && (first == '-' || Character.isDigit(first))
+                    ? hashText(LITERAL_SEED, this.literal(start, index), 0, -1)
+                    : mix(hash ^ (index - start));
+        }
+
+        private int skip(final int pos) {
+            return JsonScanner.skipWhitespace(this.source, pos, this.source.length());
+        }
+
+        /**
+         * 解码字符串字面量（无转义时直接截取）
+         */
+        private String string(final int start, final int end) {
+            return JsonScanner.hasEscape(this.source, start, end)
+                    ? JSON.parseObject(this.source.substring(start, end), String.class)
+                    : this.source.substring(start + 1, end - 1);
+        }
+
+        /**
+         * 规范化字面量（带小数或指数的数值按大小归一，1.0 与 1 相同）
+         */
+        private String literal(final int start, final int end) {
+            final String text = this.source.substring(start, end);
+            final boolean number = text.charAt(0) == '-' || Character.isDigit(text.charAt(0));
+            final boolean decimal = number && (text.indexOf('.') >= 0 || text.indexOf('e') >= 0 || text.indexOf('E') >= 0);
+            if (!decimal) {
+                return text;
+            }
+            final BigDecimal value = new BigDecimal(text).stripTrailingZeros();
+            // 整数值输出为与整数字面量相同的形式（1e1、10.0 与 10 相同）
+            return value.scale() <= 0 && value.scale() > -INTEGER_DIGITS ? value.toBigInteger().toString() : value.toString();
+        }
+
+        /**
+         * 下一个元素或成员的起始偏移（已到末尾时返回 end）
+         */
+        private int nextSibling(final int pos, final int end) {
+            final int index = JsonScanner.skipWhitespace(this.source, pos, end);
+            return index < end && this.source.charAt(index) == ',' ? JsonScanner.skipWhitespace(this.source, index + 1, end) : end;
+        }
+
+        /**
+         * 数组元素的区间与结构哈希（单遍扫描，供首尾剪枝与配对共用）
+         */
+        private Items items(final int start, final int depth) {
+            int[] ranges = new int[16];
+            long[] hashes = new long[8];
+            int count = 0;
+            int index = this.skip(start + 1);
+            while (this.source.charAt(index) != ']') {
+                if (count == hashes.length) {
+                    hashes = Arrays.copyOf(hashes, count * 2);
+                    ranges = Arrays.copyOf(ranges, count * 4);
+                }
+                hashes[count] = this.scan(index, depth);
+                ranges[count * 2] = index;
+                ranges[count * 2 + 1] = this.cursor;
+                count++;
+                index = this.skip(this.cursor);
+                if (this.source.charAt(index) == ',') {
+                    index = this.skip(index + 1);
+                }
+            }
+            return new Items(Arrays.copyOf(ranges, count * 2), Arrays.copyOf(hashes, count));
+        }
+
+        /**
+         * 对象中指定键的值区间（不存在时为 null，只扫描不建表）
+         */
+        private int[] member(final int start, final int end, final String name) {
+            int index = JsonScanner.skipWhitespace(this.source, start + 1, end);
+            while (index < end && this.source.charAt(index) == '"') {
+                final int keyEnd = JsonScanner.skipString(this.source, index, end);
+                final int valueStart = JsonScanner.skipMember(this.source, index, end);
+                final int valueEnd = JsonScanner.skipValue(this.source, valueStart, end);
+                final boolean matches = JsonScanner.hasEscape(this.source, index, keyEnd)
+                        ? name.equals(this.string(index, keyEnd))
+                        : keyEnd - index - 2 == name.length() && this.source.startsWith(name, index + 1);
+                if (matches) {
+                    return new int[]{valueStart, valueEnd};
+                }
+                index = this.nextSibling(valueEnd, end);
+            }
+            return null;
+        }
+
+        /**
+         * 对象成员（解码后的键 → [值起始, 值结束]，重复键以最后一个为准）
+         */
+        private Map<String, int[]> members(final int start, final int end) {
+            final Map<String, int[]> members = new LinkedHashMap<>();
+            int index = JsonScanner.skipWhitespace(this.source, start + 1, end);
+            while (index < end && this.source.charAt(index) == '"') {
+                final int keyEnd = JsonScanner.skipString(this.source, index, end);
+                final int valueStart = JsonScanner.skipMember(this.source, index, end);
+                final int valueEnd = JsonScanner.skipValue(this.source, valueStart, end);
+                members.put(this.string(index, keyEnd), new int[]{valueStart, valueEnd});
+                index = this.nextSibling(valueEnd, end);
+            }
+            return members;
+        }
+    }
+
+    /**
+     * 单次比较
+     */
+    private final class Run {
+        private final Side left;
+        private final Side right;
+        private final Predicate<Change> sink;
+        private boolean stopped;
+
+        private Run(final Side left, final Side right, final Predicate<Change> sink) {
+            this.left = left;
+            this.right = right;
+            this.sink = sink;
+        }
+
+        private void compare(final int oldStart, final int oldEnd, final int newStart, final int newEnd, final Segment path, final int depth) {
+            if (this.stopped || this.left.hash(oldStart, depth) == this.right.hash(newStart, depth)) {
+                return;
+            }
+            final char oldFirst = this.left.source.charAt(oldStart);
+            final char newFirst = this.right.source.charAt(newStart);
+            if (depth < MAX_DEPTH && oldFirst == '{' && newFirst == '{') {
+                this.compareObjects(oldStart, oldEnd, newStart, newEnd, path, depth);
+            } else if (depth < MAX_DEPTH && oldFirst == '[' && newFirst == '[') {
+                this.compareArrays(oldStart, oldEnd, newStart, newEnd, path, depth);
+            } else {
+                this.emit(ChangeType.CHANGED, path, oldStart, oldEnd, newStart, newEnd);
+            }
+        }
+
+        private void compareObjects(final int oldStart, final int oldEnd, final int newStart, final int newEnd, final Segment path, final int depth) {
+            final Map<String, int[]> added = this.right.members(newStart, newEnd);
+            for (final Map.Entry<String, int[]> member : this.left.members(oldStart, oldEnd).entrySet()) {
+                final int[] oldValue = member.getValue();
+                final int[] newValue = added.remove(member.getKey());
+                final Segment child = new Segment(path, keySegment(member.getKey()));
+                if (Objects.isNull(newValue)) {
+                    this.emit(ChangeType.REMOVED, child, oldValue[0], oldValue[1], -1, -1);
+                } else {
+                    this.compare(oldValue[0], oldValue[1], newValue[0], newValue[1], child, depth + 1);
+                }
+                if (this.stopped) {
+                    return;
+                }
+            }
+            for (final Map.Entry<String, int[]> member : added.entrySet()) {
+                this.emit(ChangeType.ADDED, new Segment(path, keySegment(member.getKey())), -1, -1, member.getValue()[0], member.getValue()[1]);
+            }
+        }
+
+        private void compareArrays(final int oldStart, final int oldEnd, final int newStart, final int newEnd, final Segment path, final int depth) {
+            final Items oldSide = this.left.items(oldStart, depth + 1);
+            final Items newSide = this.right.items(newStart, depth + 1);
+            final int[] oldItems = oldSide.ranges();
+            final int[] newItems = newSide.ranges();
+            final long[] oldHashes = oldSide.hashes();
+            final long[] newHashes = newSide.hashes();
+            final int oldCount = oldHashes.length;
+            final int newCount = newHashes.length;
+            // 剪掉首尾相同的元素
+            int prefix = 0;
+            while (prefix < oldCount && prefix < newCount && oldHashes[prefix] == newHashes[prefix]) {
+                prefix++;
+            }
+            int suffix = 0;
+            while (suffix < oldCount - prefix && suffix < newCount - prefix
+                    && oldHashes[oldCount - 1 - suffix] == newHashes[newCount - 1 - suffix]) {
+                suffix++;
+            }
+            final int oldLimit = oldCount - suffix;
+            final int newLimit = newCount - suffix;
+            // matched[旧序号 - prefix] = 配对的新序号（-1 未配对）
+            final int[] matched = pairByContent(oldHashes, prefix, oldLimit, newHashes, prefix, newLimit);
+            final boolean[] taken = new boolean[newLimit - prefix];
+            for (final int index : matched) {
+                if (index >= 0) {
+                    taken[index - prefix] = Boolean.TRUE;
+                }
+            }
+            // 内容不同的剩余元素：能按匹配键配对则按键，否则按顺序两两比较
+            if (!this.pairByKey(oldItems, newItems, prefix, matched, taken)) {
+                int next = prefix;
+                for (int offset = 0; offset < matched.length; offset++) {
+                    while (next < newLimit && taken[next - prefix]) {
+                        next++;
+                    }
+                    if (matched[offset] < 0 && next < newLimit) {
+                        matched[offset] = next;
+                        taken[next - prefix] = Boolean.TRUE;
+                    }
+                }
+            }
+            for (int offset = 0; offset < matched.length && !this.stopped; offset++) {
+                final int oldIndex = prefix + offset;
+                final int newIndex = matched[offset];
+                if (newIndex < 0) {
+                    this.emit(ChangeType.REMOVED, new Segment(path, "[%d]".formatted(oldIndex)),
+                            oldItems[oldIndex * 2], oldItems[oldIndex * 2 + 1], -1, -1);
+                } else if (oldHashes[oldIndex] != newHashes[newIndex]) {
+                    this.compare(oldItems[oldIndex * 2], oldItems[oldIndex * 2 + 1], newItems[newIndex * 2], newItems[newIndex * 2 + 1],
+                            new Segment(path, "[%d]".formatted(newIndex)), depth + 1);
+                }
+            }
+            for (int newIndex = prefix; newIndex < newLimit && !this.stopped; newIndex++) {
+                if (!taken[newIndex - prefix]) {
+                    this.emit(ChangeType.ADDED, new Segment(path, "[%d]".formatted(newIndex)),
+                            -1, -1, newItems[newIndex * 2], newItems[newIndex * 2 + 1]);
+                }
+            }
+        }
+
+        /**
+         * 按匹配键配对剩余元素（只提取内容不同的元素的键；任一剩余元素不是带唯一标量键的对象时不配对，返回 false）
+         */
+        private boolean pairByKey(final int[] oldItems, final int[] newItems, final int prefix, final int[] matched, final boolean[] taken) {
+            if (Objects.isNull(JsonStructuralDiff.this.arrayKey)) {
+                return Boolean.FALSE;
+            }
+            final Map<String, Integer> newKeys = new HashMap<>();
+            for (int offset = 0; offset < taken.length; offset++) {
+                if (!taken[offset]) {
+                    final String key = this.keyOf(this.right, newItems, prefix + offset);
+                    if (Objects.isNull(key) || Objects.nonNull(newKeys.put(key, prefix + offset))) {
+                        return Boolean.FALSE;
+                    }
+                }
+            }
+            final String[] oldKeys = new String[matched.length];
+            final Set<String> seen = new HashSet<>();
+            for (int offset = 0; offset < matched.length; offset++) {
+                if (matched[offset] < 0) {
+                    oldKeys[offset] = this.keyOf(this.left, oldItems, prefix + offset);
+                    if (Objects.isNull(oldKeys[offset]) || !seen.add(oldKeys[offset])) {
+                        return Boolean.FALSE;
+                    }
+                }
+            }
+            for (int offset = 0; offset < matched.length; offset++) {
+                final Integer index = Objects.isNull(oldKeys[offset]) ? null : newKeys.get(oldKeys[offset]);
+                if (Objects.nonNull(index)) {
+                    matched[offset] = index;
+                    taken[index - prefix] = Boolean.TRUE;
+                }
+            }
+            return Boolean.TRUE;
+        }
+
+        /**
+         * 元素匹配键的规范值（元素不是对象或键不是标量时为 null）
+         */
+        private String keyOf(final Side side, final int[] items, final int index) {
+            final int start = items[index * 2];
+            if (side.source.charAt(start) != '{') {
+                return null;
+            }
+            final int[] value = side.member(start, items[index * 2 + 1], JsonStructuralDiff.this.arrayKey);
+            if (Objects.isNull(value)) {
+                return null;
+            }
+            final char first = side.source.charAt(value[0]);
+            if (first == '{' || first == '[') {
+                return null;
+            }
+            return first == '"' ? "\"" + side.string(value[0], value[1]) : side.literal(value[0], value[1]);
+        }
+
+        /**
+         * 按内容哈希配对相同元素（同一哈希按出现顺序一一对应）
+         */
+        private static int[] pairByContent(final long[] oldHashes, final int oldFrom, final int oldTo,
+                                           final long[] newHashes, final int newFrom, final int newTo) {
+            final Map<Long, ArrayDeque<Integer>> byHash = new HashMap<>();
+            for (int index = newFrom; index < newTo; index++) {
+                byHash.computeIfAbsent(newHashes[index], _ -> new ArrayDeque<>()).add(index);
+            }
+            final int[] matched = new int[oldTo - oldFrom];
+            for (int index = oldFrom; index < oldTo; index++) {
+                final ArrayDeque<Integer> candidates = byHash.get(oldHashes[index]);
+                matched[index - oldFrom] = Objects.nonNull(candidates) && !candidates.isEmpty() ? candidates.poll() : -1;
+            }
+            return matched;
+        }
+
+        private void emit(final ChangeType type, final Segment path, final int oldStart, final int oldEnd, final int newStart, final int newEnd) {
+            if (this.stopped) {
+                return;
+            }
+            final List<String> segments = Objects.isNull(path) ? List.of() : path.toList();
+            this.stopped = !this.sink.test(new Change(type, segments, oldStart, oldEnd, newStart, newEnd));
+        }
+    }
+
+    /**
+     * 键的路径片段（标识符用点号，其余用方括号）
+     */
+    private static String keySegment(final String key) {
+        return IDENTIFIER.matcher(key).matches() ? "." + key : "['%s']".formatted(key.replace("\\", "\\\\").replace("'", "\\'"));
+    }
+
+    /**
+     * 文本区间哈希（FNV-1a + 末端混合）
+     *
+     * @param seed 类型种子
+     * @param text 文本
+     * @param from 起始偏移
+     * @param to   结束偏移（不含，-1 表示到末尾）
+     * @return long
+     */
+    private static long hashText(final long seed, final String text, final int from, final int to) {
+        final int end = to < 0 ? text.length() : to;
+        long hash = seed;
+        for (int index = from; index < end; index++) {
+            hash = (hash ^ text.charAt(index)) * FNV_PRIME;
+        }
+        return mix(hash ^ (end - from));
+    }
+
+    /**
+     * 64 位末端混合（MurmurHash3 fmix64）
+     */
+    private static long mix(final long value) {
+        long hash = value;
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB93FE1A85EC3L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,209 @@
+package com.acme.prism.core.editor;
+
+import com.acme.prism.core.editor.record.EditorState;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 页签内容存储（每个项目一个二进制文件）
+ * <p>
+ * 文件格式：魔数、版本、页签数，随后按页签顺序依次为
+ * {@code [页签号 int][原文字节数 int][存储字节数 int][Deflate 压缩内容]}。
+ * 原文字节数为 {@link #OMITTED} 表示内容超出单页签预算未保存（页签本身保留）。
+ * <p>
+ * 读取时只扫描各页签头部，内容按需定位解压；保存时内容为 null 的页签（未加载过的懒加载页签）
+ * 直接沿用旧文件中的压缩数据，不解压也不重新压缩。写入临时文件后原子替换
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public final class EditorStateStore {
+    /**
+     * 内容超出预算未保存
+     */
+    public static final int OMITTED = -1;
+    /**
+     * 文件魔数（PRST）
+     */
+    private static final int MAGIC = 0x50525354;
+    /**
+     * 文件版本
+     */
+    private static final int VERSION = 1;
+    /**
+     * 存储文件
+     */
+    private final Path file;
+    /**
+     * 单页签压缩后字节预算
+     */
+    private final int maxTabBytes;
+
+    /**
+     * 页签内容存储
+     *
+     * @param file        存储文件
+     * @param maxTabBytes 单页签压缩后字节预算
+     */
+    public EditorStateStore(final Path file, final int maxTabBytes) {
+        this.file = file;
+        this.maxTabBytes = maxTabBytes;
+    }
+
+    /**
+     * 读取页签列表（只读头部，不解压内容）
+     *
+     * @return {@link List }<{@link Entry }>；文件不存在返回空列表
+     * @throws IOException 读取失败或格式不符
+     */
+    public List<Entry> load() throws IOException {
+        try (final RandomAccessFile input = new RandomAccessFile(this.file.toFile(), "r")) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                throw new IOException("Unsupported tab store: " + this.file);
+            }
+            final int count = input.readInt();
+            final List<Entry> entries = new ArrayList<>(count);
+            for (int index = 0; index < count; index++) {
+                final int editorId = input.readInt();
+                final int length = input.readInt();
+                final int storedLength = input.readInt();
+                entries.add(new Entry(editorId, length, storedLength, input.getFilePointer()));
+                input.seek(input.getFilePointer() + storedLength);
+            }
+            return entries;
+        } catch (final FileNotFoundException e) {
+            return List.of();
+        }
+    }
+
+    /**
+     * 读取并解压页签内容
+     *
+     * @param entry 页签
+     * @return 内容；超出预算未保存时返回空字符串
+     * @throws IOException 读取失败或数据损坏
+     */
+    public String read(final Entry entry) throws IOException {
+        if (entry.omitted()) {
+            return "";
+        }
+        return inflate(this.readStored(entry), entry.length());
+    }
+
+    /**
+     * 保存页签（原子替换）
+     *
+     * @param states 页签状态；内容为 null 的页签沿用旧文件中同页签号的数据
+     * @throws IOException 写入失败
+     */
+    public void save(final List<EditorState> states) throws IOException {
+        final Map<Integer, Entry> previous = new HashMap<>();
+        for (final Entry entry : this.load()) {
+            previous.put(entry.editorId(), entry);
+        }
+        Files.createDirectories(this.file.getParent());
+        final Path temp = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            final List<EditorState> valid = states.stream().filter(Objects::nonNull).filter(state -> Objects.nonNull(state.editorId()))
+                    .filter(state -> Objects.nonNull(state.content()) || previous.containsKey(state.editorId())).toList();
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeInt(valid.size());
+            for (final EditorState state : valid) {
+                output.writeInt(state.editorId());
+                if (Objects.isNull(state.content())) {
+                    // 未加载的页签：原样拷贝压缩数据
+                    final Entry entry = previous.get(state.editorId());
+                    output.writeInt(entry.length());
+                    output.writeInt(entry.storedLength());
+                    output.write(this.readStored(entry));
+                    continue;
+                }
+                final byte[] raw = state.content().getBytes(StandardCharsets.UTF_8);
+                final byte[] stored = deflate(raw);
+                if (stored.length > this.maxTabBytes) {
+                    output.writeInt(OMITTED);
+                    output.writeInt(0);
+                } else {
+                    output.writeInt(raw.length);
+                    output.writeInt(stored.length);
+                    output.write(stored);
+                }
+            }
+        }
+        Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private byte[] readStored(final Entry entry) throws IOException {
+        try (final RandomAccessFile input = new RandomAccessFile(this.file.toFile(), "r")) {
+            final byte[] stored = new byte[entry.storedLength()];
+            input.seek(entry.offset());
+            input.readFully(stored);
+            return stored;
+        }
+    }
+
+    private static byte[] deflate(final byte[] raw) {
+        final Deflater deflater = new Deflater();
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            final byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String inflate(final byte[] stored, final int length) throws IOException {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored);
+            final byte[] raw = new byte[length];
+            int offset = 0;
+            while (offset < length) {
+                final int count = inflater.inflate(raw, offset, length - offset);
+                if (count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated tab content");
+                }
+                offset += count;
+            }
+            return new String(raw, StandardCharsets.UTF_8);
+        } catch (final DataFormatException e) {
+            throw new IOException("Corrupted tab content", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 已保存的页签
+     *
+     * @param editorId     页签号
+     * @param length       原文字节数（{@link #OMITTED} 表示超出预算未保存）
+     * @param storedLength 压缩后字节数
+     * @param offset       压缩数据在文件中的偏移
+     */
+    public record Entry(int editorId, int length, int storedLength, long offset) {
+        /**
+         * 内容是否超出预算未保存
+         *
+         * @return boolean
+         */
+        public boolean omitted() {
+            return this.length == OMITTED;
+        }
+    }
+}
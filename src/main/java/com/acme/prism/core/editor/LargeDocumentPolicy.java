@@ -0,0 +1,45 @@
+package com.acme.prism.core.editor;
+
+/**
+ * 大文档模式判定
+ * <p>
+ * 字符数或行数任一超过阈值即进入大文档模式；已处于大文档模式时两者都回落到阈值的 {@link #EXIT_PERCENT}% 以下才退出，
+ * 避免在阈值附近编辑时反复切换。判定只使用文档长度与行数，不读取文本
+ *
+ * @param maxChars 字符数阈值
+ * @param maxLines 行数阈值
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public record LargeDocumentPolicy(long maxChars, int maxLines) {
+    /**
+     * 退出大文档模式的阈值百分比
+     */
+    public static final int EXIT_PERCENT = 80;
+
+    /**
+     * 是否超过阈值
+     *
+     * @param length    字符数
+     * @param lineCount 行数
+     * @return boolean
+     */
+    public boolean exceeds(final long length, final int lineCount) {
+        return length > this.maxChars || lineCount > this.maxLines;
+    }
+
+    /**
+     * 判定大文档模式（带回差）
+     *
+     * @param large     当前是否处于大文档模式
+     * @param length    字符数
+     * @param lineCount 行数
+     * @return 判定后的模式
+     */
+    public boolean isLarge(final boolean large, final long length, final int lineCount) {
+        if (!large) {
+            return this.exceeds(length, lineCount);
+        }
+        return length * 100 > this.maxChars * EXIT_PERCENT || (long) lineCount * 100 > (long) this.maxLines * EXIT_PERCENT;
+    }
+}
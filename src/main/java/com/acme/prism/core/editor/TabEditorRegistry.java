@@ -0,0 +1,149 @@
+package com.acme.prism.core.editor;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Disposer;
+import com.intellij.ui.EditorTextField;
+import com.intellij.ui.content.Content;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 工具窗口页签编辑器登记（项目级，仅在 EDT 访问）
+ * <p>
+ * 页签构建时登记页签与编辑器的对应关系，页签关闭时随页签生命周期移除；
+ * 空白编辑器按页签号排序单独维护，由文档长度变化更新，推送内容时无需遍历组件树或复制文本；
+ * 正在后台恢复已保存内容的页签在恢复完成前不视为空白，避免推送内容占用后恢复被丢弃
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+@Service(Service.Level.PROJECT)
+public final class TabEditorRegistry {
+    /**
+     * 页签 → 编辑器
+     */
+    private final Map<Content, EditorTextField> editors = new HashMap<>();
+    /**
+     * 编辑器 → 页签
+     */
+    private final Map<EditorTextField, Content> contents = new HashMap<>();
+    /**
+     * 空白编辑器（页签号 → 页签，按打开顺序）
+     */
+    private final NavigableMap<Integer, Content> empty = new TreeMap<>();
+    /**
+     * 正在恢复已保存内容的页签
+     */
+    private final Set<Content> restoring = new HashSet<>();
+
+    /**
+     * 获取项目的页签编辑器登记
+     *
+     * @param project 项目
+     * @return {@link TabEditorRegistry }
+     */
+    public static TabEditorRegistry getInstance(@NotNull final Project project) {
+        return project.getService(TabEditorRegistry.class);
+    }
+
+    /**
+     * 登记页签编辑器（页签释放时自动移除）
+     *
+     * @param content       页签
+     * @param number        页签号
+     * @param editor        编辑器
+     * @param tabDisposable 页签生命周期
+     */
+    public void register(@NotNull final Content content, final int number, @NotNull final EditorTextField editor,
+                         @NotNull final Disposable tabDisposable) {
+        this.editors.put(content, editor);
+        this.contents.put(editor, content);
+        this.updateEmpty(number, content, editor);
+        editor.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void documentChanged(final @NotNull DocumentEvent e) {
+                TabEditorRegistry.this.updateEmpty(number, content, editor);
+            }
+        }, tabDisposable);
+        Disposer.register(tabDisposable, () -> {
+            this.editors.remove(content);
+            this.contents.remove(editor);
+            this.empty.remove(number, content);
+            this.restoring.remove(content);
+        });
+    }
+
+    /**
+     * 标记页签开始恢复已保存内容（须在登记编辑器之前调用），恢复完成前不作为空白编辑器
+     *
+     * @param content 页签
+     */
+    public void beginRestore(@NotNull final Content content) {
+        this.restoring.add(content);
+    }
+
+    /**
+     * 页签恢复结束，按当前文档长度重新判定空白状态
+     *
+     * @param content 页签
+     * @param number  页签号
+     */
+    public void endRestore(@NotNull final Content content, final int number) {
+        final EditorTextField editor = this.editors.get(content);
+        if (this.restoring.remove(content) && Objects.nonNull(editor)) {
+            this.updateEmpty(number, content, editor);
+        }
+    }
+
+    /**
+     * 页签的编辑器
+     *
+     * @param content 页签
+     * @return {@link EditorTextField }；页签尚未构建时返回 null
+     */
+    public EditorTextField editor(@NotNull final Content content) {
+        return this.editors.get(content);
+    }
+
+    /**
+     * 编辑器所在页签
+     *
+     * @param editor 编辑器
+     * @return {@link Content }；未登记时返回 null
+     */
+    public Content content(@NotNull final EditorTextField editor) {
+        return this.contents.get(editor);
+    }
+
+    /**
+     * 最早打开的空白编辑器
+     *
+     * @return {@link Optional }<{@link EditorTextField }>
+     */
+    public Optional<EditorTextField> firstEmpty() {
+        return Optional.ofNullable(this.empty.firstEntry()).map(entry -> this.editors.get(entry.getValue()));
+    }
+
+    /**
+     * 按文档长度更新空白状态
+     */
+    private void updateEmpty(final int number, final Content content, final EditorTextField editor) {
+        if (editor.getDocument().getTextLength() == 0 && !this.restoring.contains(content)) {
+            this.empty.put(number, content);
+        } else if (Objects.equals(this.empty.get(number), content)) {
+            this.empty.remove(number);
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.acme.prism.core.editor;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 文本撤销/重做历史（按字节预算，增量存储）
+ * <p>
+ * 每个堆栈只有栈顶保存完整文本，其余记录保存相对上一条（较新）记录的反向补丁：
+ * 公共前缀长度、公共后缀长度与中间被替换的文本。出栈时由栈顶文本应用下一条补丁还原新的栈顶，
+ * 撤销/重做只需一次字符串拼接。
+ * <p>
+ * 内存按字节计（字符串按 UTF-16 计 2 字节），撤销与重做共享预算，超出时先淘汰撤销堆栈最旧的记录；
+ * 提供压缩执行器时，离栈顶两层及以上的较大补丁在后台以 Deflate 压缩，撤销到这些记录时再解压
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public final class TextHistory {
+    /**
+     * 启用压缩的补丁最小长度（字符）
+     */
+    private static final int COMPRESS_THRESHOLD = 4096;
+    /**
+     * 不压缩的栈顶层数（栈顶完整文本与紧邻补丁保持原文，保证最近一次撤销无需解压）
+     */
+    private static final int HOT_DEPTH = 2;
+    /**
+     * 字节预算
+     */
+    private final long maxBytes;
+    /**
+     * 压缩执行器（null 表示不压缩）
+     */
+    private final Executor compressor;
+    /**
+     * 撤销堆栈
+     */
+    private final Deque<Entry> undo = new ArrayDeque<>();
+    /**
+     * 重做堆栈
+     */
+    private final Deque<Entry> redo = new ArrayDeque<>();
+    /**
+     * 已用字节
+     */
+    private long usedBytes;
+
+    /**
+     * 文本历史
+     *
+     * @param maxBytes   字节预算
+     * @param compressor 压缩执行器（null 表示不压缩）
+     */
+    public TextHistory(final long maxBytes, final Executor compressor) {
+        this.maxBytes = maxBytes;
+        this.compressor = compressor;
+    }
+
+    /**
+     * 记录变更前的文本（压入撤销堆栈）
+     *
+     * @param text 文本
+     */
+    public synchronized void record(final String text) {
+        this.push(this.undo, text);
+    }
+
+    /**
+     * 撤销：当前文本压入重做堆栈，弹出撤销堆栈栈顶
+     *
+     * @param current 当前文本
+     * @return 撤销后的文本；无可撤销记录返回 null
+     */
+    public synchronized String undo(final String current) {
+        if (this.undo.isEmpty()) {
+            return null;
+        }
+        final String previous = this.pop(this.undo);
+        this.push(this.redo, current);
+        return previous;
+    }
+
+    /**
+     * 重做：当前文本压入撤销堆栈，弹出重做堆栈栈顶
+     *
+     * @param current 当前文本
+     * @return 重做后的文本；无可重做记录返回 null
+     */
+    public synchronized String redo(final String current) {
+        if (this.redo.isEmpty()) {
+            return null;
+        }
+        final String next = this.pop(this.redo);
+        this.push(this.undo, current);
+        return next;
+    }
+
+    /**
+     * 是否可撤销
+     *
+     * @return boolean
+     */
+    public synchronized boolean canUndo() {
+        return !this.undo.isEmpty();
+    }
+
+    /**
+     * 是否可重做
+     *
+     * @return boolean
+     */
+    public synchronized boolean canRedo() {
+        return !this.redo.isEmpty();
+    }
+
+    /**
+     * 清空重做堆栈
+     */
+    public synchronized void clearRedo() {
+        this.redo.forEach(entry -> this.usedBytes -= entry.bytes());
+        this.redo.clear();
+    }
+
+    /**
+     * 清空全部历史
+     */
+    public synchronized void clear() {
+        this.undo.clear();
+        this.redo.clear();
+        this.usedBytes = 0;
+    }
+
+    /**
+     * 已用字节
+     *
+     * @return long
+     */
+    public synchronized long usedBytes() {
+        return this.usedBytes;
+    }
+
+    /**
+     * 压入文本：原栈顶改存为相对新栈顶的反向补丁
+     */
+    private void push(final Deque<Entry> stack, final String text) {
+        final Entry top = stack.peek();
+        if (Objects.nonNull(top)) {
+            final Entry patch = Entry.patch(text, top.text());
+            stack.pop();
+            stack.push(patch);
+            this.usedBytes += patch.bytes() - top.bytes();
+        }
+        final Entry entry = Entry.full(text);
+        stack.push(entry);
+        this.usedBytes += entry.bytes();
+        this.compressCold(stack);
+        this.evict();
+    }
+
+    /**
+     * 弹出栈顶文本：下一条补丁应用到该文本上还原为新的栈顶
+     */
+    private String pop(final Deque<Entry> stack) {
+        final Entry top = stack.pop();
+        this.usedBytes -= top.bytes();
+        final Entry next = stack.peek();
+        if (Objects.nonNull(next)) {
+            final Entry restored = Entry.full(next.apply(top.text()));
+            stack.pop();
+            stack.push(restored);
+            this.usedBytes += restored.bytes() - next.bytes();
+        }
+        return top.text();
+    }
+
+    /**
+     * 超出预算时淘汰最旧记录（先撤销后重做，各堆栈的栈顶最后淘汰）
+     */
+    private void evict() {
+        while (this.usedBytes > this.maxBytes && !(this.undo.isEmpty() && this.redo.isEmpty())) {
+            final Deque<Entry> stack = this.undo.isEmpty() ? this.redo : this.undo;
+            this.usedBytes -= stack.removeLast().bytes();
+        }
+    }
+
+    /**
+     * 后台压缩离栈顶 {@link #HOT_DEPTH} 层的补丁（更深的记录此前已处理过）
+     */
+    private void compressCold(final Deque<Entry> stack) {
+        if (Objects.isNull(this.compressor) || stack.size() <= HOT_DEPTH) {
+            return;
+        }
+        final Iterator<Entry> iterator = stack.iterator();
+        for (int depth = 0; depth < HOT_DEPTH; depth++) {
+            iterator.next();
+        }
+        final Entry cold = iterator.next();
+        if (!cold.compressible()) {
+            return;
+        }
+        this.compressor.execute(() -> {
+            final byte[] compressed = deflate(cold.replacement());
+            synchronized (this) {
+                // 压缩期间记录可能已出栈、被还原或淘汰，只替换仍在堆栈中的原记录
+                final Deque<Entry> owner = this.undo.contains(cold) ? this.undo : this.redo.contains(cold) ? this.redo : null;
+                if (Objects.isNull(owner) || compressed.length >= cold.bytes()) {
+                    return;
+                }
+                final Entry packed = cold.compressed(compressed);
+                replace(owner, cold, packed);
+                this.usedBytes += packed.bytes() - cold.bytes();
+            }
+        });
+    }
+
+    private static void replace(final Deque<Entry> stack, final Entry target, final Entry replacement) {
+        final Entry[] entries = stack.toArray(Entry[]::new);
+        stack.clear();
+        for (final Entry entry : entries) {
+            stack.addLast(entry == target ? replacement : entry);
+        }
+    }
+
+    private static byte[] deflate(final String text) {
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(text.getBytes(StandardCharsets.UTF_8));
+            deflater.finish();
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String inflate(final byte[] data) {
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(data.length * 4);
+            final byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                final int count = inflater.inflate(buffer);
+                if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated history entry");
+                }
+                output.write(buffer, 0, count);
+            }
+            return output.toString(StandardCharsets.UTF_8);
+        } catch (final DataFormatException e) {
+            throw new IllegalStateException("Corrupted history entry", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * 历史记录：完整文本，或相对较新记录的反向补丁（前缀长度、后缀长度、中间文本，中间文本可压缩）
+     *
+     * @param prefix     公共前缀长度（完整文本为 -1）
+     * @param suffix     公共后缀长度
+     * @param text       完整文本或补丁中间文本（已压缩时为 null）
+     * @param compressed 压缩后的中间文本
+     */
+    private record Entry(int prefix, int suffix, String text, byte[] compressed) {
+        private static Entry full(final String text) {
+            return new Entry(-1, 0, text, null);
+        }
+
+        /**
+         * 计算由较新文本还原较旧文本的补丁
+         */
+        private static Entry patch(final String newer, final String older) {
+            final int limit = Math.min(newer.length(), older.length());
+            int prefix = 0;
+            while (prefix < limit && newer.charAt(prefix) == older.charAt(prefix)) {
+                prefix++;
+            }
+            int suffix = 0;
+            while (suffix < limit - prefix
+                    && newer.charAt(newer.length() - 1 - suffix) == older.charAt(older.length() - 1 - suffix)) {
+                suffix++;
+            }
+            return new Entry(prefix, suffix, older.substring(prefix, older.length() - suffix), null);
+        }
+
+        private String apply(final String newer) {
+            if (this.prefix < 0) {
+                return this.text;
+            }
+            return newer.substring(0, this.prefix) + this.replacement() + newer.substring(newer.length() - this.suffix);
+        }
+
+        private String replacement() {
+            return Objects.nonNull(this.text) ? this.text : inflate(this.compressed);
+        }
+
+        private boolean compressible() {
+            return this.prefix >= 0 && Objects.nonNull(this.text) && this.text.length() >= COMPRESS_THRESHOLD;
+        }
+
+        private Entry compressed(final byte[] data) {
+            return new Entry(this.prefix, this.suffix, null, data);
+        }
+
+        private long bytes() {
+            return Objects.nonNull(this.text) ? (long) this.text.length() * Character.BYTES : this.compressed.length;
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            // 按实例判等：堆栈中可能存在内容相同的不同记录
+            return this == other;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+
+        @Override
+        public String toString() {
+            return "Entry[prefix=%d, suffix=%d, bytes=%d]".formatted(this.prefix, this.suffix, this.bytes());
+        }
+    }
+}
@@ -0,0 +1,322 @@
+package com.acme.prism.core.json;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 流式 JSON 美化写入器
+ * <p>
+ * 直接向缓冲区写出与 {@link JsonFormatter} 相同版式的 JSON（制表符缩进、冒号后无空格），
+ * 不构建中间对象。另外支持：
+ * <ul>
+ *   <li>回滚：{@link #mark()} 记录位置，{@link #reset(Mark)} 撤销其后写出的内容（如值无法生成时撤销已写出的键）</li>
+ *   <li>片段复用：{@link #closed()} 取出刚闭合的容器文本，{@link #splice(Fragment)} 按缩进差重新拼接到任意层级</li>
+ * </ul>
+ * 非线程安全
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public final class JsonPrettyWriter {
+    /**
+     * 输出缓冲区
+     */
+    private final StringBuilder out = new StringBuilder();
+    /**
+     * 层级 → 已写出的成员数
+     */
+    private int[] counts = new int[16];
+    /**
+     * 层级 → 容器起始位置
+     */
+    private int[] starts = new int[16];
+    /**
+     * 当前层级（0 为顶层）
+     */
+    private int depth;
+    /**
+     * 已写出键，等待值
+     */
+    private boolean named;
+    /**
+     * 最近闭合的容器起始位置
+     */
+    private int lastStart = -1;
+    /**
+     * 最近闭合的容器所在层级
+     */
+    private int lastDepth;
+
+    /**
+     * 开始对象
+     *
+     * @return {@link JsonPrettyWriter }
+     */
+    public JsonPrettyWriter beginObject() {
+        this.beforeValue();
+        return this.open('{');
+    }
+
+    /**
+     * 结束对象
+     *
+     * @return {@link JsonPrettyWriter }
+     */
+    public JsonPrettyWriter endObject() {
+        return this.close('}');
+    }
+
+    /**
+     * 开始数组
+     *
+     * @return {@link JsonPrettyWriter }
+     */
+    public JsonPrettyWriter beginArray() {
+        this.beforeValue();
+        return this.open('[');
+    }
+
+    /**
+     * 结束数组
+     *
+     * @return {@link JsonPrettyWriter }
+     */
+    public JsonPrettyWriter endArray() {
+        return this.close(']');
+    }
+
+    /**
+     * 写出对象成员的键
+     *
+     * @param name 键
+     * @return {@link JsonPrettyWriter }
+     */
+    public JsonPrettyWriter name(final String name) {
+        this.separate();
+        this.string(name);
+        this.out.append(':');
+        this.named = Boolean.TRUE;
+        return this;
+    }
+
+    /**
+     * 写出标量值（字符串、字符、数值、布尔、字节数组、null）
+     *
+     * @param value 值
+     * @return {@link JsonPrettyWriter }
+     */
+    public JsonPrettyWriter value(final Object value) {
+        this.beforeValue();
+        this.scalar(value);
+        return this;
+    }
+
+    /**
+     * 写出单元素的数值数组（单行，同 fastjson2 对 int[]、long[] 等的版式）
+     *
+     * @param element 元素
+     * @return {@link JsonPrettyWriter }
+     */
+    public JsonPrettyWriter inlineArray(final Object element) {
+        this.beforeValue();
+        this.out.append('[');
+        this.scalar(element);
+        this.out.append(']');
+        return this;
+    }
+
+    /**
+     * 拼接已写出的片段（按当前层级调整缩进）
+     *
+     * @param fragment 片段
+     * @return {@link JsonPrettyWriter }
+     */
+    public JsonPrettyWriter splice(final Fragment fragment) {
+        this.beforeValue();
+        final String text = fragment.text();
+        final int shift = this.depth - fragment.depth();
+        int index = 0;
+        while (index < text.length()) {
+            final char c = text.charAt(index++);
+            this.out.append(c);
+            if (c == '\n') {
+                if (shift > 0) {
+                    this.indent(shift);
+                } else {
+                    // 片段内每行至少缩进到片段所在层级，可直接跳过多余的制表符
+                    index -= shift;
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 记录当前位置
+     *
+     * @return {@link Mark }
+     */
+    public Mark mark() {
+        return new Mark(this.out.length(), this.depth, this.counts[this.depth], this.named);
+    }
+
+    /**
+     * 回滚到标记位置（须在标记时的层级上调用）
+     *
+     * @param mark 标记
+     */
+    public void reset(final Mark mark) {
+        if (mark.depth() != this.depth) {
+            throw new IllegalStateException("Unbalanced reset: depth " + this.depth + ", mark " + mark.depth());
+        }
+        this.out.setLength(mark.length());
+        this.counts[this.depth] = mark.count();
+        this.named = mark.named();
+    }
+
+    /**
+     * 最近闭合的容器片段（须紧随 {@link #endObject()}/{@link #endArray()} 调用）
+     *
+     * @return {@link Fragment }
+     */
+    public Fragment closed() {
+        if (this.lastStart < 0) {
+            throw new IllegalStateException("No container closed");
+        }
+        return new Fragment(this.out.substring(this.lastStart), this.lastDepth);
+    }
+
+    /**
+     * 整个输出作为顶层片段
+     *
+     * @return {@link Fragment }
+     */
+    public Fragment toFragment() {
+        return new Fragment(this.out.toString(), 0);
+    }
+
+    @Override
+    public String toString() {
+        return this.out.toString();
+    }
+
+    private JsonPrettyWriter open(final char bracket) {
+        if (++this.depth == this.counts.length) {
+            this.counts = Arrays.copyOf(this.counts, this.depth << 1);
+            this.starts = Arrays.copyOf(this.starts, this.depth << 1);
+        }
+        this.counts[this.depth] = 0;
+        this.starts[this.depth] = this.out.length();
+        this.out.append(bracket);
+        return this;
+    }
+
+    private JsonPrettyWriter close(final char bracket) {
+        if (this.counts[this.depth] > 0) {
+            this.newline(this.depth - 1);
+        }
+        this.out.append(bracket);
+        this.lastStart = this.starts[this.depth];
+        this.lastDepth = --this.depth;
+        return this;
+    }
+
+    /**
+     * 值之前：紧随键时直接写出，否则作为数组元素先写分隔
+     */
+    private void beforeValue() {
+        if (this.named) {
+            this.named = Boolean.FALSE;
+            return;
+        }
+        this.separate();
+    }
+
+    /**
+     * 容器内成员分隔（首个成员前只换行）
+     */
+    private void separate() {
+        if (this.depth == 0) {
+            return;
+        }
+        if (this.counts[this.depth]++ > 0) {
+            this.out.append(',');
+        }
+        this.newline(this.depth);
+    }
+
+    private void newline(final int level) {
+        this.out.append('\n');
+        this.indent(level);
+    }
+
+    private void indent(final int level) {
+        for (int index = 0; index < level; index++) {
+            this.out.append('\t');
+        }
+    }
+
+    private void scalar(final Object value) {
+        switch (value) {
+            case null -> this.out.append("null");
+            case final String text -> this.string(text);
+            case final Character c -> this.string(c.toString());
+            case final Number _, final Boolean _ -> this.out.append(value);
+            case final byte[] bytes -> {
+                this.out.append('[');
+                for (int index = 0; index < bytes.length; index++) {
+                    if (index > 0) {
+                        this.out.append(',');
+                    }
+                    this.out.append(bytes[index]);
+                }
+                this.out.append(']');
+            }
+            default -> this.string(Objects.toString(value));
+        }
+    }
+
+    private void string(final String text) {
+        this.out.append('"');
+        for (int index = 0; index < text.length(); index++) {
+            final char c = text.charAt(index);
+            switch (c) {
+                case '"' -> this.out.append("\\\"");
+                case '\\' -> this.out.append("\\\\");
+                case '\n' -> this.out.append("\\n");
+                case '\r' -> this.out.append("\\r");
+                case '\t' -> this.out.append("\\t");
+                case '\b' -> this.out.append("\\b");
+                case '\f' -> this.out.append("\\f");
+                default -> {
+                    if (c < 0x20) {
+                        this.out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        this.out.append(c);
+                    }
+                }
+            }
+        }
+        this.out.append('"');
+    }
+
+    /**
+     * 回滚标记
+     *
+     * @param length 缓冲区长度
+     * @param depth  层级
+     * @param count  当前容器已写出的成员数
+     * @param named  是否已写出键
+     */
+    public record Mark(int length, int depth, int count, boolean named) {
+    }
+
+    /**
+     * 已写出的容器片段
+     *
+     * @param text  文本
+     * @param depth 写出时开括号所在层级
+     */
+    public record Fragment(String text, int depth) {
+    }
+}
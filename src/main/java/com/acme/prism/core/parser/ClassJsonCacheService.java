@@ -0,0 +1,139 @@
+package com.acme.prism.core.parser;
+
+import com.intellij.lang.java.JavaLanguage;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.components.Service;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.roots.ProjectRootManager;
+import com.intellij.openapi.util.ModificationTracker;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.*;
+import com.intellij.psi.util.PsiModificationTracker;
+import com.intellij.util.concurrency.annotations.RequiresReadLock;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 类 JSON 缓存（项目级服务）
+ * <p>
+ * 对同一个请求/响应类反复"复制 JSON"时直接返回上次生成的结果，不再遍历 PSI：
+ * 缓存项记录生成时遍历到的全部文件（含字段类型、父类、枚举等传递依赖）及其 PSI 修改戳，
+ * 以及项目依赖配置的修改计数；任一变化即视为失效并重新生成。遍历中遇到无法解析的类型时，
+ * 之后新增该类不会改动任何已记录的文件，此时改为按 Java PSI 修改计数判断。
+ * 缓存项只持有根类的 {@link SmartPsiElementPointer} 与 {@link VirtualFile}，不持有 PSI 树
+ * 仅缓存固定示例值（{@link SampleValues#FIXED}）生成的完整结果：随机值每次本应不同，取消产生的部分结果不完整
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+@Service(Service.Level.PROJECT)
+public final class ClassJsonCacheService implements Disposable {
+    /**
+     * 缓存容量上限（超限整体清空重建，避免无界增长）
+     */
+    private static final int CACHE_LIMIT = 1_000;
+    /**
+     * 所属项目
+     */
+    private final Project project;
+    /**
+     * 生成结果缓存（类全限定名 → 缓存项）
+     */
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存项
+     *
+     * @param root   生成时的根类（同名类存在于多个模块时用于区分）
+     * @param json   生成的 JSON
+     * @param stamps 生成时的依赖快照
+     */
+    private record Entry(@NotNull SmartPsiElementPointer<PsiClass> root, @NotNull String json,
+                         @NotNull DependencyStamps<VirtualFile> stamps) {
+    }
+
+    public ClassJsonCacheService(final Project project) {
+        this.project = project;
+    }
+
+    public static ClassJsonCacheService getInstance(@NotNull final Project project) {
+        return project.getService(ClassJsonCacheService.class);
+    }
+
+    /**
+     * 获取类的 JSON（命中有效缓存直接返回，否则生成）
+     *
+     * @param psiClass  PSI 类
+     * @param indicator 进度指示器
+     * @return {@link String }
+     */
+    public String jsonOf(@NotNull final PsiClass psiClass, @NotNull final ProgressIndicator indicator) {
+        final ResolveContext context = ClassParser.newContext(indicator);
+        final String key = ReadAction.compute(psiClass::getQualifiedName);
+        // 随机值与匿名/局部类不缓存
+        if (context.samples() != SampleValues.FIXED || Objects.isNull(key)) {
+            return ClassJsonWriter.write(psiClass, context, indicator);
+        }
+        // 修改计数须在遍历前读取，遍历期间的变更只会让缓存更早失效
+        final long rootsStamp = ProjectRootManager.getInstance(this.project).getModificationCount();
+        final long javaStamp = this.javaTracker().getModificationCount();
+        final Entry hit = this.cache.get(key);
+        if (Objects.nonNull(hit) && ReadAction.compute(() -> this.isValid(hit, psiClass, rootsStamp, javaStamp))) {
+            return hit.json();
+        }
+        // 根类即使被 @JsonIgnoreType 跳过也依赖其注解
+        ReadAction.run(() -> context.depend(psiClass));
+        final String json = ClassJsonWriter.write(psiClass, context, indicator);
+        if (!context.truncated()) {
+            if (this.cache.size() >= CACHE_LIMIT) {
+                this.cache.clear();
+            }
+            final SmartPsiElementPointer<PsiClass> root = ReadAction.compute(() ->
+                    SmartPointerManager.getInstance(this.project).createSmartPsiElementPointer(psiClass));
+            final DependencyStamps<VirtualFile> stamps = new DependencyStamps<>(Map.copyOf(context.dependencies()), rootsStamp,
+                    context.untracked() ? javaStamp : DependencyStamps.UNTRACKED);
+            this.cache.put(key, new Entry(root, json, stamps));
+        }
+        return json;
+    }
+
+    /**
+     * 缓存项是否仍然有效
+     *
+     * @param entry      缓存项
+     * @param psiClass   当前根类
+     * @param rootsStamp 当前项目依赖配置修改计数
+     * @param javaStamp  当前 Java PSI 修改计数
+     * @return boolean
+     */
+    @RequiresReadLock
+    private boolean isValid(final Entry entry, final PsiClass psiClass, final long rootsStamp, final long javaStamp) {
+        final PsiManager manager = psiClass.getManager();
+        if (!manager.areElementsEquivalent(entry.root().getElement(), psiClass)) {
+            return Boolean.FALSE;
+        }
+        return entry.stamps().unchanged(rootsStamp, javaStamp, virtualFile -> {
+            final PsiFile file = virtualFile.isValid() ? manager.findFile(virtualFile) : null;
+            return Objects.isNull(file) ? DependencyStamps.MISSING : file.getModificationStamp();
+        });
+    }
+
+    /**
+     * Java PSI 修改计数（任一 Java 文件的 PSI 变更都会递增）
+     *
+     * @return {@link ModificationTracker }
+     */
+    private ModificationTracker javaTracker() {
+        return PsiModificationTracker.getInstance(this.project).forLanguage(JavaLanguage.INSTANCE);
+    }
+
+    @Override
+    public void dispose() {
+        this.cache.clear();
+    }
+}
@@ -0,0 +1,336 @@
+package com.acme.prism.core.parser;
+
+import com.acme.prism.core.json.JsonPrettyWriter;
+import com.alibaba.fastjson2.JSON;
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import com.intellij.openapi.application.ReadAction;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.psi.*;
+import com.intellij.util.concurrency.ThreadingAssertions;
+import com.intellij.util.concurrency.annotations.RequiresReadLock;
+import org.jetbrains.concurrency.CancellablePromise;
+
+import java.util.*;
+
+/**
+ * 类 JSON 写入器（JAVA转JSON，流式）
+ * <p>
+ * 按 {@link ClassParser} 的字段规则（{@code @JsonIgnore}、{@code @JsonIgnoreType}、静态字段过滤）遍历类结构，
+ * 处理循环截断与取消，直接经 {@link JsonPrettyWriter} 写出格式化 JSON，不构建嵌套的
+ * {@code LinkedHashMap}/{@code List} 中间结构，也不再经 fastjson2 二次序列化。
+ * 路径无关的类按已写出的片段缓存，再次出现时按缩进差拼接，不再遍历 PSI
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public final class ClassJsonWriter {
+    private ClassJsonWriter() {
+    }
+
+    /**
+     * 将 PSI 类写为格式化 JSON（可取消，上报进度）
+     * <p>
+     * 根类的每个可展开字段（对象、集合、Map 及其数组）连同其前面的标量字段作为一个子树任务，以独立的非阻塞读操作
+     * 提交到有界线程池：写操作到来时读操作让出并自动重试，不会长时间阻塞编辑器；子树之间共享片段缓存，各自维护递归路径，
+     * 写出的片段按字段声明顺序拼接。子树任务不足 {@link ClassParser#PARALLEL_THRESHOLD} 个时在一次读操作内顺序写出。
+     * 读操作均提交到线程池执行，不在进度指示器下运行：取消只经 {@link ResolveContext#canceled()} 停止下钻，
+     * PSI 内部的取消检查不会抛出 {@code ProcessCanceledException} 而丢弃已写出的部分；
+     * 已写出的部分照常返回（可通过 {@link ResolveContext#truncated()} 判断是否完整）
+     *
+     * @param psiClass  需要解析的 PSI 类
+     * @param indicator 进度指示器
+     * @return {@link String }
+     */
+    public static String write(final PsiClass psiClass, final ProgressIndicator indicator) {
+        return write(psiClass, ClassParser.newContext(indicator), indicator);
+    }
+
+    /**
+     * 将 PSI 类写为格式化 JSON（使用调用方提供的解析上下文）
+     *
+     * @param psiClass  需要解析的 PSI 类
+     * @param context   解析上下文
+     * @param indicator 进度指示器
+     * @return {@link String }
+     */
+    static String write(final PsiClass psiClass, final ResolveContext context, final ProgressIndicator indicator) {
+        final List<List<RootField>> chunks = ClassParser.await(ReadAction.nonBlocking(() ->
+                Objects.nonNull(psiClass.getAnnotation(JsonIgnoreType.class.getName())) ? List.<List<RootField>>of() : chunks(psiClass, context)
+        ).submit(ClassParser.EXECUTOR));
+        if (chunks.size() < ClassParser.PARALLEL_THRESHOLD) {
+            indicator.setIndeterminate(Boolean.TRUE);
+            return ClassParser.await(ReadAction.nonBlocking(() -> {
+                final JsonPrettyWriter writer = new JsonPrettyWriter();
+                writeClass(psiClass, context, writer);
+                return writer.toString();
+            }).submit(ClassParser.EXECUTOR));
+        }
+        // 每次（重试）执行都派生新的子树上下文与写入器
+        final List<CancellablePromise<List<Member>>> futures = chunks.stream()
+                .map(chunk -> ReadAction.nonBlocking(() -> members(chunk, context.fork(psiClass))).submit(ClassParser.EXECUTOR))
+                .toList();
+        indicator.setIndeterminate(Boolean.FALSE);
+        final JsonPrettyWriter writer = new JsonPrettyWriter().beginObject();
+        final Set<String> names = new HashSet<>();
+        for (int index = 0; index < futures.size(); index++) {
+            // 重复字段保留第一个
+            ClassParser.await(futures.get(index)).stream()
+                    .filter(member -> names.add(member.name()))
+                    .forEach(member -> writer.name(member.name()).splice(member.value()));
+            indicator.setFraction((double) (index + 1) / futures.size());
+        }
+        return writer.endObject().toString();
+    }
+
+    /**
+     * 按子树切分根类字段：每组以一个可展开字段结尾，标量字段并入其后的子树，不单独提交
+     *
+     * @param psiClass 根类
+     * @param context  解析上下文
+     * @return {@link List }<{@link List }<{@link RootField }>>
+     */
+    @RequiresReadLock
+    private static List<List<RootField>> chunks(final PsiClass psiClass, final ResolveContext context) {
+        final List<List<RootField>> chunks = new ArrayList<>();
+        final Map<String, Integer> ordinals = new HashMap<>();
+        List<RootField> chunk = new ArrayList<>();
+        for (final PsiField field : ClassParser.fieldsOf(psiClass)) {
+            chunk.add(new RootField(field, ordinal(ordinals, field)));
+            if (expands(field.getType(), context)) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunks.add(chunk);
+        }
+        return chunks;
+    }
+
+    /**
+     * 类型是否会展开为对象结构（对象，或元素/值为对象的集合、Map、数组）
+     *
+     * @param type    类型
+     * @param context 解析上下文
+     * @return boolean
+     */
+    @RequiresReadLock
+    private static boolean expands(final PsiType type, final ResolveContext context) {
+        return switch (type) {
+            case final PsiArrayType at -> expands(at.getComponentType(), context);
+            case final PsiClassType ct -> switch (context.classify(ct, TypeResolver::classify).kind()) {
+                case OBJECT -> Boolean.TRUE;
+                case COLLECTION, MAP -> Arrays.stream(ct.getParameters()).anyMatch(parameter -> expands(parameter, context));
+                default -> Boolean.FALSE;
+            };
+            case null, default -> Boolean.FALSE;
+        };
+    }
+
+    /**
+     * 写出类结构（对象）
+     *
+     * @param psiClass PSI 类
+     * @param context  解析上下文
+     * @param writer   写入器
+     */
+    @RequiresReadLock
+    static void writeClass(final PsiClass psiClass, final ResolveContext context, final JsonPrettyWriter writer) {
+        ThreadingAssertions.assertReadAccess();
+        final JsonPrettyWriter.Fragment cached = context.cachedFragment(psiClass);
+        if (Objects.nonNull(cached)) {
+            writer.splice(cached);
+            return;
+        }
+        // 终止条件：已取消、递归路径上的类或标记忽略的类型
+        if (context.canceled() || context.cutsCycle(psiClass) ||
+                Objects.nonNull(psiClass.getAnnotation(JsonIgnoreType.class.getName()))) {
+            writer.beginObject().endObject();
+            return;
+        }
+        context.enter(psiClass);
+        try {
+            writer.beginObject();
+            final Set<String> names = new HashSet<>();
+            final Map<String, Integer> ordinals = new HashMap<>();
+            for (final PsiField field : ClassParser.fieldsOf(psiClass)) {
+                final int ordinal = ordinal(ordinals, field);
+                // 重复字段保留第一个
+                if (names.contains(field.getName())) {
+                    continue;
+                }
+                final JsonPrettyWriter.Mark mark = writer.mark();
+                writer.name(field.getName());
+                if (writeType(field.getType(), context, writer, ordinal)) {
+                    names.add(field.getName());
+                } else {
+                    // 类型无法解析：撤销已写出的键
+                    writer.reset(mark);
+                }
+            }
+            context.rememberFragment(psiClass, writer.endObject().closed());
+        } finally {
+            context.exit(psiClass);
+        }
+    }
+
+    /**
+     * 字段在所属类同类型字段中的序号（按字段声明次序计数，与遍历次序无关）
+     *
+     * @param ordinals 类型 → 已计数的字段数
+     * @param field    字段
+     * @return 序号（从 0 开始）
+     */
+    private static int ordinal(final Map<String, Integer> ordinals, final PsiField field) {
+        return ordinals.merge(field.getType().getCanonicalText(), 1, Integer::sum) - 1;
+    }
+
+    /**
+     * 写出类型对应的示例值
+     *
+     * @param type    类型
+     * @param context 解析上下文
+     * @param writer  写入器
+     * @param ordinal 所属字段在同类型字段中的序号
+     * @return 是否写出（无法解析时不写出任何内容）
+     */
+    @RequiresReadLock
+    private static boolean writeType(final PsiType type, final ResolveContext context, final JsonPrettyWriter writer, final int ordinal) {
+        return switch (type) {
+            case final PsiPrimitiveType pt -> writeScalar(TypeResolver.getDefault(pt, context.samples(), ordinal), writer);
+            case final PsiArrayType at -> {
+                writeArray(at, context, writer, ordinal);
+                yield Boolean.TRUE;
+            }
+            case final PsiClassType ct -> {
+                final ResolveContext.Resolution resolution = context.classify(ct, TypeResolver::classify);
+                yield switch (resolution.kind()) {
+                    case DEFAULT -> writeScalar(TypeResolver.getDefault(ct, context.samples(), ordinal), writer);
+                    case ENUM -> writeScalar(TypeResolver.getEnumValue(resolution.psiClass()), writer);
+                    case TEMPORAL -> writeScalar(context.samples().temporal(resolution.psiClass().getQualifiedName()), writer);
+                    case COLLECTION -> {
+                        final PsiType[] parameters = ct.getParameters();
+                        writer.beginArray();
+                        if (parameters.length > 0) {
+                            writeType(parameters[0], context, writer, ordinal);
+                        }
+                        writer.endArray();
+                        yield Boolean.TRUE;
+                    }
+                    case MAP -> {
+                        writeMap(ct, context, writer, ordinal);
+                        yield Boolean.TRUE;
+                    }
+                    case OBJECT -> {
+                        writeClass(resolution.psiClass(), context, writer);
+                        yield Boolean.TRUE;
+                    }
+                    case UNRESOLVED -> Boolean.FALSE;
+                };
+            }
+            case null, default -> Boolean.FALSE;
+        };
+    }
+
+    /**
+     * 写出数组（版式与 fastjson2 序列化基本类型数组一致，引用类型数组无法解析时为 {@code [null]}）
+     */
+    private static void writeArray(final PsiArrayType arrayType, final ResolveContext context, final JsonPrettyWriter writer, final int ordinal) {
+        final PsiType componentType = arrayType.getComponentType();
+        if (componentType instanceof final PsiPrimitiveType primitive) {
+            final Object element = TypeResolver.getDefault(primitive, context.samples(), ordinal);
+            switch (element) {
+                case final byte[] _ -> writer.value(element);
+                // char[] 写为字符串
+                case final Character _ -> writer.value(String.valueOf(element));
+                case final Boolean _, final Short _ -> writer.beginArray().value(element).endArray();
+                case null, default -> writer.inlineArray(element);
+            }
+            return;
+        }
+        writer.beginArray();
+        if (!writeType(componentType, context, writer, ordinal)) {
+            writer.value(null);
+        }
+        writer.endArray();
+    }
+
+    /**
+     * 写出 Map（单个示例键值对，键或值无法解析时为空字符串）
+     */
+    private static void writeMap(final PsiClassType type, final ResolveContext context, final JsonPrettyWriter writer, final int ordinal) {
+        final PsiType[] parameters = type.getParameters();
+        writer.beginObject().name(parameters.length > 0 ? mapKey(parameters[0], context, ordinal) : "");
+        if (parameters.length < 2 || !writeType(parameters[1], context, writer, ordinal)) {
+            writer.value("");
+        }
+        writer.endObject();
+    }
+
+    /**
+     * Map 示例键：键须为字符串，标量取字符串形式，复杂结构取其紧凑 JSON，无法解析时为空字符串
+     *
+     * @param type    键类型
+     * @param context 解析上下文
+     * @param ordinal 所属字段在同类型字段中的序号
+     * @return {@link String }
+     */
+    private static String mapKey(final PsiType type, final ResolveContext context, final int ordinal) {
+        final JsonPrettyWriter key = new JsonPrettyWriter();
+        if (!writeType(type, context, key, ordinal)) {
+            return "";
+        }
+        final Object value = JSON.parse(key.toString());
+        return value instanceof final String text ? text : JSON.toJSONString(value);
+    }
+
+    private static boolean writeScalar(final Object value, final JsonPrettyWriter writer) {
+        if (Objects.isNull(value)) {
+            return Boolean.FALSE;
+        }
+        writer.value(value);
+        return Boolean.TRUE;
+    }
+
+    /**
+     * 根类字段子树（同一子树上下文内依次写出）
+     *
+     * @param fields  字段
+     * @param context 子树上下文
+     * @return {@link List }<{@link Member }>，不含类型无法解析的字段
+     */
+    private static List<Member> members(final List<RootField> fields, final ResolveContext context) {
+        return fields.stream().map(field -> member(field, context)).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * 根类字段子树（独立写入器写出值片段）
+     *
+     * @param field   字段
+     * @param context 子树上下文
+     * @return {@link Member }；类型无法解析时为 null
+     */
+    private static Member member(final RootField field, final ResolveContext context) {
+        final JsonPrettyWriter writer = new JsonPrettyWriter();
+        return writeType(field.field().getType(), context, writer, field.ordinal())
+                ? new Member(field.field().getName(), writer.toFragment()) : null;
+    }
+
+    /**
+     * 根类字段
+     *
+     * @param field   字段
+     * @param ordinal 在同类型字段中的序号
+     */
+    private record RootField(PsiField field, int ordinal) {
+    }
+
+    /**
+     * 根类成员
+     *
+     * @param name  字段名
+     * @param value 值片段
+     */
+    private record Member(String name, JsonPrettyWriter.Fragment value) {
+    }
+}
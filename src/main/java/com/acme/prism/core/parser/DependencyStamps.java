@@ -0,0 +1,49 @@
+package com.acme.prism.core.parser;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+/**
+ * 依赖快照：生成结果时记录的修改计数与各依赖文件的修改戳
+ * <p>
+ * 与 PSI 无关，当前修改戳由调用方读取；文件已删除或不再有效时读取方返回 {@link #MISSING}
+ *
+ * @param files      依赖文件 → 生成时的修改戳
+ * @param rootsStamp 生成时的项目依赖配置修改计数
+ * @param javaStamp  生成时的 Java PSI 修改计数（结果可按文件跟踪时为 {@link #UNTRACKED}，不参与判断）
+ * @param <F>        文件类型
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+record DependencyStamps<F>(@NotNull Map<F, Long> files, long rootsStamp, long javaStamp) {
+    /**
+     * 文件已不存在时的修改戳（修改戳均不小于 0，不会与记录值相等）
+     */
+    static final long MISSING = -1;
+    /**
+     * 不按 Java PSI 修改计数判断
+     */
+    static final long UNTRACKED = -1;
+
+    /**
+     * 当前状态下快照是否仍然有效
+     *
+     * @param rootsStamp 当前项目依赖配置修改计数
+     * @param javaStamp  当前 Java PSI 修改计数
+     * @param current    读取文件当前修改戳
+     * @return boolean
+     */
+    boolean unchanged(final long rootsStamp, final long javaStamp, @NotNull final ToLongFunction<F> current) {
+        if (this.rootsStamp != rootsStamp || (this.javaStamp != UNTRACKED && this.javaStamp != javaStamp)) {
+            return Boolean.FALSE;
+        }
+        for (final Map.Entry<F, Long> file : this.files.entrySet()) {
+            if (current.applyAsLong(file.getKey()) != file.getValue()) {
+                return Boolean.FALSE;
+            }
+        }
+        return Boolean.TRUE;
+    }
+}
@@ -4,96 +4,686 @@ import cn.hutool.core.lang.Opt;
 import com.alibaba.fastjson2.JSON;
 import com.alibaba.fastjson2.JSONArray;
 import com.alibaba.fastjson2.JSONObject;
+import com.alibaba.fastjson2.JSONWriter;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 
 /**
  * JSON节点解析器
+ * <p>
+ * 懒加载策略：节点仅记录值在原文中的偏移区间，子节点在首次访问 {@link JsonNode#children()} 时按区间浅扫描生成，
+ * 未展开的子树不分配任何对象，内存随展开范围增长而非随文档体积增长
  *
  * @author 拒绝者
  * @date 2025-01-28
  */
 public class JsonNodeParser {
+    /**
+     * 预览文本最大长度（超出截断并追加省略号）
+     */
+    public static final int PREVIEW_MAX_LENGTH = 120;
+    /**
+     * 省略号
+     */
+    private static final String ELLIPSIS = "…";
+
     /**
      * 解析
      * <p>
-     * 单次解析策略：直接尝试解析，失败时按原始文本处理（避免 isValid 与 parse 双重解析）
+     * 单次零分配结构校验：合法时仅创建根节点；严格校验失败时回退 fastjson2 宽松解析（单引号、尾逗号等），
+     * 成功则在规范化文本上建树（偏移不对应输入原文，见 {@link JsonNode#normalized()}），仍失败时按原始字符串构建叶子节点
      *
      * @param key  钥匙
      * @param json json
      * @return {@link JsonNode }
      */
     public static JsonNode parse(final String key, final String json) {
+        if (Objects.isNull(json)) {
+            return new JsonNode(key, null, 0, 0, null);
+        }
+        final int length = json.length();
+        final int start = JsonScanner.skipWhitespace(json, 0, length);
+        // 空白文本按空值处理
+        if (start >= length) {
+            return new JsonNode(key, null, 0, 0, null);
+        }
+        final int end = JsonScanner.skipValue(json, start, length);
+        if (end == JsonScanner.INVALID || JsonScanner.skipWhitespace(json, end, length) != length) {
+            return parseLenient(key, json);
+        }
+        return parseNode(key, json, start, end);
+    }
+
+    /**
+     * 宽松解析（严格校验失败后的回退）
+     *
+     * @param key  钥匙
+     * @param json json
+     * @return {@link JsonNode }
+     */
+    private static JsonNode parseLenient(final String key, final String json) {
         final Object parsed;
         try {
             parsed = JSON.parse(json);
         } catch (final Exception ignored) {
             // 非 JSON 文本时按原始字符串构建叶子节点
-            return parseNode(key, json);
+            return new JsonNode(key, null, 0, 0, json);
+        }
+        if (parsed instanceof JSONObject || parsed instanceof JSONArray) {
+            final String normalized = JSON.toJSONString(parsed, JSONWriter.Feature.WriteNulls);
+            final JsonNode node = parseNode(key, normalized, 0, normalized.length());
+            node.normalized = Boolean.TRUE;
+            return node;
+        }
+        final JsonNode node = new JsonNode(key, null, 0, 0, parsed);
+        node.normalized = Boolean.TRUE;
+        return node;
+    }
+
+    /**
+     * 增量解析
+     * <p>
+     * 旧文本合法时，只需校验受编辑影响的最内层容器：其括号位于变更区间两侧，且新文本中仍能从开括号完整扫描到平移后的闭括号，
+     * 整篇即仍合法。已生成子节点的容器沿用变更区间前后的子节点（仅平移偏移），只扫描区间内的成员；
+     * 开销与编辑所在的容器链及受影响成员成正比，与文档体积无关
+     *
+     * @param previous 旧根节点
+     * @param current  新文本
+     * @param range    相对旧根节点原文的变更区间
+     * @return 新根节点；变更越过根容器括号、旧树来自宽松解析或受影响区段不合法时返回 null（由调用方全量解析）
+     */
+    public static JsonNode reparse(final JsonNode previous, final String current, final EditRange range) {
+        if (previous.normalized() || !encloses(previous, range)) {
+            return null;
+        }
+        return reparseContainer(previous, previous.key(), current, range);
+    }
+
+    /**
+     * 容器是否包住变更区间（开括号在区间之前，闭括号不在被替换的文本内）
+     *
+     * @param node  节点
+     * @param range 变更区间
+     * @return boolean
+     */
+    private static boolean encloses(final JsonNode node, final EditRange range) {
+        return node.container() && node.start() < range.start() && node.end() - 1 >= range.oldEnd();
+    }
+
+    /**
+     * 增量解析包住变更区间的容器
+     *
+     * @param node    旧容器节点
+     * @param key     新键
+     * @param current 新文本
+     * @param range   变更区间
+     * @return {@link JsonNode }；受影响区段不合法时返回 null
+     */
+    private static JsonNode reparseContainer(final JsonNode node, final String key, final String current, final EditRange range) {
+        final int delta = range.delta();
+        final int end = node.end() + delta;
+        final List<JsonNode> loaded = node.children;
+        // 子节点未生成：只校验该容器的新文本，子节点仍按需生成
+        if (Objects.isNull(loaded)) {
+            return JsonScanner.skipValue(current, node.start(), end) == end ? new JsonNode(key, current, node.start(), end, null) : null;
+        }
+        final int count = loaded.size();
+        int head = 0;
+        while (head < count && range.before(loaded.get(head).end())) {
+            head++;
+        }
+        int tail = 0;
+        while (tail < count - head && range.after(loaded.get(count - 1 - tail).start())) {
+            tail++;
+        }
+        final boolean object = current.charAt(node.start()) == '{';
+        final List<JsonNode> children = new ArrayList<>(count + 1);
+        for (int index = 0; index < head; index++) {
+            children.add(loaded.get(index).rebase(loaded.get(index).key(), current, 0));
+        }
+        // 首个尾段成员的键：扫描分支中可能被编辑，由扫描结果覆盖
+        String tailKey = tail > 0 ? loaded.get(count - tail).key() : null;
+        if (count - head - tail == 1 && encloses(loaded.get(head), range)) {
+            // 唯一受影响的子节点本身包住变更区间：键与分隔符均在区间之外，递归到下一层
+            final JsonNode child = reparseContainer(loaded.get(head), loaded.get(head).key(), current, range);
+            if (Objects.isNull(child)) {
+                return null;
+            }
+            children.add(child);
+        } else {
+            // 从最后一个首段子节点之后扫描到首个尾段子节点（平移后）或闭括号，途中校验分隔符与成员
+            final int stop = tail == 0 ? end - 1 : loaded.get(count - tail).start() + delta;
+            int pos = head == 0 ? node.start() + 1 : loaded.get(head - 1).end();
+            boolean first = head == 0;
+            while (true) {
+                pos = JsonScanner.skipWhitespace(current, pos, end);
+                if (pos > stop) {
+                    return null;
+                }
+                if (tail == 0 && pos == stop) {
+                    break;
+                }
+                if (!first) {
+                    if (current.charAt(pos) != ',') {
+                        return null;
+                    }
+                    pos = JsonScanner.skipWhitespace(current, pos + 1, end);
+                }
+                first = Boolean.FALSE;
+                String childKey = "[%d]".formatted(children.size());
+                int valueStart = pos;
+                if (object) {
+                    final int keyEnd = pos < end && current.charAt(pos) == '"' ? JsonScanner.skipString(current, pos, end) : JsonScanner.INVALID;
+                    valueStart = keyEnd == JsonScanner.INVALID ? JsonScanner.INVALID : JsonScanner.skipMember(current, pos, end);
+                    if (valueStart == JsonScanner.INVALID) {
+                        return null;
+                    }
+                    childKey = memberKey(current, pos, keyEnd);
+                }
+                if (tail > 0 && valueStart >= stop) {
+                    if (valueStart != stop) {
+                        return null;
+                    }
+                    // 到达尾段：其后文本未变（首个尾段成员的键可能被编辑，取新键）
+                    tailKey = childKey;
+                    break;
+                }
+                final int valueEnd = JsonScanner.skipValue(current, valueStart, end);
+                if (valueEnd == JsonScanner.INVALID) {
+                    return null;
+                }
+                children.add(parseNode(childKey, current, valueStart, valueEnd));
+                pos = valueEnd;
+            }
+        }
+        for (int index = count - tail; index < count; index++) {
+            final JsonNode child = loaded.get(index);
+            final String childKey = !object ? "[%d]".formatted(children.size()) : index == count - tail ? tailKey : child.key();
+            children.add(child.rebase(childKey, current, delta));
+        }
+        final JsonNode rebuilt = new JsonNode(key, current, node.start(), end, null);
+        rebuilt.children = Collections.unmodifiableList(children);
+        return rebuilt;
+    }
+
+    /**
+     * 原文偏移 → 包含该偏移的最深节点的子序号路径
+     * <p>
+     * 与 {@link JsonSearchIndex#entryAt(int)} 语义一致：键内偏移归属其成员，分隔符归属所在容器；
+     * 逐层二分子节点，只生成路径上容器的子节点，供搜索索引尚未构建时使用
+     *
+     * @param root   根节点
+     * @param offset 原文偏移
+     * @return 子序号路径（根节点为空数组）；偏移不在根值内返回 null
+     */
+    public static int[] childPathAt(final JsonNode root, final int offset) {
+        if (offset < root.start() || offset >= root.end()) {
+            return null;
+        }
+        final List<Integer> path = new ArrayList<>();
+        JsonNode node = root;
+        while (node.container()) {
+            final List<JsonNode> children = node.children();
+            // 值起始不超过偏移的最后一个子节点
+            int low = 0;
+            int high = children.size() - 1;
+            int found = -1;
+            while (low <= high) {
+                final int middle = (low + high) >>> 1;
+                if (children.get(middle).start() <= offset) {
+                    found = middle;
+                    low = middle + 1;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            int next = found >= 0 && offset < children.get(found).end() ? found : -1;
+            // 偏移落在下一个成员的键上
+            if (next < 0 && node.source.charAt(node.start) == '{' && found + 1 < children.size()
+                    && offset >= memberStart(node, children, found + 1)) {
+                next = found + 1;
+            }
+            if (next < 0) {
+                break;
+            }
+            path.add(next);
+            node = children.get(next);
         }
-        return parseNode(key, parsed);
+        return path.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * 对象成员起始偏移（键的起始引号）
+     *
+     * @param node     对象节点
+     * @param children 子节点
+     * @param index    成员序号
+     * @return int
+     */
+    private static int memberStart(final JsonNode node, final List<JsonNode> children, final int index) {
+        int pos = JsonScanner.skipWhitespace(node.source, index == 0 ? node.start + 1 : children.get(index - 1).end(), node.end);
+        if (index > 0 && pos < node.end && node.source.charAt(pos) == ',') {
+            pos = JsonScanner.skipWhitespace(node.source, pos + 1, node.end);
+        }
+        return pos;
+    }
+
+    /**
+     * 计算两版文本的变更区间（公共前缀与公共后缀之间的部分）
+     *
+     * @param previous 旧文本
+     * @param current  新文本
+     * @return {@link EditRange }
+     */
+    public static EditRange editRange(final String previous, final String current) {
+        final int limit = Math.min(previous.length(), current.length());
+        int prefix = 0;
+        while (prefix < limit && previous.charAt(prefix) == current.charAt(prefix)) {
+            prefix++;
+        }
+        // 后缀不得与前缀重叠
+        int suffix = 0;
+        while (suffix < limit - prefix
+                && previous.charAt(previous.length() - 1 - suffix) == current.charAt(current.length() - 1 - suffix)) {
+            suffix++;
+        }
+        return new EditRange(prefix, previous.length() - suffix, current.length() - suffix);
     }
 
     /**
      * 解析节点
      *
-     * @param key   钥匙
-     * @param value 价值
+     * @param key    钥匙
+     * @param source 原文
+     * @param start  值起始偏移
+     * @param end    值结束偏移（不含）
      * @return {@link JsonNode }
      */
-    private static JsonNode parseNode(final String key, final Object value) {
-        return switch (value) {
-            case final JSONObject obj -> new JsonNode(key, obj, parseObjectChildren(obj));
-            case final JSONArray arr -> new JsonNode(key, arr, parseArrayChildren(arr));
-            case null -> new JsonNode(key, null, Collections.emptyList());
-            default -> new JsonNode(
-                    key,
-                    value,
-                    Collections.emptyList()
-            );
+    private static JsonNode parseNode(final String key, final String source, final int start, final int end) {
+        return switch (source.charAt(start)) {
+            case '{', '[' -> new JsonNode(key, source, start, end, null);
+            // 标量区间很短，直接解析为值对象（数字类型与 fastjson2 保持一致）
+            default -> new JsonNode(key, null, start, end, JSON.parse(source.substring(start, end)));
         };
     }
 
-    private static List<JsonNode> parseObjectChildren(final JSONObject obj) {
-        final List<JsonNode> children = new ArrayList<>(obj.size());
-        for (final String childKey : obj.keySet()) {
-            children.add(parseNode(childKey, obj.get(childKey)));
+    private static List<JsonNode> parseObjectChildren(final String source, final int start, final int end) {
+        final List<JsonNode> children = new ArrayList<>();
+        int index = JsonScanner.skipWhitespace(source, start + 1, end);
+        while (index < end && source.charAt(index) == '"') {
+            final int keyEnd = JsonScanner.skipString(source, index, end);
+            final String childKey = memberKey(source, index, keyEnd);
+            final int valueStart = JsonScanner.skipMember(source, index, end);
+            final int valueEnd = JsonScanner.skipValue(source, valueStart, end);
+            if (valueEnd == JsonScanner.INVALID) {
+                break;
+            }
+            children.add(parseNode(childKey, source, valueStart, valueEnd));
+            index = nextSibling(source, valueEnd, end);
         }
         return children;
     }
 
-    private static List<JsonNode> parseArrayChildren(final JSONArray arr) {
-        final List<JsonNode> children = new ArrayList<>(arr.size());
-        for (int index = 0; index < arr.size(); index++) {
-            children.add(parseNode("[%d]".formatted(index), arr.get(index)));
+    /**
+     * 成员键（含转义时反转义）
+     *
+     * @param source   原文
+     * @param keyStart 键起始偏移（引号）
+     * @param keyEnd   键结束偏移（不含）
+     * @return {@link String }
+     */
+    private static String memberKey(final String source, final int keyStart, final int keyEnd) {
+        return JsonScanner.hasEscape(source, keyStart, keyEnd) ?
+                JSON.parseObject(source.substring(keyStart, keyEnd), String.class) :
+                source.substring(keyStart + 1, keyEnd - 1);
+    }
+
+    private static List<JsonNode> parseArrayChildren(final String source, final int start, final int end) {
+        final List<JsonNode> children = new ArrayList<>();
+        int index = JsonScanner.skipWhitespace(source, start + 1, end);
+        while (index < end && source.charAt(index) != ']') {
+            final int valueEnd = JsonScanner.skipValue(source, index, end);
+            if (valueEnd == JsonScanner.INVALID) {
+                break;
+            }
+            children.add(parseNode("[%d]".formatted(children.size()), source, index, valueEnd));
+            index = nextSibling(source, valueEnd, end);
         }
         return children;
     }
 
+    /**
+     * 统计容器直接子节点数（仅跳跃扫描，不创建子节点）
+     *
+     * @param source 原文
+     * @param start  容器起始偏移
+     * @param end    容器结束偏移（不含）
+     * @return int
+     */
+    private static int countChildren(final String source, final int start, final int end) {
+        final boolean object = source.charAt(start) == '{';
+        int count = 0;
+        int index = JsonScanner.skipWhitespace(source, start + 1, end);
+        // end - 1 为闭合括号
+        while (index < end - 1) {
+            final int valueStart = object ? JsonScanner.skipMember(source, index, end) : index;
+            final int valueEnd = valueStart == JsonScanner.INVALID ? JsonScanner.INVALID : JsonScanner.skipValue(source, valueStart, end);
+            if (valueEnd == JsonScanner.INVALID) {
+                break;
+            }
+            count++;
+            index = nextSibling(source, valueEnd, end);
+        }
+        return count;
+    }
+
+    /**
+     * 定位下一个兄弟节点起始偏移
+     *
+     * @param source 原文
+     * @param pos    当前值结束偏移
+     * @param end    容器结束偏移
+     * @return 下一个兄弟起始偏移；已到容器末尾时返回 end
+     */
+    private static int nextSibling(final String source, final int pos, final int end) {
+        final int index = JsonScanner.skipWhitespace(source, pos, end);
+        return index < end && source.charAt(index) == ',' ? JsonScanner.skipWhitespace(source, index + 1, end) : end;
+    }
+
+    /**
+     * 文本变更区间
+     * <p>
+     * 旧文本 [start, oldEnd) 被替换为新文本 [start, newEnd)，区间外文本一致（其后部分整体平移 {@link #delta()}）
+     *
+     * @param start  变更起始偏移（两版相同）
+     * @param oldEnd 旧文本中变更结束偏移（不含）
+     * @param newEnd 新文本中变更结束偏移（不含）
+     */
+    public record EditRange(int start, int oldEnd, int newEnd) {
+        /**
+         * 单次文档变更的区间
+         *
+         * @param offset    变更起始偏移
+         * @param oldLength 被替换文本长度
+         * @param newLength 新文本长度
+         * @return {@link EditRange }
+         */
+        public static EditRange of(final int offset, final int oldLength, final int newLength) {
+            return new EditRange(offset, offset + oldLength, offset + newLength);
+        }
+
+        /**
+         * 叠加一次后续变更（其偏移基于本区间作用后的文本），得到相对原文本的合并区间
+         *
+         * @param offset    变更起始偏移
+         * @param oldLength 被替换文本长度
+         * @param newLength 新文本长度
+         * @return {@link EditRange }
+         */
+        public EditRange merge(final int offset, final int oldLength, final int newLength) {
+            final int high = Math.max(this.newEnd, offset + oldLength);
+            return new EditRange(Math.min(this.start, offset), high - this.newEnd + this.oldEnd, high + newLength - oldLength);
+        }
+
+        /**
+         * 变更点之后的偏移平移量
+         *
+         * @return int
+         */
+        public int delta() {
+            return this.newEnd - this.oldEnd;
+        }
+
+        /**
+         * 结束于 end 的旧文本是否完整位于变更点之前（偏移不变）
+         * <p>
+         * 严格不等：值边界由相邻字符决定（如数字后续位），紧贴变更区间的值也视为可能变化
+         *
+         * @param end 旧结束偏移（不含）
+         * @return boolean
+         */
+        public boolean before(final int end) {
+            return end < this.start;
+        }
+
+        /**
+         * 起始于 start 的旧文本是否完整位于变更区间之后（偏移平移 {@link #delta()}）
+         *
+         * @param start 旧起始偏移
+         * @return boolean
+         */
+        public boolean after(final int start) {
+            return start > this.oldEnd;
+        }
+    }
+
     /**
      * JSON节点
+     * <p>
+     * 容器节点持有原文与偏移区间，子节点按需生成并缓存；标量节点直接持有解析后的值
      *
      * @author 拒绝者
      * @date 2025-01-28
      */
-    public record JsonNode(String key, Object value, List<JsonNode> children) {
+    public static final class JsonNode {
+        /**
+         * 键
+         */
+        private final String key;
+        /**
+         * 原文（仅容器节点持有）
+         */
+        private final String source;
+        /**
+         * 值起始偏移
+         */
+        private final int start;
+        /**
+         * 值结束偏移（不含）
+         */
+        private final int end;
+        /**
+         * 标量值（容器节点为 null）
+         */
+        private final Object scalar;
+        /**
+         * 子节点缓存（首次访问时生成）
+         */
+        private volatile List<JsonNode> children;
+        /**
+         * 预览文本缓存（首次渲染时生成）
+         */
+        private volatile String preview;
+        /**
+         * 是否由宽松解析回退生成（仅根节点标记）
+         */
+        private boolean normalized;
+
+        private JsonNode(final String key, final String source, final int start, final int end, final Object scalar) {
+            this.key = key;
+            this.source = source;
+            this.start = start;
+            this.end = end;
+            this.scalar = scalar;
+        }
+
+        /**
+         * 键
+         *
+         * @return {@link String }
+         */
+        public String key() {
+            return this.key;
+        }
+
+        /**
+         * 值在原文中的起始偏移
+         *
+         * @return int
+         */
+        public int start() {
+            return this.start;
+        }
+
+        /**
+         * 值在原文中的结束偏移（不含）
+         *
+         * @return int
+         */
+        public int end() {
+            return this.end;
+        }
+
+        /**
+         * 是否由宽松解析回退生成（仅根节点标记）
+         * <p>
+         * 为真时节点偏移指向规范化后的文本而非输入原文，不能用于编辑器定位与增量协调
+         *
+         * @return boolean
+         */
+        public boolean normalized() {
+            return this.normalized;
+        }
+
+        /**
+         * 平移到新原文（节点文本未变，仅偏移整体移动，预览缓存沿用；子节点按需从新原文重新生成）
+         *
+         * @param key       新键（数组元素序号可能随前方插删变化）
+         * @param newSource 新原文
+         * @param delta     偏移平移量
+         * @return {@link JsonNode }
+         */
+        public JsonNode rebase(final String key, final String newSource, final int delta) {
+            final JsonNode node = new JsonNode(key, this.container() ? newSource : null, this.start + delta, this.end + delta, this.scalar);
+            node.preview = this.preview;
+            return node;
+        }
+
+        /**
+         * 节点偏移所指的原文（标量节点为 null；宽松解析回退时为规范化文本）
+         *
+         * @return {@link String }
+         */
+        public String source() {
+            return this.source;
+        }
+
+        /**
+         * 是否容器节点（对象或数组）
+         *
+         * @return boolean
+         */
+        public boolean container() {
+            return Objects.nonNull(this.source);
+        }
+
+        /**
+         * 是否空容器（仅检查开括号后的首个非空白字符，不扫描子节点）
+         *
+         * @return boolean
+         */
+        public boolean emptyContainer() {
+            if (!this.container()) {
+                return Boolean.FALSE;
+            }
+            final int index = JsonScanner.skipWhitespace(this.source, this.start + 1, this.end);
+            return index >= this.end - 1;
+        }
+
+        /**
+         * 子节点（容器节点首次访问时按区间浅扫描生成，此后复用）
+         *
+         * @return {@link List }<{@link JsonNode }>
+         */
+        public List<JsonNode> children() {
+            if (!this.container()) {
+                return Collections.emptyList();
+            }
+            List<JsonNode> loaded = this.children;
+            if (Objects.isNull(loaded)) {
+                synchronized (this) {
+                    loaded = this.children;
+                    if (Objects.isNull(loaded)) {
+                        loaded = Collections.unmodifiableList(this.source.charAt(this.start) == '{' ?
+                                parseObjectChildren(this.source, this.start, this.end) :
+                                parseArrayChildren(this.source, this.start, this.end));
+                        this.children = loaded;
+                    }
+                }
+            }
+            return loaded;
+        }
+
         @Override
         public @NotNull String toString() {
-            return Opt.ofNullable(this.value)
+            return Opt.ofNullable(this.container() ? this.source : this.scalar)
                     .map(_ -> "{\"%s\": %s}".formatted(this.key, this.value()))
                     .orElse("");
         }
 
         /**
-         * 值
+         * 预览文本（有界且缓存）
+         * <p>
+         * 容器显示摘要（如 {@code {12 keys}}、{@code [3400 items]}），标量显示截断后的 JSON 文本；
+         * 供渲染与搜索高频调用，完整文本仅在复制时经 {@link #value()} 计算
+         *
+         * @return {@link String }
+         */
+        public String preview() {
+            String cached = this.preview;
+            if (Objects.isNull(cached)) {
+                cached = this.buildPreview();
+                this.preview = cached;
+            }
+            return cached;
+        }
+
+        private String buildPreview() {
+            if (this.container()) {
+                // 已展开的容器直接取子节点数，未展开时跳跃计数不分配子节点
+                final List<JsonNode> loaded = this.children;
+                final int count = Objects.nonNull(loaded) ? loaded.size() : countChildren(this.source, this.start, this.end);
+                return this.source.charAt(this.start) == '{' ?
+                        "{%d keys}".formatted(count) :
+                        "[%d items]".formatted(count);
+            }
+            if (Objects.isNull(this.scalar)) {
+                return "";
+            }
+            // 超长字符串先截断再序列化，避免整串转义
+            if (this.scalar instanceof final String text && text.length() > PREVIEW_MAX_LENGTH) {
+                return JSON.toJSONString(text.substring(0, PREVIEW_MAX_LENGTH)) + ELLIPSIS;
+            }
+            final String text = JSON.toJSONString(this.scalar);
+            return text.length() > PREVIEW_MAX_LENGTH ? text.substring(0, PREVIEW_MAX_LENGTH) + ELLIPSIS : text;
+        }
+
+        /**
+         * 值的纯文本（字符串不带引号，容器为完整紧凑 JSON；供复制使用）
+         *
+         * @return {@link String }
+         */
+        public String plainValue() {
+            if (this.container()) {
+                return String.valueOf(this.value());
+            }
+            return Opt.ofNullable(this.scalar).map(String::valueOf).orElse("");
+        }
+
+        /**
+         * 值（完整 JSON 文本，容器需整体序列化，仅在复制等低频场景调用）
          *
          * @return {@link String }
          */
         public Object value() {
-            return Opt.ofNullable(this.value)
+            if (this.container()) {
+                return JSON.toJSONString(JSON.parse(this.source.substring(this.start, this.end)));
+            }
+            return Opt.ofNullable(this.scalar)
                     .map(JSON::toJSONString)
                     .orElse("");
         }
@@ -104,12 +694,12 @@ public class JsonNodeParser {
          * @return {@link String }
          */
         public String type() {
-            return switch (this.value) {
-                case null -> "";
-                case final JSONObject ignored -> "Object";
-                case final JSONArray ignored -> "Array";
-                default -> this.value.getClass().getSimpleName();
-            };
+            if (this.container()) {
+                return this.source.charAt(this.start) == '{' ? "Object" : "Array";
+            }
+            return Opt.ofNullable(this.scalar)
+                    .map(item -> item.getClass().getSimpleName())
+                    .orElse("");
         }
     }
 }
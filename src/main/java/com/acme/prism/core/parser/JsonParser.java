@@ -2,6 +2,7 @@ package com.acme.prism.core.parser;
 
 import com.acme.prism.common.enums.AnyFile;
 import com.acme.prism.core.parser.converter.*;
+import com.acme.prism.core.settings.PluginSettings;
 
 import java.util.EnumMap;
 import java.util.Map;
@@ -31,6 +32,18 @@ public class JsonParser {
         return getConverter(targetFormat).convert(json);
     }
 
+    /**
+     * 转换已解析的数据（同一份 JSON 转多种格式时共享解析结果）
+     *
+     * @param parsed       解析结果
+     * @param json         数据
+     * @param targetFormat 目标格式
+     * @return {@link String }
+     */
+    public static String convert(final Object parsed, final String json, final AnyFile targetFormat) {
+        return getConverter(targetFormat).convert(parsed, json);
+    }
+
     /**
      * 反向转换
      *
@@ -52,8 +65,6 @@ public class JsonParser {
         register(converters, AnyFile.YAML, new YamlConverter());
         register(converters, AnyFile.TOML, new TomlConverter());
         register(converters, AnyFile.XLSX, new XlsxConverter());
-        register(converters, AnyFile.CLASS, new ClassConverter());
-        register(converters, AnyFile.RECORD, new RecordConverter());
         register(converters, AnyFile.BASE64, new Base64Converter());
         register(converters, AnyFile.URL_PARAMS, new UrlParamsConverter());
         register(converters, AnyFile.PROPERTIES, new PropertiesConverter());
@@ -67,6 +78,13 @@ public class JsonParser {
     }
 
     private static DataFormatConverter getConverter(final AnyFile targetFormat) {
+        // 类/Record 按当前设置的采样上限构建
+        if (targetFormat == AnyFile.CLASS) {
+            return new ClassConverter(PluginSettings.of().classSampleLimit);
+        }
+        if (targetFormat == AnyFile.RECORD) {
+            return new RecordConverter(PluginSettings.of().classSampleLimit);
+        }
         final DataFormatConverter converter = CONVERTERS.get(targetFormat);
         if (Objects.isNull(converter)) {
             throw new IllegalArgumentException("不支持的格式");
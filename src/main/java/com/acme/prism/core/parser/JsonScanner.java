@@ -0,0 +1,306 @@
+package com.acme.prism.core.parser;
+
+import java.util.Arrays;
+
+/**
+ * JSON结构扫描器
+ * <p>
+ * 在原文上按偏移做结构跳跃（不构建对象、不拷贝文本），供懒加载树、偏移映射等按需定位值边界
+ * <p>
+ * 扫描严格遵循 RFC 8259 语法；嵌套以显式栈迭代处理，深层嵌套不会栈溢出
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public final class JsonScanner {
+    /**
+     * 非法位置标记
+     */
+    public static final int INVALID = -1;
+    /**
+     * 容器栈初始深度
+     */
+    private static final int INITIAL_DEPTH = 32;
+
+    private JsonScanner() {
+    }
+
+    /**
+     * 跳过空白
+     *
+     * @param text 文本
+     * @param pos  起始偏移
+     * @param end  结束偏移（不含）
+     * @return 首个非空白字符偏移；全为空白时返回 end
+     */
+    public static int skipWhitespace(final CharSequence text, final int pos, final int end) {
+        int index = pos;
+        while (index < end) {
+            final char c = text.charAt(index);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                break;
+            }
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * 判断整段文本是否恰为一个合法 JSON 值（允许首尾空白）
+     *
+     * @param text 文本
+     * @return boolean
+     */
+    public static boolean isValid(final CharSequence text) {
+        final int length = text.length();
+        final int start = skipWhitespace(text, 0, length);
+        if (start >= length) {
+            return Boolean.FALSE;
+        }
+        final int end = skipValue(text, start, length);
+        return end != INVALID && skipWhitespace(text, end, length) == length;
+    }
+
+    /**
+     * 跳过一个完整的 JSON 值
+     *
+     * @param text 文本
+     * @param pos  值起始偏移（需指向值首字符）
+     * @param end  结束偏移（不含）
+     * @return 值结束偏移（不含）；语法非法返回 {@link #INVALID}
+     */
+    public static int skipValue(final CharSequence text, final int pos, final int end) {
+        // 容器栈：true 为对象，false 为数组
+        boolean[] stack = new boolean[INITIAL_DEPTH];
+        int depth = 0;
+        int index = pos;
+        while (true) {
+            // 期望一个值
+            if (index >= end) {
+                return INVALID;
+            }
+            final char c = text.charAt(index);
+            boolean closed = Boolean.FALSE;
+            if (c == '{' || c == '[') {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth << 1);
+                }
+                stack[depth++] = c == '{';
+                index = skipWhitespace(text, index + 1, end);
+                if (index < end && text.charAt(index) == (c == '{' ? '}' : ']')) {
+                    // 空容器直接出栈
+                    depth--;
+                    index++;
+                    closed = Boolean.TRUE;
+                } else if (c == '{') {
+                    index = skipMember(text, index, end);
+                    if (index == INVALID) {
+                        return INVALID;
+                    }
+                    continue;
+                } else {
+                    continue;
+                }
+            } else {
+                index = skipScalar(text, index, end);
+                if (index == INVALID) {
+                    return INVALID;
+                }
+                closed = Boolean.TRUE;
+            }
+            // 值结束：逐层处理分隔符与闭合符
+            while (closed) {
+                if (depth == 0) {
+                    return index;
+                }
+                index = skipWhitespace(text, index, end);
+                if (index >= end) {
+                    return INVALID;
+                }
+                final char next = text.charAt(index);
+                final boolean object = stack[depth - 1];
+                if (next == ',') {
+                    index = skipWhitespace(text, index + 1, end);
+                    if (object) {
+                        index = skipMember(text, index, end);
+                        if (index == INVALID) {
+                            return INVALID;
+                        }
+                    }
+                    closed = Boolean.FALSE;
+                } else if (next == (object ? '}' : ']')) {
+                    depth--;
+                    index++;
+                } else {
+                    return INVALID;
+                }
+            }
+        }
+    }
+
+    /**
+     * 跳过对象成员的键与冒号
+     *
+     * @param text 文本
+     * @param pos  键起始偏移（需指向引号）
+     * @param end  结束偏移（不含）
+     * @return 成员值起始偏移；语法非法返回 {@link #INVALID}
+     */
+    public static int skipMember(final CharSequence text, final int pos, final int end) {
+        if (pos >= end || text.charAt(pos) != '"') {
+            return INVALID;
+        }
+        int index = skipString(text, pos, end);
+        if (index == INVALID) {
+            return INVALID;
+        }
+        index = skipWhitespace(text, index, end);
+        if (index >= end || text.charAt(index) != ':') {
+            return INVALID;
+        }
+        return skipWhitespace(text, index + 1, end);
+    }
+
+    /**
+     * 跳过字符串
+     *
+     * @param text 文本
+     * @param pos  起始偏移（需指向引号）
+     * @param end  结束偏移（不含）
+     * @return 字符串结束偏移（不含，即闭合引号之后）；语法非法返回 {@link #INVALID}
+     */
+    public static int skipString(final CharSequence text, final int pos, final int end) {
+        int index = pos + 1;
+        while (index < end) {
+            final char c = text.charAt(index);
+            if (c == '"') {
+                return index + 1;
+            }
+            if (c == '\\') {
+                if (index + 1 >= end) {
+                    return INVALID;
+                }
+                final char escaped = text.charAt(index + 1);
+                if (escaped == 'u') {
+                    if (index + 6 > end) {
+                        return INVALID;
+                    }
+                    for (int offset = 2; offset < 6; offset++) {
+                        if (Character.digit(text.charAt(index + offset), 16) < 0) {
+                            return INVALID;
+                        }
+                    }
+                    index += 6;
+                    continue;
+                }
+                if ("\"\\/bfnrt".indexOf(escaped) < 0) {
+                    return INVALID;
+                }
+                index += 2;
+                continue;
+            }
+            if (c < 0x20) {
+                return INVALID;
+            }
+            index++;
+        }
+        return INVALID;
+    }
+
+    /**
+     * 判断字符串区间是否含转义（无转义时可直接截取，免去反序列化）
+     *
+     * @param text  文本
+     * @param start 起始偏移（引号处）
+     * @param end   结束偏移（闭合引号之后）
+     * @return boolean
+     */
+    public static boolean hasEscape(final CharSequence text, final int start, final int end) {
+        for (int index = start + 1; index < end - 1; index++) {
+            if (text.charAt(index) == '\\') {
+                return Boolean.TRUE;
+            }
+        }
+        return Boolean.FALSE;
+    }
+
+    /**
+     * 跳过标量（字符串、数字、true/false/null）
+     *
+     * @param text 文本
+     * @param pos  起始偏移
+     * @param end  结束偏移（不含）
+     * @return 标量结束偏移（不含）；语法非法返回 {@link #INVALID}
+     */
+    private static int skipScalar(final CharSequence text, final int pos, final int end) {
+        return switch (text.charAt(pos)) {
+            case '"' -> skipString(text, pos, end);
+            case 't' -> skipLiteral(text, pos, end, "true");
+            case 'f' -> skipLiteral(text, pos, end, "false");
+            case 'n' -> skipLiteral(text, pos, end, "null");
+            case '-', '0', '1', '2', '3', '4', '5', '6', '7', '8', '9' -> skipNumber(text, pos, end);
+            default -> INVALID;
+        };
+    }
+
+    private static int skipLiteral(final CharSequence text, final int pos, final int end, final String literal) {
+        if (pos + literal.length() > end) {
+            return INVALID;
+        }
+        for (int offset = 0; offset < literal.length(); offset++) {
+            if (text.charAt(pos + offset) != literal.charAt(offset)) {
+                return INVALID;
+            }
+        }
+        return pos + literal.length();
+    }
+
+    private static int skipNumber(final CharSequence text, final int pos, final int end) {
+        int index = pos;
+        if (text.charAt(index) == '-') {
+            index++;
+        }
+        // 整数部分：单个 0 或非 0 开头的数字串
+        if (index >= end || !isDigit(text.charAt(index))) {
+            return INVALID;
+        }
+        if (text.charAt(index) == '0') {
+            index++;
+        } else {
+            index = skipDigits(text, index, end);
+        }
+        // 小数部分
+        if (index < end && text.charAt(index) == '.') {
+            final int fraction = skipDigits(text, index + 1, end);
+            if (fraction == index + 1) {
+                return INVALID;
+            }
+            index = fraction;
+        }
+        // 指数部分
+        if (index < end && (text.charAt(index) == 'e' || text.charAt(index) == 'E')) {
+            index++;
+            if (index < end && (text.charAt(index) == '+' || text.charAt(index) == '-')) {
+                index++;
+            }
+            final int exponent = skipDigits(text, index, end);
+            if (exponent == index) {
+                return INVALID;
+            }
+            index = exponent;
+        }
+        return index;
+    }
+
+    private static int skipDigits(final CharSequence text, final int pos, final int end) {
+        int index = pos;
+        while (index < end && isDigit(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+}
@@ -0,0 +1,456 @@
+package com.acme.prism.core.parser;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * JSON树搜索索引
+ * <p>
+ * 单次遍历原文，为每个非根节点登记一条 {@code 键:值} 小写文本（容器只登记键），全部文本顺序拼接为一块连续文本；
+ * 条目按文档先序编号，同时记录父条目、子序号与成员区间（键起始至值结束），无需构建节点对象即可还原树路径
+ * <p>
+ * 成员起始偏移按先序严格递增，原文偏移 → 最深条目只需二分后沿父链上溯，节点 → 原文区间直接按下标读取
+ * <p>
+ * 查询：关键字不少于 3 个字符时走三元组倒排表（按哈希分桶，取最短倒排表逐条校验），否则对连续文本线性查找；
+ * 文本超出上限时不建倒排表，退化为线性查找
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public final class JsonSearchIndex {
+    /**
+     * 空索引
+     */
+    public static final JsonSearchIndex EMPTY = new JsonSearchIndex(new int[0], new int[0], new int[0], new int[0], new int[0], new int[]{0}, "", null, null);
+    /**
+     * 三元组分桶数（2 的幂）
+     */
+    private static final int BUCKETS = 1 << 16;
+    /**
+     * 建立三元组倒排表的文本长度上限（超出退化为线性查找，防止倒排表内存失控）
+     */
+    private static final int MAX_TRIGRAM_TEXT_LENGTH = 16 * 1024 * 1024;
+    /**
+     * 条目分隔符（JSON 字符串内不允许出现原始换行，不会与内容混淆）
+     */
+    private static final char SEPARATOR = '\n';
+    /**
+     * 条目 → 父条目（根条目为 -1）
+     */
+    private final int[] parents;
+    /**
+     * 条目 → 在父容器中的子序号
+     */
+    private final int[] childIndexes;
+    /**
+     * 条目 → 成员在原文中的起始偏移（对象成员为键的起始引号，其余同值起始；先序严格递增）
+     */
+    private final int[] memberStarts;
+    /**
+     * 条目 → 值在原文中的起始偏移（先序递增）
+     */
+    private final int[] valueStarts;
+    /**
+     * 条目 → 值在原文中的结束偏移（不含）
+     */
+    private final int[] valueEnds;
+    /**
+     * 条目 → 在连续文本中的起始偏移（末尾额外一位为文本总长）
+     */
+    private final int[] textStarts;
+    /**
+     * 全部条目的小写连续文本
+     */
+    private final String text;
+    /**
+     * 分桶 → 倒排表起始位置（末尾额外一位为倒排总长）
+     */
+    private final int[] bucketOffsets;
+    /**
+     * 倒排表（按分桶连续存放条目编号，桶内递增）
+     */
+    private final int[] postings;
+
+    private JsonSearchIndex(final int[] parents, final int[] childIndexes, final int[] memberStarts, final int[] valueStarts, final int[] valueEnds,
+                            final int[] textStarts, final String text, final int[] bucketOffsets, final int[] postings) {
+        this.parents = parents;
+        this.childIndexes = childIndexes;
+        this.memberStarts = memberStarts;
+        this.valueStarts = valueStarts;
+        this.valueEnds = valueEnds;
+        this.textStarts = textStarts;
+        this.text = text;
+        this.bucketOffsets = bucketOffsets;
+        this.postings = postings;
+    }
+
+    /**
+     * 构建索引
+     *
+     * @param source JSON 原文
+     * @return 索引；非 JSON 文本返回 {@link #EMPTY}
+     */
+    public static JsonSearchIndex build(final String source) {
+        if (Objects.isNull(source) || !JsonScanner.isValid(source)) {
+            return EMPTY;
+        }
+        final Builder builder = new Builder(source);
+        builder.walk();
+        return builder.finish();
+    }
+
+    /**
+     * 条目数（含根条目）
+     *
+     * @return int
+     */
+    public int size() {
+        return this.parents.length;
+    }
+
+    /**
+     * 条目值在原文中的起始偏移
+     *
+     * @param entry 条目
+     * @return int
+     */
+    public int valueStart(final int entry) {
+        return this.valueStarts[entry];
+    }
+
+    /**
+     * 条目值在原文中的结束偏移（不含）
+     *
+     * @param entry 条目
+     * @return int
+     */
+    public int valueEnd(final int entry) {
+        return this.valueEnds[entry];
+    }
+
+    /**
+     * 条目成员在原文中的起始偏移（对象成员含键）
+     *
+     * @param entry 条目
+     * @return int
+     */
+    public int memberStart(final int entry) {
+        return this.memberStarts[entry];
+    }
+
+    /**
+     * 原文偏移 → 包含该偏移的最深条目
+     * <p>
+     * 二分找到成员起始不超过偏移的最后一个条目，再沿父链上溯到区间覆盖偏移的祖先，耗时 O(log n + 深度)
+     *
+     * @param offset 原文偏移
+     * @return 条目编号；偏移不在任何成员内返回 -1
+     */
+    public int entryAt(final int offset) {
+        final int found = Arrays.binarySearch(this.memberStarts, offset);
+        int entry = found >= 0 ? found : -found - 2;
+        while (entry >= 0 && offset >= this.valueEnds[entry]) {
+            entry = this.parents[entry];
+        }
+        return entry;
+    }
+
+    /**
+     * 从根到条目的子序号路径
+     *
+     * @param entry 条目
+     * @return 子序号数组（根条目为空数组）
+     */
+    public int[] childPath(final int entry) {
+        int depth = 0;
+        for (int current = entry; this.parents[current] >= 0; current = this.parents[current]) {
+            depth++;
+        }
+        final int[] path = new int[depth];
+        for (int current = entry; this.parents[current] >= 0; current = this.parents[current]) {
+            path[--depth] = this.childIndexes[current];
+        }
+        return path;
+    }
+
+    /**
+     * 搜索包含关键字的条目
+     *
+     * @param keyword 小写关键字
+     * @return 命中条目编号（文档先序递增）
+     */
+    public int[] search(final String keyword) {
+        if (Objects.isNull(keyword) || keyword.isEmpty() || this.text.isEmpty()) {
+            return new int[0];
+        }
+        return keyword.length() >= 3 && Objects.nonNull(this.postings) ? this.searchTrigram(keyword) : this.searchLinear(keyword);
+    }
+
+    /**
+     * 条目集合对应的值起始偏移（递增，供渲染器二分判断行是否命中）
+     *
+     * @param entries 条目编号（递增）
+     * @return int[]
+     */
+    public int[] valueStartsOf(final int[] entries) {
+        final int[] starts = new int[entries.length];
+        for (int index = 0; index < entries.length; index++) {
+            starts[index] = this.valueStarts[entries[index]];
+        }
+        return starts;
+    }
+
+    private int[] searchLinear(final String keyword) {
+        int[] hits = new int[16];
+        int count = 0;
+        int from = 0;
+        while (true) {
+            final int found = this.text.indexOf(keyword, from);
+            if (found < 0) {
+                break;
+            }
+            final int entry = this.entryOfText(found);
+            if (count == hits.length) {
+                hits = Arrays.copyOf(hits, count << 1);
+            }
+            hits[count++] = entry;
+            // 同一条目只记一次，直接跳到下一条目
+            from = this.textStarts[entry + 1];
+        }
+        return Arrays.copyOf(hits, count);
+    }
+
+    private int[] searchTrigram(final String keyword) {
+        // 选出倒排表最短的三元组分桶作为候选集
+        int bestBucket = -1;
+        int bestSize = Integer.MAX_VALUE;
+        for (int index = 0; index + 2 < keyword.length(); index++) {
+            final int bucket = bucketOf(keyword.charAt(index), keyword.charAt(index + 1), keyword.charAt(index + 2));
+            final int size = this.bucketOffsets[bucket + 1] - this.bucketOffsets[bucket];
+            if (size < bestSize) {
+                bestSize = size;
+                bestBucket = bucket;
+            }
+        }
+        final int[] hits = new int[bestSize];
+        int count = 0;
+        for (int offset = this.bucketOffsets[bestBucket]; offset < this.bucketOffsets[bestBucket + 1]; offset++) {
+            final int entry = this.postings[offset];
+            if (this.entryContains(entry, keyword)) {
+                hits[count++] = entry;
+            }
+        }
+        return Arrays.copyOf(hits, count);
+    }
+
+    private boolean entryContains(final int entry, final String keyword) {
+        final int last = this.textStarts[entry + 1] - keyword.length();
+        for (int offset = this.textStarts[entry]; offset <= last; offset++) {
+            if (this.text.startsWith(keyword, offset)) {
+                return Boolean.TRUE;
+            }
+        }
+        return Boolean.FALSE;
+    }
+
+    /**
+     * 连续文本偏移 → 条目编号（二分）
+     *
+     * @param offset 文本偏移
+     * @return int
+     */
+    private int entryOfText(final int offset) {
+        final int found = Arrays.binarySearch(this.textStarts, offset);
+        int entry = found >= 0 ? found : -found - 2;
+        // 空文本条目（根）与后继条目起始偏移相同，取最后一个
+        while (entry + 1 < this.parents.length && this.textStarts[entry + 1] <= offset) {
+            entry++;
+        }
+        return entry;
+    }
+
+    private static int bucketOf(final char first, final char second, final char third) {
+        final int hash = (first * 31 + second) * 31 + third;
+        return (hash ^ (hash >>> 16)) & (BUCKETS - 1);
+    }
+
+    /**
+     * 索引构建器（显式栈单次遍历原文）
+     */
+    private static final class Builder {
+        /**
+         * 原文
+         */
+        private final String source;
+        /**
+         * 小写连续文本
+         */
+        private final StringBuilder text = new StringBuilder();
+        private int[] parents = new int[64];
+        private int[] childIndexes = new int[64];
+        private int[] memberStarts = new int[64];
+        private int[] valueStarts = new int[64];
+        private int[] valueEnds = new int[64];
+        private int[] textStarts = new int[64];
+        private int size;
+
+        private Builder(final String source) {
+            this.source = source;
+        }
+
+        private void walk() {
+            final int end = this.source.length();
+            int pos = JsonScanner.skipWhitespace(this.source, 0, end);
+            // 根条目不参与搜索，只登记结构
+            this.add(-1, 0, pos, pos);
+            if (this.source.charAt(pos) != '{' && this.source.charAt(pos) != '[') {
+                this.valueEnds[0] = JsonScanner.skipValue(this.source, pos, end);
+                return;
+            }
+            // 容器帧栈：条目编号、已登记子数、是否对象
+            int[] frameEntries = new int[32];
+            int[] frameCounts = new int[32];
+            boolean[] frameObjects = new boolean[32];
+            int depth = 0;
+            frameEntries[0] = 0;
+            frameObjects[0] = this.source.charAt(pos) == '{';
+            depth++;
+            pos++;
+            while (depth > 0) {
+                pos = JsonScanner.skipWhitespace(this.source, pos, end);
+                final char c = this.source.charAt(pos);
+                if (c == '}' || c == ']') {
+                    depth--;
+                    pos++;
+                    this.valueEnds[frameEntries[depth]] = pos;
+                    continue;
+                }
+                if (c == ',') {
+                    pos++;
+                    continue;
+                }
+                final int top = depth - 1;
+                final int childIndex = frameCounts[top]++;
+                final int valueStart;
+                final int entry;
+                if (frameObjects[top]) {
+                    final int keyEnd = JsonScanner.skipString(this.source, pos, end);
+                    valueStart = JsonScanner.skipMember(this.source, pos, end);
+                    entry = this.add(frameEntries[top], childIndex, pos, valueStart);
+                    this.appendLower(pos + 1, keyEnd - 1);
+                } else {
+                    valueStart = pos;
+                    entry = this.add(frameEntries[top], childIndex, valueStart, valueStart);
+                    this.text.append('[').append(childIndex).append(']');
+                }
+                this.text.append(':');
+                final char first = this.source.charAt(valueStart);
+                if (first == '{' || first == '[') {
+                    if (depth == frameEntries.length) {
+                        frameEntries = Arrays.copyOf(frameEntries, depth << 1);
+                        frameCounts = Arrays.copyOf(frameCounts, depth << 1);
+                        frameObjects = Arrays.copyOf(frameObjects, depth << 1);
+                    }
+                    frameEntries[depth] = entry;
+                    frameCounts[depth] = 0;
+                    frameObjects[depth] = first == '{';
+                    depth++;
+                    pos = valueStart + 1;
+                } else {
+                    pos = JsonScanner.skipValue(this.source, valueStart, end);
+                    this.valueEnds[entry] = pos;
+                    this.appendLower(valueStart, pos);
+                }
+                this.text.append(SEPARATOR);
+            }
+        }
+
+        private int add(final int parent, final int childIndex, final int memberStart, final int valueStart) {
+            if (this.size == this.parents.length) {
+                final int capacity = this.size << 1;
+                this.parents = Arrays.copyOf(this.parents, capacity);
+                this.childIndexes = Arrays.copyOf(this.childIndexes, capacity);
+                this.memberStarts = Arrays.copyOf(this.memberStarts, capacity);
+                this.valueStarts = Arrays.copyOf(this.valueStarts, capacity);
+                this.valueEnds = Arrays.copyOf(this.valueEnds, capacity);
+                this.textStarts = Arrays.copyOf(this.textStarts, capacity);
+            }
+            this.parents[this.size] = parent;
+            this.childIndexes[this.size] = childIndex;
+            this.memberStarts[this.size] = memberStart;
+            this.valueStarts[this.size] = valueStart;
+            this.textStarts[this.size] = this.text.length();
+            return this.size++;
+        }
+
+        private void appendLower(final int start, final int end) {
+            for (int index = start; index < end; index++) {
+                this.text.append(Character.toLowerCase(this.source.charAt(index)));
+            }
+        }
+
+        private JsonSearchIndex finish() {
+            final String joined = this.text.toString();
+            final int[] starts = Arrays.copyOf(this.textStarts, this.size + 1);
+            starts[this.size] = joined.length();
+            int[] offsets = null;
+            int[] postings = null;
+            if (joined.length() <= MAX_TRIGRAM_TEXT_LENGTH) {
+                // 两遍构建：先按桶计数，再按前缀和填充（同一条目同一桶只登记一次）
+                final int[] counts = new int[BUCKETS + 1];
+                final int[] lastEntry = new int[BUCKETS];
+                Arrays.fill(lastEntry, -1);
+                this.forEachTrigram(joined, starts, (bucket, entry) -> {
+                    if (lastEntry[bucket] != entry) {
+                        lastEntry[bucket] = entry;
+                        counts[bucket + 1]++;
+                    }
+                });
+                for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                    counts[bucket + 1] += counts[bucket];
+                }
+                final int[] filled = Arrays.copyOf(counts, BUCKETS);
+                final int[] target = new int[counts[BUCKETS]];
+                Arrays.fill(lastEntry, -1);
+                this.forEachTrigram(joined, starts, (bucket, entry) -> {
+                    if (lastEntry[bucket] != entry) {
+                        lastEntry[bucket] = entry;
+                        target[filled[bucket]++] = entry;
+                    }
+                });
+                offsets = counts;
+                postings = target;
+            }
+            return new JsonSearchIndex(
+                    Arrays.copyOf(this.parents, this.size),
+                    Arrays.copyOf(this.childIndexes, this.size),
+                    Arrays.copyOf(this.memberStarts, this.size),
+                    Arrays.copyOf(this.valueStarts, this.size),
+                    Arrays.copyOf(this.valueEnds, this.size),
+                    starts, joined, offsets, postings
+            );
+        }
+
+        private void forEachTrigram(final String joined, final int[] starts, final TrigramConsumer consumer) {
+            for (int entry = 0; entry < this.size; entry++) {
+                for (int offset = starts[entry]; offset + 3 <= starts[entry + 1]; offset++) {
+                    consumer.accept(bucketOf(joined.charAt(offset), joined.charAt(offset + 1), joined.charAt(offset + 2)), entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * 三元组回调
+     */
+    @FunctionalInterface
+    private interface TrigramConsumer {
+        /**
+         * 接收一个三元组
+         *
+         * @param bucket 分桶
+         * @param entry  条目
+         */
+        void accept(int bucket, int entry);
+    }
+}
@@ -0,0 +1,206 @@
+package com.acme.prism.core.parser;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONException;
+import com.alibaba.fastjson2.JSONObject;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.ByteArrayInputStream;
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.cert.CertificateFactory;
+import java.security.spec.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * JWT 验签密钥解析
+ * <p>
+ * 从文本中提取本地提供的验签密钥：
+ * <ul>
+ *   <li>PEM：{@code PUBLIC KEY}（X.509 SubjectPublicKeyInfo，RSA/EC）与 {@code CERTIFICATE}</li>
+ *   <li>JWKS / JWK：{@code RSA}（n、e）、{@code EC}（crv、x、y）、{@code oct}（k，HMAC 密钥）</li>
+ * </ul>
+ * 解析结果按密钥原文缓存，批量验签时同一份密钥只解析一次；无法解析的密钥静默忽略
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public final class JwtKeys {
+    /**
+     * 缓存容量上限（超限整体清空重建）
+     */
+    private static final int CACHE_LIMIT = 64;
+    /**
+     * PEM 块
+     */
+    private static final Pattern PEM_PATTERN = Pattern.compile(
+            "-----BEGIN (PUBLIC KEY|CERTIFICATE)-----([A-Za-z0-9+/=\\s]+?)-----END \\1-----"
+    );
+    /**
+     * JWKS 的 keys 成员
+     */
+    private static final Pattern JWKS_PATTERN = Pattern.compile("\"keys\"\\s*:\\s*\\[");
+    /**
+     * 密钥原文 → 解析结果
+     */
+    private static final Map<String, List<JwtKey>> CACHE = new ConcurrentHashMap<>();
+
+    private JwtKeys() {
+    }
+
+    /**
+     * 提取文本中的全部密钥（PEM 块与 JWKS 对象）
+     *
+     * @param text 文本
+     * @return {@link List }<{@link JwtKey }>
+     */
+    public static List<JwtKey> find(final String text) {
+        final List<JwtKey> keys = new ArrayList<>();
+        final Matcher pem = PEM_PATTERN.matcher(text);
+        while (pem.find()) {
+            keys.addAll(parse(pem.group()));
+        }
+        final Matcher jwks = JWKS_PATTERN.matcher(text);
+        int from = 0;
+        while (jwks.find(from)) {
+            // keys 成员所在对象：向前找最近的左花括号，再按 JSON 结构跳到对象结尾
+            final int start = text.lastIndexOf('{', jwks.start());
+            final int end = start < 0 ? -1 : JsonScanner.skipValue(text, start, text.length());
+            if (end > jwks.start()) {
+                keys.addAll(parse(text.substring(start, end)));
+                from = end;
+            } else {
+                from = jwks.end();
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 解析密钥原文（PEM 块、JWKS 或单个 JWK，命中缓存直接返回）
+     *
+     * @param material 密钥原文
+     * @return {@link List }<{@link JwtKey }>
+     */
+    public static List<JwtKey> parse(final String material) {
+        final String trimmed = material.strip();
+        final List<JwtKey> cached = CACHE.get(trimmed);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        final List<JwtKey> keys = List.copyOf(trimmed.startsWith("-----") ? parsePem(trimmed) : parseJwks(trimmed));
+        if (CACHE.size() >= CACHE_LIMIT) {
+            CACHE.clear();
+        }
+        CACHE.put(trimmed, keys);
+        return keys;
+    }
+
+    private static List<JwtKey> parsePem(final String text) {
+        final List<JwtKey> keys = new ArrayList<>();
+        final Matcher matcher = PEM_PATTERN.matcher(text);
+        while (matcher.find()) {
+            final byte[] der = Base64.getMimeDecoder().decode(matcher.group(2));
+            try {
+                if ("CERTIFICATE".equals(matcher.group(1))) {
+                    keys.add(new JwtKey(null, CertificateFactory.getInstance("X.509")
+                            .generateCertificate(new ByteArrayInputStream(der)).getPublicKey()));
+                } else {
+                    keys.add(new JwtKey(null, publicKey(new X509EncodedKeySpec(der))));
+                }
+            } catch (final GeneralSecurityException | IllegalArgumentException ignored) {
+                // 无法解析的密钥忽略
+            }
+        }
+        return keys;
+    }
+
+    private static List<JwtKey> parseJwks(final String text) {
+        final JSONObject root;
+        try {
+            root = JSON.parseObject(text);
+        } catch (final JSONException e) {
+            return List.of();
+        }
+        if (Objects.isNull(root)) {
+            return List.of();
+        }
+        final JSONArray array = root.getJSONArray("keys");
+        final List<JSONObject> jwks = new ArrayList<>();
+        if (Objects.isNull(array)) {
+            jwks.add(root);
+        } else {
+            for (final Object item : array) {
+                if (item instanceof final JSONObject jwk) {
+                    jwks.add(jwk);
+                }
+            }
+        }
+        final List<JwtKey> keys = new ArrayList<>(jwks.size());
+        for (final JSONObject jwk : jwks) {
+            try {
+                final Key key = jwkKey(jwk);
+                if (Objects.nonNull(key)) {
+                    keys.add(new JwtKey(jwk.getString("kid"), key));
+                }
+            } catch (final GeneralSecurityException | IllegalArgumentException ignored) {
+                // 无法解析的密钥忽略
+            }
+        }
+        return keys;
+    }
+
+    private static Key jwkKey(final JSONObject jwk) throws GeneralSecurityException {
+        final Base64.Decoder decoder = Base64.getUrlDecoder();
+        return switch (String.valueOf(jwk.getString("kty"))) {
+            case "RSA" -> KeyFactory.getInstance("RSA").generatePublic(new RSAPublicKeySpec(
+                    new BigInteger(1, decoder.decode(jwk.getString("n"))), new BigInteger(1, decoder.decode(jwk.getString("e")))
+            ));
+            case "EC" -> {
+                final AlgorithmParameters parameters = AlgorithmParameters.getInstance("EC");
+                parameters.init(new ECGenParameterSpec(curve(jwk.getString("crv"))));
+                yield KeyFactory.getInstance("EC").generatePublic(new ECPublicKeySpec(
+                        new java.security.spec.ECPoint(
+                                new BigInteger(1, decoder.decode(jwk.getString("x"))), new BigInteger(1, decoder.decode(jwk.getString("y")))
+                        ),
+                        parameters.getParameterSpec(ECParameterSpec.class)
+                ));
+            }
+            case "oct" -> new SecretKeySpec(decoder.decode(jwk.getString("k")), "HMAC");
+            default -> null;
+        };
+    }
+
+    private static String curve(final String crv) throws GeneralSecurityException {
+        return switch (String.valueOf(crv)) {
+            case "P-256" -> "secp256r1";
+            case "P-384" -> "secp384r1";
+            case "P-521" -> "secp521r1";
+            default -> throw new GeneralSecurityException("Unsupported curve: " + crv);
+        };
+    }
+
+    private static Key publicKey(final KeySpec spec) throws GeneralSecurityException {
+        try {
+            return KeyFactory.getInstance("RSA").generatePublic(spec);
+        } catch (final InvalidKeySpecException e) {
+            return KeyFactory.getInstance("EC").generatePublic(spec);
+        }
+    }
+
+    /**
+     * 验签密钥
+     *
+     * @param kid 密钥标识（JWK 的 kid，PEM 无）
+     * @param key 公钥或 HMAC 密钥
+     */
+    public record JwtKey(String kid, Key key) {
+    }
+}
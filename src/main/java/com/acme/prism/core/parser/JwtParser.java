@@ -3,13 +3,23 @@ package com.acme.prism.core.parser;
 import cn.hutool.core.lang.Opt;
 import cn.hutool.core.util.StrUtil;
 import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONException;
 import com.alibaba.fastjson2.JSONObject;
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 
+import javax.crypto.SecretKey;
+import java.security.Key;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
 import java.util.Base64;
+import java.util.List;
 import java.util.Objects;
+import java.util.stream.IntStream;
 
 /**
  * JWT解析器<br/>
@@ -23,6 +33,10 @@ public class JwtParser {
      * Base64解码器
      */
     private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    /**
+     * 并行解码阈值（令牌数不少于该值时并行解码）
+     */
+    private static final int PARALLEL_THRESHOLD = 32;
 
     /**
      * 支持多密钥的JWT转换
@@ -41,6 +55,112 @@ public class JwtParser {
         }
     }
 
+    /**
+     * 批量JWT转换
+     * <p>
+     * 单遍扫描文本中的全部令牌（去重，保留首次出现偏移与出现次数）并逐个解码，令牌较多时并行解码；
+     * 文本中附带 PEM 公钥/证书或 JWKS 时一并验签（仅校验签名，不校验 exp 等声明），解析后的密钥按原文缓存。
+     * 结果为 JSON 数组，每项附带解码耗时（微秒）
+     *
+     * @param text      文本
+     * @param minTokens 最少令牌数（不足时返回空字符串）
+     * @return JSON数组字符串
+     */
+    public static String convertAll(final String text, final int minTokens) {
+        if (StrUtil.isBlank(text)) {
+            return "";
+        }
+        final List<JwtScanner.Match> matches = JwtScanner.scan(text);
+        if (matches.isEmpty() || matches.size() < minTokens) {
+            return "";
+        }
+        final List<JwtKeys.JwtKey> keys = JwtKeys.find(text);
+        final IntStream indexes = IntStream.range(0, matches.size());
+        final JSONObject[] results = new JSONObject[matches.size()];
+        (matches.size() < PARALLEL_THRESHOLD ? indexes : indexes.parallel())
+                .forEach(index -> results[index] = convertMatch(matches.get(index), keys));
+        return JSONArray.of((Object[]) results).toJSONString();
+    }
+
+    /**
+     * 解码（并验签）单个令牌
+     *
+     * @param match 令牌
+     * @param keys  验签密钥
+     * @return {@link JSONObject }
+     */
+    private static JSONObject convertMatch(final JwtScanner.Match match, final List<JwtKeys.JwtKey> keys) {
+        final long start = System.nanoTime();
+        final JSONObject result = JSONObject.of(
+                "token", match.token(),
+                "offset", match.offset(),
+                "occurrences", match.occurrences()
+        );
+        try {
+            final DecodedJWT decode = JWT.decode(match.token());
+            result.put("header", decode(decode.getHeader()));
+            result.put("payload", decode(decode.getPayload()));
+            result.put("signature", decode.getSignature());
+            if (!keys.isEmpty()) {
+                final JwtKeys.JwtKey key = verify(decode, keys);
+                result.put("verified", Objects.nonNull(key));
+                Opt.ofNullable(key).map(JwtKeys.JwtKey::kid).ifPresent(kid -> result.put("keyId", kid));
+            }
+        } catch (final JWTDecodeException e) {
+            result.put("error", e.getMessage());
+        }
+        result.put("elapsedMicros", (System.nanoTime() - start) / 1000);
+        return result;
+    }
+
+    /**
+     * 验签（双方均有 kid 时只尝试 kid 相同的密钥）
+     *
+     * @param decode 解码后的JWT
+     * @param keys   验签密钥
+     * @return 验签通过的密钥；均未通过返回 null
+     */
+    private static JwtKeys.JwtKey verify(final DecodedJWT decode, final List<JwtKeys.JwtKey> keys) {
+        for (final JwtKeys.JwtKey key : keys) {
+            if (Objects.nonNull(decode.getKeyId()) && Objects.nonNull(key.kid()) && !decode.getKeyId().equals(key.kid())) {
+                continue;
+            }
+            final Algorithm algorithm = algorithm(decode.getAlgorithm(), key.key());
+            if (Objects.isNull(algorithm)) {
+                continue;
+            }
+            try {
+                algorithm.verify(decode);
+                return key;
+            } catch (final SignatureVerificationException ignored) {
+                // 继续尝试下一个密钥
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 按头部 alg 与密钥类型构造验签算法
+     *
+     * @param alg 头部算法
+     * @param key 密钥
+     * @return {@link Algorithm }；算法与密钥类型不匹配返回 null
+     */
+    private static Algorithm algorithm(final String alg, final Key key) {
+        return switch (key) {
+            case final RSAPublicKey rsa when "RS256".equals(alg) -> Algorithm.RSA256(rsa, null);
+            case final RSAPublicKey rsa when "RS384".equals(alg) -> Algorithm.RSA384(rsa, null);
+            case final RSAPublicKey rsa when "RS512".equals(alg) -> Algorithm.RSA512(rsa, null);
+            case final ECPublicKey ec when "ES256".equals(alg) -> Algorithm.ECDSA256(ec, null);
+            case final ECPublicKey ec when "ES384".equals(alg) -> Algorithm.ECDSA384(ec, null);
+            case final ECPublicKey ec when "ES512".equals(alg) -> Algorithm.ECDSA512(ec, null);
+            case final SecretKey secret when "HS256".equals(alg) -> Algorithm.HMAC256(secret.getEncoded());
+            case final SecretKey secret when "HS384".equals(alg) -> Algorithm.HMAC384(secret.getEncoded());
+            case final SecretKey secret when "HS512".equals(alg) -> Algorithm.HMAC512(secret.getEncoded());
+            case null, default -> null;
+        };
+    }
+
     /**
      * 转换为JSON
      *
@@ -63,8 +183,14 @@ public class JwtParser {
      * @return 解码后的JSON对象
      */
     private static Object decode(final String base64Str) {
-        return Opt.ofBlankAble(base64Str)
-                .map(item -> StrUtil.utf8Str(DECODER.decode(item))).filter(JSON::isValid)
-                .map(JSON::parse).filter(Objects::nonNull).orElse("");
+        if (StrUtil.isBlank(base64Str)) {
+            return "";
+        }
+        try {
+            // 直接解析 UTF-8 字节，不再经字符串中转与合法性预校验的二次解析
+            return Opt.ofNullable(JSON.parse(DECODER.decode(base64Str))).orElse("");
+        } catch (final JSONException | IllegalArgumentException e) {
+            return "";
+        }
     }
 }
@@ -0,0 +1,125 @@
+package com.acme.prism.core.parser;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * JWT 令牌扫描器
+ * <p>
+ * 单遍扫描任意文本（日志片段、请求头等），提取其中全部 JWS 紧凑格式令牌：
+ * 三段 Base64URL 以 {@code .} 连接，头部以 {@code eyJ}（即 {@code {"} 的编码）开头，签名段可为空（{@code alg=none}）。
+ * 两侧须为非 Base64URL 字符，五段的 JWE 不视为令牌。每个字符至多检查常数次
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public final class JwtScanner {
+    /**
+     * JSON 对象头部的 Base64URL 前缀
+     */
+    private static final String HEADER_PREFIX = "eyJ";
+
+    private JwtScanner() {
+    }
+
+    /**
+     * 扫描文本中的令牌（按首次出现顺序去重）
+     *
+     * @param text 文本
+     * @return {@link List }<{@link Match }>
+     */
+    public static List<Match> scan(final CharSequence text) {
+        final Map<String, Match> matches = new LinkedHashMap<>();
+        final int length = text.length();
+        int pos = 0;
+        while (pos < length) {
+            if (!isBase64Url(text.charAt(pos))) {
+                pos++;
+                continue;
+            }
+            final int end = tokenEnd(text, pos, length);
+            if (end > pos && (pos == 0 || text.charAt(pos - 1) != '.')) {
+                final String token = text.subSequence(pos, end).toString();
+                final Match previous = matches.get(token);
+                matches.put(token, new Match(token, Objects.isNull(previous) ? pos : previous.offset(),
+                        Objects.isNull(previous) ? 1 : previous.occurrences() + 1));
+                pos = end;
+            } else {
+                // 跳过当前 Base64URL 片段及其后紧邻的点分片段，避免在同一片段内重复尝试
+                pos = skipRun(text, pos, length);
+            }
+        }
+        return new ArrayList<>(matches.values());
+    }
+
+    /**
+     * 从片段起点解析令牌
+     *
+     * @return 令牌结束偏移；不构成令牌返回 -1
+     */
+    private static int tokenEnd(final CharSequence text, final int start, final int length) {
+        if (!startsWith(text, start, length)) {
+            return -1;
+        }
+        final int headerEnd = segmentEnd(text, start, length);
+        if (headerEnd >= length || text.charAt(headerEnd) != '.') {
+            return -1;
+        }
+        final int payloadEnd = segmentEnd(text, headerEnd + 1, length);
+        if (payloadEnd == headerEnd + 1 || payloadEnd >= length || text.charAt(payloadEnd) != '.') {
+            return -1;
+        }
+        final int signatureEnd = segmentEnd(text, payloadEnd + 1, length);
+        // 其后仍有点分片段：JWE 或其他点分标识
+        if (signatureEnd < length && text.charAt(signatureEnd) == '.'
+                && signatureEnd + 1 < length && isBase64Url(text.charAt(signatureEnd + 1))) {
+            return -1;
+        }
+        return signatureEnd;
+    }
+
+    private static int skipRun(final CharSequence text, final int start, final int length) {
+        int pos = segmentEnd(text, start, length);
+        while (pos + 1 < length && text.charAt(pos) == '.' && isBase64Url(text.charAt(pos + 1))) {
+            pos = segmentEnd(text, pos + 1, length);
+        }
+        return pos;
+    }
+
+    private static int segmentEnd(final CharSequence text, final int start, final int length) {
+        int pos = start;
+        while (pos < length && isBase64Url(text.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean startsWith(final CharSequence text, final int start, final int length) {
+        if (start + HEADER_PREFIX.length() > length) {
+            return Boolean.FALSE;
+        }
+        for (int index = 0; index < HEADER_PREFIX.length(); index++) {
+            if (text.charAt(start + index) != HEADER_PREFIX.charAt(index)) {
+                return Boolean.FALSE;
+            }
+        }
+        return Boolean.TRUE;
+    }
+
+    private static boolean isBase64Url(final char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '_';
+    }
+
+    /**
+     * 令牌
+     *
+     * @param token       令牌文本
+     * @param offset      首次出现的偏移
+     * @param occurrences 出现次数
+     */
+    public record Match(String token, int offset, int occurrences) {
+    }
+}
@@ -0,0 +1,214 @@
+package com.acme.prism.core.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * 内存映射的大 JSON 文件
+ * <p>
+ * 经 {@link FileChannel#map} 只读映射整个文件，不读入堆内 {@code byte[]} 也不解码为整串 {@link String}：
+ * <ul>
+ *   <li>校验：以字节视图（按 ISO-8859-1 逐字节映射为字符）交给 {@link JsonScanner}，结构字符均为 ASCII，
+ *   多字节 UTF-8 只出现在字符串内部，因此结构校验结果与解码后一致；映射页由操作系统按需换入换出</li>
+ *   <li>分页：按固定字节数切分，页边界优先对齐到附近的换行，否则对齐到 UTF-8 字符起点，只在查看时解码单页</li>
+ * </ul>
+ * 单次映射上限为 {@link Integer#MAX_VALUE} 字节，超出时拒绝打开
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public final class MappedJsonFile {
+    /**
+     * 大文件阈值（字节），不小于该值的本地文件走映射分页查看
+     */
+    public static final long LARGE_FILE_THRESHOLD = 16L << 20;
+    /**
+     * 默认页大小（字节）
+     */
+    private static final int PAGE_SIZE = 1 << 20;
+    /**
+     * 页边界向后寻找换行的最大距离（字节）
+     */
+    private static final int LINE_ALIGN_WINDOW = 1 << 12;
+    /**
+     * 文件路径
+     */
+    private final Path path;
+    /**
+     * 只读映射
+     */
+    private final ByteBuffer buffer;
+    /**
+     * 各页起始偏移（末尾追加文件大小作为哨兵）
+     */
+    private final int[] pageStarts;
+
+    private MappedJsonFile(final Path path, final ByteBuffer buffer, final int pageSize) {
+        this.path = path;
+        this.buffer = buffer;
+        this.pageStarts = index(buffer, pageSize);
+    }
+
+    /**
+     * 映射文件
+     *
+     * @param path 文件路径
+     * @return {@link MappedJsonFile }
+     * @throws IOException 文件不可读或超过单次映射上限
+     */
+    public static MappedJsonFile open(final Path path) throws IOException {
+        return open(path, PAGE_SIZE);
+    }
+
+    /**
+     * 映射文件（指定页大小）
+     *
+     * @param path     文件路径
+     * @param pageSize 页大小（字节）
+     * @return {@link MappedJsonFile }
+     * @throws IOException 文件不可读或超过单次映射上限
+     */
+    static MappedJsonFile open(final Path path, final int pageSize) throws IOException {
+        // 映射建立后即可关闭通道，映射在缓冲区被回收前一直有效
+        try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too large to map: %s (%d bytes)".formatted(path, size));
+            }
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new MappedJsonFile(path, mapped, pageSize);
+        }
+    }
+
+    /**
+     * 计算页边界
+     *
+     * @param buffer   映射
+     * @param pageSize 页大小
+     * @return 各页起始偏移（含末尾哨兵）
+     */
+    private static int[] index(final ByteBuffer buffer, final int pageSize) {
+        final int size = buffer.limit();
+        int[] starts = new int[size / pageSize + 2];
+        int count = 0;
+        int start = 0;
+        while (start < size) {
+            starts[count++] = start;
+            start = boundary(buffer, (int) Math.min((long) start + pageSize, size), size);
+        }
+        starts[count++] = size;
+        if (count != starts.length) {
+            starts = Arrays.copyOf(starts, count);
+        }
+        return starts;
+    }
+
+    /**
+     * 调整页边界：附近有换行时落在换行之后，否则落在 UTF-8 字符起点
+     */
+    private static int boundary(final ByteBuffer buffer, final int target, final int size) {
+        final int limit = Math.min(size, target + LINE_ALIGN_WINDOW);
+        for (int index = target; index < limit; index++) {
+            if (buffer.get(index) == '\n') {
+                return index + 1;
+            }
+        }
+        int index = target;
+        // 跳过续字节（10xxxxxx）
+        while (index < size && (buffer.get(index) & 0xC0) == 0x80) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * 流式校验整个文件是否为合法 JSON
+     *
+     * @return boolean
+     */
+    public boolean validate() {
+        final ByteSequence bytes = new ByteSequence(this.buffer, 0, this.buffer.limit());
+        // 跳过 UTF-8 BOM
+        final int start = this.buffer.limit() >= 3 && (this.buffer.get(0) & 0xFF) == 0xEF
+                && (this.buffer.get(1) & 0xFF) == 0xBB && (this.buffer.get(2) & 0xFF) == 0xBF ? 3 : 0;
+        return JsonScanner.isValid(start == 0 ? bytes : bytes.subSequence(start, bytes.length()));
+    }
+
+    /**
+     * 解码单页文本
+     *
+     * @param index 页序号（从 0 开始）
+     * @return {@link String }
+     */
+    public String page(final int index) {
+        final int start = this.pageStarts[index];
+        return StandardCharsets.UTF_8.decode(this.buffer.slice(start, this.pageStarts[index + 1] - start)).toString();
+    }
+
+    /**
+     * 页起始偏移
+     *
+     * @param index 页序号
+     * @return 字节偏移
+     */
+    public int pageStart(final int index) {
+        return this.pageStarts[index];
+    }
+
+    /**
+     * 页数
+     *
+     * @return int
+     */
+    public int pageCount() {
+        return this.pageStarts.length - 1;
+    }
+
+    /**
+     * 文件大小（字节）
+     *
+     * @return long
+     */
+    public long size() {
+        return this.buffer.limit();
+    }
+
+    /**
+     * 文件路径
+     *
+     * @return {@link Path }
+     */
+    public Path path() {
+        return this.path;
+    }
+
+    /**
+     * 字节视图（每个字节按 ISO-8859-1 映射为一个字符，只读、不拷贝）
+     *
+     * @param buffer 映射
+     * @param offset 起始偏移
+     * @param length 长度
+     */
+    private record ByteSequence(ByteBuffer buffer, int offset, int length) implements CharSequence {
+        @Override
+        public char charAt(final int index) {
+            return (char) (this.buffer.get(this.offset + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(final int start, final int end) {
+            return new ByteSequence(this.buffer, this.offset + start, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return StandardCharsets.ISO_8859_1.decode(this.buffer.slice(this.offset, this.length)).toString();
+        }
+    }
+}
@@ -3,11 +3,16 @@ package com.acme.prism.core.parser;
 import cn.hutool.core.io.FileUtil;
 import cn.hutool.core.lang.Opt;
 import cn.hutool.core.util.StrUtil;
-import cn.hutool.http.HttpResponse;
-import cn.hutool.http.HttpUtil;
+import com.acme.prism.core.settings.PluginSettings;
+import com.intellij.util.concurrency.AppExecutorUtil;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 import java.util.regex.Pattern;
 
 /**
@@ -27,9 +32,13 @@ public class PathParser {
      * HTTP 请求超时（毫秒），防止慢响应挂起后台线程
      */
     private static final int HTTP_TIMEOUT_MS = 5000;
+    /**
+     * 网络内容获取器（共享连接池与响应缓存）
+     */
+    private static final WebFetcher FETCHER = new WebFetcher(AppExecutorUtil.getAppExecutorService(), Duration.ofMillis(HTTP_TIMEOUT_MS));
 
     /**
-     * 将Path转换为JSON
+     * 将Path转换为JSON（同步，网络路径等待获取完成，由调用方保证在后台线程执行）
      *
      * @param text 文本
      * @return {@link String }
@@ -38,7 +47,7 @@ public class PathParser {
         if (StrUtil.isNotEmpty(text)) {
             // 匹配`Web`路径
             if (isWebPath(text)) {
-                return fetchWebContent(text);
+                return fetchWebContent(text).join();
             }
             // 匹配`local`路径
             if (isLocalPath(text)) {
@@ -48,13 +57,45 @@ public class PathParser {
         return "";
     }
 
+    /**
+     * 异步获取`Web`路径内容
+     * <p>
+     * 非`Web`路径立即以空字符串完成，不占用线程
+     *
+     * @param text 文本
+     * @return {@link CompletableFuture }<{@link String }>
+     */
+    public static CompletableFuture<String> convertWebAsync(final String text) {
+        return StrUtil.isNotEmpty(text) && isWebPath(text) ? fetchWebContent(text) : CompletableFuture.completedFuture("");
+    }
+
+    /**
+     * 大文件路径（不小于 {@link MappedJsonFile#LARGE_FILE_THRESHOLD} 的本地文件）
+     * <p>
+     * 大文件不经 {@link #convert} 整体读入，由调用方经 {@link MappedJsonFile} 映射后分页查看
+     *
+     * @param text 文本
+     * @return {@link Path }；非本地路径、文件不存在或未达阈值时返回 null
+     */
+    public static Path largeLocalFile(final String text) {
+        if (StrUtil.isEmpty(text) || isWebPath(text) || !isLocalPath(text)) {
+            return null;
+        }
+        try {
+            final Path path = toPath(text);
+            return Files.isRegularFile(path) && Files.size(path) >= MappedJsonFile.LARGE_FILE_THRESHOLD ? path : null;
+        } catch (final IOException | RuntimeException ignored) {
+            return null;
+        }
+    }
+
     /**
      * 是`Web`路径
      *
      * @param text 文本
      * @return boolean
      */
-    private static boolean isWebPath(final String text) {
+    public static boolean isWebPath(final String text) {
         return WEB_PATH_PATTERN.matcher(text).matches();
     }
 
@@ -73,23 +114,23 @@ public class PathParser {
     }
 
     /**
-     * 获取网络内容（同步 HTTP GET，由调用方保证在后台线程执行）
+     * 获取网络内容（异步 HTTP GET）
      * <br/>
      * 特性：
-     * - 自动关闭HTTP响应连接
-     * - 仅返回200状态码的成功响应内容
+     * - 响应体流式读取并解压，超过设置的大小上限立即中止
+     * - 仅返回2xx状态码的成功响应内容，带 ETag/Last-Modified 的响应经条件请求复用缓存
      * - 支持HTTPS协议
-     * - 异常时返回null（包含网络错误、超时、解析失败等情况）
+     * - 异常时返回空字符串（包含网络错误、超时、超限等情况）
      *
      * @param url 完整的HTTP/HTTPS地址，需要包含协议头（如http://或https://）
-     * @return CompletableFuture<String> 异步结果容器，成功时包含网页内容字符串，失败返回null
+     * @return CompletableFuture<String> 异步结果容器，成功时包含网页内容字符串，失败返回空字符串
      */
-    private static String fetchWebContent(final String url) {
-        try (final HttpResponse response = HttpUtil.createGet(url).timeout(HTTP_TIMEOUT_MS).execute()) {
-            // 使用响应状态码过滤，仅`>= 200 && < 300`状态码视为成功
-            return Opt.of(response.isOk()).filter(i -> i).map(_ -> response.body()).orElse("");
-        } catch (final Exception ignored) {
-            return "";
+    private static CompletableFuture<String> fetchWebContent(final String url) {
+        try {
+            return FETCHER.fetch(URI.create(url), (long) PluginSettings.of().webFetchMaxMegabytes << 20)
+                    .exceptionally(_ -> "");
+        } catch (final IllegalArgumentException ignored) {
+            return CompletableFuture.completedFuture("");
         }
     }
 
@@ -108,12 +149,26 @@ public class PathParser {
      */
     private static String readLocalFile(final String path) {
         try {
-            // 双重路径处理逻辑：优先识别`file://`协议格式
-            return Opt.of(path.startsWith(FILE_PROTOCOL_PREFIX)).filter(i -> i)
-                    .map(_ -> FileUtil.readUtf8String(Paths.get(URI.create(path)).toFile()))
-                    .orElseGet(() -> FileUtil.readUtf8String(path));
+            final Path file = toPath(path);
+            // 大文件不整体读入（由 largeLocalFile 分流到映射分页查看）
+            if (Files.size(file) >= MappedJsonFile.LARGE_FILE_THRESHOLD) {
+                return "";
+            }
+            return FileUtil.readUtf8String(file.toFile());
         } catch (final Exception ignored) {
             return "";
         }
     }
+
+    /**
+     * 解析本地路径（双重路径处理逻辑：优先识别`file://`协议格式）
+     *
+     * @param path 路径
+     * @return {@link Path }
+     */
+    private static Path toPath(final String path) {
+        return Opt.of(path.startsWith(FILE_PROTOCOL_PREFIX)).filter(i -> i)
+                .map(_ -> Paths.get(URI.create(path)))
+                .orElseGet(() -> Paths.get(path));
+    }
 }
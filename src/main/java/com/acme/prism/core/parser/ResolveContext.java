@@ -0,0 +1,340 @@
+package com.acme.prism.core.parser;
+
+import com.acme.prism.core.json.JsonPrettyWriter;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiClassType;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiTypeParameter;
+import com.intellij.psi.util.InheritanceUtil;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * 类型解析上下文（单次 JAVA 转 JSON 调用内有效）
+ * <p>
+ * 承担两件事：
+ * <ul>
+ *   <li>循环检测：以路径栈记录当前递归链上的类，进入时压栈、返回时出栈，无需为每个字段复制集合</li>
+ *   <li>记忆化：按规范类型文本缓存类型分类（只解析一次 {@code resolve()} 与继承判断），按 {@link PsiClass} 缓存
+ *   {@link ClassJsonWriter} 已写出的 JSON 片段</li>
+ * </ul>
+ * 类结构只有在与调用路径无关时才缓存：子树内发生过任何循环截断（含截断在类自身）的结果都不缓存——
+ * 截断在哪一层取决于从哪个祖先进入环（如 {@code C ⇄ D} 从 C 进入与从 D 进入展开深度不同），复用会使输出依赖遍历顺序。
+ * 无截断的子树不可达任何祖先，在任意路径下展开结果相同。无循环的 DTO 图中每个类只解析一次，总耗时与不同类型数成线性
+ * <p>
+ * 并行遍历时由 {@link #fork} 为每个子树派生上下文：缓存与进度共享（线程安全），路径栈各自独立。
+ * 每进入一个类检查一次进度指示器，取消后不再下钻，已解析的部分照常返回（截断的结果不入缓存）
+ * <p>
+ * 同时记录遍历涉及的文件及其修改戳（含父类所在文件），供跨调用缓存判断结果是否仍然有效；
+ * 文件只记 {@link VirtualFile}，不持有 PSI。遇到无法解析的类型或没有物理文件的类时另行标记：
+ * 这类结果没有可对比的文件（如之后才新增被引用的类），只能按 Java PSI 的整体修改计数判断
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public final class ResolveContext {
+    /**
+     * 规范类型文本 → 类型分类
+     */
+    private final Map<String, Resolution> resolutions;
+    /**
+     * 类 → 已写出的 JSON 片段（仅路径无关的结果）
+     */
+    private final Map<PsiClass, JsonPrettyWriter.Fragment> fragments;
+    /**
+     * 遍历涉及的文件 → 首次访问时的修改戳
+     */
+    private final Map<VirtualFile, Long> dependencies;
+    /**
+     * 是否依赖了无法按文件跟踪的内容（无法解析的类型、无物理文件的类）
+     */
+    private final AtomicBoolean untracked;
+    /**
+     * 示例值生成方式
+     */
+    private final SampleValues samples;
+    /**
+     * 进度指示器（可为空）
+     */
+    private final ProgressIndicator indicator;
+    /**
+     * 是否因取消而截断
+     */
+    private final AtomicBoolean truncated;
+    /**
+     * 路径上的类 → 所在栈深
+     */
+    private final Map<PsiClass, Integer> path = new HashMap<>();
+    /**
+     * 栈帧 → 子树内循环截断点的最小栈深
+     */
+    private int[] lowestCuts = new int[16];
+    /**
+     * 当前栈深
+     */
+    private int depth;
+
+    public ResolveContext() {
+        this(null, SampleValues.RANDOM);
+    }
+
+    /**
+     * 构建解析上下文
+     *
+     * @param indicator 进度指示器（取消后停止下钻，可为空）
+     * @param samples   示例值生成方式
+     */
+    public ResolveContext(final ProgressIndicator indicator, final SampleValues samples) {
+        this(new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new ConcurrentHashMap<>(), new AtomicBoolean(),
+                samples, indicator, new AtomicBoolean());
+    }
+
+    private ResolveContext(final Map<String, Resolution> resolutions, final Map<PsiClass, JsonPrettyWriter.Fragment> fragments,
+                           final Map<VirtualFile, Long> dependencies, final AtomicBoolean untracked, final SampleValues samples,
+                           final ProgressIndicator indicator, final AtomicBoolean truncated) {
+        this.resolutions = resolutions;
+        this.fragments = fragments;
+        this.dependencies = dependencies;
+        this.untracked = untracked;
+        this.samples = samples;
+        this.indicator = indicator;
+        this.truncated = truncated;
+    }
+
+    /**
+     * 派生子树上下文（共享缓存与进度，路径栈从根类开始独立维护）
+     *
+     * @param root 子树所属的根类
+     * @return {@link ResolveContext }
+     */
+    ResolveContext fork(final PsiClass root) {
+        final ResolveContext child = new ResolveContext(this.resolutions, this.fragments, this.dependencies, this.untracked,
+                this.samples, this.indicator, this.truncated);
+        child.enter(root);
+        return child;
+    }
+
+    /**
+     * 是否已取消（取消后记为截断）
+     *
+     * @return boolean
+     */
+    boolean canceled() {
+        if (Objects.nonNull(this.indicator) && this.indicator.isCanceled()) {
+            this.truncated.set(Boolean.TRUE);
+            return Boolean.TRUE;
+        }
+        return Boolean.FALSE;
+    }
+
+    /**
+     * 结果是否因取消而不完整
+     *
+     * @return boolean
+     */
+    public boolean truncated() {
+        return this.truncated.get();
+    }
+
+    /**
+     * 遍历涉及的文件及首次访问时的修改戳
+     *
+     * @return {@link Map }<{@link VirtualFile }, {@link Long }>
+     */
+    Map<VirtualFile, Long> dependencies() {
+        return this.dependencies;
+    }
+
+    /**
+     * 结果是否依赖了无法按文件跟踪的内容
+     *
+     * @return boolean
+     */
+    boolean untracked() {
+        return this.untracked.get();
+    }
+
+    /**
+     * 记录类所在文件（重试时保留首次记录的修改戳，只会让缓存更早失效）
+     *
+     * @param psiClass 类
+     */
+    void depend(final PsiClass psiClass) {
+        if (Objects.isNull(psiClass)) {
+            return;
+        }
+        final PsiFile file = psiClass.getContainingFile();
+        final VirtualFile virtualFile = Objects.isNull(file) ? null : file.getVirtualFile();
+        if (Objects.isNull(virtualFile)) {
+            this.untracked.set(Boolean.TRUE);
+            return;
+        }
+        this.dependencies.putIfAbsent(virtualFile, file.getModificationStamp());
+    }
+
+    /**
+     * 示例值生成方式
+     *
+     * @return {@link SampleValues }
+     */
+    SampleValues samples() {
+        return this.samples;
+    }
+
+    /**
+     * 类型分类（命中缓存时不再解析）
+     *
+     * @param type       类类型
+     * @param classifier 分类函数
+     * @return {@link Resolution }
+     */
+    Resolution classify(final PsiClassType type, final Function<PsiClassType, Resolution> classifier) {
+        final String text = type.getCanonicalText();
+        final Resolution cached = this.resolutions.get(text);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        final Resolution resolution = classifier.apply(type);
+        this.depend(resolution.psiClass());
+        // 被引用的类之后可能新增，结果无法按已有文件判断是否失效
+        if (resolution.kind() == Kind.UNRESOLVED) {
+            this.untracked.set(Boolean.TRUE);
+        }
+        // 类型参数（如 T）的文本在不同类中含义不同，不按文本缓存
+        if (!(resolution.psiClass() instanceof PsiTypeParameter)) {
+            this.resolutions.put(text, resolution);
+        }
+        return resolution;
+    }
+
+    /**
+     * 已缓存的 JSON 片段
+     *
+     * @param psiClass 类
+     * @return 片段；未缓存返回 null
+     */
+    JsonPrettyWriter.Fragment cachedFragment(final PsiClass psiClass) {
+        return this.fragments.get(psiClass);
+    }
+
+    /**
+     * 类是否在当前递归路径上（再次进入即构成循环）
+     * <p>
+     * 命中时记录截断点，使截断点所在子树路径上的类均不被缓存
+     *
+     * @param psiClass 类
+     * @return boolean
+     */
+    boolean cutsCycle(final PsiClass psiClass) {
+        final Integer target = this.path.get(psiClass);
+        if (Objects.isNull(target)) {
+            return Boolean.FALSE;
+        }
+        this.lowestCuts[this.depth - 1] = Math.min(this.lowestCuts[this.depth - 1], target);
+        return Boolean.TRUE;
+    }
+
+    /**
+     * 进入类（压栈）
+     *
+     * @param psiClass 类
+     */
+    void enter(final PsiClass psiClass) {
+        if (this.depth == this.lowestCuts.length) {
+            this.lowestCuts = Arrays.copyOf(this.lowestCuts, this.depth << 1);
+        }
+        this.path.put(psiClass, this.depth);
+        this.lowestCuts[this.depth++] = Integer.MAX_VALUE;
+        // 字段含继承字段，父类所在文件同样是依赖
+        this.depend(psiClass);
+        InheritanceUtil.getSuperClasses(psiClass).forEach(this::depend);
+        if (Objects.nonNull(this.indicator)) {
+            this.indicator.setText2(psiClass.getName());
+        }
+    }
+
+    /**
+     * 记录当前栈顶类写出的 JSON 片段（路径无关时缓存）
+     *
+     * @param psiClass 类
+     * @param fragment 片段
+     */
+    void rememberFragment(final PsiClass psiClass, final JsonPrettyWriter.Fragment fragment) {
+        if (this.cacheable()) {
+            this.fragments.put(psiClass, fragment);
+        }
+    }
+
+    /**
+     * 栈顶类的结果是否与路径无关且完整（子树内无循环截断且未取消）
+     *
+     * @return boolean
+     */
+    private boolean cacheable() {
+        return this.lowestCuts[this.depth - 1] == Integer.MAX_VALUE && !this.canceled();
+    }
+
+    /**
+     * 离开类（出栈），截断点向父帧传递
+     *
+     * @param psiClass 类
+     */
+    void exit(final PsiClass psiClass) {
+        this.path.remove(psiClass);
+        this.depth--;
+        if (this.depth > 0) {
+            this.lowestCuts[this.depth - 1] = Math.min(this.lowestCuts[this.depth - 1], this.lowestCuts[this.depth]);
+        }
+    }
+
+    /**
+     * 类型分类
+     */
+    enum Kind {
+        /**
+         * 基础类型（有默认值）
+         */
+        DEFAULT,
+        /**
+         * 枚举
+         */
+        ENUM,
+        /**
+         * 时间类型
+         */
+        TEMPORAL,
+        /**
+         * 集合
+         */
+        COLLECTION,
+        /**
+         * Map
+         */
+        MAP,
+        /**
+         * 自定义类型
+         */
+        OBJECT,
+        /**
+         * 无法解析
+         */
+        UNRESOLVED
+    }
+
+    /**
+     * 类型分类结果
+     *
+     * @param kind     分类
+     * @param psiClass 解析出的类（基础类型与无法解析时为 null）
+     */
+    record Resolution(Kind kind, PsiClass psiClass) {
+    }
+}
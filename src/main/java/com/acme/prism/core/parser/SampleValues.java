@@ -0,0 +1,233 @@
+package com.acme.prism.core.parser;
+
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.RandomUtil;
+import com.acme.prism.common.TemporalTypeHandler;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static java.util.Map.entry;
+
+/**
+ * 示例值生成方式（JAVA转JSON 时基础类型与时间类型的取值）
+ * <ul>
+ *   <li>{@link #RANDOM}：每个字段随机生成，时间类型取当前时间</li>
+ *   <li>{@link #FIXED}：每种类型取预先生成的固定值（共享实例，不再逐字段分配），时间类型取固定时刻（UTC），
+ *   同一类型多次生成的 JSON 完全一致，便于对比与缓存</li>
+ * </ul>
+ * 固定值按类型与序号取值：序号为字段在所属类中同类型字段里的次序（由类的字段声明决定，与遍历次序无关），
+ * 同一类中同类型的字段依次取不同的值，并行遍历字段子树时输出同样稳定
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public enum SampleValues {
+    /**
+     * 随机值
+     */
+    RANDOM {
+        @Override
+        public Object value(final String typeName) {
+            final Supplier<Object> generator = GENERATORS.get(typeName);
+            return Objects.isNull(generator) ? null : generator.get();
+        }
+
+        @Override
+        public String temporal(final String className) {
+            return TemporalTypeHandler.format(className, Clock.systemDefaultZone());
+        }
+    },
+    /**
+     * 固定值
+     */
+    FIXED {
+        @Override
+        public Object value(final String typeName) {
+            return Holder.CONSTANTS.get(typeName);
+        }
+
+        @Override
+        public Object value(final String typeName, final int ordinal) {
+            return ordinal <= 0 ? this.value(typeName) : Holder.vary(Holder.CONSTANTS.get(typeName), ordinal);
+        }
+
+        @Override
+        public String temporal(final String className) {
+            return Holder.TEMPORALS.getOrDefault(className, "");
+        }
+    };
+
+    /**
+     * 基本类型及常用包装类型的随机值生成器
+     *
+     * <p>用于为不同类型生成随机但符合类型特征的默认值，主要场景包括：
+     * <ul>
+     *   <li>自动生成测试数据</li>
+     *   <li>对象反序列化时的默认值填充</li>
+     *   <li>动态创建示例对象时的字段初始化</li>
+     * </ul>
+     *
+     * @implNote 使用不可变Map保证线程安全，Map.ofEntries创建的映射表具有如下特性：
+     * <li>键集合包含基本类型名称和String全限定名</li>
+     * <li>所有数值类型使用绝对值保证非负</li>
+     * <li>short类型通过Convert.toShort进行范围适配</li>
+     * <li>虽然String不是基本类型，但因其高频使用特性特别包含在此映射表中</li>
+     */
+    private static final Map<String, Supplier<Object>> GENERATORS = Map.ofEntries(
+            // 原始类型
+            entry("char", RandomUtil::randomChar),
+            entry("boolean", RandomUtil::randomBoolean),
+            entry("int", () -> Math.abs(RandomUtil.randomInt())),
+            entry("long", () -> Math.abs(RandomUtil.randomLong())),
+            entry("float", () -> Math.abs(RandomUtil.randomFloat())),
+            entry("byte", () -> RandomUtil.randomBytes(BigDecimal.ONE.intValue())),
+            entry("short", () -> Math.abs(Convert.toShort(RandomUtil.randomInt(Short.MAX_VALUE)))),
+            entry("double", () -> Math.abs(RandomUtil.randomDouble(BigDecimal.ONE.intValue(), Short.MAX_VALUE))),
+            // 包装类型
+            entry("Character", RandomUtil::randomChar),
+            entry("Boolean", RandomUtil::randomBoolean),
+            entry("Long", () -> Math.abs(RandomUtil.randomLong())),
+            entry("Integer", () -> Math.abs(RandomUtil.randomInt())),
+            entry("Float", () -> Math.abs(RandomUtil.randomFloat())),
+            entry("Byte", () -> RandomUtil.randomBytes(BigDecimal.ONE.intValue())),
+            entry("Short", () -> Math.abs(Convert.toShort(RandomUtil.randomInt(Short.MAX_VALUE)))),
+            entry("Double", () -> Math.abs(RandomUtil.randomDouble(BigDecimal.ONE.intValue(), Short.MAX_VALUE))),
+            entry("java.lang.Character", RandomUtil::randomChar),
+            entry("java.lang.Boolean", RandomUtil::randomBoolean),
+            entry("java.lang.Long", () -> Math.abs(RandomUtil.randomLong())),
+            entry("java.lang.Integer", () -> Math.abs(RandomUtil.randomInt())),
+            entry("java.lang.Float", () -> Math.abs(RandomUtil.randomFloat())),
+            entry("java.lang.Byte", () -> RandomUtil.randomBytes(BigDecimal.ONE.intValue())),
+            entry("java.lang.Short", () -> Math.abs(Convert.toShort(RandomUtil.randomInt(Short.MAX_VALUE)))),
+            entry("java.lang.Double", () -> Math.abs(RandomUtil.randomDouble(BigDecimal.ONE.intValue(), Short.MAX_VALUE))),
+            // 字符串
+            entry("String", () -> RandomUtil.randomString(10)),
+            entry("java.lang.String", () -> RandomUtil.randomString(10)),
+            // 数值类
+            entry("BigInteger", () -> new BigInteger(64, RandomUtil.getRandom())),
+            entry("BigDecimal", () -> BigDecimal.valueOf(RandomUtil.randomDouble(1, Short.MAX_VALUE))),
+            entry("java.math.BigInteger", () -> new BigInteger(64, RandomUtil.getRandom())),
+            entry("java.math.BigDecimal", () -> BigDecimal.valueOf(RandomUtil.randomDouble(1, Short.MAX_VALUE)))
+    );
+
+    /**
+     * 类型示例值
+     *
+     * @param typeName 规范类型文本（如 {@code int}、{@code java.lang.String}）
+     * @return 示例值；不支持的类型返回 null
+     */
+    public abstract Object value(final String typeName);
+
+    /**
+     * 类型示例值（按序号区分同类型的字段）
+     *
+     * @param typeName 规范类型文本
+     * @param ordinal  同类型字段中的序号（从 0 开始，0 与 {@link #value(String)} 一致）
+     * @return 示例值；不支持的类型返回 null
+     */
+    public Object value(final String typeName, final int ordinal) {
+        return this.value(typeName);
+    }
+
+    /**
+     * 时间类型示例值
+     *
+     * @param className 时间类全限定名
+     * @return 格式化后的时间；不支持的类型返回空字符串
+     */
+    public abstract String temporal(final String className);
+
+    /**
+     * 是否为可生成示例值的基础类型
+     *
+     * @param typeName 规范类型文本
+     * @return boolean
+     */
+    public static boolean supports(final String typeName) {
+        return GENERATORS.containsKey(typeName);
+    }
+
+    /**
+     * 按设置选择生成方式
+     *
+     * @param fixed 是否使用固定值
+     * @return {@link SampleValues }
+     */
+    public static SampleValues of(final boolean fixed) {
+        return fixed ? FIXED : RANDOM;
+    }
+
+    /**
+     * 固定值表（首次使用 {@link #FIXED} 时初始化）
+     */
+    private static final class Holder {
+        /**
+         * 固定时刻
+         */
+        private static final Clock CLOCK = Clock.fixed(Instant.parse("2000-01-01T00:00:00Z"), ZoneOffset.UTC);
+        /**
+         * 字节示例值（共享实例，调用方不得修改）
+         */
+        private static final byte[] BYTES = {1};
+        /**
+         * 类型 → 固定值
+         */
+        private static final Map<String, Object> CONSTANTS = GENERATORS.keySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), Holder::constant));
+        /**
+         * 时间类 → 固定时刻的格式化结果
+         */
+        private static final Map<String, String> TEMPORALS = TemporalTypeHandler.supportedTypes().stream()
+                .collect(Collectors.toUnmodifiableMap(Function.identity(), className -> TemporalTypeHandler.format(className, CLOCK)));
+
+        private static Object constant(final String typeName) {
+            return switch (typeName.substring(typeName.lastIndexOf('.') + 1)) {
+                case "char", "Character" -> 'a';
+                case "boolean", "Boolean" -> Boolean.TRUE;
+                case "int", "Integer" -> 1;
+                case "long", "Long" -> 1L;
+                case "float", "Float" -> 1.5F;
+                case "byte", "Byte" -> BYTES;
+                case "short", "Short" -> (short) 1;
+                case "double", "Double" -> 1.5D;
+                case "String" -> "string";
+                case "BigInteger" -> BigInteger.ONE;
+                case "BigDecimal" -> new BigDecimal("1.50");
+                default -> throw new IllegalStateException("No fixed sample for " + typeName);
+            };
+        }
+
+        /**
+         * 按序号偏移固定值
+         *
+         * @param constant 序号 0 的固定值
+         * @param ordinal  序号（大于 0）
+         * @return {@link Object }
+         */
+        private static Object vary(final Object constant, final int ordinal) {
+            return switch (constant) {
+                case final Character c -> (char) (c + ordinal % 26);
+                case final Boolean _ -> ordinal % 2 == 0;
+                case final Integer i -> i + ordinal;
+                case final Long l -> l + ordinal;
+                case final Float f -> f + ordinal;
+                case final Double d -> d + ordinal;
+                case final Short h -> (short) (h + ordinal % Short.MAX_VALUE);
+                case final byte[] _ -> new byte[]{(byte) (1 + ordinal % Byte.MAX_VALUE)};
+                case final String text -> text + (ordinal + 1);
+                case final BigInteger b -> b.add(BigInteger.valueOf(ordinal));
+                case final BigDecimal b -> b.add(BigDecimal.valueOf(ordinal));
+                case null, default -> constant;
+            };
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.acme.prism.core.parser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * 网络内容获取器（JDK {@link HttpClient}，异步）
+ * <p>
+ * 特性：
+ * <ul>
+ *   <li>发送与等待响应头不占用线程；响应体以流的形式在指定执行器上边读边解压（gzip/deflate）</li>
+ *   <li>大小上限：声明的 Content-Length 超限时不读响应体，解压后累计超限时立即关闭流中止连接</li>
+ *   <li>响应缓存：带 ETag / Last-Modified 的响应按 URL 缓存（LRU，按响应体总字符数限额），再次获取时发送条件请求，
+ *   304 直接复用缓存；Cache-Control 声明的 max-age 内不发请求，no-store 与超过单条上限的响应体不缓存</li>
+ * </ul>
+ * 仅 2xx（与 304 命中缓存）视为成功，其余状态与网络异常均以异常结束
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public final class WebFetcher {
+    /**
+     * 单条缓存响应体字符数上限（更大的响应体不缓存）
+     */
+    private static final int CACHE_ENTRY_CHARS = 1 << 20;
+    /**
+     * 缓存响应体总字符数上限
+     */
+    private static final long CACHE_TOTAL_CHARS = 4L << 20;
+    /**
+     * 读取缓冲大小
+     */
+    private static final int BUFFER_SIZE = 8192;
+    /**
+     * Cache-Control 的 max-age
+     */
+    private static final Pattern MAX_AGE_PATTERN = Pattern.compile("max-age\\s*=\\s*(\\d+)");
+    /**
+     * Content-Type 的 charset
+     */
+    private static final Pattern CHARSET_PATTERN = Pattern.compile("charset\\s*=\\s*\"?([\\w.:-]+)\"?", Pattern.CASE_INSENSITIVE);
+    /**
+     * HTTP 客户端
+     */
+    private final HttpClient client;
+    /**
+     * 响应体读取执行器
+     */
+    private final Executor executor;
+    /**
+     * 请求超时（至收到响应头）
+     */
+    private final Duration timeout;
+    /**
+     * 单条缓存响应体字符数上限
+     */
+    private final int cacheEntryChars;
+    /**
+     * 缓存响应体总字符数上限
+     */
+    private final long cacheTotalChars;
+    /**
+     * URL → 缓存响应（访问顺序，超限淘汰最久未用）
+     */
+    private final Map<String, Cached> cache = new LinkedHashMap<>(16, 0.75F, Boolean.TRUE);
+    /**
+     * 当前缓存响应体总字符数（受 {@link #cache} 锁保护）
+     */
+    private long cachedChars;
+
+    /**
+     * 网络内容获取器
+     *
+     * @param executor 响应体读取执行器
+     * @param timeout  连接与请求超时
+     */
+    public WebFetcher(final Executor executor, final Duration timeout) {
+        this(executor, timeout, CACHE_ENTRY_CHARS, CACHE_TOTAL_CHARS);
+    }
+
+    /**
+     * 网络内容获取器
+     *
+     * @param executor        响应体读取执行器
+     * @param timeout         连接与请求超时
+     * @param cacheEntryChars 单条缓存响应体字符数上限
+     * @param cacheTotalChars 缓存响应体总字符数上限
+     */
+    WebFetcher(final Executor executor, final Duration timeout, final int cacheEntryChars, final long cacheTotalChars) {
+        this.executor = executor;
+        this.timeout = timeout;
+        this.cacheEntryChars = cacheEntryChars;
+        this.cacheTotalChars = cacheTotalChars;
+        this.client = HttpClient.newBuilder()
+                .executor(executor)
+                .connectTimeout(timeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * 异步 GET
+     *
+     * @param uri      地址
+     * @param maxBytes 响应体上限（解压后字节数）
+     * @return {@link CompletableFuture }<{@link String }>
+     */
+    public CompletableFuture<String> fetch(final URI uri, final long maxBytes) {
+        final String key = uri.toString();
+        final Cached cached = this.cached(key);
+        if (Objects.nonNull(cached) && cached.fresh()) {
+            return CompletableFuture.completedFuture(cached.body());
+        }
+        final HttpRequest.Builder builder = HttpRequest.newBuilder(uri).timeout(this.timeout).GET()
+                .header("Accept-Encoding", "gzip, deflate");
+        if (Objects.nonNull(cached)) {
+            // 条件请求
+            if (Objects.nonNull(cached.etag())) {
+                builder.header("If-None-Match", cached.etag());
+            }
+            if (Objects.nonNull(cached.lastModified())) {
+                builder.header("If-Modified-Since", cached.lastModified());
+            }
+        }
+        return this.client.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofInputStream())
+                .thenApplyAsync(response -> {
+                    try (final InputStream body = response.body()) {
+                        if (response.statusCode() == 304 && Objects.nonNull(cached)) {
+                            this.remember(key, cached.body(), response.headers());
+                            return cached.body();
+                        }
+                        if (response.statusCode() < 200 || response.statusCode() >= 300) {
+                            throw new IOException("HTTP %d: %s".formatted(response.statusCode(), uri));
+                        }
+                        final String text = read(body, response.headers(), maxBytes);
+                        this.remember(key, text, response.headers());
+                        return text;
+                    } catch (final IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, this.executor);
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void clear() {
+        synchronized (this.cache) {
+            this.cache.clear();
+            this.cachedChars = 0;
+        }
+    }
+
+    private Cached cached(final String key) {
+        synchronized (this.cache) {
+            return this.cache.get(key);
+        }
+    }
+
+    /**
+     * 缓存响应（无校验器、声明 no-store 或响应体超过单条上限时移除旧缓存）
+     */
+    private void remember(final String key, final String body, final HttpHeaders headers) {
+        final String control = headers.firstValue("Cache-Control").orElse("").toLowerCase(Locale.ROOT);
+        final String etag = headers.firstValue("ETag").orElse(null);
+        final String lastModified = headers.firstValue("Last-Modified").orElse(null);
+        synchronized (this.cache) {
+            this.evict(key);
+            if (control.contains("no-store") || (Objects.isNull(etag) && Objects.isNull(lastModified))
+                    || body.length() > this.cacheEntryChars) {
+                return;
+            }
+            final Matcher matcher = MAX_AGE_PATTERN.matcher(control);
+            final long expiresAt = !control.contains("no-cache") && matcher.find()
+                    ? System.nanoTime() + Duration.ofSeconds(Long.parseLong(matcher.group(1))).toNanos()
+                    : System.nanoTime();
+            this.cache.put(key, new Cached(body, etag, lastModified, expiresAt));
+            this.cachedChars += body.length();
+            // 超出总量时按访问顺序淘汰最久未用
+            final Iterator<Cached> eldest = this.cache.values().iterator();
+            while (this.cachedChars > this.cacheTotalChars && eldest.hasNext()) {
+                this.cachedChars -= eldest.next().body().length();
+                eldest.remove();
+            }
+        }
+    }
+
+    /**
+     * 移除缓存响应（调用方持有 {@link #cache} 锁）
+     *
+     * @param key URL
+     */
+    private void evict(final String key) {
+        final Cached removed = this.cache.remove(key);
+        if (Objects.nonNull(removed)) {
+            this.cachedChars -= removed.body().length();
+        }
+    }
+
+    /**
+     * 边读边解压，超限立即中止
+     *
+     * @param body     响应体流
+     * @param headers  响应头
+     * @param maxBytes 上限
+     * @return 响应文本
+     * @throws IOException 读取失败或超限
+     */
+    private static String read(final InputStream body, final HttpHeaders headers, final long maxBytes) throws IOException {
+        final long declared = headers.firstValueAsLong("Content-Length").orElse(-1L);
+        if (declared > maxBytes) {
+            throw new IOException("Response too large: %d bytes (limit %d)".formatted(declared, maxBytes));
+        }
+        final String encoding = headers.firstValue("Content-Encoding").orElse("").toLowerCase(Locale.ROOT);
+        try (final InputStream input = switch (encoding) {
+            case "gzip", "x-gzip" -> new GZIPInputStream(body, BUFFER_SIZE);
+            case "deflate" -> new InflaterInputStream(body);
+            default -> body;
+        }) {
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            final ByteArrayOutputStream output = new ByteArrayOutputStream();
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                if (output.size() + (long) read > maxBytes) {
+                    throw new IOException("Response exceeds limit of %d bytes".formatted(maxBytes));
+                }
+                output.write(buffer, 0, read);
+            }
+            return output.toString(charset(headers));
+        }
+    }
+
+    private static Charset charset(final HttpHeaders headers) {
+        final Matcher matcher = CHARSET_PATTERN.matcher(headers.firstValue("Content-Type").orElse(""));
+        if (matcher.find()) {
+            try {
+                return Charset.forName(matcher.group(1));
+            } catch (final IllegalArgumentException ignored) {
+                // 未知编码按 UTF-8 处理
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    /**
+     * 缓存响应
+     *
+     * @param body         响应文本
+     * @param etag         ETag
+     * @param lastModified Last-Modified
+     * @param expiresAt    新鲜期截止（{@link System#nanoTime()}）
+     */
+    private record Cached(String body, String etag, String lastModified, long expiresAt) {
+        private boolean fresh() {
+            return System.nanoTime() - this.expiresAt < 0;
+        }
+    }
+}
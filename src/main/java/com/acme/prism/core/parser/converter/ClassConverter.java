@@ -17,6 +17,19 @@ public class ClassConverter extends JavaStructure {
      */
     private static final int CODE_BUILDER_CAPACITY = 4096;
 
+    public ClassConverter() {
+        super();
+    }
+
+    /**
+     * 构建类转换器
+     *
+     * @param sampleLimit 数组采样上限
+     */
+    public ClassConverter(final int sampleLimit) {
+        super(sampleLimit);
+    }
+
     /**
      * 生成普通类（非 Record）的完整代码
      * <br/>
@@ -86,7 +99,9 @@ public class ClassConverter extends JavaStructure {
         // 生成字段
         clazz.getFields().forEach(f -> {
             code.append(indent)
-                    .append("    private ")
+                    .append("    ")
+                    .append(f.optional() ? "/* optional */ " : "")
+                    .append("private ")
                     .append(f.type())
                     .append(" ")
                     .append(f.name())
@@ -103,7 +118,12 @@ public class ClassConverter extends JavaStructure {
 
     @Override
     public String convert(final String json) {
-        return generateClassCode(processObject(json, DEFAULT_CLASS_NAME, Boolean.FALSE));
+        return generateClassCode(processObject(json, DEFAULT_CLASS_NAME, Boolean.FALSE, this.sampleLimit));
+    }
+
+    @Override
+    public String convert(final Object parsed, final String json) {
+        return generateClassCode(deduplicate(processObject(DataFormatConverter.jsonToObject(parsed, this.sampleLimit), DEFAULT_CLASS_NAME, Boolean.FALSE, this.sampleLimit)));
     }
 
 }
\ No newline at end of file
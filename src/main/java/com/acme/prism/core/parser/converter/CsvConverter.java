@@ -24,14 +24,15 @@ public class CsvConverter extends TableStructure {
     /**
      * 标准化为数组
      *
-     * @param json 数据
+     * @param parsed 解析结果
+     * @param json   数据
      * @return {@link JSONArray }
      */
-    private static JSONArray normalizeToArray(final String json) {
-        return Opt.of(JSON.parse(json))
+    private static JSONArray normalizeToArray(final Object parsed, final String json) {
+        return Opt.of(parsed)
                 .filter(JSONArray.class::isInstance)
                 .map(JSONArray.class::cast)
-                .orElseGet(() -> JSONArray.of().fluentAdd(JSONObject.parse(json)));
+                .orElseGet(() -> JSONArray.of().fluentAdd(parsed instanceof final JSONObject object ? object : JSONObject.parse(json)));
     }
 
     /**
@@ -56,7 +57,16 @@ public class CsvConverter extends TableStructure {
     @Override
     public String convert(final String json) {
         try {
-            final JSONArray data = normalizeToArray(json);
+            return this.convert(JSON.parse(json), json);
+        } catch (final Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public String convert(final Object parsed, final String json) {
+        try {
+            final JSONArray data = normalizeToArray(parsed, json);
             return CSV_MAPPER.writer(
                     CsvSchema.builder()
                             .addColumns(extractColumns(data))
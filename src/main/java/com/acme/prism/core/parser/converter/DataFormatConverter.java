@@ -1,14 +1,10 @@
 package com.acme.prism.core.parser.converter;
 
 import cn.hutool.core.convert.ConvertException;
-import cn.hutool.core.lang.Opt;
 import com.alibaba.fastjson2.JSON;
 import com.alibaba.fastjson2.JSONArray;
 import com.alibaba.fastjson2.JSONObject;
 
-import java.util.ArrayList;
-import java.util.Objects;
-
 /**
  * 数据格式变换器
  * @author 拒绝者
@@ -23,6 +19,18 @@ public interface DataFormatConverter {
      */
     String convert(final String json);
 
+    /**
+     * 转换已解析的数据（同一份 JSON 转多种格式时共享一次解析结果）
+     * <p>
+     * 解析结果在多个转换器间共享，实现只读不改；默认按原文重新转换
+     * @param parsed 解析结果（{@link JSON#parse(String)} 的返回值）
+     * @param json   原文
+     * @return {@link String }
+     */
+    default String convert(final Object parsed, final String json) {
+        return this.convert(json);
+    }
+
     /**
      * 反向转换
      * @param any 任何
@@ -38,13 +46,33 @@ public interface DataFormatConverter {
      * @return {@link JSONObject }
      */
     static JSONObject jsonToObject(final String json) {
-        return switch (JSON.parse(json)) {
+        return jsonToObject(JSON.parse(json));
+    }
+
+    /**
+     * 解析结果到对象（数组按默认采样上限合并元素结构）
+     * @param parsed 解析结果
+     * @return {@link JSONObject }
+     */
+    static JSONObject jsonToObject(final Object parsed) {
+        return jsonToObject(parsed, JavaStructure.DEFAULT_SAMPLE_LIMIT);
+    }
+
+    /**
+     * 解析结果到对象
+     * <p>
+     * 数组经 {@link SchemaInference} 采样合并各元素的结构（字段取并集，部分元素缺失的字段记为可选），
+     * 元素不是对象时返回空对象
+     * @param parsed      解析结果
+     * @param sampleLimit 数组采样上限
+     * @return {@link JSONObject }
+     */
+    static JSONObject jsonToObject(final Object parsed, final int sampleLimit) {
+        return switch (parsed) {
             case final JSONObject obj -> obj;
-            case final JSONArray arr -> Opt.ofEmptyAble(arr)
-                    .map(ArrayList::getFirst).filter(Objects::nonNull)
-                    .filter(JSONObject.class::isInstance).map(JSONObject.class::cast)
-                    .orElseGet(JSONObject::of);
-            default -> JSONObject.of();
+            case final JSONArray arr when !arr.isEmpty() &&
+                    SchemaInference.infer(arr, sampleLimit) instanceof final JSONObject merged -> merged;
+            case null, default -> JSONObject.of();
         };
     }
 }
\ No newline at end of file
@@ -3,13 +3,12 @@ package com.acme.prism.core.parser.converter;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.lang.Opt;
 import cn.hutool.core.util.StrUtil;
+import com.alibaba.fastjson2.JSON;
 import com.alibaba.fastjson2.JSONArray;
 import com.alibaba.fastjson2.JSONObject;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Set;
+import java.math.BigDecimal;
+import java.util.*;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -24,6 +23,10 @@ public abstract class JavaStructure implements DataFormatConverter {
      * 默认类名
      */
     public static final String DEFAULT_CLASS_NAME = "Dummy";
+    /**
+     * 默认数组采样上限（推断数组元素类型时最多扫描的元素数）
+     */
+    public static final int DEFAULT_SAMPLE_LIMIT = 10_000;
     /**
      * 单词边界分割模式（非单词字符后或驼峰大写前）
      */
@@ -32,32 +35,56 @@ public abstract class JavaStructure implements DataFormatConverter {
      * 纯符号单词模式
      */
     private static final Pattern SYMBOL_WORD_PATTERN = Pattern.compile("\\W+");
+    /**
+     * 数组采样上限
+     */
+    protected final int sampleLimit;
+
+    protected JavaStructure() {
+        this(DEFAULT_SAMPLE_LIMIT);
+    }
+
+    /**
+     * 构建JAVA结构
+     *
+     * @param sampleLimit 数组采样上限（推断数组元素类型时最多扫描的元素数）
+     */
+    protected JavaStructure(final int sampleLimit) {
+        this.sampleLimit = sampleLimit;
+    }
 
     /**
      * 处理对象
      *
-     * @param json      json串
-     * @param className 类名
-     * @param isRecord  是否记录
+     * @param json        json串
+     * @param className   类名
+     * @param isRecord    是否记录
+     * @param sampleLimit 数组采样上限
      * @return {@link ClassStructure }
      */
-    protected static ClassStructure processObject(final String json, final String className, final boolean isRecord) {
-        return processObject(DataFormatConverter.jsonToObject(json), className, isRecord);
+    protected static ClassStructure processObject(final String json, final String className, final boolean isRecord, final int sampleLimit) {
+        return deduplicate(processObject(DataFormatConverter.jsonToObject(JSON.parse(json), sampleLimit), className, isRecord, sampleLimit));
     }
 
     /**
      * 处理对象
      *
-     * @param object    json对象
-     * @param className 类名类
-     * @param isRecord  是否记录
+     * @param object      json对象
+     * @param className   类名类
+     * @param isRecord    是否记录
+     * @param sampleLimit 数组采样上限
      * @return {@link ClassStructure }
      */
-    protected static ClassStructure processObject(final JSONObject object, final String className, final boolean isRecord) {
+    protected static ClassStructure processObject(final JSONObject object, final String className, final boolean isRecord, final int sampleLimit) {
         // 创建当前层级的类定义容器
         final ClassStructure currentClass = new ClassStructure(className);
+        // 数组元素合并而来的对象带有可选字段（部分元素缺失）
+        final Set<String> optionalKeys = object instanceof final SchemaInference.MergedObject merged ? merged.optionalKeys() : Set.of();
         // 遍历处理每个 JSON 字段（含递归处理嵌套结构）
-        object.forEach((fieldName, value) -> currentClass.fields.add(determineField(fieldName, value, currentClass, isRecord)));
+        object.forEach((fieldName, value) -> {
+            final Field field = determineField(fieldName, value, currentClass, isRecord, sampleLimit);
+            currentClass.fields.add(optionalKeys.contains(fieldName) ? new Field(field.name(), field.type(), Boolean.TRUE) : field);
+        });
         return currentClass;
     }
 
@@ -75,6 +102,7 @@ public abstract class JavaStructure implements DataFormatConverter {
      * @param value       字段值（支持 JSON 对象/数组/基本类型）
      * @param parentClass 父类结构容器（用于收集嵌套类定义）
      * @param isRecord    标识父类是否为 Record 类型（影响嵌套类生成策略）
+     * @param sampleLimit 数组采样上限
      * @return 字段定义对象，包含字段名和解析后的 Java 类型
      * @implNote 处理规则详解：
      * <ol>
@@ -90,13 +118,13 @@ public abstract class JavaStructure implements DataFormatConverter {
      *     <b>数组类型处理</b>：
      *     <ul>
      *       <li>空数组：默认映射为 {@code List<Object>}</li>
-     *       <li>非空数组：取第一个元素判断类型
+     *       <li>非空数组：由 {@link SchemaInference} 等距采样全部元素（不超过采样上限）并合并为代表元素
      *         <ul>
-     *           <li>元素为对象：生成嵌套类并映射为 {@code List<ClassName>}</li>
-     *           <li>元素为基础类型：映射为 {@code List<JavaType>}</li>
+     *           <li>元素为对象：字段取并集生成嵌套类（部分元素缺失的字段标记为可选），映射为 {@code List<ClassName>}</li>
+     *           <li>元素为基础类型：数值按 {@code Integer → Long → Double} 加宽后映射为 {@code List<JavaType>}</li>
+     *           <li>元素类型冲突：映射为 {@code List<Object>}</li>
      *         </ul>
      *       </li>
-     *       <li>注意：若数组中元素类型不一致，此逻辑可能不准确</li>
      *     </ul>
      *   </li>
      *   <li>
@@ -118,12 +146,13 @@ public abstract class JavaStructure implements DataFormatConverter {
             final String fieldName,
             final Object value,
             final ClassStructure parentClass,
-            final boolean isRecord
+            final boolean isRecord,
+            final int sampleLimit
     ) {
         // 处理 JSON 对象类型（生成嵌套类）
         if (value instanceof final JSONObject object) {
             final String nestedClassName = toUpperCamelCase(fieldName);
-            parentClass.nestedClasses.add(processObject(object, nestedClassName, isRecord));
+            parentClass.nestedClasses.add(processObject(object, nestedClassName, isRecord, sampleLimit));
             return new Field(fieldName, nestedClassName);
         }
         // 处理 JSON 数组类型
@@ -132,16 +161,16 @@ public abstract class JavaStructure implements DataFormatConverter {
                 // 空数组默认使用 Object 类型
                 return new Field(fieldName, "List<Object>");
             } else {
-                // 根据第一个元素推断类型
-                final Object firstElement = array.getFirst();
-                if (firstElement instanceof JSONObject) {
+                // 合并采样元素的结构推断类型
+                final Object element = SchemaInference.infer(array, sampleLimit);
+                if (element instanceof final JSONObject object) {
                     // 元素为对象时生成嵌套类
                     final String elementClassName = toUpperCamelCase(fieldName);
-                    parentClass.nestedClasses.add(processObject((JSONObject) firstElement, elementClassName, isRecord));
+                    parentClass.nestedClasses.add(processObject(object, elementClassName, isRecord, sampleLimit));
                     return new Field(fieldName, "List<%s>".formatted(elementClassName));
                 } else {
                     // 基础类型直接映射
-                    return new Field(fieldName, "List<%s>".formatted(getJavaType(firstElement)));
+                    return new Field(fieldName, "List<%s>".formatted(getJavaType(element)));
                 }
             }
         }
@@ -149,6 +178,147 @@ public abstract class JavaStructure implements DataFormatConverter {
         return new Field(fieldName, getJavaType(value));
     }
 
+    /**
+     * 合并结构相同的嵌套类
+     * <br/>
+     * 不同字段的值结构相同时（如 {@code billingAddress} 与 {@code shippingAddress}）只保留先序遍历中首次出现的嵌套类，
+     * 其余字段改为引用它：
+     * <ol>
+     *   <li>自底向上为每个类计算结构编号：签名由字段名、可选标记与字段类型组成，引用嵌套类的类型替换为该嵌套类的编号，
+     *   签名只含子类编号而不展开子树，按签名驻留为整数并以类实例为键记忆，总耗时与字段总数成线性</li>
+     *   <li>先序遍历，遇到已出现过的结构编号即移除该嵌套类，并把父类中引用它的字段类型改为保留类的引用：
+     *   简单名在当前作用域可见且未被同名嵌套类遮蔽时用简单名，否则用自根类起的限定名（如 {@code Dummy.Customer.Address}）</li>
+     * </ol>
+     *
+     * @param root 根类结构
+     * @return 去重后的根类结构（原地修改）
+     */
+    protected static ClassStructure deduplicate(final ClassStructure root) {
+        final Map<ClassStructure, Integer> shapes = new IdentityHashMap<>();
+        shapeOf(root, shapes, new HashMap<>());
+        final Map<ClassStructure, ClassStructure> parents = new IdentityHashMap<>();
+        deduplicateNested(root, shapes, new HashMap<>(), parents);
+        return root;
+    }
+
+    /**
+     * 计算类的结构编号（记忆化）
+     *
+     * @param clazz  类结构
+     * @param shapes 类 → 结构编号
+     * @param ids    签名 → 结构编号
+     * @return int
+     */
+    private static int shapeOf(final ClassStructure clazz, final Map<ClassStructure, Integer> shapes, final Map<String, Integer> ids) {
+        final Integer known = shapes.get(clazz);
+        if (Objects.nonNull(known)) {
+            return known;
+        }
+        final Map<String, ClassStructure> nestedByName = new HashMap<>();
+        for (final ClassStructure nested : clazz.nestedClasses) {
+            nestedByName.putIfAbsent(nested.className, nested);
+            shapeOf(nested, shapes, ids);
+        }
+        // 字段名来自任意 JSON 键，按长度前缀拼接避免分隔符歧义
+        final StringBuilder signature = new StringBuilder();
+        for (final Field field : clazz.fields) {
+            final String type = Opt.ofNullable(nestedByName.get(elementType(field.type())))
+                    .map(nested -> "%s#%d".formatted(field.type().startsWith("List<") ? "List" : "", shapes.get(nested)))
+                    .orElseGet(field::type);
+            signature.append(field.name().length()).append(field.optional() ? '?' : ':').append(field.name())
+                    .append(type.length()).append(':').append(type);
+        }
+        final int id = ids.computeIfAbsent(signature.toString(), _ -> ids.size());
+        shapes.put(clazz, id);
+        return id;
+    }
+
+    /**
+     * 先序遍历移除重复结构的嵌套类
+     *
+     * @param clazz      当前类
+     * @param shapes     类 → 结构编号
+     * @param canonicals 结构编号 → 保留的类
+     * @param parents    保留的类 → 外层类
+     */
+    private static void deduplicateNested(
+            final ClassStructure clazz,
+            final Map<ClassStructure, Integer> shapes,
+            final Map<Integer, ClassStructure> canonicals,
+            final Map<ClassStructure, ClassStructure> parents
+    ) {
+        final Iterator<ClassStructure> iterator = clazz.nestedClasses.iterator();
+        while (iterator.hasNext()) {
+            final ClassStructure nested = iterator.next();
+            final ClassStructure canonical = canonicals.get(shapes.get(nested));
+            if (Objects.nonNull(canonical)) {
+                iterator.remove();
+                retype(clazz, nested.className, reference(clazz, canonical, parents));
+                continue;
+            }
+            canonicals.put(shapes.get(nested), nested);
+            parents.put(nested, clazz);
+            deduplicateNested(nested, shapes, canonicals, parents);
+        }
+    }
+
+    /**
+     * 从作用域类引用保留类的类型名
+     *
+     * @param scope     引用所在类
+     * @param canonical 保留的类
+     * @param parents   保留的类 → 外层类
+     * @return 简单名或自根类起的限定名
+     */
+    private static String reference(final ClassStructure scope, final ClassStructure canonical, final Map<ClassStructure, ClassStructure> parents) {
+        // 由内向外查找首个同名嵌套类，恰为保留类时简单名可用
+        for (ClassStructure current = scope; Objects.nonNull(current); current = parents.get(current)) {
+            final Optional<ClassStructure> named = current.nestedClasses.stream()
+                    .filter(nested -> nested.className.equals(canonical.className))
+                    .findFirst();
+            if (named.isPresent()) {
+                if (named.get() == canonical) {
+                    return canonical.className;
+                }
+                break;
+            }
+        }
+        final Deque<String> names = new ArrayDeque<>();
+        for (ClassStructure current = canonical; Objects.nonNull(current); current = parents.get(current)) {
+            names.addFirst(current.className);
+        }
+        return String.join(".", names);
+    }
+
+    /**
+     * 将类中引用指定嵌套类的字段改为新类型名
+     *
+     * @param clazz     类结构
+     * @param className 原嵌套类名
+     * @param reference 新类型名
+     */
+    private static void retype(final ClassStructure clazz, final String className, final String reference) {
+        clazz.fields.replaceAll(field -> {
+            if (field.type().equals(className)) {
+                return new Field(field.name(), reference, field.optional());
+            }
+            if (field.type().equals("List<%s>".formatted(className))) {
+                return new Field(field.name(), "List<%s>".formatted(reference), field.optional());
+            }
+            return field;
+        });
+    }
+
+    /**
+     * 字段类型的元素类型（{@code List<T>} 取 T，其余原样返回）
+     *
+     * @param type 字段类型
+     * @return {@link String }
+     */
+    private static String elementType(final String type) {
+        return type.startsWith("List<") && type.endsWith(">") ? type.substring(5, type.length() - 1) : type;
+    }
+
     /**
      * 将字符串转换为大驼峰命名格式（Upper Camel Case）
      * <br/>
@@ -223,6 +393,7 @@ public abstract class JavaStructure implements DataFormatConverter {
             case final Integer ignored -> "Integer";
             case final Long ignored -> "Long";
             case final Double ignored -> "Double";
+            case final BigDecimal ignored -> "Double";
             case final Float ignored -> "Float";
             case final Boolean ignored -> "Boolean";
             case final Byte ignored -> "Byte";
@@ -312,11 +483,15 @@ public abstract class JavaStructure implements DataFormatConverter {
     /**
      * 字段信息
      *
-     * @param name 字段名称
-     * @param type 字段类型
+     * @param name     字段名称
+     * @param type     字段类型
+     * @param optional 是否可选（数组中部分对象元素缺失该字段）
      * @author 拒绝者
      * @date 2025-01-26
      */
-    protected record Field(String name, String type) {
+    protected record Field(String name, String type, boolean optional) {
+        public Field(final String name, final String type) {
+            this(name, type, Boolean.FALSE);
+        }
     }
 }
\ No newline at end of file
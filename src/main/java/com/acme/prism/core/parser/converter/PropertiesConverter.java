@@ -18,7 +18,16 @@ public class PropertiesConverter implements DataFormatConverter {
     @Override
     public String convert(final String json) {
         try {
-            return properties.writeValueAsString(JSON.parse(json));
+            return this.convert(JSON.parse(json), json);
+        } catch (final Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public String convert(final Object parsed, final String json) {
+        try {
+            return properties.writeValueAsString(parsed);
         } catch (final Exception e) {
             return "";
         }
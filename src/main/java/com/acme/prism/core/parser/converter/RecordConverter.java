@@ -18,6 +18,19 @@ public class RecordConverter extends JavaStructure {
      */
     private static final int CODE_BUILDER_CAPACITY = 4096;
 
+    public RecordConverter() {
+        super();
+    }
+
+    /**
+     * 构建记录转换器
+     *
+     * @param sampleLimit 数组采样上限
+     */
+    public RecordConverter(final int sampleLimit) {
+        super(sampleLimit);
+    }
+
     /**
      * 生成Record类的完整代码
      * <br/>
@@ -89,7 +102,7 @@ public class RecordConverter extends JavaStructure {
         final StringJoiner fieldJoiner = new StringJoiner(", ");
         // 处理字段
         clazz.getFields().forEach(f -> {
-            fieldJoiner.add("%s %s".formatted(f.type(), f.name()));
+            fieldJoiner.add("%s%s %s".formatted(f.optional() ? "/* optional */ " : "", f.type(), f.name()));
             // 收集导包
             collectImports(f.type(), imports);
         });
@@ -106,7 +119,12 @@ public class RecordConverter extends JavaStructure {
 
     @Override
     public String convert(final String json) {
-        return generateRecordCode(processObject(json, DEFAULT_CLASS_NAME, Boolean.TRUE));
+        return generateRecordCode(processObject(json, DEFAULT_CLASS_NAME, Boolean.TRUE, this.sampleLimit));
+    }
+
+    @Override
+    public String convert(final Object parsed, final String json) {
+        return generateRecordCode(deduplicate(processObject(DataFormatConverter.jsonToObject(parsed, this.sampleLimit), DEFAULT_CLASS_NAME, Boolean.TRUE, this.sampleLimit)));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,242 @@
+package com.acme.prism.core.parser.converter;
+
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * 数组元素结构推断
+ * <p>
+ * 按上限等距采样数组元素，将各元素的结构合并为一个代表值，交由 {@link JavaStructure} 按单个元素生成类：
+ * <ul>
+ *   <li>对象：字段取并集（按首次出现顺序），并非每个对象都含有的字段记为可选</li>
+ *   <li>数值：按 {@code Integer → Long → Double} 加宽</li>
+ *   <li>数组：各数组的元素继续合并</li>
+ *   <li>类型冲突（如字符串与数值混用）：退化为 {@code Object}；{@code null} 不参与类型判断</li>
+ * </ul>
+ * 采样数达到并行阈值时并行累积后再合并，1M 元素的数组也只扫描采样上限个元素；
+ * 嵌套数组的采样上限按外层采样数均分（不低于 1），每层合计仍不超过采样上限，避免采样量按层数相乘
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+final class SchemaInference {
+    /**
+     * 并行累积阈值（采样数）
+     */
+    private static final int PARALLEL_THRESHOLD = 4096;
+    /**
+     * 类型冲突代表值（映射为 Object）
+     */
+    private static final Object CONFLICT = new Object();
+    /**
+     * 段内偏移散列乘数（黄金比例常数）
+     */
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final int STRING = 1;
+    private static final int BOOLEAN = 1 << 1;
+    private static final int INTEGER = 1 << 2;
+    private static final int LONG = 1 << 3;
+    private static final int DOUBLE = 1 << 4;
+    private static final int OBJECT = 1 << 5;
+    private static final int ARRAY = 1 << 6;
+    private static final int OTHER = 1 << 7;
+    private static final int NUMBER = INTEGER | LONG | DOUBLE;
+
+    private SchemaInference() {
+    }
+
+    /**
+     * 推断数组元素的代表值
+     *
+     * @param array       数组
+     * @param sampleLimit 采样上限
+     * @return 代表值：合并后的对象为 {@link MergedObject}，类型冲突时为无法映射的占位对象，全部为 null 时为 null
+     */
+    static Object infer(final JSONArray array, final int sampleLimit) {
+        final int count = sampleCount(array, sampleLimit);
+        final int nestedLimit = nestedLimit(sampleLimit, count);
+        final Shape shape = count >= PARALLEL_THRESHOLD ?
+                IntStream.range(0, count).parallel()
+                        .collect(Shape::new, (acc, index) -> acc.add(array.get(sampleIndex(array, count, index)), nestedLimit), Shape::combine) :
+                sample(array, sampleLimit, new Shape());
+        return shape.toValue();
+    }
+
+    /**
+     * 顺序采样数组元素并累积到结构中
+     *
+     * @param array       数组
+     * @param sampleLimit 采样上限
+     * @param shape       累积结构
+     * @return {@link Shape }
+     */
+    private static Shape sample(final JSONArray array, final int sampleLimit, final Shape shape) {
+        final int count = sampleCount(array, sampleLimit);
+        final int nestedLimit = nestedLimit(sampleLimit, count);
+        for (int index = 0; index < count; index++) {
+            shape.add(array.get(sampleIndex(array, count, index)), nestedLimit);
+        }
+        return shape;
+    }
+
+    private static int sampleCount(final JSONArray array, final int sampleLimit) {
+        return Math.min(array.size(), Math.max(1, sampleLimit));
+    }
+
+    /**
+     * 采样元素内嵌套数组的采样上限：本层上限按采样数均分
+     *
+     * @param sampleLimit 本层采样上限
+     * @param count       本层采样数
+     * @return int
+     */
+    private static int nestedLimit(final int sampleLimit, final int count) {
+        return Math.max(1, sampleLimit / Math.max(1, count));
+    }
+
+    /**
+     * 第 index 个采样点在数组中的下标
+     * <p>
+     * 数组按采样数等分为若干段，每段内取一个确定性的伪随机位置，避免与周期性数据（如奇偶交替的结构）步长对齐而漏采；
+     * 首段固定取首个元素
+     */
+    private static int sampleIndex(final JSONArray array, final int count, final int index) {
+        final long from = (long) index * array.size() / count;
+        final long to = (long) (index + 1) * array.size() / count;
+        return (int) (from + Math.floorMod(index * GOLDEN_GAMMA, to - from));
+    }
+
+    /**
+     * 合并后的对象（记录可选字段）
+     */
+    static final class MergedObject extends JSONObject {
+        /**
+         * 部分元素缺失的字段
+         */
+        private final Set<String> optionalKeys = new HashSet<>();
+
+        Set<String> optionalKeys() {
+            return this.optionalKeys;
+        }
+    }
+
+    /**
+     * 累积结构（非线程安全，并行时每个线程独立累积后合并）
+     */
+    private static final class Shape {
+        /**
+         * 出现过的类型位集
+         */
+        private int kinds;
+        /**
+         * 作为字段在父对象中出现的次数（含 null 值）
+         */
+        private int present;
+        /**
+         * 作为对象出现的次数
+         */
+        private int objects;
+        /**
+         * 对象字段结构（按首次出现顺序）
+         */
+        private Map<String, Shape> fields;
+        /**
+         * 数组元素结构
+         */
+        private Shape elements;
+
+        private void add(final Object value, final int sampleLimit) {
+            switch (value) {
+                case null -> {
+                }
+                case final JSONObject object -> {
+                    this.kinds |= OBJECT;
+                    this.objects++;
+                    if (Objects.isNull(this.fields)) {
+                        this.fields = new LinkedHashMap<>();
+                    }
+                    object.forEach((key, child) -> {
+                        final Shape field = this.fields.computeIfAbsent(key, _ -> new Shape());
+                        field.present++;
+                        field.add(child, sampleLimit);
+                    });
+                }
+                case final JSONArray array -> {
+                    this.kinds |= ARRAY;
+                    this.elements = sample(array, sampleLimit, Objects.isNull(this.elements) ? new Shape() : this.elements);
+                }
+                case final String _ -> this.kinds |= STRING;
+                case final Boolean _ -> this.kinds |= BOOLEAN;
+                case final Integer _, final Short _, final Byte _ -> this.kinds |= INTEGER;
+                case final Long _ -> this.kinds |= LONG;
+                case final Double _, final Float _, final BigDecimal _ -> this.kinds |= DOUBLE;
+                default -> this.kinds |= OTHER;
+            }
+        }
+
+        private void combine(final Shape other) {
+            this.kinds |= other.kinds;
+            this.present += other.present;
+            this.objects += other.objects;
+            if (Objects.nonNull(other.fields)) {
+                if (Objects.isNull(this.fields)) {
+                    this.fields = new LinkedHashMap<>();
+                }
+                other.fields.forEach((key, field) -> this.fields.merge(key, field, (left, right) -> {
+                    left.combine(right);
+                    return left;
+                }));
+            }
+            if (Objects.nonNull(other.elements)) {
+                if (Objects.isNull(this.elements)) {
+                    this.elements = other.elements;
+                } else {
+                    this.elements.combine(other.elements);
+                }
+            }
+        }
+
+        private Object toValue() {
+            if (this.kinds == 0) {
+                return null;
+            }
+            if (this.kinds == OBJECT) {
+                final MergedObject object = new MergedObject();
+                this.fields.forEach((key, field) -> {
+                    object.put(key, field.toValue());
+                    if (field.present < this.objects) {
+                        object.optionalKeys.add(key);
+                    }
+                });
+                return object;
+            }
+            if (this.kinds == ARRAY) {
+                final JSONArray array = new JSONArray();
+                // 全部为空数组时保持空数组（映射为 List<Object>）
+                if (this.elements.kinds != 0) {
+                    array.add(this.elements.toValue());
+                }
+                return array;
+            }
+            if ((this.kinds & ~NUMBER) == 0) {
+                // 数值加宽：Integer → Long → Double
+                if ((this.kinds & DOUBLE) != 0) {
+                    return 0D;
+                }
+                if ((this.kinds & LONG) != 0) {
+                    return 0L;
+                }
+                return 0;
+            }
+            return switch (this.kinds) {
+                case STRING -> "";
+                case BOOLEAN -> Boolean.FALSE;
+                default -> CONFLICT;
+            };
+        }
+    }
+}
@@ -27,12 +27,12 @@ public class TomlConverter implements DataFormatConverter {
     private static final TomlMapper TOML_MAPPER = TomlMapper.builder().build();
 
     /**
-     * 对作语法分析
-     * @param json 数据
+     * 包装为 TOML 根表（数组挂在占位键下）
+     * @param parsed 解析结果
      * @return {@link JSONObject }
      */
-    private static Object parse(final String json) {
-        return switch (JSON.parse(json)) {
+    private static Object toTable(final Object parsed) {
+        return switch (parsed) {
             case final JSONObject obj -> obj;
             case final JSONArray arr -> JSONObject.of(ROOT_NAME, arr);
             default -> JSONObject.of();
@@ -46,6 +46,11 @@ public class TomlConverter implements DataFormatConverter {
 
     @Override
     public String convert(final String json) {
-        return TOML_MAPPER.writeValueAsString(parse(json));
+        return this.convert(JSON.parse(json), json);
+    }
+
+    @Override
+    public String convert(final Object parsed, final String json) {
+        return TOML_MAPPER.writeValueAsString(toTable(parsed));
     }
 }
@@ -174,7 +174,15 @@ public class UrlParamsConverter implements DataFormatConverter {
     @Override
     public String convert(final String json) {
         try {
-            final Object parsed = JSON.parse(json);
+            return this.convert(JSON.parse(json), json);
+        } catch (final Exception e) {
+            return json;
+        }
+    }
+
+    @Override
+    public String convert(final Object parsed, final String json) {
+        try {
             if (parsed instanceof final Map<?, ?> map) {
                 return convertMapToUrlParams(map);
             } else if (parsed instanceof final List<?> list) {
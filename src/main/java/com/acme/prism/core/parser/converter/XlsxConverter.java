@@ -18,19 +18,29 @@ public class XlsxConverter extends TableStructure {
     /**
      * 标准化为数组
      *
-     * @param json 数据
+     * @param parsed 解析结果
+     * @param json   数据
      * @return {@link JSONArray }
      */
-    private static JSONArray normalizeToArray(final String json) {
-        return JSON.parse(json) instanceof final JSONArray array ?
-                array : JSONArray.of().fluentAdd(JSONObject.parse(json));
+    private static JSONArray normalizeToArray(final Object parsed, final String json) {
+        return parsed instanceof final JSONArray array ?
+                array : JSONArray.of().fluentAdd(parsed instanceof final JSONObject object ? object : JSONObject.parse(json));
     }
 
     @Override
     public String convert(final String json) {
+        try {
+            return this.convert(JSON.parse(json), json);
+        } catch (final Exception e) {
+            return "";
+        }
+    }
+
+    @Override
+    public String convert(final Object parsed, final String json) {
         try {
             // 原始数据集合
-            final List<Map<String, String>> data = flattenJsonArray(normalizeToArray(json));
+            final List<Map<String, String>> data = flattenJsonArray(normalizeToArray(parsed, json));
             final LinkedHashSet<String> headerSet = new LinkedHashSet<>();
             for (final Map<String, String> row : data) {
                 headerSet.addAll(row.keySet());
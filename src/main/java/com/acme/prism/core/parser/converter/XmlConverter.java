@@ -26,7 +26,12 @@ public class XmlConverter implements DataFormatConverter {
 
     @Override
     public String convert(final String json) {
-        return XML_MAPPER.writerWithDefaultPrettyPrinter().withRootName(ROOT_NAME).writeValueAsString(JSON.parse(json));
+        return this.convert(JSON.parse(json), json);
+    }
+
+    @Override
+    public String convert(final Object parsed, final String json) {
+        return XML_MAPPER.writerWithDefaultPrettyPrinter().withRootName(ROOT_NAME).writeValueAsString(parsed);
     }
 
     @Override
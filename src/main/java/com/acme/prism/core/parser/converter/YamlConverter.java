@@ -18,7 +18,12 @@ public class YamlConverter implements DataFormatConverter {
     private static final YAMLMapper YAML_MAPPER = YAMLMapper.builder().build();
     @Override
     public String convert(final String json) {
-        return YAML_MAPPER.writeValueAsString(JSON.parse(json));
+        return this.convert(JSON.parse(json), json);
+    }
+
+    @Override
+    public String convert(final Object parsed, final String json) {
+        return YAML_MAPPER.writeValueAsString(parsed);
     }
 
     @Override
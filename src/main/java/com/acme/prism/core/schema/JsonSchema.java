@@ -0,0 +1,281 @@
+package com.acme.prism.core.schema;
+
+import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONException;
+import com.alibaba.fastjson2.JSONObject;
+
+import java.math.BigDecimal;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 已编译的 JSON Schema 节点
+ * <p>
+ * 编译时把关键字解析为字段、正则预编译、$ref 解析为目标节点（同一文档内的 JSON Pointer，允许递归引用），
+ * 校验时不再访问 Schema 原文。支持 draft-04 至 2020-12 的常用校验关键字：
+ * type、enum、const、数值范围与 multipleOf、字符串长度与 pattern、数组 items/prefixItems/additionalItems/contains/uniqueItems 与长度、
+ * 对象 properties/patternProperties/additionalProperties/propertyNames/required/dependentRequired 与属性数、
+ * allOf/anyOf/oneOf/not/if-then-else。format 等注解关键字忽略
+ * <p>
+ * 节点按实例判等（不覆写 equals），可直接作为校验结果缓存键的一部分
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public final class JsonSchema {
+    /**
+     * 恒通过的 Schema（true）
+     */
+    static final JsonSchema ANY = new JsonSchema(Boolean.TRUE);
+    /**
+     * 恒不通过的 Schema（false）
+     */
+    static final JsonSchema NONE = new JsonSchema(Boolean.FALSE);
+    /**
+     * 布尔 Schema 取值（普通节点为 null）
+     */
+    final Boolean constant;
+    Set<String> types;
+    List<Object> enumValues;
+    Object constValue;
+    boolean hasConst;
+    BigDecimal minimum;
+    BigDecimal maximum;
+    BigDecimal exclusiveMinimum;
+    BigDecimal exclusiveMaximum;
+    BigDecimal multipleOf;
+    Integer minLength;
+    Integer maxLength;
+    Pattern pattern;
+    JsonSchema items;
+    List<JsonSchema> prefixItems;
+    JsonSchema additionalItems;
+    JsonSchema contains;
+    Integer minItems;
+    Integer maxItems;
+    boolean uniqueItems;
+    Map<String, JsonSchema> properties;
+    Map<Pattern, JsonSchema> patternProperties;
+    JsonSchema additionalProperties;
+    JsonSchema propertyNames;
+    List<String> required;
+    Map<String, List<String>> dependentRequired;
+    Integer minProperties;
+    Integer maxProperties;
+    List<JsonSchema> allOf;
+    List<JsonSchema> anyOf;
+    List<JsonSchema> oneOf;
+    JsonSchema not;
+    JsonSchema ifSchema;
+    JsonSchema thenSchema;
+    JsonSchema elseSchema;
+    JsonSchema ref;
+
+    private JsonSchema(final Boolean constant) {
+        this.constant = constant;
+    }
+
+    /**
+     * 编译 Schema
+     *
+     * @param schemaText Schema 文本
+     * @return {@link JsonSchema }
+     * @throws IllegalArgumentException Schema 不是合法 JSON、结构不符或 $ref 无法解析
+     */
+    public static JsonSchema compile(final String schemaText) {
+        final Object root;
+        try {
+            root = JSON.parse(schemaText);
+        } catch (final JSONException | IndexOutOfBoundsException e) {
+            // fastjson2 对截断的输入可能抛出越界异常
+            throw new IllegalArgumentException("Schema is not valid JSON", e);
+        }
+        if (!(root instanceof JSONObject) && !(root instanceof Boolean)) {
+            throw new IllegalArgumentException("Schema must be an object or a boolean");
+        }
+        return new Compiler(root).compile(root, "#");
+    }
+
+    /**
+     * Schema 编译器（同一文档内按 JSON Pointer 复用节点，$ref 在节点创建后回填，支持循环引用）
+     */
+    private static final class Compiler {
+        /**
+         * Schema 根
+         */
+        private final Object root;
+        /**
+         * 原始 Schema 对象 → 编译节点（按实例）
+         */
+        private final Map<Object, JsonSchema> compiled = new IdentityHashMap<>();
+
+        private Compiler(final Object root) {
+            this.root = root;
+        }
+
+        private JsonSchema compile(final Object raw, final String location) {
+            if (raw instanceof final Boolean value) {
+                return value ? ANY : NONE;
+            }
+            if (!(raw instanceof final JSONObject object)) {
+                throw new IllegalArgumentException("Expected a schema at " + location);
+            }
+            final JsonSchema existing = this.compiled.get(object);
+            if (Objects.nonNull(existing)) {
+                return existing;
+            }
+            final JsonSchema schema = new JsonSchema(null);
+            this.compiled.put(object, schema);
+            if (object.get("$ref") instanceof final String pointer) {
+                schema.ref = this.compile(this.resolve(pointer), pointer);
+            }
+            schema.types = this.types(object.get("type"), location);
+            if (object.get("enum") instanceof final JSONArray values) {
+                schema.enumValues = List.copyOf(values.stream().map(value -> Objects.isNull(value) ? JsonValues.NULL : value).toList());
+            }
+            if (object.containsKey("const")) {
+                schema.hasConst = Boolean.TRUE;
+                schema.constValue = object.get("const");
+            }
+            schema.minimum = decimal(object.get("minimum"));
+            schema.maximum = decimal(object.get("maximum"));
+            // draft-04 的布尔形式修饰 minimum/maximum
+            if (Boolean.TRUE.equals(object.get("exclusiveMinimum"))) {
+                schema.exclusiveMinimum = schema.minimum;
+                schema.minimum = null;
+            } else {
+                schema.exclusiveMinimum = decimal(object.get("exclusiveMinimum"));
+            }
+            if (Boolean.TRUE.equals(object.get("exclusiveMaximum"))) {
+                schema.exclusiveMaximum = schema.maximum;
+                schema.maximum = null;
+            } else {
+                schema.exclusiveMaximum = decimal(object.get("exclusiveMaximum"));
+            }
+            schema.multipleOf = decimal(object.get("multipleOf"));
+            schema.minLength = object.getInteger("minLength");
+            schema.maxLength = object.getInteger("maxLength");
+            schema.pattern = this.pattern(object.getString("pattern"), location);
+            // 数组：2020-12 的 prefixItems + items，或旧版的 items（数组形式）+ additionalItems
+            final Object items = object.get("items");
+            if (items instanceof final JSONArray tuple) {
+                schema.prefixItems = this.compileAll(tuple, location + "/items");
+                schema.additionalItems = this.optional(object.get("additionalItems"), location + "/additionalItems");
+            } else {
+                schema.items = this.optional(items, location + "/items");
+                if (object.get("prefixItems") instanceof final JSONArray prefix) {
+                    schema.prefixItems = this.compileAll(prefix, location + "/prefixItems");
+                }
+            }
+            schema.contains = this.optional(object.get("contains"), location + "/contains");
+            schema.minItems = object.getInteger("minItems");
+            schema.maxItems = object.getInteger("maxItems");
+            schema.uniqueItems = Boolean.TRUE.equals(object.get("uniqueItems"));
+            // 对象
+            if (object.get("properties") instanceof final JSONObject properties) {
+                schema.properties = new HashMap<>();
+                properties.forEach((name, value) -> schema.properties.put(name, this.compile(value, location + "/properties/" + name)));
+            }
+            if (object.get("patternProperties") instanceof final JSONObject patterns) {
+                schema.patternProperties = new LinkedHashMap<>();
+                patterns.forEach((regex, value) -> schema.patternProperties.put(
+                        this.pattern(regex, location), this.compile(value, location + "/patternProperties/" + regex)));
+            }
+            schema.additionalProperties = this.optional(object.get("additionalProperties"), location + "/additionalProperties");
+            schema.propertyNames = this.optional(object.get("propertyNames"), location + "/propertyNames");
+            if (object.get("required") instanceof final JSONArray required) {
+                schema.required = required.stream().map(String::valueOf).toList();
+            }
+            // dependentRequired（2019-09+）与 dependencies 的数组形式
+            final Object dependencies = Objects.nonNull(object.get("dependentRequired")) ? object.get("dependentRequired") : object.get("dependencies");
+            if (dependencies instanceof final JSONObject map) {
+                schema.dependentRequired = new HashMap<>();
+                map.forEach((name, value) -> {
+                    if (value instanceof final JSONArray names) {
+                        schema.dependentRequired.put(name, names.stream().map(String::valueOf).toList());
+                    }
+                });
+            }
+            schema.minProperties = object.getInteger("minProperties");
+            schema.maxProperties = object.getInteger("maxProperties");
+            // 组合
+            if (object.get("allOf") instanceof final JSONArray allOf) {
+                schema.allOf = this.compileAll(allOf, location + "/allOf");
+            }
+            if (object.get("anyOf") instanceof final JSONArray anyOf) {
+                schema.anyOf = this.compileAll(anyOf, location + "/anyOf");
+            }
+            if (object.get("oneOf") instanceof final JSONArray oneOf) {
+                schema.oneOf = this.compileAll(oneOf, location + "/oneOf");
+            }
+            schema.not = this.optional(object.get("not"), location + "/not");
+            schema.ifSchema = this.optional(object.get("if"), location + "/if");
+            schema.thenSchema = this.optional(object.get("then"), location + "/then");
+            schema.elseSchema = this.optional(object.get("else"), location + "/else");
+            return schema;
+        }
+
+        private JsonSchema optional(final Object raw, final String location) {
+            return Objects.isNull(raw) ? null : this.compile(raw, location);
+        }
+
+        private List<JsonSchema> compileAll(final JSONArray raws, final String location) {
+            final List<JsonSchema> schemas = new ArrayList<>(raws.size());
+            for (int index = 0; index < raws.size(); index++) {
+                schemas.add(this.compile(raws.get(index), location + "/" + index));
+            }
+            return List.copyOf(schemas);
+        }
+
+        private Set<String> types(final Object raw, final String location) {
+            return switch (raw) {
+                case null -> null;
+                case final String type -> Set.of(type);
+                case final JSONArray array -> Set.copyOf(array.stream().map(String::valueOf).toList());
+                default -> throw new IllegalArgumentException("Invalid type at " + location);
+            };
+        }
+
+        private Pattern pattern(final String regex, final String location) {
+            if (Objects.isNull(regex)) {
+                return null;
+            }
+            try {
+                return Pattern.compile(regex);
+            } catch (final PatternSyntaxException e) {
+                throw new IllegalArgumentException("Invalid pattern at " + location, e);
+            }
+        }
+
+        /**
+         * 解析文档内 JSON Pointer（#、#/definitions/x、#/$defs/x 等）
+         */
+        private Object resolve(final String pointer) {
+            if (!pointer.startsWith("#")) {
+                throw new IllegalArgumentException("Only local $ref is supported: " + pointer);
+            }
+            Object current = this.root;
+            final String path = URLDecoder.decode(pointer.substring(1), StandardCharsets.UTF_8);
+            if (path.isEmpty()) {
+                return current;
+            }
+            for (final String token : path.substring(1).split("/", -1)) {
+                final String name = token.replace("~1", "/").replace("~0", "~");
+                current = switch (current) {
+                    case final JSONObject object when object.containsKey(name) -> object.get(name);
+                    case final JSONArray array when name.matches("\\d+") && Integer.parseInt(name) < array.size() -> array.get(Integer.parseInt(name));
+                    case null, default -> throw new IllegalArgumentException("Unresolvable $ref: " + pointer);
+                };
+            }
+            return current;
+        }
+
+        private static BigDecimal decimal(final Object raw) {
+            return raw instanceof final Number number ? JsonValues.decimal(number) : null;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.acme.prism.core.schema;
+
+import com.alibaba.fastjson2.JSON;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * JSON 值比较工具（enum、const、uniqueItems 使用）
+ * <p>
+ * 数值按大小比较（1 与 1.0 相等），对象按键值比较（与键顺序无关），数组按顺序逐项比较
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+final class JsonValues {
+    /**
+     * JSON null 占位（不可变集合不接受 null）
+     */
+    static final Object NULL = new Object();
+
+    private JsonValues() {
+    }
+
+    /**
+     * 解析原文区间内的值
+     *
+     * @param source 原文
+     * @param start  值起始偏移
+     * @param end    值结束偏移（不含）
+     * @return 值；JSON null 返回 {@link #NULL}
+     */
+    static Object parse(final String source, final int start, final int end) {
+        return Objects.requireNonNullElse(JSON.parse(source.substring(start, end)), NULL);
+    }
+
+    /**
+     * 数值转 {@link BigDecimal}
+     *
+     * @param number 数值
+     * @return {@link BigDecimal }
+     */
+    static BigDecimal decimal(final Number number) {
+        return switch (number) {
+            case final BigDecimal decimal -> decimal;
+            case final BigInteger integer -> new BigDecimal(integer);
+            case final Double value -> BigDecimal.valueOf(value);
+            case final Float value -> new BigDecimal(value.toString());
+            default -> BigDecimal.valueOf(number.longValue());
+        };
+    }
+
+    /**
+     * 规范化文本（语义相等的值文本相同：数值去除末尾零，对象键排序），供 uniqueItems 哈希去重
+     *
+     * @param value 值
+     * @return {@link String }
+     */
+    static String canonical(final Object value) {
+        final StringBuilder builder = new StringBuilder();
+        canonical(value, builder);
+        return builder.toString();
+    }
+
+    private static void canonical(final Object value, final StringBuilder builder) {
+        switch (value) {
+            case null -> builder.append("null");
+            case final Number number -> builder.append(decimal(number).stripTrailingZeros().toPlainString());
+            case final Map<?, ?> map -> {
+                builder.append('{');
+                map.keySet().stream().map(String::valueOf).sorted().forEach(key -> {
+                    builder.append(JSON.toJSONString(key)).append(':');
+                    canonical(map.get(key), builder);
+                    builder.append(',');
+                });
+                builder.append('}');
+            }
+            case final List<?> list -> {
+                builder.append('[');
+                list.forEach(item -> {
+                    canonical(item, builder);
+                    builder.append(',');
+                });
+                builder.append(']');
+            }
+            default -> builder.append(value == NULL ? "null" : JSON.toJSONString(value));
+        }
+    }
+
+    /**
+     * JSON 语义相等
+     *
+     * @param first  第一个值
+     * @param second 第二个值
+     * @return boolean
+     */
+    static boolean equal(final Object first, final Object second) {
+        final Object left = Objects.isNull(first) ? NULL : first;
+        final Object right = Objects.isNull(second) ? NULL : second;
+        if (left instanceof final Number a && right instanceof final Number b) {
+            return decimal(a).compareTo(decimal(b)) == 0;
+        }
+        if (left instanceof final Map<?, ?> a && right instanceof final Map<?, ?> b) {
+            if (a.size() != b.size()) {
+                return Boolean.FALSE;
+            }
+            for (final Map.Entry<?, ?> entry : a.entrySet()) {
+                if (!b.containsKey(entry.getKey()) || !equal(entry.getValue(), b.get(entry.getKey()))) {
+                    return Boolean.FALSE;
+                }
+            }
+            return Boolean.TRUE;
+        }
+        if (left instanceof final List<?> a && right instanceof final List<?> b) {
+            if (a.size() != b.size()) {
+                return Boolean.FALSE;
+            }
+            for (int index = 0; index < a.size(); index++) {
+                if (!equal(a.get(index), b.get(index))) {
+                    return Boolean.FALSE;
+                }
+            }
+            return Boolean.TRUE;
+        }
+        return left.equals(right);
+    }
+}
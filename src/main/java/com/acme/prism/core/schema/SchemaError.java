@@ -0,0 +1,22 @@
+package com.acme.prism.core.schema;
+
+/**
+ * Schema 校验错误
+ *
+ * @param start   标记起始偏移
+ * @param end     标记结束偏移（不含）
+ * @param message 错误信息
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public record SchemaError(int start, int end, String message) {
+    /**
+     * 平移偏移
+     *
+     * @param delta 平移量
+     * @return {@link SchemaError }
+     */
+    SchemaError shift(final int delta) {
+        return delta == 0 ? this : new SchemaError(this.start + delta, this.end + delta, this.message);
+    }
+}
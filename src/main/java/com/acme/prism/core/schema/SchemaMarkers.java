@@ -0,0 +1,177 @@
+package com.acme.prism.core.schema;
+
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.colors.CodeInsightColors;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.editor.impl.DocumentMarkupModel;
+import com.intellij.openapi.editor.markup.HighlighterLayer;
+import com.intellij.openapi.editor.markup.HighlighterTargetArea;
+import com.intellij.openapi.editor.markup.MarkupModel;
+import com.intellij.openapi.editor.markup.RangeHighlighter;
+import com.intellij.openapi.project.Project;
+import com.intellij.ui.EditorTextField;
+import com.intellij.util.Alarm;
+import com.intellij.util.ui.update.MergingUpdateQueue;
+import com.intellij.util.ui.update.Update;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 页签编辑器的 JSON Schema 错误标记（每页签一个）
+ * <p>
+ * 文档变化经 500ms 防抖后在池化线程中校验，以上一次合法 JSON 的结果为基准增量复用未变子树；
+ * 回到 EDT 后只做标记替换。标记挂在文档级 MarkupModel 上，编辑器重建不丢失，并同步显示在滚动条与缩略图的错误条纹中
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public final class SchemaMarkers {
+    /**
+     * 校验防抖延迟（毫秒）
+     */
+    private static final int VALIDATE_DEBOUNCE_MS = 500;
+    /**
+     * 标记数上限（防止大文档大量错误时 RangeHighlighter 过多拖慢编辑器）
+     */
+    private static final int MAX_MARKERS = 500;
+    /**
+     * 页签编辑器
+     */
+    private final EditorTextField editor;
+    /**
+     * 页签文档
+     */
+    private final Document document;
+    /**
+     * 所属项目
+     */
+    private final Project project;
+    /**
+     * 校验防抖队列
+     */
+    private final MergingUpdateQueue queue;
+    /**
+     * 当前标记
+     */
+    private final List<RangeHighlighter> highlighters = new ArrayList<>();
+    /**
+     * 当前校验器（为空表示未启用）
+     */
+    private volatile SchemaValidator validator;
+    /**
+     * 增量校验基准（只在校验队列线程读写）
+     */
+    private SchemaValidation base;
+
+    /**
+     * 页签 Schema 错误标记
+     *
+     * @param editor           页签编辑器
+     * @param project          项目
+     * @param parentDisposable 页签生命周期
+     */
+    public SchemaMarkers(final EditorTextField editor, final Project project, final Disposable parentDisposable) {
+        this.editor = editor;
+        this.document = editor.getDocument();
+        this.project = project;
+        this.queue = new MergingUpdateQueue(
+                "JsonHelper.SchemaValidation", VALIDATE_DEBOUNCE_MS, Boolean.TRUE, null, parentDisposable, null, Alarm.ThreadToUse.POOLED_THREAD
+        );
+        this.document.addDocumentListener(new DocumentListener() {
+            @Override
+            public void documentChanged(final @NotNull DocumentEvent event) {
+                if (Objects.nonNull(SchemaMarkers.this.validator)) {
+                    SchemaMarkers.this.schedule();
+                }
+            }
+        }, parentDisposable);
+    }
+
+    /**
+     * 设置校验器并立即校验（为空时清除标记）
+     *
+     * @param validator 校验器
+     */
+    public void setValidator(final SchemaValidator validator) {
+        this.validator = validator;
+        if (Objects.isNull(validator)) {
+            this.queue.cancelAllUpdates();
+            ApplicationManager.getApplication().invokeLater(() -> this.apply(List.of()));
+            return;
+        }
+        this.schedule();
+    }
+
+    /**
+     * 是否已启用校验
+     *
+     * @return boolean
+     */
+    public boolean isEnabled() {
+        return Objects.nonNull(this.validator);
+    }
+
+    /**
+     * 调度一次校验（连续编辑合并为一次）
+     */
+    private void schedule() {
+        this.queue.queue(Update.create(this, this::validate));
+    }
+
+    /**
+     * 后台校验：取文档快照与修改戳，校验完成后仅在文档未再变化时回到 EDT 应用
+     */
+    private void validate() {
+        final SchemaValidator current = this.validator;
+        if (Objects.isNull(current)) {
+            return;
+        }
+        final long stamp = this.document.getModificationStamp();
+        final SchemaValidation result = current.validate(this.document.getImmutableCharSequence().toString(), this.base);
+        // 非法 JSON（编辑中途）不作为基准也不刷新标记：已有标记随文本平移保留，恢复合法后增量复用上一次结果
+        if (!result.validJson()) {
+            return;
+        }
+        this.base = result;
+        ApplicationManager.getApplication().invokeLater(() -> {
+            if (current == this.validator && stamp == this.document.getModificationStamp()) {
+                this.apply(result.errors());
+            }
+        }, _ -> this.project.isDisposed());
+    }
+
+    /**
+     * 替换标记（必须在 EDT 执行）
+     *
+     * @param errors 错误
+     */
+    private void apply(final List<SchemaError> errors) {
+        if (this.project.isDisposed()) {
+            return;
+        }
+        final MarkupModel markup = DocumentMarkupModel.forDocument(this.document, this.project, Boolean.TRUE);
+        this.highlighters.stream().filter(RangeHighlighter::isValid).forEach(markup::removeHighlighter);
+        this.highlighters.clear();
+        final int length = this.document.getTextLength();
+        for (final SchemaError error : errors.subList(0, Math.min(errors.size(), MAX_MARKERS))) {
+            if (error.end() > length) {
+                continue;
+            }
+            final RangeHighlighter highlighter = markup.addRangeHighlighter(
+                    CodeInsightColors.ERRORS_ATTRIBUTES, error.start(), error.end(), HighlighterLayer.ERROR, HighlighterTargetArea.EXACT_RANGE
+            );
+            highlighter.setErrorStripeTooltip(error.message());
+            this.highlighters.add(highlighter);
+        }
+        // 缩略图的错误条纹不监听标记变化，主动重绘
+        if (Objects.nonNull(this.editor.getEditor())) {
+            this.editor.getEditor().getComponent().repaint();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.acme.prism.core.schema;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Schema 校验结果
+ * <p>
+ * 除错误列表外还保留本次校验的文本与子树结果缓存，作为下一次增量校验的基准
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public final class SchemaValidation {
+    /**
+     * 产生结果的校验器
+     */
+    final SchemaValidator validator;
+    /**
+     * 校验的文本
+     */
+    final String text;
+    /**
+     * 文本是否为合法 JSON
+     */
+    private final boolean validJson;
+    /**
+     * 错误（按起始偏移排序）
+     */
+    private final List<SchemaError> errors;
+    /**
+     * 子树结果缓存（Schema 节点 + 值区间 → 子树内的错误）
+     */
+    final Map<SchemaValidator.SubtreeKey, List<SchemaError>> subtrees;
+    /**
+     * 本次复用的子树数
+     */
+    private final int reused;
+
+    SchemaValidation(final SchemaValidator validator, final String text, final boolean validJson, final List<SchemaError> errors,
+                     final Map<SchemaValidator.SubtreeKey, List<SchemaError>> subtrees, final int reused) {
+        this.validator = validator;
+        this.text = text;
+        this.validJson = validJson;
+        this.errors = errors;
+        this.subtrees = subtrees;
+        this.reused = reused;
+    }
+
+    /**
+     * 文本是否为合法 JSON（非法时不做校验，错误列表为空）
+     *
+     * @return boolean
+     */
+    public boolean validJson() {
+        return this.validJson;
+    }
+
+    /**
+     * 错误（按起始偏移排序）
+     *
+     * @return {@link List }<{@link SchemaError }>
+     */
+    public List<SchemaError> errors() {
+        return this.errors;
+    }
+
+    /**
+     * 本次直接复用上次结果的子树数（增量校验统计）
+     *
+     * @return int
+     */
+    public int reusedSubtrees() {
+        return this.reused;
+    }
+}
@@ -0,0 +1,505 @@
+package com.acme.prism.core.schema;
+
+import com.acme.prism.core.parser.JsonNodeParser;
+import com.acme.prism.core.parser.JsonScanner;
+import com.alibaba.fastjson2.JSON;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * JSON Schema 校验器
+ * <p>
+ * 直接在原文偏移上按 {@link JsonScanner} 跳跃遍历，不构建 DOM；标量只在对应关键字需要时才解析。
+ * 每个较大的容器子树（对象或数组）的错误按「Schema 节点 + 值区间」缓存在结果中：
+ * 以上次结果为基准增量校验时，完全位于变更区间之前或之后的子树文本未变，直接复用（之后的整体平移偏移），
+ * 只有包含变更点的路径重新校验。属性是否必填、数组去重等依赖兄弟节点的约束在父容器上计算，复用子树不影响其正确性
+ * <p>
+ * 已编译的校验器按 Schema 文本缓存，同一 Schema 只编译一次；实例不可变，可在任意线程使用
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public final class SchemaValidator {
+    /**
+     * 缓存子树结果的最小容器长度（字符），更小的子树重新校验比查找缓存更便宜
+     */
+    static final int SUBTREE_CACHE_MIN_LENGTH = 512;
+    /**
+     * 最大校验深度（超出部分不再下钻，避免极深嵌套栈溢出）
+     */
+    private static final int MAX_DEPTH = 512;
+    /**
+     * 已编译校验器缓存上限
+     */
+    private static final int CACHE_LIMIT = 16;
+    /**
+     * enum 错误信息中列出的候选值上限
+     */
+    private static final int ENUM_PREVIEW = 5;
+    /**
+     * Schema 文本 → 已编译校验器
+     */
+    private static final Map<String, SchemaValidator> VALIDATORS = new ConcurrentHashMap<>();
+    /**
+     * 根 Schema
+     */
+    private final JsonSchema schema;
+
+    /**
+     * Schema 校验器
+     *
+     * @param schema 已编译 Schema
+     */
+    public SchemaValidator(final JsonSchema schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * 获取 Schema 文本对应的校验器（首次编译后缓存）
+     *
+     * @param schemaText Schema 文本
+     * @return {@link SchemaValidator }
+     * @throws IllegalArgumentException Schema 无法编译
+     */
+    public static SchemaValidator of(final String schemaText) {
+        final SchemaValidator cached = VALIDATORS.get(schemaText);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+        final SchemaValidator validator = new SchemaValidator(JsonSchema.compile(schemaText));
+        if (VALIDATORS.size() >= CACHE_LIMIT) {
+            VALIDATORS.clear();
+        }
+        VALIDATORS.put(schemaText, validator);
+        return validator;
+    }
+
+    /**
+     * 全量校验
+     *
+     * @param text JSON 文本
+     * @return {@link SchemaValidation }
+     */
+    public SchemaValidation validate(final String text) {
+        return this.validate(text, null);
+    }
+
+    /**
+     * 以上次结果为基准增量校验（基准为空、来自其他校验器或文本非法时全量校验）
+     *
+     * @param text     JSON 文本
+     * @param previous 上次结果
+     * @return {@link SchemaValidation }
+     */
+    public SchemaValidation validate(final String text, final SchemaValidation previous) {
+        final int length = text.length();
+        final int start = JsonScanner.skipWhitespace(text, 0, length);
+        final int end = start < length ? JsonScanner.skipValue(text, start, length) : JsonScanner.INVALID;
+        if (end == JsonScanner.INVALID || JsonScanner.skipWhitespace(text, end, length) != length) {
+            return new SchemaValidation(this, text, Boolean.FALSE, List.of(), Map.of(), 0);
+        }
+        final boolean incremental = Objects.nonNull(previous) && previous.validator == this && previous.validJson();
+        final Run run = incremental
+                ? new Run(text, JsonNodeParser.editRange(previous.text, text), previous.subtrees)
+                : new Run(text, null, Map.of());
+        final List<SchemaError> errors = new ArrayList<>();
+        run.validate(this.schema, start, end, errors);
+        errors.sort(Comparator.comparingInt(SchemaError::start).thenComparingInt(SchemaError::end));
+        return new SchemaValidation(this, text, Boolean.TRUE, List.copyOf(errors), run.subtrees, run.reused);
+    }
+
+    /**
+     * 子树缓存键（Schema 节点按实例比较）
+     *
+     * @param schema Schema 节点
+     * @param start  值起始偏移
+     * @param end    值结束偏移（不含）
+     */
+    record SubtreeKey(JsonSchema schema, int start, int end) {
+    }
+
+    /**
+     * 单次校验
+     */
+    private static final class Run {
+        /**
+         * 原文
+         */
+        private final String source;
+        /**
+         * 相对基准文本的变更区间（全量校验为 null）
+         */
+        private final JsonNodeParser.EditRange range;
+        /**
+         * 基准结果的子树缓存
+         */
+        private final Map<SubtreeKey, List<SchemaError>> previous;
+        /**
+         * 本次子树缓存
+         */
+        private final Map<SubtreeKey, List<SchemaError>> subtrees = new HashMap<>();
+        /**
+         * 基准结果的子树键（按起始偏移排序，首次复用时构建）
+         */
+        private SubtreeKey[] ordered;
+        /**
+         * 当前深度
+         */
+        private int depth;
+        /**
+         * 复用的子树数
+         */
+        private int reused;
+
+        private Run(final String source, final JsonNodeParser.EditRange range, final Map<SubtreeKey, List<SchemaError>> previous) {
+            this.source = source;
+            this.range = range;
+            this.previous = previous;
+        }
+
+        private void validate(final JsonSchema schema, final int start, final int end, final List<SchemaError> out) {
+            if (schema == JsonSchema.ANY || this.depth >= MAX_DEPTH) {
+                return;
+            }
+            if (schema == JsonSchema.NONE) {
+                out.add(this.error(start, end, "Value is not allowed here"));
+                return;
+            }
+            final char first = this.source.charAt(start);
+            if ((first != '{' && first != '[') || end - start < SUBTREE_CACHE_MIN_LENGTH) {
+                this.descend(schema, start, end, first, out);
+                return;
+            }
+            final SubtreeKey key = new SubtreeKey(schema, start, end);
+            List<SchemaError> local = this.reuse(key);
+            if (Objects.isNull(local)) {
+                final List<SchemaError> checked = new ArrayList<>();
+                this.descend(schema, start, end, first, checked);
+                local = List.copyOf(checked);
+            }
+            this.subtrees.put(key, local);
+            out.addAll(local);
+        }
+
+        /**
+         * 查找基准结果中文本未变的同一子树（命中时连同其内部缓存的子树一并带入本次结果，供下次增量校验继续复用）
+         */
+        private List<SchemaError> reuse(final SubtreeKey key) {
+            if (Objects.isNull(this.range)) {
+                return null;
+            }
+            if (this.range.before(key.end())) {
+                final List<SchemaError> errors = this.previous.get(key);
+                if (Objects.nonNull(errors)) {
+                    this.reused++;
+                    this.carryNested(key, 0);
+                }
+                return errors;
+            }
+            final int delta = this.range.delta();
+            if (this.range.after(key.start() - delta)) {
+                final SubtreeKey shifted = new SubtreeKey(key.schema(), key.start() - delta, key.end() - delta);
+                final List<SchemaError> errors = this.previous.get(shifted);
+                if (Objects.nonNull(errors)) {
+                    this.reused++;
+                    this.carryNested(shifted, delta);
+                    return shift(errors, delta);
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 将基准结果中位于复用子树内部的子树按偏移差带入本次结果
+         *
+         * @param outer 复用子树（基准文本中的区间）
+         * @param delta 偏移差
+         */
+        private void carryNested(final SubtreeKey outer, final int delta) {
+            if (Objects.isNull(this.ordered)) {
+                this.ordered = this.previous.keySet().stream()
+                        .sorted(Comparator.comparingInt(SubtreeKey::start)).toArray(SubtreeKey[]::new);
+            }
+            int low = 0;
+            int high = this.ordered.length;
+            while (low < high) {
+                final int middle = (low + high) >>> 1;
+                if (this.ordered[middle].start() < outer.start()) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            for (int index = low; index < this.ordered.length && this.ordered[index].start() < outer.end(); index++) {
+                final SubtreeKey inner = this.ordered[index];
+                if (inner.end() <= outer.end() && !inner.equals(outer)) {
+                    this.subtrees.put(new SubtreeKey(inner.schema(), inner.start() + delta, inner.end() + delta),
+                            shift(this.previous.get(inner), delta));
+                }
+            }
+        }
+
+        private static List<SchemaError> shift(final List<SchemaError> errors, final int delta) {
+            return delta == 0 ? errors : errors.stream().map(error -> error.shift(delta)).toList();
+        }
+
+        private void descend(final JsonSchema schema, final int start, final int end, final char first, final List<SchemaError> out) {
+            this.depth++;
+            try {
+                this.check(schema, start, end, first, out);
+            } finally {
+                this.depth--;
+            }
+        }
+
+        private void check(final JsonSchema schema, final int start, final int end, final char first, final List<SchemaError> out) {
+            if (Objects.nonNull(schema.ref)) {
+                this.validate(schema.ref, start, end, out);
+            }
+            final String kind = switch (first) {
+                case '{' -> "object";
+                case '[' -> "array";
+                case '"' -> "string";
+                case 't', 'f' -> "boolean";
+                case 'n' -> "null";
+                default -> "number";
+            };
+            final BigDecimal number = "number".equals(kind) ? new BigDecimal(this.source.substring(start, end)) : null;
+            if (Objects.nonNull(schema.types) && !this.typeMatches(schema.types, kind, number)) {
+                out.add(this.error(start, end, "Expected %s but found %s".formatted(String.join(" or ", new TreeSet<>(schema.types)), kind)));
+            }
+            if (Objects.nonNull(schema.enumValues) || schema.hasConst) {
+                this.checkValue(schema, start, end, out);
+            }
+            switch (kind) {
+                case "number" -> this.checkNumber(schema, start, end, number, out);
+                case "string" -> this.checkString(schema, start, end, out);
+                case "array" -> this.checkArray(schema, start, end, out);
+                case "object" -> this.checkObject(schema, start, end, out);
+                default -> {
+                    // 布尔与 null 只受 type/enum/const 约束
+                }
+            }
+            this.checkCombinators(schema, start, end, out);
+        }
+
+        private boolean typeMatches(final Set<String> types, final String kind, final BigDecimal number) {
+            if (types.contains(kind)) {
+                return Boolean.TRUE;
+            }
+            return Objects.nonNull(number) && types.contains("integer") && number.stripTrailingZeros().scale() <= 0;
+        }
+
+        private void checkValue(final JsonSchema schema, final int start, final int end, final List<SchemaError> out) {
+            final Object value = JsonValues.parse(this.source, start, end);
+            if (Objects.nonNull(schema.enumValues) && schema.enumValues.stream().noneMatch(candidate -> JsonValues.equal(candidate, value))) {
+                final String candidates = schema.enumValues.stream().limit(ENUM_PREVIEW)
+                        .map(candidate -> candidate == JsonValues.NULL ? "null" : JSON.toJSONString(candidate))
+                        .collect(Collectors.joining(", ", "", schema.enumValues.size() > ENUM_PREVIEW ? ", ..." : ""));
+                out.add(this.error(start, end, "Value must be one of: " + candidates));
+            }
+            if (schema.hasConst && !JsonValues.equal(schema.constValue, value)) {
+                out.add(this.error(start, end, "Value must be " + JSON.toJSONString(schema.constValue)));
+            }
+        }
+
+        private void checkNumber(final JsonSchema schema, final int start, final int end, final BigDecimal value, final List<SchemaError> out) {
+            if (Objects.nonNull(schema.minimum) && value.compareTo(schema.minimum) < 0) {
+                out.add(this.error(start, end, "Value must be >= " + schema.minimum.toPlainString()));
+            }
+            if (Objects.nonNull(schema.maximum) && value.compareTo(schema.maximum) > 0) {
+                out.add(this.error(start, end, "Value must be <= " + schema.maximum.toPlainString()));
+            }
+            if (Objects.nonNull(schema.exclusiveMinimum) && value.compareTo(schema.exclusiveMinimum) <= 0) {
+                out.add(this.error(start, end, "Value must be > " + schema.exclusiveMinimum.toPlainString()));
+            }
+            if (Objects.nonNull(schema.exclusiveMaximum) && value.compareTo(schema.exclusiveMaximum) >= 0) {
+                out.add(this.error(start, end, "Value must be < " + schema.exclusiveMaximum.toPlainString()));
+            }
+            if (Objects.nonNull(schema.multipleOf) && schema.multipleOf.signum() > 0
+                    && value.remainder(schema.multipleOf).signum() != 0) {
+                out.add(this.error(start, end, "Value must be a multiple of " + schema.multipleOf.toPlainString()));
+            }
+        }
+
+        private void checkString(final JsonSchema schema, final int start, final int end, final List<SchemaError> out) {
+            if (Objects.isNull(schema.minLength) && Objects.isNull(schema.maxLength) && Objects.isNull(schema.pattern)) {
+                return;
+            }
+            final String value = JsonScanner.hasEscape(this.source, start, end)
+                    ? JSON.parseObject(this.source.substring(start, end), String.class)
+                    : this.source.substring(start + 1, end - 1);
+            final int length = value.codePointCount(0, value.length());
+            if (Objects.nonNull(schema.minLength) && length < schema.minLength) {
+                out.add(this.error(start, end, "String must have at least %d characters".formatted(schema.minLength)));
+            }
+            if (Objects.nonNull(schema.maxLength) && length > schema.maxLength) {
+                out.add(this.error(start, end, "String must have at most %d characters".formatted(schema.maxLength)));
+            }
+            if (Objects.nonNull(schema.pattern) && !schema.pattern.matcher(value).find()) {
+                out.add(this.error(start, end, "String must match pattern " + schema.pattern.pattern()));
+            }
+        }
+
+        private void checkArray(final JsonSchema schema, final int start, final int end, final List<SchemaError> out) {
+            final Map<String, Integer> seen = schema.uniqueItems ? new HashMap<>() : null;
+            int count = 0;
+            int matched = 0;
+            int index = JsonScanner.skipWhitespace(this.source, start + 1, end);
+            while (index < end && this.source.charAt(index) != ']') {
+                final int valueEnd = JsonScanner.skipValue(this.source, index, end);
+                if (valueEnd == JsonScanner.INVALID) {
+                    break;
+                }
+                final JsonSchema itemSchema = this.itemSchema(schema, count);
+                if (Objects.nonNull(itemSchema)) {
+                    this.validate(itemSchema, index, valueEnd, out);
+                }
+                if (Objects.nonNull(schema.contains) && this.passes(schema.contains, index, valueEnd)) {
+                    matched++;
+                }
+                if (Objects.nonNull(seen)) {
+                    final Integer duplicate = seen.putIfAbsent(JsonValues.canonical(JsonValues.parse(this.source, index, valueEnd)), count);
+                    if (Objects.nonNull(duplicate)) {
+                        out.add(this.error(index, valueEnd, "Duplicate array item (same as item %d)".formatted(duplicate)));
+                    }
+                }
+                count++;
+                index = nextSibling(this.source, valueEnd, end);
+            }
+            if (Objects.nonNull(schema.minItems) && count < schema.minItems) {
+                out.add(this.error(start, end, "Array must have at least %d items".formatted(schema.minItems)));
+            }
+            if (Objects.nonNull(schema.maxItems) && count > schema.maxItems) {
+                out.add(this.error(start, end, "Array must have at most %d items".formatted(schema.maxItems)));
+            }
+            if (Objects.nonNull(schema.contains) && matched == 0) {
+                out.add(this.error(start, end, "Array must contain at least one matching item"));
+            }
+        }
+
+        /**
+         * 数组第 index 项的 Schema：位于 prefixItems 内取对应项，之后取 items；
+         * additionalItems 只在 items 为数组形式（编译为 prefixItems）时作用于元组之后的项
+         */
+        private JsonSchema itemSchema(final JsonSchema schema, final int index) {
+            if (Objects.isNull(schema.prefixItems)) {
+                return schema.items;
+            }
+            if (index < schema.prefixItems.size()) {
+                return schema.prefixItems.get(index);
+            }
+            return Objects.nonNull(schema.items) ? schema.items : schema.additionalItems;
+        }
+
+        private void checkObject(final JsonSchema schema, final int start, final int end, final List<SchemaError> out) {
+            final Set<String> names = new HashSet<>();
+            int index = JsonScanner.skipWhitespace(this.source, start + 1, end);
+            while (index < end && this.source.charAt(index) == '"') {
+                final int keyEnd = JsonScanner.skipString(this.source, index, end);
+                final int valueStart = JsonScanner.skipMember(this.source, index, end);
+                final int valueEnd = valueStart == JsonScanner.INVALID ? JsonScanner.INVALID : JsonScanner.skipValue(this.source, valueStart, end);
+                if (valueEnd == JsonScanner.INVALID) {
+                    break;
+                }
+                final String name = JsonScanner.hasEscape(this.source, index, keyEnd)
+                        ? JSON.parseObject(this.source.substring(index, keyEnd), String.class)
+                        : this.source.substring(index + 1, keyEnd - 1);
+                names.add(name);
+                if (Objects.nonNull(schema.propertyNames)) {
+                    // 键本身就是 JSON 字符串字面量，可直接按区间校验
+                    this.validate(schema.propertyNames, index, keyEnd, out);
+                }
+                boolean declared = Boolean.FALSE;
+                final JsonSchema property = Objects.nonNull(schema.properties) ? schema.properties.get(name) : null;
+                if (Objects.nonNull(property)) {
+                    declared = Boolean.TRUE;
+                    this.validate(property, valueStart, valueEnd, out);
+                }
+                if (Objects.nonNull(schema.patternProperties)) {
+                    for (final Map.Entry<java.util.regex.Pattern, JsonSchema> entry : schema.patternProperties.entrySet()) {
+                        if (entry.getKey().matcher(name).find()) {
+                            declared = Boolean.TRUE;
+                            this.validate(entry.getValue(), valueStart, valueEnd, out);
+                        }
+                    }
+                }
+                if (!declared && Objects.nonNull(schema.additionalProperties)) {
+                    if (schema.additionalProperties == JsonSchema.NONE) {
+                        out.add(new SchemaError(index, keyEnd, "Property '%s' is not allowed".formatted(name)));
+                    } else {
+                        this.validate(schema.additionalProperties, valueStart, valueEnd, out);
+                    }
+                }
+                index = nextSibling(this.source, valueEnd, end);
+            }
+            if (Objects.nonNull(schema.required)) {
+                for (final String name : schema.required) {
+                    if (!names.contains(name)) {
+                        out.add(this.error(start, end, "Missing required property '%s'".formatted(name)));
+                    }
+                }
+            }
+            if (Objects.nonNull(schema.dependentRequired)) {
+                schema.dependentRequired.forEach((name, dependencies) -> {
+                    if (names.contains(name)) {
+                        dependencies.stream().filter(dependency -> !names.contains(dependency)).forEach(dependency ->
+                                out.add(this.error(start, end, "Property '%s' requires '%s'".formatted(name, dependency))));
+                    }
+                });
+            }
+            if (Objects.nonNull(schema.minProperties) && names.size() < schema.minProperties) {
+                out.add(this.error(start, end, "Object must have at least %d properties".formatted(schema.minProperties)));
+            }
+            if (Objects.nonNull(schema.maxProperties) && names.size() > schema.maxProperties) {
+                out.add(this.error(start, end, "Object must have at most %d properties".formatted(schema.maxProperties)));
+            }
+        }
+
+        private void checkCombinators(final JsonSchema schema, final int start, final int end, final List<SchemaError> out) {
+            if (Objects.nonNull(schema.allOf)) {
+                schema.allOf.forEach(item -> this.validate(item, start, end, out));
+            }
+            if (Objects.nonNull(schema.anyOf) && schema.anyOf.stream().noneMatch(item -> this.passes(item, start, end))) {
+                out.add(this.error(start, end, "Value does not match any of the allowed schemas"));
+            }
+            if (Objects.nonNull(schema.oneOf)) {
+                final long matched = schema.oneOf.stream().filter(item -> this.passes(item, start, end)).count();
+                if (matched != 1) {
+                    out.add(this.error(start, end, "Value must match exactly one schema (matched %d)".formatted(matched)));
+                }
+            }
+            if (Objects.nonNull(schema.not) && this.passes(schema.not, start, end)) {
+                out.add(this.error(start, end, "Value must not match the 'not' schema"));
+            }
+            if (Objects.nonNull(schema.ifSchema)) {
+                final JsonSchema branch = this.passes(schema.ifSchema, start, end) ? schema.thenSchema : schema.elseSchema;
+                if (Objects.nonNull(branch)) {
+                    this.validate(branch, start, end, out);
+                }
+            }
+        }
+
+        private boolean passes(final JsonSchema schema, final int start, final int end) {
+            final List<SchemaError> errors = new ArrayList<>();
+            this.validate(schema, start, end, errors);
+            return errors.isEmpty();
+        }
+
+        /**
+         * 错误标记区间：容器只标记开括号（避免整段波浪线），标量标记整个值
+         */
+        private SchemaError error(final int start, final int end, final String message) {
+            final char first = this.source.charAt(start);
+            return new SchemaError(start, first == '{' || first == '[' ? start + 1 : end, message);
+        }
+
+        private static int nextSibling(final String source, final int pos, final int end) {
+            final int index = JsonScanner.skipWhitespace(source, pos, end);
+            return index < end && source.charAt(index) == ',' ? JsonScanner.skipWhitespace(source, index + 1, end) : end;
+        }
+    }
+}
@@ -1,13 +1,17 @@
 package com.acme.prism.core.settings;
 
 import com.acme.prism.core.minimap.MinimapEditorFactoryListener;
+import com.acme.prism.core.parser.converter.JavaStructure;
 import com.intellij.ide.projectView.ProjectView;
 import com.intellij.openapi.options.Configurable;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectManager;
 import com.intellij.openapi.util.NlsContexts;
 import com.intellij.ui.IdeBorderFactory;
+import com.intellij.ui.JBIntSpinner;
 import com.intellij.ui.components.JBCheckBox;
+import com.intellij.ui.components.JBLabel;
+import com.intellij.ui.components.JBTextField;
 import com.intellij.util.ui.FormBuilder;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -67,6 +71,12 @@ public class PluginSettings implements Configurable {
         // 判断全局状态与设置组件状态
         return component.getCopyJson() != settings.copyJson
                 || component.getJsonHelper() != settings.jsonHelper
+                || component.getFixedSampleValues() != settings.fixedSampleValues
+                || !Objects.equals(component.getDiffArrayKey(), settings.diffArrayKey)
+                || component.getWebFetchMaxMegabytes() != settings.webFetchMaxMegabytes
+                || component.getLargeDocumentKiloChars() != settings.largeDocumentKiloChars
+                || component.getLargeDocumentLines() != settings.largeDocumentLines
+                || component.getClassSampleLimit() != settings.classSampleLimit
                 || component.getPortSearch() != settings.portSearchEnabled
                 || component.getProjectSearch() != settings.projectSearchEnabled
                 || component.getHttpSearch() != settings.httpSearchEnabled
@@ -91,6 +101,12 @@ public class PluginSettings implements Configurable {
         // 将设置组件状态覆盖全局状态
         settings.copyJson = component.getCopyJson();
         settings.jsonHelper = component.getJsonHelper();
+        settings.fixedSampleValues = component.getFixedSampleValues();
+        settings.diffArrayKey = component.getDiffArrayKey();
+        settings.webFetchMaxMegabytes = component.getWebFetchMaxMegabytes();
+        settings.largeDocumentKiloChars = component.getLargeDocumentKiloChars();
+        settings.largeDocumentLines = component.getLargeDocumentLines();
+        settings.classSampleLimit = component.getClassSampleLimit();
         settings.portSearchEnabled = component.getPortSearch();
         settings.projectSearchEnabled = component.getProjectSearch();
         settings.httpSearchEnabled = component.getHttpSearch();
@@ -118,6 +134,12 @@ public class PluginSettings implements Configurable {
         final PluginSettingsState settings = of();
         component.setCopyJson(settings.copyJson);
         component.setJsonHelper(settings.jsonHelper);
+        component.setFixedSampleValues(settings.fixedSampleValues);
+        component.setDiffArrayKey(settings.diffArrayKey);
+        component.setWebFetchMaxMegabytes(settings.webFetchMaxMegabytes);
+        component.setLargeDocumentKiloChars(settings.largeDocumentKiloChars);
+        component.setLargeDocumentLines(settings.largeDocumentLines);
+        component.setClassSampleLimit(settings.classSampleLimit);
         component.setPortSearch(settings.portSearchEnabled);
         component.setProjectSearch(settings.projectSearchEnabled);
         component.setHttpSearch(settings.httpSearchEnabled);
@@ -145,6 +167,12 @@ public class PluginSettings implements Configurable {
         private final JPanel mainPanel;
         private final JBCheckBox copyJson = new JBCheckBox(BUNDLE.getString("plugin.setting.copy.json"));
         private final JBCheckBox jsonHelper = new JBCheckBox(BUNDLE.getString("plugin.setting.json.helper"));
+        private final JBCheckBox fixedSampleValues = new JBCheckBox(BUNDLE.getString("plugin.setting.fixed.sample.values"));
+        private final JBTextField diffArrayKey = new JBTextField(8);
+        private final JBIntSpinner webFetchMaxMegabytes = new JBIntSpinner(16, 1, 512);
+        private final JBIntSpinner largeDocumentKiloChars = new JBIntSpinner(2048, 64, 1 << 20, 256);
+        private final JBIntSpinner largeDocumentLines = new JBIntSpinner(100_000, 1000, 10_000_000, 1000);
+        private final JBIntSpinner classSampleLimit = new JBIntSpinner(JavaStructure.DEFAULT_SAMPLE_LIMIT, 1, 1_000_000, 1000);
         private final JBCheckBox projectSearch = new JBCheckBox(BUNDLE.getString("project.search.group.name"));
         private final JBCheckBox httpSearch = new JBCheckBox(BUNDLE.getString("http.search.group.name"));
         private final JBCheckBox portSearch = new JBCheckBox(BUNDLE.getString("port.search.group.name"));
@@ -157,7 +185,13 @@ public class PluginSettings implements Configurable {
 
         public PluginSettingsComponent() {
             mainPanel = FormBuilder.createFormBuilder()
-                    .addComponent(of(BUNDLE.getString("plugin.setting.title1"), copyJson, jsonHelper), 1)
+                    .addComponent(of(BUNDLE.getString("plugin.setting.title1"), copyJson, jsonHelper, fixedSampleValues,
+                            new JBLabel(BUNDLE.getString("plugin.setting.diff.array.key")), diffArrayKey), 1)
+                    .addComponent(of(BUNDLE.getString("plugin.setting.title5"),
+                            new JBLabel(BUNDLE.getString("plugin.setting.web.fetch.max.megabytes")), webFetchMaxMegabytes,
+                            new JBLabel(BUNDLE.getString("plugin.setting.large.document.kilo.chars")), largeDocumentKiloChars,
+                            new JBLabel(BUNDLE.getString("plugin.setting.large.document.lines")), largeDocumentLines,
+                            new JBLabel(BUNDLE.getString("plugin.setting.class.sample.limit")), classSampleLimit), 1)
                     .addComponent(of(BUNDLE.getString("plugin.setting.title2"), projectSearch, httpSearch, portSearch), 1)
                     .addComponent(of(BUNDLE.getString("plugin.setting.title3"), archiveNode, fileInfoNode), 1)
                     .addComponent(of(BUNDLE.getString("plugin.setting.title4"), rainbowBracketPair, rainbowVariable, colorHighlighter, minimap), 1)
@@ -211,6 +245,54 @@ public class PluginSettings implements Configurable {
             jsonHelper.setSelected(status);
         }
 
+        public boolean getFixedSampleValues() {
+            return fixedSampleValues.isSelected();
+        }
+
+        public void setFixedSampleValues(final boolean status) {
+            fixedSampleValues.setSelected(status);
+        }
+
+        public String getDiffArrayKey() {
+            return diffArrayKey.getText().strip();
+        }
+
+        public void setDiffArrayKey(final String key) {
+            diffArrayKey.setText(key);
+        }
+
+        public int getWebFetchMaxMegabytes() {
+            return webFetchMaxMegabytes.getNumber();
+        }
+
+        public void setWebFetchMaxMegabytes(final int megabytes) {
+            webFetchMaxMegabytes.setNumber(megabytes);
+        }
+
+        public int getLargeDocumentKiloChars() {
+            return largeDocumentKiloChars.getNumber();
+        }
+
+        public void setLargeDocumentKiloChars(final int kiloChars) {
+            largeDocumentKiloChars.setNumber(kiloChars);
+        }
+
+        public int getLargeDocumentLines() {
+            return largeDocumentLines.getNumber();
+        }
+
+        public void setLargeDocumentLines(final int lines) {
+            largeDocumentLines.setNumber(lines);
+        }
+
+        public int getClassSampleLimit() {
+            return classSampleLimit.getNumber();
+        }
+
+        public void setClassSampleLimit(final int limit) {
+            classSampleLimit.setNumber(limit);
+        }
+
         public boolean getPortSearch() {
             return portSearch.isSelected();
         }
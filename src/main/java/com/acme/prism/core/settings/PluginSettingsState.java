@@ -1,6 +1,8 @@
 package com.acme.prism.core.settings;
 
 import cn.hutool.core.lang.Opt;
+import com.acme.prism.core.editor.LargeDocumentPolicy;
+import com.acme.prism.core.parser.converter.JavaStructure;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.components.PersistentStateComponent;
 import com.intellij.openapi.components.State;
@@ -24,6 +26,18 @@ public class PluginSettingsState implements PersistentStateComponent<PluginSetti
     public boolean copyJson = Boolean.TRUE;
     /** JSON助手默认配置 */
     public boolean jsonHelper = Boolean.TRUE;
+    /** 复制JSON使用固定示例值（默认关闭，随机生成；开启后同一类每次生成的JSON一致并可缓存） */
+    public boolean fixedSampleValues = Boolean.FALSE;
+    /** 自动识别获取网络内容的大小上限（MB，解压后计算，超限立即中止下载） */
+    public int webFetchMaxMegabytes = 16;
+    /** 大文档模式字符数阈值（K 字符，超过后关闭语言高亮、折叠、格式化与自动识别等重型功能） */
+    public int largeDocumentKiloChars = 2048;
+    /** 大文档模式行数阈值 */
+    public int largeDocumentLines = 100_000;
+    /** JSON转类/Record 时推断数组元素结构的采样上限 */
+    public int classSampleLimit = JavaStructure.DEFAULT_SAMPLE_LIMIT;
+    /** 结构化差异中数组元素的匹配键（为空时按内容与顺序配对） */
+    public String diffArrayKey = "id";
     /** 端口搜索开关（默认开启） */
     public boolean portSearchEnabled = Boolean.TRUE;
     /** 项目搜索开关（默认开启） */
@@ -51,7 +65,19 @@ public class PluginSettingsState implements PersistentStateComponent<PluginSetti
 
     @NotNull
     public static PluginSettingsState getInstance() {
-        return Opt.ofNullable(ApplicationManager.getApplication().getService(PluginSettingsState.class)).orElseGet(PluginSettingsState::new);
+        return Opt.ofNullable(ApplicationManager.getApplication())
+                .map(application -> application.getService(PluginSettingsState.class))
+                .orElseGet(PluginSettingsState::new);
+    }
+
+    /**
+     * 大文档模式判定
+     *
+     * @return {@link LargeDocumentPolicy }
+     */
+    @NotNull
+    public LargeDocumentPolicy largeDocumentPolicy() {
+        return new LargeDocumentPolicy(this.largeDocumentKiloChars * 1024L, this.largeDocumentLines);
     }
 
     @Nullable
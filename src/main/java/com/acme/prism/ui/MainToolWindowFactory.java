@@ -1,11 +1,12 @@
 package com.acme.prism.ui;
 
-import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.convert.Convert;
 import cn.hutool.core.lang.Opt;
 import com.acme.prism.common.enums.SupportedLanguages;
-import com.acme.prism.core.editor.JsonEditorPushProvider;
+import com.acme.prism.core.editor.EditorStateStore;
+import com.acme.prism.core.editor.TabEditorRegistry;
 import com.acme.prism.core.editor.record.EditorState;
+import com.acme.prism.core.settings.PluginSettingsState;
 import com.acme.prism.core.settings.ProjectDisposableService;
 import com.acme.prism.ui.editor.CustomizeEditorFactory;
 import com.acme.prism.ui.editor.Editor;
@@ -19,18 +20,28 @@ import com.intellij.openapi.actionSystem.AnAction;
 import com.intellij.openapi.actionSystem.AnActionEvent;
 import com.intellij.openapi.actionSystem.DefaultActionGroup;
 import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.diagnostic.Logger;
+import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.event.DocumentEvent;
+import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.editor.ex.EditorEx;
 import com.intellij.openapi.project.DumbAware;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.project.ProjectManager;
 import com.intellij.openapi.project.ProjectManagerListener;
 import com.intellij.openapi.util.Disposer;
+import com.intellij.openapi.util.Key;
 import com.intellij.openapi.wm.ToolWindow;
 import com.intellij.openapi.wm.ToolWindowFactory;
 import com.intellij.openapi.wm.ToolWindowManager;
 import com.intellij.ui.EditorTextField;
 import com.intellij.ui.content.Content;
 import com.intellij.ui.content.ContentFactory;
+import com.intellij.ui.content.ContentManagerEvent;
+import com.intellij.ui.content.ContentManagerListener;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import org.jetbrains.annotations.NotNull;
 
 import javax.swing.*;
@@ -39,13 +50,17 @@ import javax.swing.plaf.basic.BasicSplitPaneUI;
 import java.awt.*;
 import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 import static com.acme.prism.core.editor.record.EditorState.JSON_HELPER_STATE_KEY;
 
@@ -68,6 +83,26 @@ public class MainToolWindowFactory implements ToolWindowFactory, DumbAware {
      * 分割窗格上部组件的缩放权重（编辑器区域优先拉伸）
      */
     private static final double EDITOR_RESIZE_WEIGHT = 1.0d;
+    /**
+     * 单页签内容存储预算（压缩后字节），超出时只保留页签不保存内容
+     */
+    private static final int TAB_STORE_BUDGET = 4 << 20;
+    /**
+     * 后台读取阈值（原文字节），不小于该值的页签构建后在后台解压填充，避免阻塞选中
+     */
+    private static final int LAZY_RESTORE_BYTES = 256 << 10;
+    /**
+     * 未构建页签的构建动作（首次选中时执行并移除）
+     */
+    private static final Key<Runnable> PENDING_BUILD = Key.create("Prism.PendingBuild");
+    /**
+     * 未构建页签的状态（保存时代替编辑器内容）
+     */
+    private static final Key<EditorState> PENDING_STATE = Key.create("Prism.PendingState");
+    /**
+     * 日志
+     */
+    private static final Logger LOG = Logger.getInstance(MainToolWindowFactory.class);
     /**
      * 标签计数器
      */
@@ -101,7 +136,7 @@ public class MainToolWindowFactory implements ToolWindowFactory, DumbAware {
     }
 
     /**
-     * 编辑器储存
+     * 编辑器储存（写入项目的页签存储文件，未构建过的页签沿用已保存的数据）
      *
      * @param project 项目
      */
@@ -109,23 +144,56 @@ public class MainToolWindowFactory implements ToolWindowFactory, DumbAware {
         Opt.ofNullable(project).filter(p -> EditorState.SAVED_MARK.add(p.getLocationHash())).map(ToolWindowManager::getInstance)
                 .map(manager -> manager.getToolWindow(PROJECT_NAME)).filter(Objects::nonNull)
                 .ifPresent(window -> {
-                    final Content[] contents = window.getContentManager().getContents();
-                    PropertiesComponent.getInstance(project).setValue(
-                            JSON_HELPER_STATE_KEY,
-                            EditorState.encode(
-                                    IntStream.range(0, contents.length).boxed()
-                                            .flatMap(number ->
-                                                    Opt.ofNullable(JsonEditorPushProvider.deepFindEditor(contents[number].getComponent()))
-                                                            .filter(Objects::nonNull)
-                                                            .map(field ->
-                                                                    Stream.of(new EditorState(Convert.toInt(contents[number].getTabName()), field.getText()))
-                                                            ).orElseGet(Stream::empty)
-                                            ).toList()
-                            )
-                    );
+                    final List<EditorState> states = new ArrayList<>();
+                    for (final Content content : window.getContentManager().getContents()) {
+                        final Integer editorId = Convert.toInt(content.getTabName());
+                        final EditorState pending = content.getUserData(PENDING_STATE);
+                        if (Objects.nonNull(pending)) {
+                            states.add(pending);
+                            continue;
+                        }
+                        Opt.ofNullable(TabEditorRegistry.getInstance(project).editor(content))
+                                .ifPresent(field -> states.add(new EditorState(editorId, field.getText())));
+                    }
+                    try {
+                        store(project).save(states);
+                        PropertiesComponent.getInstance(project).unsetValue(JSON_HELPER_STATE_KEY);
+                    } catch (final IOException e) {
+                        LOG.warn("Failed to save Prism tabs", e);
+                    }
                 });
     }
 
+    /**
+     * 项目的页签存储（系统目录下按项目区分）
+     *
+     * @param project 项目
+     * @return {@link EditorStateStore }
+     */
+    private static EditorStateStore store(@NotNull final Project project) {
+        final Path file = PathManager.getSystemDir().resolve(PROJECT_NAME.toLowerCase(Locale.ROOT)).resolve("tabs").resolve(project.getLocationHash() + ".bin");
+        return new EditorStateStore(file, TAB_STORE_BUDGET);
+    }
+
+    /**
+     * 读取已保存的页签（只读页签头部，内容在页签构建时读取；兼容旧版保存在 workspace.xml 中的状态，下次保存成功后移除）
+     *
+     * @param project 项目
+     * @return {@link List }<{@link Restore }>
+     */
+    private List<Restore> loadTabs(@NotNull final Project project) {
+        final String legacy = PropertiesComponent.getInstance(project).getValue(JSON_HELPER_STATE_KEY);
+        if (Objects.nonNull(legacy)) {
+            return EditorState.decode(legacy).stream().map(state -> new Restore(state, null)).toList();
+        }
+        try {
+            return store(project).load().stream().map(entry -> new Restore(new EditorState(entry.editorId(), null), entry)).toList();
+        } catch (final IOException e) {
+            LOG.warn("Failed to load Prism tabs", e);
+            return List.of();
+        }
+    }
+
     /**
      * 创建工具窗口内容
      *
@@ -134,14 +202,39 @@ public class MainToolWindowFactory implements ToolWindowFactory, DumbAware {
      */
     @Override
     public void createToolWindowContent(@NotNull final Project project, @NotNull final ToolWindow toolWindow) {
+        // 恢复的页签首次选中时才构建编辑器、树面板与监听
+        toolWindow.getContentManager().addContentManagerListener(new ContentManagerListener() {
+            @Override
+            public void selectionChanged(@NotNull final ContentManagerEvent event) {
+                if (event.getOperation() != ContentManagerEvent.ContentOperation.add) {
+                    return;
+                }
+                final Content content = event.getContent();
+                // 选中稳定后再构建，恢复期间逐个添加页签引起的中间选中不触发构建
+                ApplicationManager.getApplication().invokeLater(() -> {
+                    if (project.isDisposed() || !toolWindow.getContentManager().isSelected(content)) {
+                        return;
+                    }
+                    final Runnable build = content.getUserData(PENDING_BUILD);
+                    if (Objects.nonNull(build)) {
+                        content.putUserData(PENDING_BUILD, null);
+                        content.putUserData(PENDING_STATE, null);
+                        build.run();
+                    }
+                });
+            }
+        });
         ApplicationManager.getApplication().invokeLater(() -> {
             // 加载编辑器历史
-            Opt.ofEmptyAble(
-                    Opt.ofNullable(PropertiesComponent.getInstance(project).getValue(JSON_HELPER_STATE_KEY))
-                            .map(EditorState::decode).filter(CollUtil::isNotEmpty).orElseGet(List::of)
-            ).ifPresentOrElse(
-                    // 填充编辑器历史
-                    item -> item.forEach(state -> this.createNewTab(project, toolWindow, state)),
+            Opt.ofEmptyAble(this.loadTabs(project)).ifPresentOrElse(
+                    // 填充占位页签，只选中（构建）最后一个
+                    item -> {
+                        Content last = null;
+                        for (final Restore restore : item) {
+                            last = this.addTab(project, toolWindow, restore, Boolean.TRUE);
+                        }
+                        toolWindow.getContentManager().setSelectedContent(last, Boolean.TRUE);
+                    },
                     // 创建初始页签
                     () -> this.createNewTab(project, toolWindow, null)
             );
@@ -158,18 +251,43 @@ public class MainToolWindowFactory implements ToolWindowFactory, DumbAware {
      * @param project    项目
      * @param toolWindow 工具窗口
      * @param restore    恢复内容
+     * @return {@link Content }
      */
-    public void createNewTab(@NotNull final Project project, @NotNull final ToolWindow toolWindow, final EditorState restore) {
+    public Content createNewTab(@NotNull final Project project, @NotNull final ToolWindow toolWindow, final EditorState restore) {
+        final Content content = this.addTab(project, toolWindow, Opt.ofNullable(restore).map(state -> new Restore(state, null)).orElse(null), Boolean.FALSE);
+        // 切换焦点到新页签
+        ApplicationManager.getApplication().invokeLater(() -> toolWindow.getContentManager().setSelectedContent(content, Boolean.TRUE));
+        return content;
+    }
+
+    /**
+     * 添加页签
+     *
+     * @param project    项目
+     * @param toolWindow 工具窗口
+     * @param restore    恢复内容
+     * @param deferred   是否延迟到首次选中时构建（只添加占位面板）
+     * @return {@link Content }
+     */
+    private Content addTab(@NotNull final Project project, @NotNull final ToolWindow toolWindow, final Restore restore, final boolean deferred) {
         final Disposable tabDisposable = Disposer.newDisposable("JsonHelperTab");
         Disposer.register(ProjectDisposableService.getInstance(project), tabDisposable);
         // 增加页签号数
-        final int number = Opt.ofNullable(restore).map(EditorState::editorId).peek(tabCounter::set).orElseGet(tabCounter::incrementAndGet);
-        // 创建页签内容面板
-        final JPanel contentPanel = this.createWindowContent(project, number, Opt.ofNullable(restore).map(EditorState::content).orElse(null), tabDisposable);
+        final int number = Opt.ofNullable(restore).map(Restore::state).map(EditorState::editorId).peek(tabCounter::set).orElseGet(tabCounter::incrementAndGet);
+        // 创建页签内容面板（构建前为空占位）
+        final JPanel contentPanel = new JPanel(new BorderLayout(0, 0));
+        contentPanel.setBorder(BorderFactory.createEmptyBorder());
         // 创建页签内容
         final Content content = ContentFactory.getInstance().createContent(contentPanel, String.valueOf(number), Boolean.FALSE);
         // 可关闭设置
         content.setCloseable(Boolean.TRUE);
+        final Runnable build = () -> this.buildTab(project, content, contentPanel, number, restore, tabDisposable);
+        if (deferred) {
+            content.putUserData(PENDING_BUILD, build);
+            content.putUserData(PENDING_STATE, restore.state());
+        } else {
+            build.run();
+        }
         // 页签关闭时释放资源
         content.setDisposer(() -> {
             Disposer.dispose(tabDisposable);
@@ -186,8 +304,77 @@ public class MainToolWindowFactory implements ToolWindowFactory, DumbAware {
         });
         // 将页签内容添加到工具窗口
         toolWindow.getContentManager().addContent(content);
-        // 切换焦点到新页签
-        ApplicationManager.getApplication().invokeLater(() -> toolWindow.getContentManager().setSelectedContent(content, Boolean.TRUE));
+        return content;
+    }
+
+    /**
+     * 构建页签：创建编辑器与面板并填充恢复内容（较大的已保存内容在后台读取）
+     *
+     * @param project       项目
+     * @param content       页签
+     * @param contentPanel  页签内容面板
+     * @param number        页签号数
+     * @param restore       恢复内容
+     * @param tabDisposable 页签生命周期
+     */
+    private void buildTab(@NotNull final Project project, @NotNull final Content content, @NotNull final JPanel contentPanel, final int number,
+                          final Restore restore, final Disposable tabDisposable) {
+        final EditorStateStore.Entry pending = Opt.ofNullable(restore).map(Restore::pending).orElse(null);
+        final boolean lazy = Objects.nonNull(pending) && pending.length() >= LAZY_RESTORE_BYTES;
+        final String text = Objects.nonNull(pending) && !lazy
+                ? readTab(project, pending)
+                : Opt.ofNullable(restore).map(Restore::state).map(EditorState::content).orElse(null);
+        if (lazy) {
+            // 恢复完成前不接收推送内容
+            TabEditorRegistry.getInstance(project).beginRestore(content);
+        }
+        contentPanel.add(this.createWindowContent(project, content, number, text, tabDisposable), BorderLayout.CENTER);
+        contentPanel.revalidate();
+        contentPanel.repaint();
+        if (lazy) {
+            this.restoreLazily(project, content, number, pending);
+        }
+    }
+
+    /**
+     * 读取已保存页签的内容
+     *
+     * @param project 项目
+     * @param entry   已保存页签
+     * @return 内容；读取失败返回空字符串
+     */
+    private static String readTab(@NotNull final Project project, @NotNull final EditorStateStore.Entry entry) {
+        try {
+            return store(project).read(entry);
+        } catch (final IOException e) {
+            LOG.warn("Failed to restore Prism tab " + entry.editorId(), e);
+            return "";
+        }
+    }
+
+    /**
+     * 后台读取已保存页签的内容并填充编辑器
+     *
+     * @param project 项目
+     * @param content 页签
+     * @param number  页签号
+     * @param pending 已保存页签
+     */
+    private void restoreLazily(@NotNull final Project project, @NotNull final Content content, final int number,
+                               @NotNull final EditorStateStore.Entry pending) {
+        CompletableFuture.supplyAsync(() -> readTab(project, pending), AppExecutorUtil.getAppExecutorService())
+                .thenAccept(text -> ApplicationManager.getApplication().invokeLater(() -> {
+                    if (project.isDisposed()) {
+                        return;
+                    }
+                    // 读取期间页签可能已关闭，或已被手动输入内容
+                    final TabEditorRegistry registry = TabEditorRegistry.getInstance(project);
+                    final EditorTextField editor = registry.editor(content);
+                    if (Objects.nonNull(editor) && editor.getDocument().getTextLength() == 0) {
+                        editor.setText(text);
+                    }
+                    registry.endRestore(content, number);
+                }));
     }
 
     /**
@@ -220,17 +407,21 @@ public class MainToolWindowFactory implements ToolWindowFactory, DumbAware {
      * 创建窗口内容
      *
      * @param project 项目
+     * @param tab     页签
      * @param number  页签号数
      * @param content 内容
      * @return {@link JPanel }
      */
-    private JPanel createWindowContent(@NotNull final Project project, final int number, final String content, final Disposable tabDisposable) {
+    private JPanel createWindowContent(@NotNull final Project project, @NotNull final Content tab, final int number, final String content,
+                                       final Disposable tabDisposable) {
         // 窗口工具
         final JPanel toolWindow = new JPanel(new BorderLayout(0, 0));
         // 创建JSON编辑器
         final EditorTextField editor = new CustomizeEditorFactory(SupportedLanguages.JSON, "Dummy_%d.json".formatted(number)).create(project);
         // 填充内容
         Opt.ofBlankAble(content).ifPresent(editor::setText);
+        // 登记页签编辑器
+        TabEditorRegistry.getInstance(project).register(tab, number, editor, tabDisposable);
         // 等待编辑器初始化后，挂载面板功能
         ApplicationManager.getApplication().invokeLater(() -> {
             // JSON编辑框绑定拖放监听
@@ -256,14 +447,18 @@ public class MainToolWindowFactory implements ToolWindowFactory, DumbAware {
         final JPanel panel = new JPanel(new BorderLayout(0, 0));
         // 主面板
         panel.setBorder(BorderFactory.createEmptyBorder());
-        panel.add(new MainPanel().create(editor, tabDisposable), BorderLayout.NORTH);
+        final MainPanel mainPanel = new MainPanel();
+        panel.add(mainPanel.create(editor, tabDisposable), BorderLayout.NORTH);
+        // 树面板
+        final JsonTreePanel treePanel = new JsonTreePanel();
         // 创建滑动分区区块
         final JSplitPane editorTreeSplit = new JSplitPane(
                 JSplitPane.VERTICAL_SPLIT,
                 editor,
-                // 树面板
-                new JsonTreePanel().create(editor, tabDisposable)
+                treePanel.create(editor, tabDisposable)
         );
+        // 大文档模式跟随文档大小自动切换
+        this.bindLargeDocumentMode(editor, mainPanel, treePanel, tabDisposable);
         // 自定义分隔条样式
         editorTreeSplit.setUI(new BasicSplitPaneUI() {
             @Override
@@ -301,6 +496,43 @@ public class MainToolWindowFactory implements ToolWindowFactory, DumbAware {
         return panel;
     }
 
+    /**
+     * 绑定大文档模式：文档长度或行数超过阈值时开启，回落到阈值以下一定比例时关闭
+     *
+     * @param editor        编辑器
+     * @param mainPanel     主面板
+     * @param treePanel     树面板
+     * @param tabDisposable 页签生命周期
+     */
+    private void bindLargeDocumentMode(final EditorTextField editor, final MainPanel mainPanel, final JsonTreePanel treePanel,
+                                       final Disposable tabDisposable) {
+        final AtomicBoolean large = new AtomicBoolean(Boolean.FALSE);
+        final Runnable update = () -> {
+            final Document document = editor.getDocument();
+            // 只读长度与行数，不复制文本
+            final boolean next = PluginSettingsState.getInstance().largeDocumentPolicy().isLarge(large.get(), document.getTextLength(), document.getLineCount());
+            // 记录到文档，编辑器重建与格式化时沿用
+            document.putUserData(Editor.LARGE_DOCUMENT, next);
+            if (next == large.getAndSet(next)) {
+                return;
+            }
+            mainPanel.setLargeDocument(next);
+            treePanel.setLargeDocument(next);
+            // 编辑器设置不在文档变更通知中修改
+            ApplicationManager.getApplication().invokeLater(() -> Opt.ofNullable(editor.getEditor())
+                    .filter(EditorEx.class::isInstance).map(EditorEx.class::cast)
+                    .filter(ex -> !ex.isDisposed() && large.get() == next)
+                    .ifPresent(ex -> Editor.applyLargeDocumentMode(editor.getProject(), ex, SupportedLanguages.JSON.getFileType(), next)));
+        };
+        editor.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void documentChanged(final @NotNull DocumentEvent e) {
+                update.run();
+            }
+        }, tabDisposable);
+        update.run();
+    }
+
     /**
      * 初始化分割窗格布局
      *
@@ -315,4 +547,13 @@ public class MainToolWindowFactory implements ToolWindowFactory, DumbAware {
                 )
         );
     }
+
+    /**
+     * 待恢复页签
+     *
+     * @param state   页签状态（从存储文件恢复时内容为 null）
+     * @param pending 存储文件中的已保存页签（构建时读取内容）
+     */
+    private record Restore(EditorState state, EditorStateStore.Entry pending) {
+    }
 }
@@ -3,9 +3,8 @@ package com.acme.prism.ui.action.json;
 import com.acme.prism.common.ActionEventCheck;
 import com.acme.prism.common.Clipboard;
 import com.acme.prism.common.UastSupported;
-import com.acme.prism.core.json.JsonFormatter;
 import com.acme.prism.core.notice.Notifier;
-import com.acme.prism.core.parser.ClassParser;
+import com.acme.prism.core.parser.ClassJsonCacheService;
 import com.acme.prism.core.settings.PluginSettings;
 import com.intellij.openapi.actionSystem.ActionUpdateThread;
 import com.intellij.openapi.actionSystem.AnAction;
@@ -84,12 +83,12 @@ public class CopyJsonAction extends AnAction {
         if (Objects.isNull(psiClass)) {
             return;
         }
-        new Task.Backgroundable(project, BUNDLE.getString("action.class.copy.json.text"), Boolean.FALSE) {
+        new Task.Backgroundable(project, BUNDLE.getString("action.class.copy.json.text"), Boolean.TRUE) {
             private String generatedJson;
 
             @Override
             public void run(@NotNull final ProgressIndicator indicator) {
-                this.generatedJson = new JsonFormatter().process(ClassParser.classToMap(psiClass));
+                this.generatedJson = ClassJsonCacheService.getInstance(project).jsonOf(psiClass, indicator);
             }
 
             @Override
@@ -97,6 +96,15 @@ public class CopyJsonAction extends AnAction {
                 Clipboard.copy(this.generatedJson);
                 Notifier.notifyInfo(BUNDLE.getString("bean.copy.json.success"), project);
             }
+
+            @Override
+            public void onCancel() {
+                // 取消时已解析的部分照常复制
+                if (Objects.nonNull(this.generatedJson)) {
+                    Clipboard.copy(this.generatedJson);
+                    Notifier.notifyWarn(BUNDLE.getString("bean.copy.json.partial"), project);
+                }
+            }
         }.queue();
     }
 }
@@ -5,8 +5,8 @@ import cn.hutool.core.util.StrUtil;
 import com.acme.prism.common.ActionEventCheck;
 import com.acme.prism.common.UastSupported;
 import com.acme.prism.core.editor.JsonEditorPushProvider;
-import com.acme.prism.core.json.JsonFormatter;
-import com.acme.prism.core.parser.ClassParser;
+import com.acme.prism.core.notice.Notifier;
+import com.acme.prism.core.parser.ClassJsonCacheService;
 import com.acme.prism.core.settings.PluginSettings;
 import com.alibaba.fastjson2.JSON;
 import com.intellij.openapi.actionSystem.ActionUpdateThread;
@@ -152,18 +152,27 @@ public class JsonHelperAction extends AnAction {
         if (Objects.isNull(targetClass)) {
             return;
         }
-        new Task.Backgroundable(project, BUNDLE.getString("send.json.editor.toolwindow.text"), Boolean.FALSE) {
+        new Task.Backgroundable(project, BUNDLE.getString("send.json.editor.toolwindow.text"), Boolean.TRUE) {
             private String generatedJson;
 
             @Override
             public void run(@NotNull final ProgressIndicator indicator) {
-                this.generatedJson = JsonHelperAction.this.generateClassJson(targetClass);
+                this.generatedJson = JsonHelperAction.this.generateClassJson(targetClass, indicator);
             }
 
             @Override
             public void onSuccess() {
                 JsonEditorPushProvider.pushToJsonEditor(project, this.generatedJson);
             }
+
+            @Override
+            public void onCancel() {
+                // 取消时已解析的部分照常发送
+                if (Objects.nonNull(this.generatedJson)) {
+                    JsonEditorPushProvider.pushToJsonEditor(project, this.generatedJson);
+                    Notifier.notifyWarn(BUNDLE.getString("send.json.editor.partial"), project);
+                }
+            }
         }.queue();
     }
 
@@ -171,11 +180,12 @@ public class JsonHelperAction extends AnAction {
 
     /**
      * 生成类结构JSON
-     * @param psiClass psi等级
+     * @param psiClass  psi等级
+     * @param indicator 进度指示器
      * @return {@link String }
      */
-    private String generateClassJson(final PsiClass psiClass) {
-        return new JsonFormatter().process(ClassParser.classToMap(psiClass));
+    private String generateClassJson(final PsiClass psiClass, final ProgressIndicator indicator) {
+        return ClassJsonCacheService.getInstance(psiClass.getProject()).jsonOf(psiClass, indicator);
     }
 
     /**
@@ -8,23 +8,29 @@ import com.acme.prism.common.enums.AnyFile;
 import com.acme.prism.common.enums.SupportedLanguages;
 import com.acme.prism.core.notice.Notifier;
 import com.acme.prism.core.parser.JsonParser;
+import com.acme.prism.core.settings.PluginSettingsState;
 import com.acme.prism.ui.editor.CustomizeEditorFactory;
-import com.acme.prism.ui.editor.Editor;
 import com.alibaba.fastjson2.JSON;
+import com.alibaba.fastjson2.JSONException;
 import com.alibaba.fastjson2.TypeReference;
 import com.intellij.icons.AllIcons;
-import com.intellij.openapi.application.ApplicationManager;
-import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.application.ReadAction;
 import com.intellij.openapi.fileChooser.FileChooser;
 import com.intellij.openapi.fileChooser.FileChooserDescriptor;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.Task;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.openapi.util.text.StringUtil;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.psi.PsiFile;
+import com.intellij.psi.PsiFileFactory;
+import com.intellij.psi.codeStyle.CodeStyleManager;
 import com.intellij.ui.EditorTextField;
 import com.intellij.ui.components.JBScrollPane;
 import com.intellij.ui.table.JBTable;
+import com.intellij.util.concurrency.AppExecutorUtil;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.jetbrains.annotations.NotNull;
@@ -41,10 +47,14 @@ import java.io.FileOutputStream;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.IntStream;
 
 /**
  * 转换各种文件对话框
+ * <p>
+ * 原始 JSON 每个对话框只解析一次，各格式共享解析结果在后台并行转换；编辑器类格式在后台对 PSI 副本格式化后再填入编辑器，EDT 只负责建组件
  *
  * @author 拒绝者
  * @date 2025-01-26
@@ -74,6 +84,14 @@ public class ConvertAnyDialog extends DialogWrapper {
      * 导出文件名模板
      */
     private static final String EXPORT_FILE_NAME_TEMPLATE = "export_%s.xlsx";
+    /**
+     * 打开对话框即预转换的常用格式
+     */
+    private static final Set<AnyFile> PREFETCH_FORMATS = EnumSet.of(AnyFile.CLASS, AnyFile.RECORD, AnyFile.YAML, AnyFile.XML);
+    /**
+     * 预转换的原文长度上限（超出后只转换选中的格式）
+     */
+    private static final int PREFETCH_MAX_LENGTH = 1 << 20;
     /**
      * 加载语言资源文件
      */
@@ -98,11 +116,26 @@ public class ConvertAnyDialog extends DialogWrapper {
      * 编辑器集合
      */
     private final Map<AnyFile, EditorTextField> editorMap = new EnumMap<>(AnyFile.class);
+    /**
+     * 共享解析结果（非法 JSON 时为空，各转换器按原文自行处理）
+     */
+    private final CompletableFuture<Object> parsed;
+    /**
+     * 各格式的转换结果（只在 EDT 读写）
+     */
+    private final Map<AnyFile, CompletableFuture<String>> outputMap = new EnumMap<>(AnyFile.class);
 
     public ConvertAnyDialog(final Project project, final String jsonText) {
         super(project, Boolean.TRUE);
         this.project = project;
         this.jsonText = jsonText;
+        this.parsed = CompletableFuture.supplyAsync(() -> {
+            try {
+                return JSON.parse(jsonText);
+            } catch (final JSONException e) {
+                return null;
+            }
+        }, AppExecutorUtil.getAppExecutorService());
         this.cardPanel = new JPanel(new CardLayout(0, 0));
         this.cardPanel.setBorder(BorderFactory.createEmptyBorder());
         this.init();
@@ -149,41 +182,59 @@ public class ConvertAnyDialog extends DialogWrapper {
         }
         // 加载 编辑器
         if (fileType.isEditor() && !this.editorMap.containsKey(fileType)) {
+            final CompletableFuture<String> output = this.output(fileType);
             new Task.Backgroundable(this.project, BUNDLE.getString("json.to.any.load.content.editor").formatted(fileType)) {
+                private String converted;
+
                 @Override
                 public void run(@NotNull final ProgressIndicator indicator) {
-                    final String converted = StrUtil.emptyIfNull(JsonParser.convert(ConvertAnyDialog.this.jsonText, fileType));
-                    ApplicationManager.getApplication().invokeLater(() -> {
-                        // 删掉旧占位
-                        ConvertAnyDialog.this.removePlaceholder();
-                        // 放置新组件
-                        final EditorTextField editor = ConvertAnyDialog.this.buildEditor(fileType, converted);
-                        ConvertAnyDialog.this.editorMap.put(fileType, editor);
-                        ConvertAnyDialog.this.cardPanel.add(new JBScrollPane(editor), fileType.name());
-                        ((CardLayout) ConvertAnyDialog.this.cardPanel.getLayout()).show(ConvertAnyDialog.this.cardPanel, fileType.name());
-                        // 重新加载
-                        ConvertAnyDialog.this.cardPanel.revalidate();
-                    }, ModalityState.stateForComponent(ConvertAnyDialog.this.cardPanel));
+                    this.converted = ConvertAnyDialog.this.await(output);
+                }
+
+                @Override
+                public void onSuccess() {
+                    // 对话框已关闭（转换随之取消）
+                    if (ConvertAnyDialog.this.isDisposed() || Objects.isNull(this.converted)) {
+                        return;
+                    }
+                    // 删掉旧占位
+                    ConvertAnyDialog.this.removePlaceholder();
+                    // 放置新组件
+                    final EditorTextField editor = ConvertAnyDialog.this.buildEditor(fileType, this.converted);
+                    ConvertAnyDialog.this.editorMap.put(fileType, editor);
+                    ConvertAnyDialog.this.cardPanel.add(new JBScrollPane(editor), fileType.name());
+                    ((CardLayout) ConvertAnyDialog.this.cardPanel.getLayout()).show(ConvertAnyDialog.this.cardPanel, fileType.name());
+                    // 重新加载
+                    ConvertAnyDialog.this.cardPanel.revalidate();
                 }
             }.queue();
         }
         // 加载 表格
         else if (fileType.isTable() && !this.tableMap.containsKey(fileType)) {
+            final CompletableFuture<String> output = this.output(fileType);
             new Task.Backgroundable(this.project, BUNDLE.getString("json.to.any.load.content.table").formatted(fileType)) {
+                private TableData tableData;
+
                 @Override
                 public void run(@NotNull final ProgressIndicator indicator) {
-                    final TableData tableData = ConvertAnyDialog.this.createTableData(fileType, ConvertAnyDialog.this.jsonText);
-                    ApplicationManager.getApplication().invokeLater(() -> {
-                        ConvertAnyDialog.this.removePlaceholder();
-                        final JBTable table = ConvertAnyDialog.this.createTable(tableData);
-                        ConvertAnyDialog.this.tableMap.put(fileType, table);
-                        final JPanel panel = new JPanel(new BorderLayout());
-                        panel.add(ConvertAnyDialog.this.createButton(table), BorderLayout.NORTH);
-                        panel.add(new JBScrollPane(table), BorderLayout.CENTER);
-                        ConvertAnyDialog.this.cardPanel.add(panel, fileType.name());
-                        ((CardLayout) ConvertAnyDialog.this.cardPanel.getLayout()).show(ConvertAnyDialog.this.cardPanel, fileType.name());
-                        ConvertAnyDialog.this.cardPanel.revalidate();
-                    }, ModalityState.stateForComponent(ConvertAnyDialog.this.cardPanel));
+                    Opt.ofNullable(ConvertAnyDialog.this.await(output))
+                            .ifPresent(converted -> this.tableData = ConvertAnyDialog.this.createTableData(converted));
+                }
+
+                @Override
+                public void onSuccess() {
+                    if (ConvertAnyDialog.this.isDisposed() || Objects.isNull(this.tableData)) {
+                        return;
+                    }
+                    ConvertAnyDialog.this.removePlaceholder();
+                    final JBTable table = ConvertAnyDialog.this.createTable(this.tableData);
+                    ConvertAnyDialog.this.tableMap.put(fileType, table);
+                    final JPanel panel = new JPanel(new BorderLayout());
+                    panel.add(ConvertAnyDialog.this.createButton(table), BorderLayout.NORTH);
+                    panel.add(new JBScrollPane(table), BorderLayout.CENTER);
+                    ConvertAnyDialog.this.cardPanel.add(panel, fileType.name());
+                    ((CardLayout) ConvertAnyDialog.this.cardPanel.getLayout()).show(ConvertAnyDialog.this.cardPanel, fileType.name());
+                    ConvertAnyDialog.this.cardPanel.revalidate();
                 }
             }.queue();
         }
@@ -193,6 +244,66 @@ public class ConvertAnyDialog extends DialogWrapper {
         }
     }
 
+    /**
+     * 等待转换结果
+     *
+     * @param output 转换结果
+     * @return {@link String }，对话框已关闭、转换被取消时返回 null
+     */
+    private String await(final CompletableFuture<String> output) {
+        if (this.isDisposed() || output.isCancelled()) {
+            return null;
+        }
+        try {
+            return output.join();
+        } catch (final CancellationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 获取格式的转换结果（首次调用时基于共享解析结果在后台开始转换，必须在 EDT 调用）
+     *
+     * @param fileType 文件类型
+     * @return {@link CompletableFuture }<{@link String }>
+     */
+    private CompletableFuture<String> output(final AnyFile fileType) {
+        return this.outputMap.computeIfAbsent(fileType, type -> this.parsed.thenApplyAsync(tree -> {
+            final String converted = StrUtil.emptyIfNull(Objects.isNull(tree)
+                    ? JsonParser.convert(this.jsonText, type)
+                    : JsonParser.convert(tree, this.jsonText, type));
+            return type.isEditor() ? this.reformat(type, converted) : converted;
+        }, AppExecutorUtil.getAppExecutorService()));
+    }
+
+    /**
+     * 后台格式化：在非物理 PSI 副本上格式化后取文本（写操作到来时让出读锁并重试），大文本或格式化失败时原样返回
+     *
+     * @param anyFile   任何文件
+     * @param converted 转换结果
+     * @return {@link String }
+     */
+    private String reformat(final AnyFile anyFile, final String converted) {
+        if (PluginSettingsState.getInstance().largeDocumentPolicy().exceeds(converted.length(), StringUtil.countNewLines(converted) + 1)) {
+            return converted;
+        }
+        try {
+            return ReadAction.nonBlocking(() -> {
+                if (this.project.isDisposed()) {
+                    return converted;
+                }
+                final PsiFile copy = PsiFileFactory.getInstance(this.project).createFileFromText(
+                        "Dummy.%s".formatted(anyFile.extension()), SupportedLanguages.getByAnyFile(anyFile).getFileType(), converted
+                );
+                return CodeStyleManager.getInstance(this.project).reformat(copy).getText();
+            }).executeSynchronously();
+        } catch (final ProcessCanceledException e) {
+            throw e;
+        } catch (final Exception e) {
+            return converted;
+        }
+    }
+
     /**
      * 根据内容调整列
      *
@@ -239,6 +350,8 @@ public class ConvertAnyDialog extends DialogWrapper {
 
     @Override
     public void dispose() {
+        // 未开始的转换不再执行
+        this.outputMap.values().forEach(output -> output.cancel(Boolean.FALSE));
         // 清空编辑器内容
         this.editorMap.values().forEach(Container::removeAll);
         super.dispose();
@@ -263,6 +376,10 @@ public class ConvertAnyDialog extends DialogWrapper {
         ((CardLayout) this.cardPanel.getLayout()).show(this.cardPanel, AnyFile.CLASS.name());
         // 设置默认加载
         this.lazyLoad(AnyFile.CLASS);
+        // 并行预转换常用格式
+        if (this.jsonText.length() <= PREFETCH_MAX_LENGTH) {
+            PREFETCH_FORMATS.forEach(this::output);
+        }
         mainPanel.add(typePanel, BorderLayout.NORTH);
         mainPanel.add(this.cardPanel, BorderLayout.CENTER);
         return mainPanel;
@@ -308,26 +425,24 @@ public class ConvertAnyDialog extends DialogWrapper {
      * 构建编辑器
      *
      * @param anyFile   任何文件
-     * @param converted 转换
+     * @param converted 转换（已在后台格式化）
      * @return {@link EditorTextField }
      */
     private EditorTextField buildEditor(final AnyFile anyFile, final String converted) {
         final EditorTextField field = new CustomizeEditorFactory(SupportedLanguages.getByAnyFile(anyFile), "Dummy.%s".formatted(anyFile.extension()))
                 .create(this.project);
         field.setText(converted);
-        Editor.reformat(field);
         return field;
     }
 
     /**
-     * 为类型创建表格数据
+     * 由转换结果创建表格数据
      *
-     * @param anyFile  任何文件
-     * @param jsonText JSON文本
+     * @param converted 转换结果
      * @return {@link TableData }
      */
-    private TableData createTableData(final AnyFile anyFile, final String jsonText) {
-        return Opt.ofBlankAble(JsonParser.convert(jsonText, anyFile)).map(JSON::parseObject)
+    private TableData createTableData(final String converted) {
+        return Opt.ofBlankAble(converted).map(JSON::parseObject)
                 .map(item -> new TableData(
                         JSON.parseObject(item.getString("data"), new TypeReference<>() {
                         }),
@@ -0,0 +1,242 @@
+package com.acme.prism.ui.dialog;
+
+import com.acme.prism.core.diff.JsonStructuralDiff;
+import com.acme.prism.core.settings.PluginSettingsState;
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.ui.JBColor;
+import com.intellij.ui.SimpleColoredComponent;
+import com.intellij.ui.SimpleTextAttributes;
+import com.intellij.ui.components.JBScrollPane;
+import com.intellij.ui.treeStructure.Tree;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.ui.JBUI;
+import com.intellij.util.ui.UIUtil;
+import com.intellij.util.ui.tree.TreeUtil;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreeCellRenderer;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * JSON 结构化差异对话框
+ * <p>
+ * 后台用 {@link JsonStructuralDiff} 比较，变更按路径组织成树（只展开变化的分支），值预览在渲染时按偏移从原文截取
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public class JsonDiffDialog extends DialogWrapper {
+    /**
+     * 对话框初始尺寸
+     */
+    private static final int DIALOG_SIZE = 800;
+    /**
+     * 展示的变更数上限（超出后中止比较）
+     */
+    private static final int MAX_CHANGES = 10_000;
+    /**
+     * 值预览最大长度
+     */
+    private static final int PREVIEW_LENGTH = 80;
+    /**
+     * 默认展开层数
+     */
+    private static final int EXPAND_LEVELS = 3;
+    /**
+     * 状态栏边距
+     */
+    private static final int STATUS_GAP = 4;
+    /**
+     * 加载语言资源文件
+     */
+    private static final ResourceBundle BUNDLE = ResourceBundle.getBundle("messages.PrismBundle");
+    /**
+     * 原 JSON
+     */
+    private final String left;
+    /**
+     * 新 JSON
+     */
+    private final String right;
+    /**
+     * 状态
+     */
+    private final JLabel status = new JLabel(BUNDLE.getString("structural.diff.running"));
+    /**
+     * 变更树
+     */
+    private final Tree tree = new Tree(new DefaultTreeModel(new DefaultMutableTreeNode("$")));
+
+    public JsonDiffDialog(final Project project, final String left, final String right) {
+        super(project, Boolean.TRUE);
+        this.left = left;
+        this.right = right;
+        this.init();
+    }
+
+    @Override
+    protected void init() {
+        super.init();
+        this.setModal(Boolean.FALSE);
+        this.setResizable(Boolean.TRUE);
+        this.setSize(DIALOG_SIZE, DIALOG_SIZE);
+        this.setTitle(BUNDLE.getString("menu.structural.diff"));
+    }
+
+    @Override
+    protected JComponent createCenterPanel() {
+        this.tree.setRootVisible(Boolean.TRUE);
+        this.tree.setCellRenderer(new ChangeRenderer());
+        this.status.setBorder(JBUI.Borders.empty(STATUS_GAP));
+        final JPanel mainPanel = new JPanel(new BorderLayout(0, 0));
+        mainPanel.add(this.status, BorderLayout.NORTH);
+        mainPanel.add(new JBScrollPane(this.tree), BorderLayout.CENTER);
+        this.compare();
+        return mainPanel;
+    }
+
+    /**
+     * 后台比较，回到 EDT 构建变更树
+     */
+    private void compare() {
+        final JsonStructuralDiff diff = new JsonStructuralDiff(PluginSettingsState.getInstance().diffArrayKey);
+        CompletableFuture.supplyAsync(() -> {
+                    final List<JsonStructuralDiff.Change> changes = new ArrayList<>();
+                    final boolean complete = diff.diff(this.left, this.right, change -> changes.add(change) && changes.size() < MAX_CHANGES);
+                    return new Result(changes, complete);
+                }, AppExecutorUtil.getAppExecutorService())
+                .whenComplete((result, error) -> ApplicationManager.getApplication().invokeLater(() -> {
+                    if (Objects.nonNull(error)) {
+                        this.status.setText(BUNDLE.getString("structural.diff.invalid"));
+                        return;
+                    }
+                    this.tree.setModel(new DefaultTreeModel(buildTree(result.changes())));
+                    TreeUtil.expand(this.tree, EXPAND_LEVELS);
+                    this.status.setText(result.changes().isEmpty()
+                            ? BUNDLE.getString("structural.diff.none")
+                            : BUNDLE.getString(result.complete() ? "structural.diff.status" : "structural.diff.truncated").formatted(result.changes().size()));
+                }, ModalityState.stateForComponent(this.tree)));
+    }
+
+    /**
+     * 按路径构建变更树（变更按深度优先顺序产生，同一分支的变更连续出现，用栈复用公共前缀）
+     *
+     * @param changes 变更
+     * @return {@link DefaultMutableTreeNode }
+     */
+    private static DefaultMutableTreeNode buildTree(final List<JsonStructuralDiff.Change> changes) {
+        final DefaultMutableTreeNode root = new DefaultMutableTreeNode("$");
+        final List<DefaultMutableTreeNode> branch = new ArrayList<>();
+        for (final JsonStructuralDiff.Change change : changes) {
+            final List<String> segments = change.segments();
+            final int parents = Math.max(segments.size() - 1, 0);
+            int common = 0;
+            while (common < branch.size() && common < parents && segments.get(common).equals(branch.get(common).getUserObject())) {
+                common++;
+            }
+            branch.subList(common, branch.size()).clear();
+            DefaultMutableTreeNode parent = common == 0 ? root : branch.get(common - 1);
+            for (int index = common; index < parents; index++) {
+                final DefaultMutableTreeNode node = new DefaultMutableTreeNode(segments.get(index));
+                parent.add(node);
+                branch.add(node);
+                parent = node;
+            }
+            parent.add(new DefaultMutableTreeNode(change, Boolean.FALSE));
+        }
+        return root;
+    }
+
+    /**
+     * 原文区间的单行预览
+     */
+    private static String preview(final String source, final int start, final int end) {
+        final String text = source.substring(start, Math.min(end, start + PREVIEW_LENGTH)).replaceAll("\\s+", " ");
+        return end - start > PREVIEW_LENGTH ? text + "…" : text;
+    }
+
+    @Override
+    protected JComponent createSouthPanel() {
+        // 不显示底部按钮面板
+        return null;
+    }
+
+    @Override
+    protected Action @NotNull [] createActions() {
+        // 移除所有默认按钮
+        return new Action[0];
+    }
+
+    @Override
+    protected @NotNull DialogStyle getStyle() {
+        return DialogStyle.COMPACT;
+    }
+
+    /**
+     * 比较结果
+     *
+     * @param changes  变更
+     * @param complete 是否完整（超出上限时为 false）
+     */
+    private record Result(List<JsonStructuralDiff.Change> changes, boolean complete) {
+    }
+
+    /**
+     * 变更节点渲染器：新增/删除/修改分别着色，并显示原值与新值预览
+     */
+    private final class ChangeRenderer implements TreeCellRenderer {
+        private final SimpleColoredComponent renderer = new SimpleColoredComponent();
+
+        @Override
+        public Component getTreeCellRendererComponent(final JTree tree, final Object value, final boolean selected,
+                                                      final boolean expanded, final boolean leaf, final int row, final boolean hasFocus) {
+            this.renderer.clear();
+            this.renderer.setIcon(null);
+            this.renderer.setBackground(selected ? UIUtil.getTreeSelectionBackground(Boolean.TRUE) : UIUtil.getTreeBackground());
+            if (value instanceof final DefaultMutableTreeNode node && node.getUserObject() instanceof final JsonStructuralDiff.Change change) {
+                this.renderChange(change);
+            } else if (value instanceof final DefaultMutableTreeNode node) {
+                this.renderer.setIcon(AllIcons.Nodes.Folder);
+                this.renderer.append(String.valueOf(node.getUserObject()));
+            }
+            return this.renderer;
+        }
+
+        private void renderChange(final JsonStructuralDiff.Change change) {
+            final List<String> segments = change.segments();
+            final String name = segments.isEmpty() ? "$" : segments.getLast();
+            final SimpleTextAttributes gray = new SimpleTextAttributes(SimpleTextAttributes.STYLE_PLAIN, JBColor.GRAY);
+            switch (change.type()) {
+                case ADDED -> {
+                    this.renderer.setIcon(AllIcons.General.Add);
+                    this.renderer.append(name, new SimpleTextAttributes(SimpleTextAttributes.STYLE_BOLD, JBColor.GREEN.darker()));
+                    this.renderer.append("  " + preview(JsonDiffDialog.this.right, change.newStart(), change.newEnd()), gray);
+                }
+                case REMOVED -> {
+                    this.renderer.setIcon(AllIcons.General.Remove);
+                    this.renderer.append(name, new SimpleTextAttributes(SimpleTextAttributes.STYLE_STRIKEOUT, JBColor.RED));
+                    this.renderer.append("  " + preview(JsonDiffDialog.this.left, change.oldStart(), change.oldEnd()), gray);
+                }
+                case CHANGED -> {
+                    this.renderer.setIcon(AllIcons.Actions.Edit);
+                    this.renderer.append(name, new SimpleTextAttributes(SimpleTextAttributes.STYLE_BOLD, JBColor.BLUE));
+                    this.renderer.append("  " + preview(JsonDiffDialog.this.left, change.oldStart(), change.oldEnd()), gray);
+                    this.renderer.append("  →  ", gray);
+                    this.renderer.append(preview(JsonDiffDialog.this.right, change.newStart(), change.newEnd()), SimpleTextAttributes.REGULAR_ATTRIBUTES);
+                }
+            }
+        }
+    }
+}
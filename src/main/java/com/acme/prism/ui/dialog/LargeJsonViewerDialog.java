@@ -0,0 +1,157 @@
+package com.acme.prism.ui.dialog;
+
+import cn.hutool.core.io.FileUtil;
+import com.acme.prism.common.enums.SupportedLanguages;
+import com.acme.prism.core.parser.MappedJsonFile;
+import com.acme.prism.ui.editor.CustomizeEditorFactory;
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.application.ModalityState;
+import com.intellij.openapi.project.Project;
+import com.intellij.openapi.ui.DialogWrapper;
+import com.intellij.ui.EditorTextField;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import com.intellij.util.ui.JBUI;
+import org.jetbrains.annotations.NotNull;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 大 JSON 文件分页查看对话框（只读）
+ * <p>
+ * 文件经 {@link MappedJsonFile} 映射，编辑器中只放当前页，翻页时在后台解码目标页后替换文本
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public class LargeJsonViewerDialog extends DialogWrapper {
+    /**
+     * 对话框初始尺寸
+     */
+    private static final int DIALOG_SIZE = 800;
+    /**
+     * 页状态与按钮的间距
+     */
+    private static final int STATUS_GAP = 8;
+    /**
+     * 加载语言资源文件
+     */
+    private static final ResourceBundle BUNDLE = ResourceBundle.getBundle("messages.PrismBundle");
+    /**
+     * 编辑器项目
+     */
+    private final Project project;
+    /**
+     * 映射文件
+     */
+    private final MappedJsonFile file;
+    /**
+     * 是否为合法 JSON
+     */
+    private final boolean valid;
+    /**
+     * 当前页
+     */
+    private final AtomicInteger current = new AtomicInteger(-1);
+    /**
+     * 页状态
+     */
+    private final JLabel status = new JLabel();
+    /**
+     * 上一页按钮
+     */
+    private final JButton previous = new JButton(AllIcons.Actions.Back);
+    /**
+     * 下一页按钮
+     */
+    private final JButton next = new JButton(AllIcons.Actions.Forward);
+    /**
+     * 只读编辑器
+     */
+    private EditorTextField editor;
+
+    public LargeJsonViewerDialog(final Project project, final MappedJsonFile file, final boolean valid) {
+        super(project, Boolean.TRUE);
+        this.project = project;
+        this.file = file;
+        this.valid = valid;
+        this.init();
+    }
+
+    @Override
+    protected void init() {
+        super.init();
+        this.setModal(Boolean.FALSE);
+        this.setResizable(Boolean.TRUE);
+        this.setSize(DIALOG_SIZE, DIALOG_SIZE);
+        this.setTitle(BUNDLE.getString("large.json.viewer.title").formatted(this.file.path().getFileName()));
+    }
+
+    @Override
+    protected JComponent createCenterPanel() {
+        this.editor = new CustomizeEditorFactory(SupportedLanguages.JSON, "Dummy.json").create(this.project);
+        this.editor.setViewer(Boolean.TRUE);
+        this.previous.addActionListener(_ -> this.showPage(this.current.get() - 1));
+        this.next.addActionListener(_ -> this.showPage(this.current.get() + 1));
+        final JPanel toolbar = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
+        toolbar.add(this.previous);
+        toolbar.add(this.next);
+        this.status.setBorder(JBUI.Borders.emptyLeft(STATUS_GAP));
+        toolbar.add(this.status);
+        final JPanel mainPanel = new JPanel(new BorderLayout(0, 0));
+        mainPanel.add(toolbar, BorderLayout.NORTH);
+        mainPanel.add(this.editor, BorderLayout.CENTER);
+        this.showPage(0);
+        return mainPanel;
+    }
+
+    /**
+     * 显示指定页（后台解码，回到 EDT 替换编辑器文本）
+     *
+     * @param index 页序号
+     */
+    private void showPage(final int index) {
+        if (index < 0 || index >= this.file.pageCount() || index == this.current.get()) {
+            return;
+        }
+        this.current.set(index);
+        this.previous.setEnabled(Boolean.FALSE);
+        this.next.setEnabled(Boolean.FALSE);
+        CompletableFuture.supplyAsync(() -> this.file.page(index), AppExecutorUtil.getAppExecutorService())
+                .thenAccept(text -> ApplicationManager.getApplication().invokeLater(() -> {
+                    // 已切换到其他页时丢弃
+                    if (index != this.current.get()) {
+                        return;
+                    }
+                    this.editor.setText(text);
+                    this.editor.setCaretPosition(0);
+                    this.previous.setEnabled(index > 0);
+                    this.next.setEnabled(index + 1 < this.file.pageCount());
+                    this.status.setText(BUNDLE.getString("large.json.viewer.status").formatted(
+                            index + 1, this.file.pageCount(), FileUtil.readableFileSize(this.file.size()),
+                            BUNDLE.getString(this.valid ? "large.json.viewer.valid" : "large.json.viewer.invalid")
+                    ));
+                }, ModalityState.stateForComponent(this.editor)));
+    }
+
+    @Override
+    protected JComponent createSouthPanel() {
+        // 不显示底部按钮面板
+        return null;
+    }
+
+    @Override
+    protected Action @NotNull [] createActions() {
+        // 移除所有默认按钮
+        return new Action[0];
+    }
+
+    @Override
+    protected @NotNull DialogStyle getStyle() {
+        return DialogStyle.COMPACT;
+    }
+}
@@ -1,6 +1,8 @@
 package com.acme.prism.ui.editor;
 
 import com.acme.prism.core.editor.FileDropHandler;
+import com.acme.prism.core.settings.PluginSettingsState;
+import com.intellij.codeInsight.daemon.DaemonCodeAnalyzer;
 import com.intellij.openapi.actionSystem.IdeActions;
 import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.application.ModalityState;
@@ -13,7 +15,9 @@ import com.intellij.openapi.editor.ex.EditorEx;
 import com.intellij.openapi.editor.ex.EditorSettingsExternalizable;
 import com.intellij.openapi.editor.highlighter.EditorHighlighterFactory;
 import com.intellij.openapi.fileTypes.LanguageFileType;
+import com.intellij.openapi.fileTypes.PlainTextFileType;
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.util.Key;
 import com.intellij.psi.PsiDocumentManager;
 import com.intellij.psi.PsiFile;
 import com.intellij.psi.codeStyle.CodeStyleManager;
@@ -30,6 +34,11 @@ import java.util.Objects;
  * @date 2025-01-26
  */
 public sealed interface Editor permits CustomizeEditorFactory {
+    /**
+     * 文档当前的大文档模式（由页签按阈值与回落比例维护；未记录时按阈值判定）
+     */
+    Key<Boolean> LARGE_DOCUMENT = Key.create("Prism.LargeDocument");
+
     /**
      * 创建编辑器<br/>
      * 单页签编辑器使用
@@ -74,6 +83,8 @@ public sealed interface Editor permits CustomizeEditorFactory {
         // 确保在EDT线程执行
         ApplicationManager.getApplication().invokeLater(() -> {
             final Document document = editor.getDocument();
+            // 大文档不格式化（整篇 PSI 重排代价过高）
+            if (isLargeDocument(document)) return;
             final PsiDocumentManager psiMgr = PsiDocumentManager.getInstance(project);
             // 异步提交文档变更
             psiMgr.performLaterWhenAllCommitted(() ->
@@ -123,6 +134,49 @@ public sealed interface Editor permits CustomizeEditorFactory {
         // 高亮和配色方案
         editor.setColorsScheme(EditorColorsManager.getInstance().getGlobalScheme());
         editor.setHighlighter(EditorHighlighterFactory.getInstance().createEditorHighlighter(project, languageType));
+        // 编辑器重建时沿用页签当前的大文档模式
+        if (isLargeDocument(editor.getDocument())) {
+            applyLargeDocumentMode(project, editor, languageType, Boolean.TRUE);
+        }
         return editor;
     }
+
+    /**
+     * 文档是否处于大文档模式<br/>
+     * 优先取页签记录的模式（带回落比例，与页签状态一致），未记录时按阈值判定
+     * @param document 文档
+     * @return boolean
+     */
+    static boolean isLargeDocument(final Document document) {
+        final Boolean large = document.getUserData(LARGE_DOCUMENT);
+        return Objects.nonNull(large)
+                ? large
+                : PluginSettingsState.getInstance().largeDocumentPolicy().exceeds(document.getTextLength(), document.getLineCount());
+    }
+
+    /**
+     * 切换大文档模式<br/>
+     * 开启时关闭软换行、折叠、缩进线与行标记，改用纯文本高亮并停止该文件的代码分析；关闭时恢复默认配置
+     * @param project      项目
+     * @param editor       编辑器
+     * @param languageType 语言类型（恢复高亮使用）
+     * @param large        是否开启
+     */
+    static void applyLargeDocumentMode(final Project project, final EditorEx editor, final LanguageFileType languageType, final boolean large) {
+        final EditorSettings settings = editor.getSettings();
+        settings.setUseSoftWraps(!large);
+        settings.setIndentGuidesShown(!large);
+        settings.setFoldingOutlineShown(!large);
+        settings.setLineMarkerAreaShown(!large);
+        settings.setAutoCodeFoldingEnabled(!large);
+        settings.setShowIntentionBulb(!large);
+        editor.getFoldingModel().setFoldingEnabled(!large);
+        editor.setHighlighter(EditorHighlighterFactory.getInstance().createEditorHighlighter(project, large ? PlainTextFileType.INSTANCE : languageType));
+        if (Objects.nonNull(project)) {
+            final PsiFile psiFile = PsiDocumentManager.getInstance(project).getPsiFile(editor.getDocument());
+            if (Objects.nonNull(psiFile)) {
+                DaemonCodeAnalyzer.getInstance(project).setHighlightingEnabled(psiFile, !large);
+            }
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.acme.prism.ui.panel;
+
+import com.acme.prism.core.parser.JsonNodeParser;
+
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.TreeNode;
+import java.util.Enumeration;
+
+/**
+ * JSON懒加载树节点
+ * <p>
+ * 子树节点在首次被询问子节点（展开、搜索遍历）时才由 {@link JsonNodeParser.JsonNode#children()} 生成，
+ * 折叠状态下仅凭 allowsChildren 决定是否显示展开柄，不触发任何解析
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public final class JsonTreeNode extends DefaultMutableTreeNode {
+    /**
+     * 子节点是否已生成
+     */
+    private volatile boolean loaded;
+
+    public JsonTreeNode(final JsonNodeParser.JsonNode data) {
+        super(data, data.container() && !data.emptyContainer());
+        this.loaded = !this.getAllowsChildren();
+    }
+
+    /**
+     * JSON节点数据
+     *
+     * @return {@link JsonNodeParser.JsonNode }
+     */
+    public JsonNodeParser.JsonNode data() {
+        return (JsonNodeParser.JsonNode) this.getUserObject();
+    }
+
+    /**
+     * 子节点是否已生成（未生成的节点从未展开，增量更新时无需对比子树）
+     *
+     * @return boolean
+     */
+    public boolean isLoaded() {
+        return this.loaded;
+    }
+
+    /**
+     * 替换节点数据（结构不变，仅文本或偏移变化）
+     *
+     * @param data 新数据
+     */
+    void update(final JsonNodeParser.JsonNode data) {
+        this.setUserObject(data);
+    }
+
+    /**
+     * 重置节点（丢弃已生成子树，按新数据重新懒加载）
+     *
+     * @param data 新数据
+     */
+    void reset(final JsonNodeParser.JsonNode data) {
+        synchronized (this) {
+            // 先标记已生成，避免下方清理时经 getChildCount 触发旧数据的懒加载
+            this.loaded = Boolean.TRUE;
+            this.setUserObject(data);
+            this.removeAllChildren();
+            this.setAllowsChildren(data.container() && !data.emptyContainer());
+            this.loaded = !this.getAllowsChildren();
+        }
+    }
+
+    /**
+     * 确保子节点已生成（后台搜索与 EDT 展开可能并发访问，需加锁）
+     */
+    private void ensureLoaded() {
+        if (this.loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (this.loaded) {
+                return;
+            }
+            this.loaded = Boolean.TRUE;
+            for (final JsonNodeParser.JsonNode child : this.data().children()) {
+                super.add(new JsonTreeNode(child));
+            }
+        }
+    }
+
+    @Override
+    public boolean isLeaf() {
+        return !this.getAllowsChildren();
+    }
+
+    @Override
+    public int getChildCount() {
+        this.ensureLoaded();
+        return super.getChildCount();
+    }
+
+    @Override
+    public TreeNode getChildAt(final int index) {
+        this.ensureLoaded();
+        return super.getChildAt(index);
+    }
+
+    @Override
+    public int getIndex(final TreeNode node) {
+        this.ensureLoaded();
+        return super.getIndex(node);
+    }
+
+    @Override
+    public Enumeration<TreeNode> children() {
+        this.ensureLoaded();
+        return super.children();
+    }
+}
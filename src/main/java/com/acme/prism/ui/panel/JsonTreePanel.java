@@ -1,18 +1,22 @@
 package com.acme.prism.ui.panel;
 
-import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.convert.Convert;
 import cn.hutool.core.lang.Opt;
 import cn.hutool.core.util.StrUtil;
 import com.acme.prism.common.Clipboard;
 import com.acme.prism.core.parser.JsonNodeParser;
-import com.alibaba.fastjson2.JSON;
+import com.acme.prism.core.parser.JsonSearchIndex;
 import com.intellij.icons.AllIcons;
 import com.intellij.openapi.Disposable;
 import com.intellij.openapi.application.ApplicationManager;
-import com.intellij.openapi.editor.EditorFactory;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.editor.Editor;
+import com.intellij.openapi.editor.ScrollType;
+import com.intellij.openapi.editor.event.CaretEvent;
+import com.intellij.openapi.editor.event.CaretListener;
 import com.intellij.openapi.editor.event.DocumentEvent;
 import com.intellij.openapi.editor.event.DocumentListener;
+import com.intellij.openapi.editor.ex.util.EditorUtil;
 import com.intellij.openapi.util.Disposer;
 import com.intellij.ui.EditorTextField;
 import com.intellij.ui.JBColor;
@@ -33,13 +37,16 @@ import javax.swing.*;
 import javax.swing.Timer;
 import javax.swing.tree.*;
 import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.HierarchyEvent;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.*;
-import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -77,14 +84,30 @@ public class JsonTreePanel extends JPanel {
      * 树更新防抖延迟（毫秒）
      */
     private static final int TREE_UPDATE_DEBOUNCE_MS = 300;
+    /**
+     * 大文档模式下的树更新防抖延迟（毫秒）
+     */
+    private static final int LARGE_TREE_UPDATE_DEBOUNCE_MS = 1500;
+    /**
+     * 光标定位树节点防抖延迟（毫秒）
+     */
+    private static final int REVEAL_DEBOUNCE_MS = 200;
     /**
      * JSON树
      */
     private final Tree jsonTree;
     /**
-     * 匹配集合
+     * 匹配集合（搜索索引条目编号，文档先序递增）
+     */
+    private int[] matches = new int[0];
+    /**
+     * 匹配节点值起始偏移（递增，渲染器二分判定高亮，无需格式化节点文本）
+     */
+    private volatile int[] matchedStarts = new int[0];
+    /**
+     * 当前树模型对应的搜索索引（后台构建完成前为空索引）
      */
-    private final List<TreePath> matches = new ArrayList<>();
+    private volatile JsonSearchIndex searchIndex = JsonSearchIndex.EMPTY;
     /**
      * 搜索输入展示框
      */
@@ -93,6 +116,14 @@ public class JsonTreePanel extends JPanel {
      * 搜索计时器
      */
     private Timer searchTimer;
+    /**
+     * 光标定位计时器（合并连续光标移动，停顿后在树中定位光标所在节点）
+     */
+    private Timer revealTimer;
+    /**
+     * 关联的编辑器
+     */
+    private EditorTextField editor;
     /**
      * 树更新防抖队列（合并连续文档变更，避免每次击键全量重建树模型）
      */
@@ -117,6 +148,38 @@ public class JsonTreePanel extends JPanel {
      * 搜索任务序号
      */
     private final AtomicLong searchSequence = new AtomicLong();
+    /**
+     * 当前树模型对应的文本与根数据（EDT 写入，供增量更新计算变更区间）
+     */
+    private volatile TreeState treeState;
+    /**
+     * 树面板当前是否可见（EDT 写入）
+     */
+    private volatile boolean treeVisible = Boolean.FALSE;
+    /**
+     * 树面板不可见期间文档有变更，可见时补做一次解析（初始为待解析，首次显示时加载编辑器已有内容）
+     */
+    private final AtomicBoolean treeStale = new AtomicBoolean(Boolean.TRUE);
+    /**
+     * 当前树模型的搜索索引尚未构建（索引在首次搜索时构建，EDT 访问）
+     */
+    private boolean indexDeferred = Boolean.FALSE;
+    /**
+     * 文档变更累计锁（EDT 的文档监听与后台取快照互斥）
+     */
+    private final Object editLock = new Object();
+    /**
+     * 上一次快照的版本号（editLock 保护）
+     */
+    private long snapshotVersion;
+    /**
+     * 自上一次快照以来的累计变更区间（为空表示无变更，editLock 保护）
+     */
+    private JsonNodeParser.EditRange pendingEdit;
+    /**
+     * 累计区间对应的文档修改戳（与快照读到的修改戳不一致时区间不可信，editLock 保护）
+     */
+    private long pendingStamp = -1;
 
     public JsonTreePanel() {
         super(new BorderLayout());
@@ -143,51 +206,217 @@ public class JsonTreePanel extends JPanel {
         VALUE
     }
 
-    private static String extractFirstObjectKey(final String item) {
-        if (!JSON.isValidObject(item)) {
-            return null;
+    /**
+     * 树模型状态
+     *
+     * @param text     模型对应文本
+     * @param root     模型根数据
+     * @param sequence 模型对应的更新序号
+     * @param version  模型对应的文档快照版本
+     * @param stamp    模型对应的文档修改戳
+     */
+    private record TreeState(String text, JsonNodeParser.JsonNode root, long sequence, long version, long stamp) {
+    }
+
+    /**
+     * 文档快照
+     *
+     * @param text        文本
+     * @param version     快照版本
+     * @param baseVersion 上一次快照版本
+     * @param range       相对上一次快照文本的变更区间（文档事件累计，不可信时为 null）
+     * @param stamp       文档修改戳
+     */
+    private record Snapshot(String text, long version, long baseVersion, JsonNodeParser.EditRange range, long stamp) {
+    }
+
+    /**
+     * 树模型更新
+     *
+     * @param root  新根数据
+     * @param range 相对当前模型文本的变更区间（无法增量时为 null）
+     * @param model 全量重建的树模型（可增量时为 null）
+     */
+    private record TreeUpdate(JsonNodeParser.JsonNode root, JsonNodeParser.EditRange range, DefaultTreeModel model) {
+    }
+
+    /**
+     * 加载JSON
+     * <p>
+     * 已有模型时取变更区间（优先用文档事件累计的区间，否则对比前后缀），先对受影响的容器增量解析，
+     * 失败再全量解析；与当前模型同为同类型容器时增量协调（只对变更子树发事件，保留展开与选中），否则全量重建
+     *
+     * @param snapshot 文档快照
+     */
+    private void loadJson(final Snapshot snapshot) {
+        final String txt = snapshot.text();
+        final long sequence = this.treeSequence.incrementAndGet();
+        final TreeState state = this.treeState;
+        CompletableFuture
+                .supplyAsync(() -> {
+                    if (Objects.nonNull(state) && !state.root().normalized()) {
+                        final JsonNodeParser.EditRange range = state.version() == snapshot.baseVersion() && Objects.nonNull(snapshot.range())
+                                ? snapshot.range()
+                                : JsonNodeParser.editRange(state.text(), txt);
+                        final JsonNodeParser.JsonNode root = Opt.ofNullable(JsonNodeParser.reparse(state.root(), txt, range))
+                                .orElseGet(() -> JsonNodeParser.parse("root", txt));
+                        if (JsonTreeReconciler.supports(state.root(), root)) {
+                            // 后台预生成变更路径上的子节点，EDT 协调时不再扫描大容器
+                            JsonTreeReconciler.prewarm(root, range);
+                            return new TreeUpdate(root, range, null);
+                        }
+                        return new TreeUpdate(root, null, this.buildTreeModel(root));
+                    }
+                    final JsonNodeParser.JsonNode root = JsonNodeParser.parse("root", txt);
+                    return new TreeUpdate(root, null, this.buildTreeModel(root));
+                }, AppExecutorUtil.getAppExecutorService())
+                .thenAccept(update -> ApplicationManager.getApplication().invokeLater(() -> {
+                    if (sequence != this.treeSequence.get()) {
+                        return;
+                    }
+                    this.clearMatches();
+                    this.searchIndex = JsonSearchIndex.EMPTY;
+                    if (Objects.nonNull(update.model())) {
+                        this.jsonTree.setModel(update.model());
+                    } else if (state == this.treeState && this.jsonTree.getModel() instanceof final DefaultTreeModel model
+                            && model.getRoot() instanceof final JsonTreeNode root) {
+                        new JsonTreeReconciler(model, txt, update.range()).reconcile(root, update.root());
+                    } else {
+                        // 模型已被其他更新替换，变更区间失效，退化为全量重建
+                        this.jsonTree.setModel(this.buildTreeModel(update.root()));
+                    }
+                    this.treeState = new TreeState(txt, update.root(), sequence, snapshot.version(), snapshot.stamp());
+                    this.jsonTree.repaint();
+                    // 搜索索引按需构建：编辑时不重建，首次搜索时构建；已有搜索关键字时立即补建
+                    this.indexDeferred = Boolean.TRUE;
+                    if (StrUtil.isNotEmpty(this.searchText)) {
+                        this.buildDeferredIndex();
+                    }
+                }));
+    }
+
+    /**
+     * 文档快照：读取文本并取走自上一次快照以来累计的变更区间
+     *
+     * @return {@link Snapshot }
+     */
+    private Snapshot snapshot() {
+        final Document document = this.editor.getDocument();
+        synchronized (this.editLock) {
+            final String text = document.getImmutableCharSequence().toString();
+            final long stamp = document.getModificationStamp();
+            // 文档已变更而监听尚未记录（或记录丢失）时区间不可信，由调用方对比前后缀
+            final JsonNodeParser.EditRange range = stamp == this.pendingStamp
+                    ? Opt.ofNullable(this.pendingEdit).orElseGet(() -> new JsonNodeParser.EditRange(text.length(), text.length(), text.length()))
+                    : null;
+            final Snapshot snapshot = new Snapshot(text, this.snapshotVersion + 1, this.snapshotVersion, range, stamp);
+            this.snapshotVersion = snapshot.version();
+            this.pendingEdit = null;
+            this.pendingStamp = stamp;
+            return snapshot;
         }
-        for (final String key : JSON.parseObject(item).keySet()) {
-            if (StrUtil.isNotEmpty(key)) {
-                return key;
+    }
+
+    /**
+     * 记录一次文档变更（EDT）
+     *
+     * @param event 文档事件
+     */
+    private void recordEdit(final DocumentEvent event) {
+        synchronized (this.editLock) {
+            final long stamp = event.getDocument().getModificationStamp();
+            if (event.getOldTimeStamp() == this.pendingStamp) {
+                this.pendingEdit = Objects.isNull(this.pendingEdit)
+                        ? JsonNodeParser.EditRange.of(event.getOffset(), event.getOldLength(), event.getNewLength())
+                        : this.pendingEdit.merge(event.getOffset(), event.getOldLength(), event.getNewLength());
+                this.pendingStamp = stamp;
+            } else if (stamp != this.pendingStamp) {
+                // 丢失了中间变更，下次快照退化为对比前后缀
+                this.pendingEdit = null;
+                this.pendingStamp = -1;
             }
         }
-        return null;
     }
 
-    private static Object extractFirstObjectValue(final String item) {
-        if (!JSON.isValidObject(item)) {
-            return null;
-        }
-        for (final Object value : JSON.parseObject(item).values()) {
-            if (Objects.nonNull(value)) {
-                return value;
-            }
+    /**
+     * 大文档模式开关
+     * <p>
+     * 开启后树更新防抖放缓；树节点本身按需展开，搜索索引本就在首次搜索时构建，无需额外处理
+     *
+     * @param large 是否开启
+     */
+    public void setLargeDocument(final boolean large) {
+        Opt.ofNullable(this.treeUpdateQueue).ifPresent(queue -> queue.setMergingTimeSpan(large ? LARGE_TREE_UPDATE_DEBOUNCE_MS : TREE_UPDATE_DEBOUNCE_MS));
+    }
+
+    /**
+     * 为当前树模型构建推迟的搜索索引
+     */
+    private void buildDeferredIndex() {
+        final TreeState state = this.treeState;
+        this.indexDeferred = Boolean.FALSE;
+        if (Objects.nonNull(state)) {
+            this.buildSearchIndex(state.sequence(), indexText(state));
         }
-        return null;
     }
 
     /**
-     * 加载JSON
+     * 搜索索引的源文本（宽松解析回退时索引规范化文本，与树节点偏移一致）
      *
-     * @param txt JSON文本
+     * @param state 树模型状态
+     * @return {@link String }
      */
-    public void loadJson(final String txt) {
-        final long sequence = this.treeSequence.incrementAndGet();
+    private static String indexText(final TreeState state) {
+        return state.root().normalized() && state.root().container() ? state.root().source() : state.text();
+    }
+
+    /**
+     * 后台构建搜索索引（树模型已被更新替换时丢弃）
+     *
+     * @param sequence 树模型更新序号
+     * @param txt      JSON文本
+     */
+    private void buildSearchIndex(final long sequence, final String txt) {
+        // 搜索索引每个树模型只构建一次，树模型先行展示
         CompletableFuture
-                .supplyAsync(() -> new DefaultTreeModel(this.buildTreeModel(JsonNodeParser.parse("root", txt))),
-                        AppExecutorUtil.getAppExecutorService())
-                .thenAccept(model -> ApplicationManager.getApplication().invokeLater(() -> {
+                .supplyAsync(() -> JsonSearchIndex.build(txt), AppExecutorUtil.getAppExecutorService())
+                .thenAccept(index -> ApplicationManager.getApplication().invokeLater(() -> {
                     if (sequence != this.treeSequence.get()) {
                         return;
                     }
-                    this.matches.clear();
-                    this.currentMatchIndex = -1;
-                    this.jsonTree.setModel(model);
-                    this.jsonTree.repaint();
+                    this.searchIndex = index;
+                    // 索引就绪前输入的关键字补做一次搜索
+                    if (StrUtil.isNotEmpty(this.searchText)) {
+                        this.searchSequence.incrementAndGet();
+                        this.searchTimer.restart();
+                    }
                 }));
     }
 
+    /**
+     * 清空匹配结果
+     */
+    private void clearMatches() {
+        this.matches = new int[0];
+        this.matchedStarts = new int[0];
+        this.currentMatchIndex = -1;
+    }
+
+    /**
+     * 为编辑器实例挂载光标监听
+     * <p>
+     * 监听挂在页签的子 Disposable 上，并随编辑器释放（{@link EditorUtil#disposeWithEditor}），页签内反复显示隐藏不会累积监听
+     *
+     * @param created          编辑器实例
+     * @param listener         光标监听
+     * @param parentDisposable 页签 Disposable
+     */
+    private void attachCaretListener(final Editor created, final CaretListener listener, final Disposable parentDisposable) {
+        final Disposable disposable = Disposer.newDisposable(parentDisposable, "JsonHelper.CaretListener");
+        created.getCaretModel().addCaretListener(listener, disposable);
+        EditorUtil.disposeWithEditor(created, disposable);
+    }
+
     /**
      * 创建JSON树面板
      *
@@ -195,6 +424,7 @@ public class JsonTreePanel extends JPanel {
      * @return {@link JPanel }
      */
     public JPanel create(final EditorTextField editor, final Disposable parentDisposable) {
+        this.editor = editor;
         if (Objects.nonNull(editor.getProject())) {
             // 树更新防抖队列：合并连续文档变更，仅在停顿后重建一次树模型
             this.treeUpdateQueue = new MergingUpdateQueue(
@@ -202,16 +432,31 @@ public class JsonTreePanel extends JPanel {
             );
             // 随页签释放停止定时器与队列，防止泄漏
             Disposer.register(parentDisposable, () -> this.searchTimer.stop());
-            EditorFactory.getInstance().getEventMulticaster().addDocumentListener(new DocumentListener() {
+            this.revealTimer = new Timer(REVEAL_DEBOUNCE_MS, _ -> this.revealOffset(editor.getCaretModel().getOffset()));
+            this.revealTimer.setRepeats(Boolean.FALSE);
+            Disposer.register(parentDisposable, () -> this.revealTimer.stop());
+            // 监听直接挂在页签自身的文档上，IDE 中其他文档的变更不会经过这里
+            editor.getDocument().addDocumentListener(new DocumentListener() {
                 @Override
                 public void documentChanged(final @NotNull DocumentEvent e) {
-                    if (e.getDocument() != editor.getDocument()) {
-                        return;
-                    }
+                    JsonTreePanel.this.recordEdit(e);
                     // identity 固定为编辑器实例，连续变更互相合并，仅执行最后一次
-                    JsonTreePanel.this.treeUpdateQueue.queue(Update.create(editor, () -> JsonTreePanel.this.loadJson(editor.getText())));
+                    JsonTreePanel.this.treeUpdateQueue.queue(Update.create(editor, JsonTreePanel.this::refreshIfVisible));
                 }
             }, parentDisposable);
+            final CaretListener caretListener = new CaretListener() {
+                @Override
+                public void caretPositionChanged(final @NotNull CaretEvent e) {
+                    // 仅跟随用户在编辑器中的光标移动，树面板反向选中文本时不回环
+                    if (!e.getEditor().getContentComponent().hasFocus()) {
+                        return;
+                    }
+                    JsonTreePanel.this.revealTimer.restart();
+                }
+            };
+            // 编辑器实例在组件显示时创建、隐藏时释放，每次创建时重新挂载光标监听（随编辑器释放）
+            editor.addSettingsProvider(created -> this.attachCaretListener(created, caretListener, parentDisposable));
+            Opt.ofNullable(editor.getEditor()).ifPresent(created -> this.attachCaretListener(created, caretListener, parentDisposable));
         }
         // 创建树面板
         final JPanel panel = new JPanel(new BorderLayout(0, 0));
@@ -226,9 +471,50 @@ public class JsonTreePanel extends JPanel {
         // 添加搜索框内容
         panel.add(this.createSearchField(), BorderLayout.NORTH);
         panel.setBorder(BorderFactory.createEmptyBorder());
+        // 面板显示或展开时补做隐藏期间跳过的解析
+        panel.addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) {
+                this.updateVisibility(panel);
+            }
+        });
+        panel.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(final ComponentEvent e) {
+                JsonTreePanel.this.updateVisibility(panel);
+            }
+        });
         return panel;
     }
 
+    /**
+     * 更新树面板可见状态，由不可见变为可见且期间有变更时重新解析
+     *
+     * @param panel 树面板
+     */
+    private void updateVisibility(final JPanel panel) {
+        // 分割窗格收起到底部时面板仍在显示但高度为 0，同样视为不可见
+        this.treeVisible = panel.isShowing() && panel.getHeight() > 0;
+        if (!this.treeVisible || Objects.isNull(this.editor) || !this.treeStale.getAndSet(Boolean.FALSE)) {
+            return;
+        }
+        // 首次显示时编辑器已有的内容（恢复的页签）同样在此解析；从未加载且为空时保留空树
+        final Snapshot snapshot = this.snapshot();
+        if (Objects.nonNull(this.treeState) || StrUtil.isNotEmpty(snapshot.text())) {
+            this.loadJson(snapshot);
+        }
+    }
+
+    /**
+     * 文档变更后刷新树：面板不可见时只标记待刷新，可见后再解析
+     */
+    private void refreshIfVisible() {
+        // 先标记再检查可见状态，与 updateVisibility 的先置位再取标记对应，任一方都不会漏掉刷新
+        this.treeStale.set(Boolean.TRUE);
+        if (this.treeVisible && this.treeStale.getAndSet(Boolean.FALSE)) {
+            this.loadJson(this.snapshot());
+        }
+    }
+
     /**
      * 配置树外观
      */
@@ -286,14 +572,14 @@ public class JsonTreePanel extends JPanel {
                     default -> AllIcons.Debugger.WatchLastReturnValue;
                 });
                 // 构建显示文本
-                final boolean isMatched = StrUtil.isNotEmpty(JsonTreePanel.this.searchText) && "%s:%s".formatted(data.key(), data.value()).toLowerCase(Locale.ROOT).contains(JsonTreePanel.this.searchText);
+                final boolean isMatched = StrUtil.isNotEmpty(JsonTreePanel.this.searchText) && Arrays.binarySearch(JsonTreePanel.this.matchedStarts, data.start()) >= 0;
                 // 分割渲染键值部分
                 this.renderer.append("%s:".formatted(data.key()),
                         isMatched ?
                                 new SimpleTextAttributes(SimpleTextAttributes.STYLE_BOLD, JBColor.BLUE) :
                                 new SimpleTextAttributes(SimpleTextAttributes.STYLE_PLAIN, JBColor.GRAY)
                 );
-                this.renderer.append(String.valueOf(data.value()),
+                this.renderer.append(data.preview(),
                         isMatched ?
                                 new SimpleTextAttributes(SimpleTextAttributes.STYLE_BOLD, JBColor.BLUE) :
                                 new SimpleTextAttributes(SimpleTextAttributes.STYLE_BOLD, UIUtil.getTreeForeground())
@@ -328,16 +614,17 @@ public class JsonTreePanel extends JPanel {
 
     /**
      * 构建树模型
+     * <p>
+     * 懒加载：仅预先生成根节点的直接子层（根节点隐藏、设置模型时即展开），更深层在展开时按需生成
      *
      * @param node 节点
-     * @return {@link DefaultMutableTreeNode }
+     * @return {@link DefaultTreeModel }
      */
-    private DefaultMutableTreeNode buildTreeModel(final JsonNodeParser.JsonNode node) {
-        final DefaultMutableTreeNode treeNode = new DefaultMutableTreeNode(node);
-        for (final JsonNodeParser.JsonNode child : node.children()) {
-            treeNode.add(this.buildTreeModel(child));
-        }
-        return treeNode;
+    private DefaultTreeModel buildTreeModel(final JsonNodeParser.JsonNode node) {
+        final JsonTreeNode root = new JsonTreeNode(node);
+        // 后台预生成根子层，避免在 EDT 设置模型时扫描
+        root.getChildCount();
+        return new DefaultTreeModel(root, Boolean.TRUE);
     }
 
     /**
@@ -373,10 +660,21 @@ public class JsonTreePanel extends JPanel {
                 Opt.ofNullable(tree.getSelectionPath())
                         .ifPresent(path -> Clipboard.copy(this.getNodeText(path.getLastPathComponent(), NodeTextType.VALUE)))
         );
+        // 在编辑器中选中
+        final JMenuItem selectInEditor = new JMenuItem(BUNDLE.getString("json.tree.select.in.editor"));
+        selectInEditor.addActionListener(_ ->
+                Opt.ofNullable(tree.getSelectionPath())
+                        .map(TreePath::getLastPathComponent)
+                        .filter(JsonTreeNode.class::isInstance)
+                        .map(JsonTreeNode.class::cast)
+                        .ifPresent(node -> this.selectInEditor(node.data()))
+        );
         popupMenu.add(copyKey);
         popupMenu.add(copyVal);
         popupMenu.add(copyPath);
         popupMenu.add(copyItem);
+        popupMenu.addSeparator();
+        popupMenu.add(selectInEditor);
         // 添加鼠标监听器
         tree.addMouseListener(new MouseAdapter() {
             @Override
@@ -396,6 +694,8 @@ public class JsonTreePanel extends JPanel {
 
     /**
      * 从树节点提取可复制的文本
+     * <p>
+     * 直接读取节点键值，完整 JSON 仅在此处按需序列化（渲染与搜索只使用缓存预览）
      *
      * @param node 选择的节点
      * @param type 提取类型
@@ -403,18 +703,16 @@ public class JsonTreePanel extends JPanel {
      */
     private String getNodeText(final Object node, final NodeTextType type) {
         return switch (node) {
-            // 确认是`DefaultMutableTreeNode`才会处理节点
-            case final DefaultMutableTreeNode treeNode -> Opt.ofNullable(treeNode.getUserObject())
-                    .map(Object::toString)
-                    .filter(StrUtil::isNotEmpty)
-                    .map(item -> switch (type) {
+            // 确认是`JsonTreeNode`才会处理节点
+            case final JsonTreeNode treeNode -> Opt.ofNullable(treeNode.data())
+                    .map(data -> switch (type) {
                         // 对象
-                        case OBJECT -> item;
+                        case OBJECT -> data.toString();
                         // 键
-                        case KEY -> extractFirstObjectKey(item);
+                        case KEY -> data.key();
                         // 值
-                        case VALUE -> extractFirstObjectValue(item);
-                    }).filter(Objects::nonNull).map(Object::toString).filter(StrUtil::isNotEmpty).orElseGet(() -> Convert.toStr(node));
+                        case VALUE -> data.plainValue();
+                    }).filter(StrUtil::isNotEmpty).orElseGet(() -> Convert.toStr(node));
             case null, default -> Convert.toStr(node);
         };
     }
@@ -465,32 +763,28 @@ public class JsonTreePanel extends JPanel {
         this.searchTimer = new Timer(SEARCH_DEBOUNCE_MS, _ -> {
             // 如正在搜索则停止当前搜索
             if (this.isSearching) return;
+            // 大文档模式首次搜索时构建索引，就绪后自动补做本次搜索
+            if (this.indexDeferred) {
+                this.buildDeferredIndex();
+                return;
+            }
             // 重置搜索相关变量
             this.currentMatchIndex = -1;
             this.isSearching = Boolean.TRUE;
             final long sequence = this.searchSequence.get();
             final String keyword = this.searchText;
-            // 在 EDT 捕获树模型根节点（Swing 组件模型不允许在后台线程访问）
-            final TreeModel model = this.jsonTree.getModel();
-            if (Objects.isNull(model) || Objects.isNull(model.getRoot())) {
-                this.isSearching = Boolean.FALSE;
-                return;
-            }
-            final DefaultMutableTreeNode root = (DefaultMutableTreeNode) model.getRoot();
-            // 执行搜索
-            CompletableFuture.supplyAsync(() -> {
-                final List<TreePath> result = new ArrayList<>();
-                this.collectMatches(root, new TreePath(root), keyword, result);
-                return result;
-            }, AppExecutorUtil.getAppExecutorService()).thenAccept(result ->
+            // 在 EDT 捕获当前树模型对应的索引
+            final JsonSearchIndex index = this.searchIndex;
+            // 执行搜索（索引查找，不遍历树节点）
+            CompletableFuture.supplyAsync(() -> index.search(keyword), AppExecutorUtil.getAppExecutorService()).thenAccept(result ->
                     ApplicationManager.getApplication().invokeLater(() -> {
-                        if (sequence != this.searchSequence.get()) {
+                        if (sequence != this.searchSequence.get() || index != this.searchIndex) {
                             this.isSearching = Boolean.FALSE;
                             return;
                         }
-                        this.matches.clear();
-                        this.matches.addAll(result);
-                        if (CollUtil.isNotEmpty(this.matches)) {
+                        this.matches = result;
+                        this.matchedStarts = index.valueStartsOf(result);
+                        if (this.matches.length > 0) {
                             this.currentMatchIndex = 0;
                             this.scrollToMatch(this.currentMatchIndex);
                         }
@@ -519,9 +813,8 @@ public class JsonTreePanel extends JPanel {
                         JsonTreePanel.this.searchSequence.incrementAndGet();
                         JsonTreePanel.this.isSearching = Boolean.FALSE;
                         JsonTreePanel.this.searchText = "";
-                        JsonTreePanel.this.matches.clear();
+                        JsonTreePanel.this.clearMatches();
                         JsonTreePanel.this.jsonTree.repaint();
-                        JsonTreePanel.this.currentMatchIndex = -1;
                     }
                     // 其他键
                     else if (!Character.isISOControl(keyChar)) {
@@ -535,11 +828,11 @@ public class JsonTreePanel extends JPanel {
             @Override
             public void keyPressed(final KeyEvent e) {
                 final int keyCode = e.getKeyCode();
-                if (keyCode == KeyEvent.VK_ENTER && CollUtil.isNotEmpty(JsonTreePanel.this.matches)) {
-                    JsonTreePanel.this.currentMatchIndex = (JsonTreePanel.this.currentMatchIndex + 1) % JsonTreePanel.this.matches.size();
+                if (keyCode == KeyEvent.VK_ENTER && JsonTreePanel.this.matches.length > 0) {
+                    JsonTreePanel.this.currentMatchIndex = (JsonTreePanel.this.currentMatchIndex + 1) % JsonTreePanel.this.matches.length;
                     JsonTreePanel.this.scrollToMatch(JsonTreePanel.this.currentMatchIndex);
-                } else if (keyCode == KeyEvent.VK_UP && CollUtil.isNotEmpty(JsonTreePanel.this.matches)) {
-                    JsonTreePanel.this.currentMatchIndex = (JsonTreePanel.this.currentMatchIndex - 1 + JsonTreePanel.this.matches.size()) % JsonTreePanel.this.matches.size();
+                } else if (keyCode == KeyEvent.VK_UP && JsonTreePanel.this.matches.length > 0) {
+                    JsonTreePanel.this.currentMatchIndex = (JsonTreePanel.this.currentMatchIndex - 1 + JsonTreePanel.this.matches.length) % JsonTreePanel.this.matches.length;
                     JsonTreePanel.this.scrollToMatch(JsonTreePanel.this.currentMatchIndex);
                 }
             }
@@ -571,38 +864,88 @@ public class JsonTreePanel extends JPanel {
     }
 
     /**
-     * 收集匹配的节点路径
+     * 滚动到指定索引的匹配项
+     *
+     * @param index 指数
+     */
+    private void scrollToMatch(final int index) {
+        this.revealEntry(this.searchIndex.childPath(this.matches[index]));
+    }
+
+    /**
+     * 在树中定位包含原文偏移的最深节点
+     * <p>
+     * 文档修改戳与树模型不一致（树尚未更新）时偏移不可信，跳过定位；
+     * 搜索索引已构建时直接查索引，否则后台沿节点树逐层下钻（只生成路径上的子节点）
      *
-     * @param node node
-     * @param path 路径
-     */
-    private void collectMatches(final DefaultMutableTreeNode node,
-                                final TreePath path,
-                                final String keyword,
-                                final List<TreePath> target) {
-        // 判断节点是否匹配搜索条件
-        if (switch (node.getUserObject()) {
-            case final JsonNodeParser.JsonNode jsonNode -> ("%s:%s".formatted(jsonNode.key(), jsonNode.value()))
-                    .toLowerCase(Locale.ROOT).contains(keyword);
-            default -> Convert.toStr(node).toLowerCase(Locale.ROOT).contains(keyword);
-        }) {
-            target.add(path);
+     * @param offset 原文偏移
+     */
+    private void revealOffset(final int offset) {
+        final TreeState state = this.treeState;
+        final JsonSearchIndex index = this.searchIndex;
+        if (Objects.isNull(state) || Objects.isNull(this.editor) || state.root().normalized()
+                || state.stamp() != this.editor.getDocument().getModificationStamp()) {
+            return;
         }
-        // 判断节点子项是否匹配搜索条件
-        final Enumeration<?> children = node.children();
-        while (CollUtil.isNotEmpty(children) && children.hasMoreElements()) {
-            final DefaultMutableTreeNode child = (DefaultMutableTreeNode) children.nextElement();
-            this.collectMatches(child, path.pathByAddingChild(child), keyword, target);
+        if (index != JsonSearchIndex.EMPTY) {
+            final int entry = index.entryAt(offset);
+            // 根节点隐藏，无需定位
+            if (entry > 0) {
+                this.revealEntry(index.childPath(entry));
+            }
+            return;
         }
+        CompletableFuture
+                .supplyAsync(() -> JsonNodeParser.childPathAt(state.root(), offset), AppExecutorUtil.getAppExecutorService())
+                .thenAccept(path -> ApplicationManager.getApplication().invokeLater(() -> {
+                    // 下钻期间树模型已被更新替换
+                    if (state == this.treeState && Objects.nonNull(path) && path.length > 0) {
+                        this.revealEntry(path);
+                    }
+                }));
     }
 
     /**
-     * 滚动到指定索引的匹配项
+     * 在编辑器中选中节点对应的原文区间
      *
-     * @param index 指数
+     * @param data 节点数据
      */
-    private void scrollToMatch(final int index) {
-        final TreePath path = this.matches.get(index);
+    private void selectInEditor(final JsonNodeParser.JsonNode data) {
+        final TreeState state = this.treeState;
+        // 宽松解析回退的树偏移指向规范化文本，无法对应编辑器原文
+        if (Objects.isNull(state) || state.root().normalized()) {
+            return;
+        }
+        Opt.ofNullable(this.editor).map(EditorTextField::getEditor).ifPresent(target -> {
+            // 文档修改戳与树模型不一致（树尚未跟上编辑）时偏移不可信，跳过选中
+            if (state.stamp() != target.getDocument().getModificationStamp()) {
+                return;
+            }
+            target.getSelectionModel().setSelection(data.start(), data.end());
+            target.getCaretModel().moveToOffset(data.start());
+            target.getScrollingModel().scrollToCaret(ScrollType.MAKE_VISIBLE);
+        });
+    }
+
+    /**
+     * 按子序号路径展开并选中节点
+     *
+     * @param childPath 从根到节点的子序号路径
+     */
+    private void revealEntry(final int[] childPath) {
+        if (!(this.jsonTree.getModel().getRoot() instanceof final JsonTreeNode root)) {
+            return;
+        }
+        // 按索引记录的子序号逐层下钻，仅物化目标路径上的节点
+        TreePath path = new TreePath(root);
+        TreeNode node = root;
+        for (final int child : childPath) {
+            if (child >= node.getChildCount()) {
+                return;
+            }
+            node = node.getChildAt(child);
+            path = path.pathByAddingChild(node);
+        }
         this.jsonTree.expandPath(path.getParentPath());
         this.jsonTree.setSelectionPath(path);
         this.jsonTree.scrollPathToVisible(path);
@@ -0,0 +1,255 @@
+package com.acme.prism.ui.panel;
+
+import com.acme.prism.core.parser.JsonNodeParser;
+
+import javax.swing.tree.DefaultTreeModel;
+import java.util.*;
+
+/**
+ * JSON树增量协调器
+ * <p>
+ * 以文本变更区间为界对比新旧解析结果：变更区间之外的子节点文本原样保留，只平移偏移、不发事件；
+ * 与变更区间相交的子节点按键（对象）或位置（数组）配对后递归对比，仅对增删改的节点发出
+ * {@code TreeModelEvent}，展开与选中状态随之保留
+ * <p>
+ * 未展开过的节点没有已生成的子树，只替换数据即可，因此开销与编辑范围及其上已展开的容器成正比
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+final class JsonTreeReconciler {
+    /**
+     * 树模型
+     */
+    private final DefaultTreeModel model;
+    /**
+     * 新原文
+     */
+    private final String source;
+    /**
+     * 文本变更区间
+     */
+    private final JsonNodeParser.EditRange range;
+
+    JsonTreeReconciler(final DefaultTreeModel model, final String source, final JsonNodeParser.EditRange range) {
+        this.model = model;
+        this.source = source;
+        this.range = range;
+    }
+
+    /**
+     * 预生成包含变更区间的容器链上的子节点（后台执行，避免协调时在 EDT 扫描大容器）
+     *
+     * @param root  新根节点
+     * @param range 变更区间
+     */
+    static void prewarm(final JsonNodeParser.JsonNode root, final JsonNodeParser.EditRange range) {
+        JsonNodeParser.JsonNode node = root;
+        while (Objects.nonNull(node) && node.container()) {
+            JsonNodeParser.JsonNode next = null;
+            for (final JsonNodeParser.JsonNode child : node.children()) {
+                if (child.start() <= range.start() && child.end() >= range.newEnd()) {
+                    next = child;
+                    break;
+                }
+            }
+            node = next;
+        }
+    }
+
+    /**
+     * 判断能否增量协调（根节点须为同类型容器，且偏移均指向输入原文）
+     *
+     * @param previous 旧根数据
+     * @param next     新根数据
+     * @return boolean
+     */
+    static boolean supports(final JsonNodeParser.JsonNode previous, final JsonNodeParser.JsonNode next) {
+        return previous.container() && next.container() && previous.type().equals(next.type())
+                && !previous.normalized() && !next.normalized();
+    }
+
+    /**
+     * 协调节点
+     *
+     * @param node 旧树节点
+     * @param next 新数据
+     */
+    void reconcile(final JsonTreeNode node, final JsonNodeParser.JsonNode next) {
+        final JsonNodeParser.JsonNode previous = node.data();
+        final boolean expandable = next.container() && !next.emptyContainer();
+        if (!node.isLoaded() || expandable != node.getAllowsChildren() || !previous.type().equals(next.type())) {
+            // 未展开或结构类型改变：丢弃旧子树，按新数据懒加载
+            final boolean structureChanged = expandable != node.getAllowsChildren() || (node.isLoaded() && node.getChildCount() > 0);
+            node.reset(next);
+            if (structureChanged) {
+                this.model.nodeStructureChanged(node);
+            } else {
+                this.model.nodeChanged(node);
+            }
+            return;
+        }
+        node.update(next);
+        // 标量值或容器摘要可能变化，重绘本行
+        this.model.nodeChanged(node);
+        if (next.container()) {
+            this.reconcileChildren(node, previous, next);
+        }
+    }
+
+    /**
+     * 协调已展开容器的子节点
+     *
+     * @param node     旧树节点
+     * @param previous 旧数据
+     * @param next     新数据
+     */
+    private void reconcileChildren(final JsonTreeNode node, final JsonNodeParser.JsonNode previous, final JsonNodeParser.JsonNode next) {
+        final List<JsonNodeParser.JsonNode> nextChildren = next.children();
+        final int oldCount = node.getChildCount();
+        final int newCount = nextChildren.size();
+        // 新旧容器的括号分别落在变更区间两侧且对齐时，区间外的子节点才能按原文一一对应
+        final boolean aligned = previous.start() == next.start() && previous.start() < this.range.start()
+                && previous.end() > this.range.oldEnd() && previous.end() + this.range.delta() == next.end();
+        // 变更区间之前的子节点：文本与偏移均不变
+        int head = 0;
+        while (aligned && head < oldCount && head < newCount && this.range.before(this.childAt(node, head).data().end())) {
+            head++;
+        }
+        // 变更区间之后的子节点：文本不变，偏移整体平移
+        int tail = 0;
+        while (aligned && tail < oldCount - head && tail < newCount - head
+                && this.range.after(this.childAt(node, oldCount - 1 - tail).data().start())) {
+            tail++;
+        }
+        final List<JsonTreeNode> headNodes = new ArrayList<>(head);
+        for (int index = 0; index < head; index++) {
+            headNodes.add(this.childAt(node, index));
+        }
+        final List<JsonTreeNode> tailNodes = new ArrayList<>(tail);
+        for (int index = oldCount - tail; index < oldCount; index++) {
+            tailNodes.add(this.childAt(node, index));
+        }
+        // 中段配对：对象按键顺序匹配，数组按位置匹配
+        final List<JsonTreeNode> oldMiddle = new ArrayList<>(oldCount - head - tail);
+        for (int index = head; index < oldCount - tail; index++) {
+            oldMiddle.add(this.childAt(node, index));
+        }
+        final List<JsonNodeParser.JsonNode> newMiddle = nextChildren.subList(head, newCount - tail);
+        final boolean object = "Object".equals(next.type());
+        final List<JsonTreeNode> pairs = new ArrayList<>(newMiddle.size());
+        final Set<JsonTreeNode> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Map<String, Deque<Integer>> positions = new HashMap<>();
+        if (object) {
+            for (int index = 0; index < oldMiddle.size(); index++) {
+                positions.computeIfAbsent(oldMiddle.get(index).data().key(), _ -> new ArrayDeque<>()).add(index);
+            }
+        }
+        int cursor = 0;
+        for (final JsonNodeParser.JsonNode child : newMiddle) {
+            int found = -1;
+            if (object) {
+                final Deque<Integer> candidates = positions.getOrDefault(child.key(), new ArrayDeque<>());
+                // 只向后匹配，保持子节点相对顺序
+                while (!candidates.isEmpty() && candidates.peekFirst() < cursor) {
+                    candidates.pollFirst();
+                }
+                if (!candidates.isEmpty()) {
+                    found = candidates.pollFirst();
+                }
+            } else if (cursor < oldMiddle.size()) {
+                found = cursor;
+            }
+            if (found >= 0) {
+                pairs.add(oldMiddle.get(found));
+                matched.add(oldMiddle.get(found));
+                cursor = found + 1;
+            } else {
+                pairs.add(null);
+            }
+        }
+        // 移除未配对的旧节点
+        final List<Integer> removedIndexes = new ArrayList<>();
+        final List<Object> removedNodes = new ArrayList<>();
+        for (int index = 0; index < oldMiddle.size(); index++) {
+            if (!matched.contains(oldMiddle.get(index))) {
+                removedIndexes.add(head + index);
+                removedNodes.add(oldMiddle.get(index));
+            }
+        }
+        for (int index = removedIndexes.size() - 1; index >= 0; index--) {
+            node.remove((int) removedIndexes.get(index));
+        }
+        if (!removedIndexes.isEmpty()) {
+            this.model.nodesWereRemoved(node, toArray(removedIndexes), removedNodes.toArray());
+        }
+        // 插入新增节点（剩余旧节点与配对顺序一致，按最终位置升序插入）
+        final List<Integer> insertedIndexes = new ArrayList<>();
+        for (int index = 0; index < pairs.size(); index++) {
+            if (Objects.isNull(pairs.get(index))) {
+                node.insert(new JsonTreeNode(newMiddle.get(index)), head + index);
+                insertedIndexes.add(head + index);
+            }
+        }
+        if (!insertedIndexes.isEmpty()) {
+            this.model.nodesWereInserted(node, toArray(insertedIndexes));
+        }
+        // 首尾原样保留的子节点：换用新数据，已展开子树换到新原文（首段偏移不变）
+        for (int index = 0; index < head; index++) {
+            headNodes.get(index).update(nextChildren.get(index));
+            this.rebaseDescendants(headNodes.get(index), 0);
+        }
+        final List<Integer> renamedIndexes = new ArrayList<>();
+        for (int index = 0; index < tail; index++) {
+            final JsonTreeNode child = tailNodes.get(index);
+            final int position = newCount - tail + index;
+            final boolean renamed = !child.data().key().equals(nextChildren.get(position).key());
+            child.update(nextChildren.get(position));
+            this.rebaseDescendants(child, this.range.delta());
+            if (renamed) {
+                // 数组前方插删导致序号键变化，仅需重绘
+                renamedIndexes.add(position);
+            }
+        }
+        if (!renamedIndexes.isEmpty()) {
+            this.model.nodesChanged(node, toArray(renamedIndexes));
+        }
+        // 与变更区间相交的配对节点递归协调
+        for (int index = 0; index < pairs.size(); index++) {
+            if (Objects.nonNull(pairs.get(index))) {
+                this.reconcile(pairs.get(index), newMiddle.get(index));
+            }
+        }
+    }
+
+    /**
+     * 平移已展开子树的偏移到新原文（文本不变，不发事件）
+     * <p>
+     * 偏移不变时同样执行：容器节点持有原文引用，沿用旧节点会让每次编辑前的整份文本随展开的子树一直存活；
+     * 标量节点不持有原文，偏移不变时原样沿用。开销与已展开的节点数成正比
+     *
+     * @param node  树节点
+     * @param delta 偏移平移量
+     */
+    private void rebaseDescendants(final JsonTreeNode node, final int delta) {
+        if (!node.isLoaded()) {
+            return;
+        }
+        for (int index = 0; index < node.getChildCount(); index++) {
+            final JsonTreeNode child = this.childAt(node, index);
+            if (delta == 0 && !child.data().container()) {
+                continue;
+            }
+            child.update(child.data().rebase(child.data().key(), this.source, delta));
+            this.rebaseDescendants(child, delta);
+        }
+    }
+
+    private JsonTreeNode childAt(final JsonTreeNode node, final int index) {
+        return (JsonTreeNode) node.getChildAt(index);
+    }
+
+    private static int[] toArray(final List<Integer> values) {
+        return values.stream().mapToInt(Integer::intValue).toArray();
+    }
+}
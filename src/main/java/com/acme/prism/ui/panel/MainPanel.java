@@ -2,12 +2,18 @@ package com.acme.prism.ui.panel;
 
 import cn.hutool.core.util.StrUtil;
 import com.acme.prism.common.Clipboard;
+import com.acme.prism.core.editor.TextHistory;
 import com.acme.prism.core.json.*;
 import com.acme.prism.core.notice.Notifier;
 import com.acme.prism.core.parser.AnyParser;
 import com.acme.prism.core.parser.JwtParser;
+import com.acme.prism.core.parser.MappedJsonFile;
 import com.acme.prism.core.parser.PathParser;
+import com.acme.prism.core.schema.SchemaMarkers;
+import com.acme.prism.core.schema.SchemaValidator;
 import com.acme.prism.ui.dialog.ConvertAnyDialog;
+import com.acme.prism.ui.dialog.JsonDiffDialog;
+import com.acme.prism.ui.dialog.LargeJsonViewerDialog;
 import com.alibaba.fastjson2.JSON;
 import com.intellij.diff.DiffContentFactory;
 import com.intellij.diff.DiffManager;
@@ -19,7 +25,6 @@ import com.intellij.openapi.application.ApplicationManager;
 import com.intellij.openapi.command.WriteCommandAction;
 import com.intellij.openapi.editor.Document;
 import com.intellij.openapi.editor.Editor;
-import com.intellij.openapi.editor.EditorFactory;
 import com.intellij.openapi.editor.event.DocumentEvent;
 import com.intellij.openapi.editor.event.DocumentListener;
 import com.intellij.openapi.fileChooser.FileChooser;
@@ -38,9 +43,9 @@ import javax.swing.*;
 import javax.swing.border.Border;
 import java.awt.*;
 import java.awt.event.*;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayDeque;
-import java.util.Deque;
+import java.nio.file.Path;
 import java.util.Objects;
 import java.util.ResourceBundle;
 import java.util.concurrent.CompletableFuture;
@@ -72,9 +77,13 @@ public class MainPanel {
      */
     private static final int BUTTON_SIZE = 35;
     /**
-     * 撤销/重做历史上限（防止长期编辑导致历史无限膨胀）
+     * 大文档模式指示的水平间距
      */
-    private static final int MAX_HISTORY_SIZE = 100;
+    private static final int INDICATOR_GAP = 8;
+    /**
+     * 撤销/重做历史字节预算（防止长期编辑或大文档导致历史无限膨胀）
+     */
+    private static final long MAX_HISTORY_BYTES = 64L << 20;
     /**
      * 自动识别防抖延迟（毫秒）
      */
@@ -92,13 +101,9 @@ public class MainPanel {
      */
     private static final String REFORMAT_CODE_ACTION_ID = "ReformatCode";
     /**
-     * 重做历史堆栈
-     */
-    private final Deque<String> redoStack = new ArrayDeque<>();
-    /**
-     * 撤销历史堆栈
+     * 撤销/重做历史（增量存储，较旧记录后台压缩）
      */
-    private final Deque<String> undoStack = new ArrayDeque<>();
+    private final TextHistory history = new TextHistory(MAX_HISTORY_BYTES, AppExecutorUtil.getAppExecutorService());
     /**
      * 原始记录`用于JSON搜索`
      */
@@ -115,6 +120,18 @@ public class MainPanel {
      * 自动识别防抖队列（官方推荐的事件合并机制，避免每次击键都触发全量识别）
      */
     private MergingUpdateQueue autoDetectQueue;
+    /**
+     * 大文档模式（跳过自动识别）
+     */
+    private volatile boolean largeDocument = Boolean.FALSE;
+    /**
+     * 大文档模式指示
+     */
+    private final JLabel largeDocumentIndicator = new JLabel(BUNDLE.getString("large.document.mode"), AllIcons.General.Information, SwingConstants.LEFT);
+    /**
+     * JSON Schema 错误标记（无项目时为空）
+     */
+    private SchemaMarkers schemaMarkers;
 
     /**
      * 创建主面板
@@ -135,6 +152,10 @@ public class MainPanel {
         // 添加按钮面板
         final JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 0, 0));
         buttonPanel.setBorder(BorderFactory.createEmptyBorder());
+        this.largeDocumentIndicator.setToolTipText(BUNDLE.getString("large.document.mode.tip"));
+        this.largeDocumentIndicator.setBorder(JBUI.Borders.empty(0, INDICATOR_GAP));
+        this.largeDocumentIndicator.setVisible(Boolean.FALSE);
+        buttonPanel.add(this.largeDocumentIndicator);
         buttonPanel.add(undoButton);
         buttonPanel.add(redoButton);
         buttonPanel.add(clearButton);
@@ -144,9 +165,22 @@ public class MainPanel {
         this.editorAction(searchBox, redoButton, undoButton, editor);
         // 编辑器监听
         this.listener(editor, undoButton, redoButton, clearButton, parentDisposable);
+        if (Objects.nonNull(editor.getProject())) {
+            this.schemaMarkers = new SchemaMarkers(editor, editor.getProject(), parentDisposable);
+        }
         return searchPanel;
     }
 
+    /**
+     * 大文档模式开关（显示指示并停止自动识别）
+     *
+     * @param large 是否开启
+     */
+    public void setLargeDocument(final boolean large) {
+        this.largeDocument = large;
+        this.largeDocumentIndicator.setVisible(large);
+    }
+
     /**
      * 创建搜索框
      *
@@ -243,21 +277,8 @@ public class MainPanel {
      * @param redoButton 重做按钮
      */
     private void updateButtons(final JButton undoButton, final JButton redoButton) {
-        undoButton.setEnabled(!this.undoStack.isEmpty());
-        redoButton.setEnabled(!this.redoStack.isEmpty());
-    }
-
-    /**
-     * 有界压入历史堆栈（超出上限时淘汰最旧记录）
-     *
-     * @param stack 目标堆栈
-     * @param text  文本
-     */
-    private void pushHistory(final Deque<String> stack, final String text) {
-        while (stack.size() >= MAX_HISTORY_SIZE) {
-            stack.removeLast();
-        }
-        stack.push(text);
+        undoButton.setEnabled(this.history.canUndo());
+        redoButton.setEnabled(this.history.canRedo());
     }
 
     /**
@@ -268,11 +289,9 @@ public class MainPanel {
      * @param editor     当前编辑
      */
     private void redoLastSearch(final JButton redoButton, final JButton undoButton, final EditorTextField editor) {
-        if (Objects.isNull(editor) || this.redoStack.isEmpty()) return;
-        // 储存撤销历史
-        this.pushHistory(this.undoStack, editor.getDocument().getText());
-        // 将重做历史写回编辑器
-        editor.setText(this.redoStack.pop());
+        if (Objects.isNull(editor) || !this.history.canRedo()) return;
+        // 储存撤销历史并将重做历史写回编辑器
+        editor.setText(this.history.redo(editor.getDocument().getText()));
         // 更新按钮可用状态
         this.updateButtons(undoButton, redoButton);
     }
@@ -285,14 +304,12 @@ public class MainPanel {
      * @param editor     当前编辑
      */
     private void undoLastSearch(final JButton redoButton, final JButton undoButton, final EditorTextField editor) {
-        if (Objects.isNull(editor) || this.undoStack.isEmpty()) {
+        if (Objects.isNull(editor) || !this.history.canUndo()) {
             this.originalJson.set("");
             return;
         }
-        // 储存重做历史
-        this.pushHistory(this.redoStack, editor.getDocument().getText());
-        // 将撤消历史写回编辑器
-        editor.setText(this.undoStack.pop());
+        // 储存重做历史并将撤消历史写回编辑器
+        editor.setText(this.history.undo(editor.getDocument().getText()));
         // 更新按钮可用状态
         this.updateButtons(undoButton, redoButton);
     }
@@ -305,11 +322,11 @@ public class MainPanel {
     private void clearContent(final JButton redoButton, final JButton undoButton, final EditorTextField editor) {
         if (Objects.isNull(editor)) return;
         // 储存撤消历史
-        this.pushHistory(this.undoStack, editor.getDocument().getText());
+        this.history.record(editor.getDocument().getText());
         // 清空原始记录
         this.originalJson.set("");
         // 清空重做历史
-        this.redoStack.clear();
+        this.history.clearRedo();
         // 清空编辑器
         editor.setText("");
         // 更新按钮可用状态
@@ -337,7 +354,7 @@ public class MainPanel {
                     if (!snapshot.equals(document.getText())) {
                         return;
                     }
-                    this.pushHistory(this.undoStack, snapshot);
+                    this.history.record(snapshot);
                     editor.setText(result);
                     this.updateButtons(undoButton, redoButton);
                 }))
@@ -374,10 +391,14 @@ public class MainPanel {
         group.addSeparator();
         // 差异对比菜单
         this.addDiffAction(group, editor);
+        // 结构化差异菜单
+        this.addStructuralDiffAction(group, editor);
         // 转为任何
         this.addJsonToAnyAction(group, editor);
         // 添加打开文件菜单
         this.addOpenFileAction(group, editor);
+        // JSON Schema 校验菜单
+        this.addSchemaActions(group, editor);
         // 分隔符
         group.addSeparator();
         // 其他可适配的菜单
@@ -460,12 +481,10 @@ public class MainPanel {
             this.autoDetectQueue = new MergingUpdateQueue(
                     "JsonHelper.AutoDetect", AUTO_DETECT_DEBOUNCE_MS, Boolean.TRUE, null, parentDisposable, null, Alarm.ThreadToUse.POOLED_THREAD
             );
-            EditorFactory.getInstance().getEventMulticaster().addDocumentListener(new DocumentListener() {
+            // 监听直接挂在页签自身的文档上，IDE 中其他文档的变更不会经过这里
+            editor.getDocument().addDocumentListener(new DocumentListener() {
                 @Override
                 public void documentChanged(final @NotNull DocumentEvent e) {
-                    if (e.getDocument() != editor.getDocument()) {
-                        return;
-                    }
                     // 获取新旧片段并预处理
                     final CharSequence oldText = e.getOldFragment();
                     final CharSequence newText = e.getNewFragment();
@@ -473,20 +492,25 @@ public class MainPanel {
                     if (CharSequence.compare(oldText, newText) == 0) {
                         return;
                     }
-                    // 忽略纯空白差异
-                    if (StrUtil.emptyIfNull(oldText).strip().equals(StrUtil.emptyIfNull(newText).strip())) {
+                    // 忽略纯空白差异（原地比较，不复制片段）
+                    if (strippedEquals(oldText, newText)) {
                         return;
                     }
-                    // 文档内容
-                    final String text = StrUtil.emptyIfNull(e.getDocument().getText());
-                    // 根据文档内容调整清空按钮的状态
-                    clearButton.setEnabled(!StrUtil.isEmpty(text));
-                    if (MainPanel.this.autoDetectApplying.get()) {
+                    // 根据文档长度调整清空按钮的状态（不复制文档内容）
+                    clearButton.setEnabled(e.getDocument().getTextLength() > 0);
+                    // 大文档不做自动识别（识别需要整篇扫描与解析）
+                    if (MainPanel.this.autoDetectApplying.get() || MainPanel.this.largeDocument) {
                         return;
                     }
                     // 防抖调度：自动识别路径类型（Web或本地路径）、Jwt、Any并将其转换为格式化JSON，回写到编辑器
-                    // identity 固定为编辑器实例，连续输入事件互相合并，仅执行最后一次
-                    MainPanel.this.autoDetectQueue.queue(Update.create(editor, () -> MainPanel.this.optPath(text, editor)));
+                    // identity 固定为编辑器实例，连续输入事件互相合并，仅执行最后一次；文档快照在停顿后于后台只取一次
+                    final Document document = e.getDocument();
+                    MainPanel.this.autoDetectQueue.queue(Update.create(editor, () -> {
+                        // 防抖期间可能已切换为大文档模式
+                        if (!MainPanel.this.largeDocument) {
+                            MainPanel.this.optPath(document.getImmutableCharSequence().toString(), editor);
+                        }
+                    }));
                 }
             }, parentDisposable);
         }
@@ -499,6 +523,33 @@ public class MainPanel {
         });
     }
 
+    /**
+     * 去除首尾空白后是否相同（原地比较，不创建子串）
+     *
+     * @param first  第一个片段
+     * @param second 第二个片段
+     * @return boolean
+     */
+    private static boolean strippedEquals(final CharSequence first, final CharSequence second) {
+        int firstStart = 0;
+        int firstEnd = first.length();
+        int secondStart = 0;
+        int secondEnd = second.length();
+        while (firstStart < firstEnd && Character.isWhitespace(first.charAt(firstStart))) firstStart++;
+        while (firstEnd > firstStart && Character.isWhitespace(first.charAt(firstEnd - 1))) firstEnd--;
+        while (secondStart < secondEnd && Character.isWhitespace(second.charAt(secondStart))) secondStart++;
+        while (secondEnd > secondStart && Character.isWhitespace(second.charAt(secondEnd - 1))) secondEnd--;
+        if (firstEnd - firstStart != secondEnd - secondStart) {
+            return Boolean.FALSE;
+        }
+        for (int offset = 0; offset < firstEnd - firstStart; offset++) {
+            if (first.charAt(firstStart + offset) != second.charAt(secondStart + offset)) {
+                return Boolean.FALSE;
+            }
+        }
+        return Boolean.TRUE;
+    }
+
     /**
      * 编辑器动作
      *
@@ -548,7 +599,17 @@ public class MainPanel {
      */
     private void optPath(final String text, final EditorTextField editor) {
         final long sequence = this.autoDetectSequence.incrementAndGet();
-        CompletableFuture.supplyAsync(() -> {
+        // 网络内容异步获取（等待响应期间不占用线程），其余识别在后台线程执行
+        PathParser.convertWebAsync(text).thenApplyAsync(webResult -> {
+                    if (JSON.isValid(webResult)) {
+                        return webResult;
+                    }
+                    // 大文件不读入编辑器，映射后分页查看
+                    final Path largeFile = PathParser.largeLocalFile(text);
+                    if (Objects.nonNull(largeFile)) {
+                        this.openLargeFile(largeFile, editor, sequence);
+                        return null;
+                    }
                     final String result = this.resolveJson(text);
                     // JSON 合法性校验放后台线程，避免大文本校验阻塞 EDT
                     return JSON.isValid(result) ? result : null;
@@ -570,8 +631,31 @@ public class MainPanel {
                 }));
     }
 
+    /**
+     * 映射大文件并流式校验，完成后打开只读分页查看对话框（由调用方保证在后台线程执行）
+     *
+     * @param path     文件路径
+     * @param editor   编辑器
+     * @param sequence 自动识别任务序号
+     */
+    private void openLargeFile(final Path path, final EditorTextField editor, final long sequence) {
+        try {
+            final MappedJsonFile file = MappedJsonFile.open(path);
+            final boolean valid = file.validate();
+            ApplicationManager.getApplication().invokeLater(() -> {
+                // 校验期间内容已变化则不再弹出
+                if (sequence == this.autoDetectSequence.get()) {
+                    new LargeJsonViewerDialog(editor.getProject(), file, valid).show();
+                }
+            });
+        } catch (final IOException e) {
+            Notifier.notifyError(BUNDLE.getString("file.to.path.warn"), editor.getProject());
+        }
+    }
+
     private String resolveJson(final String text) {
-        final String pathResult = PathParser.convert(text);
+        // 网络路径已由 convertWebAsync 获取
+        final String pathResult = PathParser.isWebPath(text) ? "" : PathParser.convert(text);
         if (JSON.isValid(pathResult)) {
             return pathResult;
         }
@@ -579,7 +663,17 @@ public class MainPanel {
         if (JSON.isValid(jwtResult)) {
             return jwtResult;
         }
-        return AnyParser.convert(text);
+        // 已是 JSON（含批量解码结果本身）时不再提取其中的令牌
+        if (JSON.isValid(text)) {
+            return "";
+        }
+        // 含多个令牌的文本（如日志片段）批量解码
+        final String batchResult = JwtParser.convertAll(text, 2);
+        if (JSON.isValid(batchResult)) {
+            return batchResult;
+        }
+        final String anyResult = AnyParser.convert(text);
+        return JSON.isValid(anyResult) ? anyResult : JwtParser.convertAll(text, 1);
     }
 
     /**
@@ -603,7 +697,7 @@ public class MainPanel {
                         return;
                     }
                     WriteCommandAction.runWriteCommandAction(editor.getProject(), () -> {
-                        this.pushHistory(this.undoStack, snapshot);
+                        this.history.record(snapshot);
                         document.setText(result);
                         this.updateButtons(undoButton, redoButton);
                     });
@@ -638,6 +732,79 @@ public class MainPanel {
         });
     }
 
+    /**
+     * 添加 JSON Schema 校验操作（已启用时追加清除）
+     *
+     * @param group  默认操作组
+     * @param editor 编辑器
+     */
+    private void addSchemaActions(final DefaultActionGroup group, final EditorTextField editor) {
+        if (Objects.isNull(this.schemaMarkers)) return;
+        group.add(new AnAction(
+                BUNDLE.getString("menu.schema.validate"),
+                BUNDLE.getString("menu.schema.validate.desc"),
+                AllIcons.Actions.Checked
+        ) {
+            @Override
+            public @NotNull ActionUpdateThread getActionUpdateThread() {
+                return ActionUpdateThread.BGT;
+            }
+
+            @Override
+            public void actionPerformed(@NotNull final AnActionEvent e) {
+                MainPanel.this.chooseSchema(editor);
+            }
+        });
+        if (!this.schemaMarkers.isEnabled()) return;
+        group.add(new AnAction(
+                BUNDLE.getString("menu.schema.clear"),
+                BUNDLE.getString("menu.schema.clear.desc"),
+                AllIcons.Actions.Cancel
+        ) {
+            @Override
+            public @NotNull ActionUpdateThread getActionUpdateThread() {
+                return ActionUpdateThread.BGT;
+            }
+
+            @Override
+            public void actionPerformed(@NotNull final AnActionEvent e) {
+                MainPanel.this.schemaMarkers.setValidator(null);
+            }
+        });
+    }
+
+    /**
+     * 选择 Schema 文件，后台读取并编译（同一 Schema 复用已编译的校验器）后启用校验
+     *
+     * @param editor 编辑器
+     */
+    private void chooseSchema(final EditorTextField editor) {
+        FileChooser.chooseFile(
+                FileChooserDescriptorFactory
+                        .createSingleFileDescriptor(editor.getFileType())
+                        .withFileFilter(virtualFile -> JSON_EXTENSION.equalsIgnoreCase(virtualFile.getExtension())),
+                editor.getProject(), null, virtualFile -> {
+                    if (Objects.isNull(virtualFile)) return;
+                    CompletableFuture
+                            .supplyAsync(() -> {
+                                try {
+                                    return SchemaValidator.of(new String(virtualFile.contentsToByteArray(), StandardCharsets.UTF_8));
+                                } catch (final IOException e) {
+                                    throw new IllegalArgumentException(BUNDLE.getString("file.to.path.warn"), e);
+                                }
+                            }, AppExecutorUtil.getAppExecutorService())
+                            .thenAccept(validator -> {
+                                this.schemaMarkers.setValidator(validator);
+                                Notifier.notifyInfo("%s%s".formatted(BUNDLE.getString("schema.load.success"), virtualFile.getPath()), editor.getProject());
+                            })
+                            .exceptionally(error -> {
+                                final Throwable cause = Objects.nonNull(error.getCause()) ? error.getCause() : error;
+                                Notifier.notifyError("%s%s".formatted(BUNDLE.getString("schema.load.failed"), cause.getMessage()), editor.getProject());
+                                return null;
+                            });
+                });
+    }
+
     /**
      * 添加差异操作
      *
@@ -662,6 +829,34 @@ public class MainPanel {
         });
     }
 
+    /**
+     * 添加结构化差异操作
+     *
+     * @param group  组
+     * @param editor 编辑
+     */
+    private void addStructuralDiffAction(final DefaultActionGroup group, final EditorTextField editor) {
+        group.add(new AnAction(
+                BUNDLE.getString("menu.structural.diff"),
+                BUNDLE.getString("menu.structural.diff.desc"),
+                AllIcons.Actions.ListChanges
+        ) {
+            @Override
+            public @NotNull ActionUpdateThread getActionUpdateThread() {
+                return ActionUpdateThread.BGT;
+            }
+
+            @Override
+            public void actionPerformed(@NotNull final AnActionEvent e) {
+                if (Objects.isNull(editor) || Objects.isNull(editor.getProject())) return;
+                // 文本快照在动作触发时取得，比较在对话框的后台任务中进行
+                final String current = editor.getDocument().getText();
+                final String clipboard = Clipboard.get();
+                ApplicationManager.getApplication().invokeLater(() -> new JsonDiffDialog(editor.getProject(), current, clipboard).show());
+            }
+        });
+    }
+
     /**
      * 处理文件打开操作
      *
@@ -691,8 +886,7 @@ public class MainPanel {
                                 WriteCommandAction.runWriteCommandAction(editor.getProject(), () -> {
                                     editor.getDocument().setText(result);
                                     this.originalJson.set(result);
-                                    this.undoStack.clear();
-                                    this.redoStack.clear();
+                                    this.history.clear();
                                 });
                                 Notifier.notifyInfo("%s%s".formatted(BUNDLE.getString("file.load.success"), virtualFile.getPath()), editor.getProject());
                             }))
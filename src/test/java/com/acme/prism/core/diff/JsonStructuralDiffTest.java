@@ -0,0 +1,92 @@
+package com.acme.prism.core.diff;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JSON 结构化差异单元测试
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+class JsonStructuralDiffTest {
+    private final JsonStructuralDiff diff = new JsonStructuralDiff("id");
+
+    @Test
+    @DisplayName("正常：键顺序、空白与数值写法不同视为相同")
+    void ignoresFormatting() {
+        assertAll(
+                () -> assertEquals(List.of(), this.diff.diff("{\"a\": 1, \"b\": [1.0, \"x\"]}", "{\"b\":[1,\"\\u0078\"],\"a\":1e0}")),
+                () -> assertEquals(List.of(), this.diff.diff("[10, true, false, null]", "[1e1, true, false, null]"))
+        );
+    }
+
+    @Test
+    @DisplayName("正常：对象的新增、删除、修改输出路径与值区间")
+    void reportsObjectChanges() {
+        final String left = "{\"name\": \"a\", \"old\": 1, \"nested\": {\"x\": [1, 2]}, \"a b\": 0}";
+        final String right = "{\"name\": \"b\", \"nested\": {\"x\": [1, 3]}, \"new\": true, \"a b\": 1}";
+        final List<JsonStructuralDiff.Change> changes = this.diff.diff(left, right);
+        assertAll(
+                () -> assertEquals(List.of("$.name", "$.old", "$.nested.x[1]", "$['a b']", "$.new"),
+                        changes.stream().map(JsonStructuralDiff.Change::path).toList()),
+                () -> assertEquals(List.of(JsonStructuralDiff.ChangeType.CHANGED, JsonStructuralDiff.ChangeType.REMOVED,
+                                JsonStructuralDiff.ChangeType.CHANGED, JsonStructuralDiff.ChangeType.CHANGED, JsonStructuralDiff.ChangeType.ADDED),
+                        changes.stream().map(JsonStructuralDiff.Change::type).toList()),
+                () -> assertEquals("2", left.substring(changes.get(2).oldStart(), changes.get(2).oldEnd())),
+                () -> assertEquals("3", right.substring(changes.get(2).newStart(), changes.get(2).newEnd())),
+                () -> assertEquals(-1, changes.get(1).newStart()),
+                () -> assertEquals(-1, changes.get(4).oldStart())
+        );
+    }
+
+    @Test
+    @DisplayName("正常：数组元素按匹配键配对，重排不产生差异")
+    void matchesArrayElementsByKey() {
+        final String left = "[{\"id\": 1, \"v\": \"a\"}, {\"id\": 2, \"v\": \"b\"}, {\"id\": 3, \"v\": \"c\"}]";
+        final String right = "[{\"id\": 3, \"v\": \"c\"}, {\"id\": 1, \"v\": \"A\"}, {\"id\": 4, \"v\": \"d\"}]";
+        final List<String> paths = this.diff.diff(left, right).stream()
+                .map(change -> change.type() + " " + change.path()).toList();
+        assertEquals(List.of("CHANGED $[1].v", "REMOVED $[1]", "ADDED $[2]"), paths);
+    }
+
+    @Test
+    @DisplayName("正常：无匹配键时插入元素只报告新增")
+    void alignsInsertedElements() {
+        final JsonStructuralDiff plain = new JsonStructuralDiff(null);
+        assertAll(
+                () -> assertEquals(List.of("ADDED $[1]"), plain.diff("[1, 2, 3, 4]", "[1, 9, 2, 3, 4]").stream()
+                        .map(change -> change.type() + " " + change.path()).toList()),
+                () -> assertEquals(List.of("CHANGED $[1]"), plain.diff("[1, 2, 3]", "[1, 5, 3]").stream()
+                        .map(change -> change.type() + " " + change.path()).toList()),
+                () -> assertEquals(List.of("CHANGED $"), plain.diff("[1]", "{\"a\": 1}").stream()
+                        .map(change -> change.type() + " " + change.path()).toList())
+        );
+    }
+
+    @Test
+    @DisplayName("边界：大文档中只下钻到变化的分支，接收方可中止")
+    void handlesLargeDocumentsAndStops() {
+        final StringBuilder left = new StringBuilder("[");
+        final StringBuilder right = new StringBuilder("[");
+        for (int index = 0; index < 20_000; index++) {
+            final String item = "{\"id\": %d, \"payload\": \"%s\"}".formatted(index, "x".repeat(JsonStructuralDiff.HASH_CACHE_MIN_LENGTH));
+            left.append(index == 0 ? "" : ",").append(item);
+            right.append(index == 0 ? "" : ",").append(index % 5_000 == 7 ? item.replace("\"x", "\"y") : item);
+        }
+        final String oldText = left.append(']').toString();
+        final String newText = right.append(']').toString();
+        final List<JsonStructuralDiff.Change> first = new ArrayList<>();
+        assertAll(
+                () -> assertEquals(4, this.diff.diff(oldText, newText).size()),
+                () -> assertFalse(this.diff.diff(oldText, newText, change -> first.add(change) && first.size() < 2)),
+                () -> assertEquals(List.of("$[7].payload", "$[5007].payload"), first.stream().map(JsonStructuralDiff.Change::path).toList()),
+                () -> assertThrows(IllegalArgumentException.class, () -> this.diff.diff("{", "{}"))
+        );
+    }
+}
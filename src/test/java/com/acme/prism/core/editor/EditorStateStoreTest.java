@@ -0,0 +1,64 @@
+package com.acme.prism.core.editor;
+
+import com.acme.prism.core.editor.record.EditorState;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 页签内容存储单元测试
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+class EditorStateStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("正常：保存后读取头部并按需解压，内容与顺序一致")
+    void roundTripsTabs() throws Exception {
+        final EditorStateStore store = new EditorStateStore(this.directory.resolve("tabs").resolve("p.bin"), 1 << 20);
+        final String large = "{\"k\":\"中文\"},".repeat(10_000);
+        store.save(List.of(new EditorState(2, "{\"a\":1}"), new EditorState(5, large), new EditorState(7, "")));
+        final List<EditorStateStore.Entry> entries = store.load();
+        assertAll(
+                () -> assertEquals(List.of(2, 5, 7), entries.stream().map(EditorStateStore.Entry::editorId).toList(), "页签顺序应一致"),
+                () -> assertEquals("{\"a\":1}", store.read(entries.get(0)), "小页签内容应一致"),
+                () -> assertEquals(large, store.read(entries.get(1)), "大页签内容应一致"),
+                () -> assertTrue(entries.get(1).storedLength() < entries.get(1).length() / 10, "重复内容应被压缩"),
+                () -> assertEquals("", store.read(entries.get(2)), "空页签"),
+                () -> assertTrue(new EditorStateStore(this.directory.resolve("missing.bin"), 1).load().isEmpty(), "文件不存在时为空")
+        );
+    }
+
+    @Test
+    @DisplayName("增量：未加载页签沿用旧数据，超出预算的页签只保留页签号")
+    void keepsUnloadedAndOmitsOversized() throws Exception {
+        final Path file = this.directory.resolve("p.bin");
+        final EditorStateStore store = new EditorStateStore(file, 1024);
+        final byte[] noise = new byte[4096];
+        new Random(1).nextBytes(noise);
+        store.save(List.of(new EditorState(1, "keep me"), new EditorState(2, "old")));
+        store.save(List.of(new EditorState(1, null), new EditorState(2, "new"), new EditorState(3, new String(noise, StandardCharsets.ISO_8859_1)),
+                new EditorState(4, null)));
+        final List<EditorStateStore.Entry> entries = store.load();
+        assertAll(
+                () -> assertEquals(List.of(1, 2, 3), entries.stream().map(EditorStateStore.Entry::editorId).toList(), "无旧数据的未加载页签应丢弃"),
+                () -> assertEquals("keep me", store.read(entries.get(0)), "未加载页签应沿用旧数据"),
+                () -> assertEquals("new", store.read(entries.get(1)), "已加载页签应写入新内容"),
+                () -> assertTrue(entries.get(2).omitted(), "超出预算的页签应标记未保存"),
+                () -> assertEquals("", store.read(entries.get(2)), "未保存的页签内容为空"),
+                () -> assertFalse(Files.exists(file.resolveSibling("p.bin.tmp")), "临时文件应被替换")
+        );
+    }
+}
@@ -0,0 +1,50 @@
+package com.acme.prism.core.editor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 大文档模式判定单元测试
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+class LargeDocumentPolicyTest {
+    private final LargeDocumentPolicy policy = new LargeDocumentPolicy(1000, 100);
+
+    @Test
+    @DisplayName("正常：字符数或行数任一超过阈值即进入大文档模式")
+    void entersAboveEitherThreshold() {
+        assertAll(
+                () -> assertFalse(this.policy.isLarge(Boolean.FALSE, 1000, 100)),
+                () -> assertTrue(this.policy.isLarge(Boolean.FALSE, 1001, 1)),
+                () -> assertTrue(this.policy.isLarge(Boolean.FALSE, 10, 101)),
+                () -> assertTrue(this.policy.exceeds(1001, 0)),
+                () -> assertFalse(this.policy.exceeds(0, 0))
+        );
+    }
+
+    @Test
+    @DisplayName("边界：回落到阈值以下但未低于退出百分比时保持大文档模式")
+    void staysLargeUntilBelowExitPercent() {
+        assertAll(
+                () -> assertTrue(this.policy.isLarge(Boolean.TRUE, 900, 10)),
+                () -> assertTrue(this.policy.isLarge(Boolean.TRUE, 10, 90)),
+                () -> assertTrue(this.policy.isLarge(Boolean.TRUE, 801, 80)),
+                () -> assertFalse(this.policy.isLarge(Boolean.TRUE, 800, 80)),
+                () -> assertFalse(this.policy.isLarge(Boolean.TRUE, 0, 0))
+        );
+    }
+
+    @Test
+    @DisplayName("边界：超大阈值计算不溢出")
+    void handlesLargeThresholds() {
+        final LargeDocumentPolicy wide = new LargeDocumentPolicy(Long.MAX_VALUE / 200, Integer.MAX_VALUE);
+        assertAll(
+                () -> assertTrue(wide.isLarge(Boolean.TRUE, Long.MAX_VALUE / 200, 0)),
+                () -> assertFalse(wide.isLarge(Boolean.TRUE, 0, Integer.MAX_VALUE / 2))
+        );
+    }
+}
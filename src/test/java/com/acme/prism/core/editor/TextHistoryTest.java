@@ -0,0 +1,99 @@
+package com.acme.prism.core.editor;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 文本撤销/重做历史单元测试
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+class TextHistoryTest {
+
+    @Test
+    @DisplayName("正常：多次撤销与重做按顺序还原各版本")
+    void undoesAndRedoesInOrder() {
+        final TextHistory history = new TextHistory(Long.MAX_VALUE, null);
+        final List<String> versions = List.of("{\"a\":1}", "{\"a\":1,\"b\":2}", "{\"b\":2}", "", "[1,2,3]");
+        for (int index = 0; index < versions.size() - 1; index++) {
+            history.record(versions.get(index));
+        }
+        final List<String> undone = new ArrayList<>();
+        String current = versions.getLast();
+        while (history.canUndo()) {
+            current = history.undo(current);
+            undone.add(current);
+        }
+        final List<String> redone = new ArrayList<>();
+        while (history.canRedo()) {
+            current = history.redo(current);
+            redone.add(current);
+        }
+        assertAll(
+                () -> assertEquals(versions.subList(0, versions.size() - 1).reversed(), undone, "撤销应逐个还原旧版本"),
+                () -> assertEquals(versions.subList(1, versions.size()), redone, "重做应逐个还原新版本"),
+                () -> assertNull(history.redo("x"), "无可重做记录应返回 null")
+        );
+    }
+
+    @Test
+    @DisplayName("增量：相似版本只存差异")
+    void storesPatches() {
+        final String base = json();
+        final TextHistory history = new TextHistory(Long.MAX_VALUE, null);
+        for (int index = 0; index < 10; index++) {
+            history.record(base.replace("\"key" + index + "\"", "\"KEY\""));
+        }
+        assertTrue(history.usedBytes() < (long) base.length() * Character.BYTES * 2, "十个相似版本的占用应少于两份完整副本");
+    }
+
+    @Test
+    @DisplayName("压缩：后台压缩较旧的大补丁后仍可逐个还原")
+    void compressesColdEntries() {
+        final String base = json();
+        final TextHistory plain = new TextHistory(Long.MAX_VALUE, null);
+        final TextHistory packed = new TextHistory(Long.MAX_VALUE, Runnable::run);
+        final List<String> versions = new ArrayList<>();
+        for (int index = 0; index < 10; index++) {
+            final String version = index % 2 == 0 ? base + index : base.toUpperCase() + index;
+            versions.add(version);
+            plain.record(version);
+            packed.record(version);
+        }
+        final long plainBytes = plain.usedBytes();
+        final long packedBytes = packed.usedBytes();
+        String current = "";
+        for (int index = versions.size() - 1; index >= 0; index--) {
+            current = packed.undo(current);
+            assertEquals(versions.get(index), current, "压缩后的记录应还原为原文");
+        }
+        assertTrue(packedBytes < plainBytes, "压缩后占用应减少");
+    }
+
+    @Test
+    @DisplayName("预算：超出字节预算时淘汰最旧的撤销记录")
+    void evictsOldestWhenOverBudget() {
+        final TextHistory history = new TextHistory(100, null);
+        history.record("a".repeat(30));
+        history.record("b".repeat(30));
+        history.record("c".repeat(30));
+        final String latest = history.undo("d");
+        assertAll(
+                () -> assertEquals("c".repeat(30), latest, "最新记录应保留"),
+                () -> assertTrue(history.usedBytes() <= 100, "占用不应超出预算"),
+                () -> assertFalse(history.canUndo(), "最旧记录应被淘汰")
+        );
+    }
+
+    private static String json() {
+        return IntStream.range(0, 2000).mapToObj(index -> "\"key%d\":%d".formatted(index, index)).collect(Collectors.joining(",", "{", "}"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.acme.prism.core.json;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 流式 JSON 美化写入器单元测试
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+class JsonPrettyWriterTest {
+
+    private final JsonFormatter formatter = new JsonFormatter();
+
+    @Test
+    @DisplayName("正常：输出与 JsonFormatter 序列化嵌套结构的版式一致")
+    void matchesFormatterLayout() {
+        final Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("street", "Main \"St\"");
+        nested.put("tags", List.of());
+        final Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("id", 7L);
+        expected.put("name", "a\\b\n");
+        expected.put("flag", Boolean.TRUE);
+        expected.put("ratio", 1.5D);
+        expected.put("codes", new int[]{3});
+        expected.put("raw", new byte[]{5});
+        expected.put("address", nested);
+        expected.put("items", List.of(Map.of("k", 'c')));
+        expected.put("empty", Map.of());
+        final JsonPrettyWriter writer = new JsonPrettyWriter().beginObject()
+                .name("id").value(7L)
+                .name("name").value("a\\b\n")
+                .name("flag").value(Boolean.TRUE)
+                .name("ratio").value(1.5D)
+                .name("codes").inlineArray(3)
+                .name("raw").value(new byte[]{5})
+                .name("address").beginObject()
+                .name("street").value("Main \"St\"")
+                .name("tags").beginArray().endArray()
+                .endObject()
+                .name("items").beginArray().beginObject().name("k").value('c').endObject().endArray()
+                .name("empty").beginObject().endObject()
+                .endObject();
+        assertEquals(this.formatter.process(expected), writer.toString(), "写出结果应与 fastjson2 格式化一致");
+    }
+
+    @Test
+    @DisplayName("回滚：撤销已写出的键后继续写出，分隔符正确")
+    void resetsToMark() {
+        final JsonPrettyWriter writer = new JsonPrettyWriter().beginObject().name("a").value(1);
+        final JsonPrettyWriter.Mark mark = writer.mark();
+        writer.name("dropped");
+        writer.reset(mark);
+        writer.name("b").value(2).endObject();
+        assertAll(
+                () -> assertEquals("{\n\t\"a\":1,\n\t\"b\":2\n}", writer.toString(), "回滚后不应残留键与逗号"),
+                () -> assertThrows(IllegalStateException.class,
+                        () -> new JsonPrettyWriter().reset(mark), "层级不一致时应拒绝回滚")
+        );
+    }
+
+    @Test
+    @DisplayName("片段：拼接到更深或更浅层级时按缩进差调整")
+    void splicesFragmentAtOtherDepth() {
+        final JsonPrettyWriter source = new JsonPrettyWriter().beginObject().name("outer").beginObject()
+                .name("x").value(1).name("list").beginArray().value("y").endArray().endObject();
+        final JsonPrettyWriter.Fragment fragment = source.closed();
+        final JsonPrettyWriter deeper = new JsonPrettyWriter().beginArray().beginArray().splice(fragment).endArray().endArray();
+        final JsonPrettyWriter top = new JsonPrettyWriter().splice(fragment);
+        assertAll(
+                () -> assertEquals(1, fragment.depth(), "片段应记录开括号所在层级"),
+                () -> assertEquals(this.formatter.process("[[{\"x\":1,\"list\":[\"y\"]}]]"), deeper.toString(), "加深后缩进应一致"),
+                () -> assertEquals(this.formatter.process("{\"x\":1,\"list\":[\"y\"]}"), top.toString(), "提到顶层后缩进应一致")
+        );
+    }
+
+    @Test
+    @DisplayName("边界：空容器与顶层标量")
+    void writesEmptyContainersAndScalars() {
+        assertAll(
+                () -> assertEquals("{}", new JsonPrettyWriter().beginObject().endObject().toString(), "空对象应单行"),
+                () -> assertEquals("[]", new JsonPrettyWriter().beginArray().endArray().toString(), "空数组应单行"),
+                () -> assertEquals("null", new JsonPrettyWriter().value(null).toString(), "顶层 null"),
+                () -> assertEquals("\"\\u0001\"", new JsonPrettyWriter().value("\u0001").toString(), "控制字符应转义")
+        );
+    }
+}
@@ -0,0 +1,104 @@
+package com.acme.prism.core.parser;
+
+import com.acme.prism.core.settings.PluginSettings;
+import com.alibaba.fastjson2.JSON;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.command.WriteCommandAction;
+import com.intellij.openapi.editor.Document;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.psi.PsiClass;
+import com.intellij.psi.PsiDocumentManager;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+
+import java.util.Objects;
+
+/**
+ * 类 JSON 缓存 PSI 测试（Light fixture）
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public class ClassJsonCacheServiceTest extends LightJavaCodeInsightFixtureTestCase {
+    /**
+     * 测试前的示例值设置
+     */
+    private boolean fixedSampleValues;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        // 仅固定示例值的结果参与缓存
+        this.fixedSampleValues = PluginSettings.of().fixedSampleValues;
+        PluginSettings.of().fixedSampleValues = Boolean.TRUE;
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        try {
+            PluginSettings.of().fixedSampleValues = this.fixedSampleValues;
+        } finally {
+            super.tearDown();
+        }
+    }
+
+    /**
+     * 依赖未变化时直接返回缓存结果
+     */
+    public void testReusesUnchangedResult() {
+        this.myFixture.addClass("public class Leaf { }");
+        final PsiClass root = this.myFixture.addClass("public class Root { Leaf leaf; }");
+        assertSame(this.jsonOf(root), this.jsonOf(root));
+    }
+
+    /**
+     * 传递依赖的文件变更后重新生成
+     */
+    public void testInvalidatesOnDependencyChange() {
+        final PsiClass leaf = this.myFixture.addClass("public class Leaf { }");
+        this.myFixture.addClass("public class Mid { Leaf leaf; }");
+        final PsiClass top = this.myFixture.addClass("public class Top { Mid mid; }");
+        assertEquals("{\"mid\":{\"leaf\":{}}}", compact(this.jsonOf(top)));
+        this.replaceText(leaf, "public class Leaf { Mid back; }");
+        assertEquals("{\"mid\":{\"leaf\":{\"back\":{}}}}", compact(this.jsonOf(top)));
+    }
+
+    /**
+     * 引用的类在生成时无法解析，之后新增该类时重新生成
+     */
+    public void testInvalidatesWhenUnresolvedClassAppears() {
+        final PsiClass holder = this.myFixture.addClass("public class Holder { Missing missing; }");
+        assertEquals("{}", compact(this.jsonOf(holder)));
+        this.myFixture.addClass("public class Missing { Holder holder; }");
+        assertEquals("{\"missing\":{\"holder\":{}}}", compact(this.jsonOf(holder)));
+    }
+
+    /**
+     * 在后台线程经缓存服务生成
+     *
+     * @param psiClass 类
+     * @return JSON
+     */
+    private String jsonOf(final PsiClass psiClass) {
+        return PlatformTestUtil.waitForFuture(ApplicationManager.getApplication().executeOnPooledThread(() ->
+                ClassJsonCacheService.getInstance(this.getProject()).jsonOf(psiClass, new EmptyProgressIndicator())
+        ), 10_000);
+    }
+
+    /**
+     * 替换类所在文件的文本并提交
+     *
+     * @param psiClass 类
+     * @param text     新文本
+     */
+    private void replaceText(final PsiClass psiClass, final String text) {
+        final PsiDocumentManager manager = PsiDocumentManager.getInstance(this.getProject());
+        final Document document = Objects.requireNonNull(manager.getDocument(psiClass.getContainingFile()));
+        WriteCommandAction.runWriteCommandAction(this.getProject(), () -> document.setText(text));
+        manager.commitAllDocuments();
+    }
+
+    private static String compact(final String json) {
+        return JSON.parse(json).toString();
+    }
+}
@@ -0,0 +1,159 @@
+package com.acme.prism.core.parser;
+
+import com.acme.prism.core.json.JsonPrettyWriter;
+import com.alibaba.fastjson2.JSON;
+import com.intellij.openapi.application.ApplicationManager;
+import com.intellij.openapi.progress.EmptyProgressIndicator;
+import com.intellij.openapi.progress.ProgressManager;
+import com.intellij.psi.PsiClass;
+import com.intellij.testFramework.PlatformTestUtil;
+import com.intellij.testFramework.fixtures.LightJavaCodeInsightFixtureTestCase;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 类 JSON 写入器 PSI 测试（Light fixture）
+ * <p>
+ * 使用固定示例值，断言时按紧凑 JSON 比较，与缩进无关
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+public class ClassJsonWriterTest extends LightJavaCodeInsightFixtureTestCase {
+
+    /**
+     * 自引用：再次进入路径上的类时写出空对象
+     */
+    public void testSelfReference() {
+        final PsiClass node = this.myFixture.addClass("""
+                import java.util.List;
+                public class Node { Node next; List<Node> children; }
+                """);
+        assertEquals("{\"next\":{},\"children\":[{}]}", this.write(node));
+    }
+
+    /**
+     * 互相引用：截断深度只取决于从哪个类进入环，与字段顺序、缓存命中无关
+     */
+    public void testMutualRecursionIsPathIndependent() {
+        this.myFixture.addClass("public class C { D d; }");
+        this.myFixture.addClass("public class D { C c; }");
+        // 可展开字段达到并行阈值，后台写出时走并行路径
+        final PsiClass forward = this.myFixture.addClass("public class R { C c; D d; C c2; D d2; }");
+        final PsiClass backward = this.myFixture.addClass("public class S { D d; C c; D d2; C c2; }");
+        final String c = "{\"d\":{\"c\":{}}}";
+        final String d = "{\"c\":{\"d\":{}}}";
+        assertEquals("{\"c\":" + c + ",\"d\":" + d + ",\"c2\":" + c + ",\"d2\":" + d + "}", this.write(forward));
+        assertEquals("{\"d\":" + d + ",\"c\":" + c + ",\"d2\":" + d + ",\"c2\":" + c + "}", this.write(backward));
+        // 并行路径：各字段子树共享缓存，结果与顺序遍历一致
+        assertEquals(this.write(forward), this.writeInBackground(forward));
+        assertEquals(this.write(backward), this.writeInBackground(backward));
+    }
+
+    /**
+     * 无环的公共子结构照常复用
+     */
+    public void testSharedAcyclicClass() {
+        this.myFixture.addClass("public class Leaf { }");
+        this.myFixture.addClass("public class Pair { Leaf left; Leaf right; }");
+        final PsiClass root = this.myFixture.addClass("public class Root { Pair a; Pair b; }");
+        final String pair = "{\"left\":{},\"right\":{}}";
+        assertEquals("{\"a\":" + pair + ",\"b\":" + pair + "}", this.write(root));
+    }
+
+    /**
+     * 泛型：集合取元素类型、Map 复杂键取紧凑 JSON、原始类型集合为空数组
+     */
+    public void testGenericContainers() {
+        this.myFixture.addClass("""
+                import java.util.List;
+                public class Item { List<Item> next; }
+                """);
+        final PsiClass holder = this.myFixture.addClass("""
+                import java.util.List;
+                import java.util.Map;
+                public class Holder {
+                    List<Item> items;
+                    List<List<Item>> nested;
+                    Map<Item, List<Item>> byItem;
+                    Item[] array;
+                    List raw;
+                }
+                """);
+        final String item = "{\"next\":[{}]}";
+        assertEquals("{\"items\":[" + item + "],\"nested\":[[" + item + "]],\"byItem\":{" + JSON.toJSONString(item) + ":[" + item + "]},"
+                + "\"array\":[" + item + "],\"raw\":[]}", this.write(holder));
+    }
+
+    /**
+     * 固定示例值：同一类中同类型的字段依次取不同的值，并行路径结果一致
+     */
+    public void testSameTypeFieldsGetDistinctFixedValues() {
+        this.myFixture.addClass("public class Leaf { int x; int y; }");
+        final PsiClass root = this.myFixture.addClass("""
+                import java.util.List;
+                public class Values { int a; Leaf l1; int b; Leaf l2; String c; Leaf l3; String d; List<Leaf> l4; }
+                """);
+        final String leaf = "{\"x\":1,\"y\":2}";
+        assertEquals("{\"a\":1,\"l1\":" + leaf + ",\"b\":2,\"l2\":" + leaf + ",\"c\":\"string\",\"l3\":" + leaf
+                + ",\"d\":\"string2\",\"l4\":[" + leaf + "]}", this.write(root));
+        assertEquals(this.write(root), this.writeInBackground(root));
+    }
+
+    /**
+     * 取消：在任务进度指示器下遍历中途取消时返回已写出的部分，并标记为截断
+     */
+    public void testReturnsPartialOutputOnCancel() {
+        this.myFixture.addClass("public class Deep3 { }");
+        this.myFixture.addClass("public class Deep2 { Deep3 next; }");
+        this.myFixture.addClass("public class Deep1 { Deep2 next; }");
+        final PsiClass root = this.myFixture.addClass("public class Deep0 { Deep1 next; }");
+        // 第三次检查（进入 Deep2）时取消
+        final EmptyProgressIndicator indicator = new EmptyProgressIndicator() {
+            private final AtomicInteger checks = new AtomicInteger();
+
+            @Override
+            public boolean isCanceled() {
+                if (this.checks.incrementAndGet() == 3) {
+                    this.cancel();
+                }
+                return super.isCanceled();
+            }
+        };
+        final ResolveContext context = new ResolveContext(indicator, SampleValues.FIXED);
+        final String json = PlatformTestUtil.waitForFuture(ApplicationManager.getApplication().executeOnPooledThread(() ->
+                ProgressManager.getInstance().runProcess(() -> ClassJsonWriter.write(root, context, indicator), indicator)
+        ), 10_000);
+        assertEquals("{\"next\":{\"next\":{}}}", compact(json));
+        assertTrue(context.truncated());
+    }
+
+    /**
+     * 在当前（EDT，持有读权限）线程顺序写出
+     *
+     * @param psiClass 类
+     * @return 紧凑 JSON
+     */
+    private String write(final PsiClass psiClass) {
+        final JsonPrettyWriter writer = new JsonPrettyWriter();
+        ClassJsonWriter.writeClass(psiClass, new ResolveContext(null, SampleValues.FIXED), writer);
+        return compact(writer.toString());
+    }
+
+    /**
+     * 在后台线程经 {@link ClassJsonWriter#write} 写出（根类字段达到阈值时按字段并行）
+     *
+     * @param psiClass 类
+     * @return 紧凑 JSON
+     */
+    private String writeInBackground(final PsiClass psiClass) {
+        final EmptyProgressIndicator indicator = new EmptyProgressIndicator();
+        return compact(PlatformTestUtil.waitForFuture(ApplicationManager.getApplication().executeOnPooledThread(() ->
+                ClassJsonWriter.write(psiClass, new ResolveContext(indicator, SampleValues.FIXED), indicator)
+        ), 10_000));
+    }
+
+    private static String compact(final String json) {
+        return JSON.parse(json).toString();
+    }
+}
@@ -0,0 +1,52 @@
+package com.acme.prism.core.parser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 依赖快照单元测试（类 JSON 缓存的失效判断）
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+class DependencyStampsTest {
+    private static final Map<String, Long> FILES = Map.of("Root.java", 3L, "Leaf.java", 7L);
+    private static final ToLongFunction<String> CURRENT = file -> FILES.getOrDefault(file, DependencyStamps.MISSING);
+
+    @Test
+    @DisplayName("正常：修改计数与依赖文件均未变化时保留")
+    void keepsUnchangedSnapshot() {
+        final DependencyStamps<String> tracked = new DependencyStamps<>(FILES, 1, DependencyStamps.UNTRACKED);
+        final DependencyStamps<String> untracked = new DependencyStamps<>(FILES, 1, 5);
+        assertAll(
+                () -> assertTrue(tracked.unchanged(1, 5, CURRENT)),
+                () -> assertTrue(tracked.unchanged(1, 6, CURRENT), "可按文件跟踪时不看 Java PSI 修改计数"),
+                () -> assertTrue(untracked.unchanged(1, 5, CURRENT))
+        );
+    }
+
+    @Test
+    @DisplayName("正常：修改计数变化时失效")
+    void evictsOnStampChange() {
+        assertAll(
+                () -> assertFalse(new DependencyStamps<>(FILES, 1, DependencyStamps.UNTRACKED).unchanged(2, 5, CURRENT)),
+                () -> assertFalse(new DependencyStamps<>(FILES, 1, 5).unchanged(1, 6, CURRENT), "含无法解析的类型时按 Java PSI 修改计数判断")
+        );
+    }
+
+    @Test
+    @DisplayName("正常：任一依赖文件修改或删除时失效")
+    void evictsOnFileChange() {
+        final DependencyStamps<String> stamps = new DependencyStamps<>(FILES, 1, DependencyStamps.UNTRACKED);
+        assertAll(
+                () -> assertFalse(stamps.unchanged(1, 5, file -> "Leaf.java".equals(file) ? 8 : CURRENT.applyAsLong(file))),
+                () -> assertFalse(stamps.unchanged(1, 5, file -> "Leaf.java".equals(file) ? DependencyStamps.MISSING : CURRENT.applyAsLong(file))),
+                () -> assertTrue(new DependencyStamps<>(Map.<String, Long>of(), 1, DependencyStamps.UNTRACKED).unchanged(1, 5, file -> DependencyStamps.MISSING))
+        );
+    }
+}
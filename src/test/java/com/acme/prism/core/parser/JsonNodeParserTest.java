@@ -3,6 +3,9 @@ package com.acme.prism.core.parser;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -108,4 +111,194 @@ class JsonNodeParserTest {
                 () -> assertEquals("{\"root\": \"not a json\"}", node.toString(), "toString() 应输出 key 与 JSON 字符串值")
         );
     }
+
+    @Test
+    @DisplayName("边界：严格校验失败时回退宽松解析，在规范化文本上建树并标记")
+    void fallsBackToLenientParsing() {
+        final JsonNodeParser.JsonNode quoted = JsonNodeParser.parse("root", "{'a':1,'b':null}");
+        final JsonNodeParser.JsonNode trailing = JsonNodeParser.parse("root", "[1,2,]");
+        assertAll(
+                () -> assertEquals("Object", quoted.type(), "单引号对象应按对象建树"),
+                () -> assertEquals(2, quoted.children().size(), "null 字段应保留"),
+                () -> assertEquals("1", quoted.children().getFirst().value(), "字段值应正确解析"),
+                () -> assertTrue(quoted.normalized(), "宽松解析结果应标记为规范化文本"),
+                () -> assertEquals("Array", trailing.type(), "尾逗号数组应按数组建树"),
+                () -> assertEquals(2, trailing.children().size(), "尾逗号不应产生额外元素"),
+                () -> assertFalse(JsonNodeParser.parse("root", "{\"a\":1}").normalized(), "合法 JSON 不应标记")
+        );
+    }
+
+    @Test
+    @DisplayName("正常：格式化文本中容器 value() 仍为紧凑 JSON，偏移指向原文区间")
+    void recordsOffsetsInPrettyText() {
+        final String text = "{\n  \"a\" : [ 1 , 2 ]\n}";
+        final JsonNodeParser.JsonNode nodeA = JsonNodeParser.parse("root", text).children().getFirst();
+        assertAll(
+                () -> assertEquals("[1,2]", nodeA.value(), "容器 value() 应为紧凑 JSON"),
+                () -> assertEquals("[ 1 , 2 ]", text.substring(nodeA.start(), nodeA.end()), "偏移应指向值在原文中的区间"),
+                () -> assertEquals(2, nodeA.children().size(), "数组子节点数应与元素数一致"),
+                () -> assertTrue(nodeA.container(), "数组应为容器节点")
+        );
+    }
+
+    @Test
+    @DisplayName("正常：子节点按需生成并缓存复用")
+    void loadsChildrenLazily() {
+        final JsonNodeParser.JsonNode root = JsonNodeParser.parse("root", "{\"a\":{},\"b\\u0041\":[]}");
+        assertAll(
+                () -> assertSame(root.children(), root.children(), "重复访问应复用同一子节点列表"),
+                () -> assertEquals("bA", root.children().get(1).key(), "含转义的键应被反转义"),
+                () -> assertTrue(root.children().get(0).emptyContainer(), "空对象应识别为空容器"),
+                () -> assertTrue(root.children().get(1).emptyContainer(), "空数组应识别为空容器"),
+                () -> assertFalse(root.emptyContainer(), "非空对象不应识别为空容器")
+        );
+    }
+
+    @Test
+    @DisplayName("正常：容器预览为数量摘要，标量预览为 JSON 文本且缓存复用")
+    void buildsCachedPreview() {
+        final JsonNodeParser.JsonNode root = JsonNodeParser.parse("root", "{\"a\":[1,2,3],\"b\":\"x\",\"c\":{}}");
+        assertAll(
+                () -> assertEquals("{3 keys}", root.preview(), "对象预览应为键数摘要"),
+                () -> assertEquals("[3 items]", root.children().get(0).preview(), "数组预览应为元素数摘要"),
+                () -> assertEquals("\"x\"", root.children().get(1).preview(), "字符串预览应为带引号的 JSON 文本"),
+                () -> assertEquals("{0 keys}", root.children().get(2).preview(), "空对象预览应为 0 键"),
+                () -> assertSame(root.preview(), root.preview(), "重复访问应复用缓存的预览文本")
+        );
+    }
+
+    @Test
+    @DisplayName("边界：超长字符串预览截断并追加省略号，复制取完整值")
+    void truncatesLongPreview() {
+        final String longText = "x".repeat(JsonNodeParser.PREVIEW_MAX_LENGTH * 2);
+        final JsonNodeParser.JsonNode node = JsonNodeParser.parse("root", "{\"a\":\"%s\"}".formatted(longText)).children().getFirst();
+        assertAll(
+                () -> assertTrue(node.preview().endsWith("…"), "超长预览应以省略号结尾"),
+                () -> assertTrue(node.preview().length() < longText.length(), "预览长度应有上界"),
+                () -> assertEquals(longText, node.plainValue(), "复制值应为完整文本")
+        );
+    }
+
+    @Test
+    @DisplayName("正常：编辑区间取公共前后缀，区间前后的偏移判定正确")
+    void computesEditRange() {
+        final String previous = "{\"a\":1,\"b\":22,\"c\":3}";
+        final String current = "{\"a\":1,\"b\":4567,\"c\":3}";
+        final JsonNodeParser.EditRange range = JsonNodeParser.editRange(previous, current);
+        assertAll(
+                () -> assertEquals(new JsonNodeParser.EditRange(11, 13, 15), range, "应仅覆盖变化的数字"),
+                () -> assertEquals(2, range.delta(), "区间后偏移应平移 2"),
+                () -> assertTrue(range.before(6), "区间前的值应判定为不变"),
+                () -> assertFalse(range.before(13), "紧贴区间的值应判定为可能变化"),
+                () -> assertTrue(range.after(18), "区间后的值应判定为平移"),
+                () -> assertEquals(new JsonNodeParser.EditRange(3, 3, 3), JsonNodeParser.editRange("abc", "abc"), "相同文本应为空区间")
+        );
+    }
+
+    @Test
+    @DisplayName("边界：重复字符处前后缀不重叠")
+    void editRangeDoesNotOverlap() {
+        final JsonNodeParser.EditRange range = JsonNodeParser.editRange("[1,1]", "[1,1,1]");
+        assertAll(
+                () -> assertTrue(range.start() <= range.oldEnd(), "旧区间不得为负长度"),
+                () -> assertEquals(2, range.delta(), "平移量应等于长度差")
+        );
+    }
+
+    @Test
+    @DisplayName("正常：节点平移到新原文后偏移与子节点随之更新")
+    void rebasesNode() {
+        final String previous = "{\"a\":[1,2]}";
+        final String current = "  {\"a\":[1,2]}";
+        final JsonNodeParser.JsonNode node = JsonNodeParser.parse("root", previous).children().getFirst();
+        final JsonNodeParser.JsonNode rebased = node.rebase("a", current, 2);
+        assertAll(
+                () -> assertEquals(node.start() + 2, rebased.start(), "起始偏移应平移"),
+                () -> assertEquals(node.end() + 2, rebased.end(), "结束偏移应平移"),
+                () -> assertEquals(current.indexOf('2'), rebased.children().get(1).start(), "子节点应按新原文定位"),
+                () -> assertEquals(node.preview(), rebased.preview(), "预览应沿用")
+        );
+    }
+
+    @Test
+    @DisplayName("正常：增量解析与全量解析结果一致，只扫描受影响的成员")
+    void reparsesEditedContainer() {
+        final String previous = "{\"a\": [1, {\"x\": 2}, 3], \"b\": \"s\", \"c\": {\"y\": [true, null]}}";
+        final List<String> edits = List.of(
+                previous.replace("\"x\": 2", "\"x\": 22"),
+                previous.replace("[1, {", "[1, 7, {"),
+                previous.replace("\"b\": \"s\", ", ""),
+                previous.replace("\"b\"", "\"bb\""),
+                previous.replace("\"s\"", "{\"k\": []}"),
+                previous.replace("[true, null]", "[]"),
+                previous.replace("3]", "3, 4]")
+        );
+        for (final String current : edits) {
+            final JsonNodeParser.JsonNode root = JsonNodeParser.parse("root", previous);
+            // 模拟已展开的树：旧树子节点已生成
+            dump(root);
+            final JsonNodeParser.JsonNode reparsed = JsonNodeParser.reparse(root, current, JsonNodeParser.editRange(previous, current));
+            assertNotNull(reparsed, current);
+            assertEquals(dump(JsonNodeParser.parse("root", current)), dump(reparsed), current);
+        }
+    }
+
+    @Test
+    @DisplayName("边界：增量解析遇到非法编辑或越过根容器的编辑时返回 null")
+    void rejectsInvalidReparse() {
+        final String previous = "{\"a\": [1, 2], \"b\": 3}";
+        final JsonNodeParser.JsonNode root = JsonNodeParser.parse("root", previous);
+        dump(root);
+        assertAll(
+                () -> assertNull(JsonNodeParser.reparse(root, "{\"a\": [1, 2,], \"b\": 3}",
+                        JsonNodeParser.editRange(previous, "{\"a\": [1, 2,], \"b\": 3}")), "尾逗号应判定为非法"),
+                () -> assertNull(JsonNodeParser.reparse(root, "{\"a\": [1, 2], \"b\" 3}",
+                        JsonNodeParser.editRange(previous, "{\"a\": [1, 2], \"b\" 3}")), "缺少冒号应判定为非法"),
+                () -> assertNull(JsonNodeParser.reparse(root, "[" + previous + "]",
+                        JsonNodeParser.editRange(previous, "[" + previous + "]")), "越过根括号的编辑应退化为全量解析"),
+                () -> assertNull(JsonNodeParser.reparse(JsonNodeParser.parse("root", "{'a':1}"), "{'a':2}",
+                        JsonNodeParser.editRange("{'a':1}", "{'a':2}")), "宽松解析结果不应增量解析")
+        );
+    }
+
+    @Test
+    @DisplayName("正常：叠加连续文档变更得到相对原文的合并区间")
+    void mergesDocumentEvents() {
+        final String original = "0123456789";
+        // 先把 [2,4) 替换为 "abc"，再在新文本 7 处删除 2 个字符
+        final String first = original.substring(0, 2) + "abc" + original.substring(4);
+        final String second = first.substring(0, 7) + first.substring(9);
+        final JsonNodeParser.EditRange merged = JsonNodeParser.EditRange.of(2, 2, 3).merge(7, 2, 0);
+        assertAll(
+                () -> assertEquals(original.substring(0, merged.start()), second.substring(0, merged.start()), "区间前文本应一致"),
+                () -> assertEquals(original.substring(merged.oldEnd()), second.substring(merged.newEnd()), "区间后文本应一致"),
+                () -> assertEquals(second.length() - original.length(), merged.delta(), "平移量应等于长度差"),
+                () -> assertEquals(new JsonNodeParser.EditRange(1, 4, 5), JsonNodeParser.EditRange.of(2, 2, 3).merge(1, 0, 0), "前方空变更应扩展起点")
+        );
+    }
+
+    @Test
+    @DisplayName("正常：按偏移下钻得到的路径与搜索索引定位一致")
+    void locatesOffsetLikeSearchIndex() {
+        final String text = " {\"name\": \"a\", \"list\": [1, {\"k\" : [true]}], \"empty\": {}} ";
+        final JsonNodeParser.JsonNode root = JsonNodeParser.parse("root", text);
+        final JsonSearchIndex index = JsonSearchIndex.build(text);
+        for (int offset = 0; offset < text.length(); offset++) {
+            final int entry = index.entryAt(offset);
+            final int[] path = JsonNodeParser.childPathAt(root, offset);
+            if (entry < 0) {
+                assertNull(path, "offset " + offset);
+            } else {
+                assertArrayEquals(index.childPath(entry), path, "offset " + offset);
+            }
+        }
+    }
+
+    /**
+     * 展开全部子节点并输出键、偏移与预览
+     */
+    private static String dump(final JsonNodeParser.JsonNode node) {
+        return "%s@%d-%d=%s%s".formatted(node.key(), node.start(), node.end(), node.preview(),
+                node.children().stream().map(JsonNodeParserTest::dump).collect(Collectors.joining(",", "(", ")")));
+    }
 }
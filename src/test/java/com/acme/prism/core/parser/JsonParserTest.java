@@ -111,6 +111,19 @@ class JsonParserTest {
         assertEquals("", JsonParser.reverseConvert("a=1", null), "null 格式应直接返回空串");
     }
 
+    @ParameterizedTest
+    @EnumSource(mode = EnumSource.Mode.EXCLUDE, names = {"JSON", "TEXT"})
+    @DisplayName("正常：共享解析结果的 convert 与按原文转换结果一致，且不修改解析结果")
+    void convertsSharedParsedTree(final AnyFile format) {
+        final String json = "[{\"id\":1,\"tags\":[\"a\"],\"nested\":{\"x\":1.5}},{\"id\":2,\"name\":\"b\"}]";
+        final Object parsed = JSON.parse(json);
+        final String expected = JsonParser.convert(json, format);
+        assertAll(
+                () -> assertEquals(expected, JsonParser.convert(parsed, json, format), "共享解析结果应得到相同输出"),
+                () -> assertEquals(JSON.parse(json), parsed, "转换不应修改共享解析结果")
+        );
+    }
+
     @ParameterizedTest
     @EnumSource(mode = EnumSource.Mode.INCLUDE, names = {"JSON", "TEXT"})
     @DisplayName("异常：convert 对未注册格式抛 IllegalArgumentException")
@@ -0,0 +1,65 @@
+package com.acme.prism.core.parser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JSON 结构扫描器（JsonScanner）单元测试
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+class JsonScannerTest {
+
+    @ParameterizedTest(name = "[{index}] 合法输入：{0}")
+    @ValueSource(strings = {
+            "{}", "[]", "{\"a\":1}", "[1,\"x\",true,null,-0.5e+3]",
+            " {\"a\" : {\"b\":[true, {} , []]}} ", "\"\\u00e9\\n\"", "42", "null"
+    })
+    @DisplayName("正常：合法 JSON 值校验通过")
+    void acceptsValidJson(final String text) {
+        assertTrue(JsonScanner.isValid(text), "合法 JSON 应校验通过");
+    }
+
+    @ParameterizedTest(name = "[{index}] 非法输入：{0}")
+    @ValueSource(strings = {
+            "", "   ", "not a json", "{", "{\"a\"}", "[1,]", "{\"a\":1,}", "01", "1.",
+            "\"\\x\"", "[1 2]", "{'a':1}", "tru", "{\"a\":1} x"
+    })
+    @DisplayName("异常：非法 JSON 校验失败")
+    void rejectsInvalidJson(final String text) {
+        assertFalse(JsonScanner.isValid(text), "非法 JSON 应校验失败");
+    }
+
+    @Test
+    @DisplayName("正常：skipValue 返回值结束偏移且不越过兄弟值")
+    void skipsSingleValue() {
+        final String text = "[{\"a\":[1,2]}, 3]";
+        assertAll(
+                () -> assertEquals(12, JsonScanner.skipValue(text, 1, text.length()), "应返回首个元素的结束偏移"),
+                () -> assertEquals(text.length(), JsonScanner.skipValue(text, 0, text.length()), "根值应覆盖全文"),
+                () -> assertEquals(JsonScanner.INVALID, JsonScanner.skipValue(text, 5, text.length()), "从冒号处起跳应判定非法")
+        );
+    }
+
+    @Test
+    @DisplayName("边界：超深嵌套迭代扫描不栈溢出")
+    void scansDeepNesting() {
+        final int depth = 100_000;
+        final String text = "[".repeat(depth) + "]".repeat(depth);
+        assertTrue(JsonScanner.isValid(text), "超深嵌套数组应校验通过");
+    }
+
+    @Test
+    @DisplayName("正常：字符串转义检测")
+    void detectsEscape() {
+        assertAll(
+                () -> assertFalse(JsonScanner.hasEscape("\"abc\"", 0, 5), "无转义字符串应返回 false"),
+                () -> assertTrue(JsonScanner.hasEscape("\"a\\nc\"", 0, 6), "含转义字符串应返回 true")
+        );
+    }
+}
@@ -0,0 +1,96 @@
+package com.acme.prism.core.parser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JSON 树搜索索引（JsonSearchIndex）单元测试
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+class JsonSearchIndexTest {
+
+    /** 嵌套 JSON 样本 */
+    private static final String SAMPLE_JSON = "{\"Name\":\"Alice\",\"list\":[1,{\"name\":\"bob\"},\"alice2\"],\"e\":{}}";
+
+    private final JsonSearchIndex index = JsonSearchIndex.build(SAMPLE_JSON);
+
+    @Test
+    @DisplayName("正常：按先序为全部节点登记条目（含根）")
+    void registersAllNodes() {
+        assertEquals(8, index.size(), "条目数应为根节点加全部子孙节点数");
+    }
+
+    @Test
+    @DisplayName("正常：三元组查找忽略大小写并按文档先序返回")
+    void searchesByTrigram() {
+        final int[] hits = index.search("name");
+        assertAll(
+                () -> assertEquals(2, hits.length, "两个 name 键均应命中"),
+                () -> assertArrayEquals(new int[]{0}, index.childPath(hits[0]), "首个命中应为根下第 0 个子节点"),
+                () -> assertArrayEquals(new int[]{1, 1, 0}, index.childPath(hits[1]), "嵌套命中应还原完整子序号路径"),
+                () -> assertEquals(SAMPLE_JSON.indexOf("\"bob\""), index.valueStartsOf(hits)[1], "值起始偏移应指向原文中值的位置")
+        );
+    }
+
+    @Test
+    @DisplayName("正常：短关键字线性查找，每个条目只命中一次")
+    void searchesShortKeywordLinearly() {
+        final int[] hits = index.search("a");
+        assertAll(
+                () -> assertEquals(3, hits.length, "含 a 的条目应各命中一次"),
+                () -> assertArrayEquals(new int[]{1, 2}, index.childPath(hits[2]), "数组元素命中应还原子序号路径")
+        );
+    }
+
+    @Test
+    @DisplayName("正常：数组元素以 [索引] 为键参与搜索")
+    void searchesArrayIndexKey() {
+        final int[] hits = index.search("[1]");
+        assertAll(
+                () -> assertEquals(1, hits.length, "仅数组第 1 个元素应命中"),
+                () -> assertEquals(SAMPLE_JSON.indexOf("{\"name\""), index.valueStart(hits[0]), "值起始偏移应指向对象元素")
+        );
+    }
+
+    @Test
+    @DisplayName("边界：无命中、空关键字与非 JSON 文本返回空结果")
+    void returnsEmptyResults() {
+        assertAll(
+                () -> assertEquals(0, index.search("zzz").length, "无命中应返回空数组"),
+                () -> assertEquals(0, index.search("").length, "空关键字应返回空数组"),
+                () -> assertSame(JsonSearchIndex.EMPTY, JsonSearchIndex.build("not a json"), "非 JSON 文本应返回空索引")
+        );
+    }
+
+    @Test
+    @DisplayName("正常：原文偏移定位到包含它的最深节点，键与值均归属同一成员")
+    void locatesEntryByOffset() {
+        final int bob = index.entryAt(SAMPLE_JSON.indexOf("bob"));
+        final int key = index.entryAt(SAMPLE_JSON.indexOf("\"name\""));
+        final int list = index.entryAt(SAMPLE_JSON.indexOf(",{"));
+        assertAll(
+                () -> assertArrayEquals(new int[]{1, 1, 0}, index.childPath(bob), "值内偏移应定位到嵌套成员"),
+                () -> assertEquals(bob, key, "键内偏移应与值定位到同一成员"),
+                () -> assertArrayEquals(new int[]{1}, index.childPath(list), "元素间分隔符应定位到所在数组"),
+                () -> assertEquals(0, index.entryAt(0), "根括号应定位到根条目"),
+                () -> assertEquals(SAMPLE_JSON.indexOf("\"bob\"") + 5, index.valueEnd(bob), "值结束偏移应紧随值末尾"),
+                () -> assertEquals(SAMPLE_JSON.indexOf("\"name\""), index.memberStart(bob), "成员起始偏移应为键的起始引号")
+        );
+    }
+
+    @Test
+    @DisplayName("边界：根值之外的偏移不属于任何节点")
+    void returnsNoEntryOutsideRoot() {
+        final JsonSearchIndex padded = JsonSearchIndex.build("  [1]  ");
+        assertAll(
+                () -> assertEquals(-1, padded.entryAt(0), "根值之前的空白不属于任何节点"),
+                () -> assertEquals(-1, padded.entryAt(6), "根值之后的空白不属于任何节点"),
+                () -> assertArrayEquals(new int[]{0}, padded.childPath(padded.entryAt(3)), "元素偏移应定位到元素"),
+                () -> assertEquals(-1, JsonSearchIndex.EMPTY.entryAt(0), "空索引不应定位到任何节点")
+        );
+    }
+}
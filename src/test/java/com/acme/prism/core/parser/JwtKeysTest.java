@@ -0,0 +1,78 @@
+package com.acme.prism.core.parser;
+
+import com.alibaba.fastjson2.JSONArray;
+import com.alibaba.fastjson2.JSONObject;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JWT 验签密钥解析单元测试
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+class JwtKeysTest {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    @Test
+    @DisplayName("正常：解析 PEM 公钥（RSA 与 EC），重复解析命中缓存")
+    void parsesPemPublicKeys() throws Exception {
+        final RSAPublicKey rsa = (RSAPublicKey) KeyPairGenerator.getInstance("RSA").generateKeyPair().getPublic();
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        final ECPublicKey ec = (ECPublicKey) generator.generateKeyPair().getPublic();
+        final String text = "log line\n" + pem(rsa.getEncoded()) + "\nmore\n" + pem(ec.getEncoded());
+        final List<JwtKeys.JwtKey> keys = JwtKeys.find(text);
+        assertAll(
+                () -> assertEquals(2, keys.size(), "应提取两个 PEM 块"),
+                () -> assertEquals(rsa, keys.get(0).key(), "RSA 公钥应一致"),
+                () -> assertEquals(ec, keys.get(1).key(), "EC 公钥应一致"),
+                () -> assertSame(JwtKeys.parse(pem(rsa.getEncoded())), JwtKeys.parse(pem(rsa.getEncoded())), "同一原文应命中缓存")
+        );
+    }
+
+    @Test
+    @DisplayName("正常：从文本中提取 JWKS，保留 kid 并忽略无法解析的密钥")
+    void parsesJwks() throws Exception {
+        final RSAPublicKey rsa = (RSAPublicKey) KeyPairGenerator.getInstance("RSA").generateKeyPair().getPublic();
+        final KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        final ECPublicKey ec = (ECPublicKey) generator.generateKeyPair().getPublic();
+        final JSONObject jwks = JSONObject.of("keys", JSONArray.of(
+                JSONObject.of("kty", "RSA", "kid", "r1", "n", unsigned(rsa.getModulus().toByteArray()),
+                        "e", unsigned(rsa.getPublicExponent().toByteArray())),
+                JSONObject.of("kty", "EC", "kid", "e1", "crv", "P-256",
+                        "x", unsigned(ec.getW().getAffineX().toByteArray()), "y", unsigned(ec.getW().getAffineY().toByteArray())),
+                JSONObject.of("kty", "oct", "kid", "h1", "k", ENCODER.encodeToString("secret".getBytes())),
+                JSONObject.of("kty", "EC", "kid", "bad", "crv", "P-999", "x", "AA", "y", "AA")
+        ));
+        final List<JwtKeys.JwtKey> keys = JwtKeys.find("response: " + jwks.toJSONString() + " end");
+        assertAll(
+                () -> assertEquals(List.of("r1", "e1", "h1"), keys.stream().map(JwtKeys.JwtKey::kid).toList(), "无法解析的密钥应忽略"),
+                () -> assertEquals(rsa, keys.get(0).key(), "RSA 公钥应一致"),
+                () -> assertEquals(ec, keys.get(1).key(), "EC 公钥应一致"),
+                () -> assertArrayEquals("secret".getBytes(), keys.get(2).key().getEncoded(), "HMAC 密钥应一致"),
+                () -> assertTrue(JwtKeys.find("{\"keys\": [").isEmpty(), "不完整的 JWKS 应忽略")
+        );
+    }
+
+    private static String pem(final byte[] der) {
+        return "-----BEGIN PUBLIC KEY-----\n" + Base64.getMimeEncoder().encodeToString(der) + "\n-----END PUBLIC KEY-----";
+    }
+
+    private static String unsigned(final byte[] bytes) {
+        // 去掉 BigInteger 的符号字节
+        return ENCODER.encodeToString(bytes.length > 1 && bytes[0] == 0 ? Arrays.copyOfRange(bytes, 1, bytes.length) : bytes);
+    }
+}
@@ -0,0 +1,69 @@
+package com.acme.prism.core.parser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 内存映射大 JSON 文件单元测试
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+class MappedJsonFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("正常：分页按换行对齐，拼接各页还原全文")
+    void pagesAlignToLines() throws Exception {
+        final String json = IntStream.range(0, 200)
+                .mapToObj(index -> "\t{\"id\":%d,\"name\":\"名称%d\"}".formatted(index, index))
+                .collect(Collectors.joining(",\n", "[\n", "\n]"));
+        final Path path = Files.writeString(this.directory.resolve("lines.json"), json);
+        final MappedJsonFile file = MappedJsonFile.open(path, 256);
+        final StringBuilder joined = new StringBuilder();
+        for (int index = 0; index < file.pageCount(); index++) {
+            final String page = file.page(index);
+            if (index + 1 < file.pageCount()) {
+                assertTrue(page.endsWith("\n"), "非末页应在换行后结束");
+            }
+            joined.append(page);
+        }
+        assertAll(
+                () -> assertTrue(file.pageCount() > 1, "应切分为多页"),
+                () -> assertEquals(json, joined.toString(), "各页拼接应还原全文"),
+                () -> assertEquals(json.getBytes(StandardCharsets.UTF_8).length, file.size(), "大小为字节数"),
+                () -> assertTrue(file.validate(), "合法 JSON 应校验通过")
+        );
+    }
+
+    @Test
+    @DisplayName("边界：无换行时页边界不切断多字节字符，非法 JSON 校验失败")
+    void pagesAlignToCharacters() throws Exception {
+        final String json = "\"" + "中文".repeat(3000) + "\"";
+        final Path path = Files.writeString(this.directory.resolve("minified.json"), json);
+        final MappedJsonFile file = MappedJsonFile.open(path, 1001);
+        final StringBuilder joined = new StringBuilder();
+        for (int index = 0; index < file.pageCount(); index++) {
+            joined.append(file.page(index));
+        }
+        final Path broken = Files.writeString(this.directory.resolve("broken.json"), "{\"a\":[1,2}");
+        final Path bom = Files.write(this.directory.resolve("bom.json"), new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF, '{', '}'});
+        assertAll(
+                () -> assertEquals(json, joined.toString(), "拼接不应出现替换字符"),
+                () -> assertTrue(file.validate(), "含多字节字符的字符串应校验通过"),
+                () -> assertFalse(MappedJsonFile.open(broken).validate(), "非法 JSON 应校验失败"),
+                () -> assertTrue(MappedJsonFile.open(bom).validate(), "应跳过 UTF-8 BOM")
+        );
+    }
+}
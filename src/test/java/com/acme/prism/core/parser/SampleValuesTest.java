@@ -0,0 +1,78 @@
+package com.acme.prism.core.parser;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 示例值生成方式（SampleValues）单元测试
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+class SampleValuesTest {
+
+    @Test
+    @DisplayName("固定值：同一类型返回同一实例，基本类型与包装类型取值一致")
+    void fixedValuesAreSharedConstants() {
+        assertAll(
+                () -> assertSame(SampleValues.FIXED.value("java.lang.String"), SampleValues.FIXED.value("java.lang.String"), "固定值不应逐次分配"),
+                () -> assertSame(SampleValues.FIXED.value("byte"), SampleValues.FIXED.value("java.lang.Byte"), "字节示例值应共享实例"),
+                () -> assertEquals(1, SampleValues.FIXED.value("int"), "int 固定值"),
+                () -> assertEquals(SampleValues.FIXED.value("long"), SampleValues.FIXED.value("Long"), "基本类型与包装类型取值一致"),
+                () -> assertEquals(new BigDecimal("1.50"), SampleValues.FIXED.value("java.math.BigDecimal"), "BigDecimal 固定值"),
+                () -> assertNull(SampleValues.FIXED.value("java.lang.Object"), "不支持的类型返回 null")
+        );
+    }
+
+    @Test
+    @DisplayName("固定值：同类型字段按序号取不同的值，序号 0 与类型固定值一致")
+    void fixedValuesVaryByOrdinal() {
+        assertAll(
+                () -> assertSame(SampleValues.FIXED.value("java.lang.String"), SampleValues.FIXED.value("java.lang.String", 0), "序号 0 取类型固定值"),
+                () -> assertEquals(2, SampleValues.FIXED.value("int", 1), "int 按序号递增"),
+                () -> assertEquals("string3", SampleValues.FIXED.value("String", 2), "字符串追加序号"),
+                () -> assertEquals(Boolean.FALSE, SampleValues.FIXED.value("boolean", 1), "布尔值交替"),
+                () -> assertEquals(new BigDecimal("2.50"), SampleValues.FIXED.value("BigDecimal", 1), "BigDecimal 按序号递增"),
+                () -> assertEquals(SampleValues.FIXED.value("long", 3), SampleValues.FIXED.value("long", 3), "同一序号结果稳定"),
+                () -> assertNull(SampleValues.FIXED.value("java.lang.Object", 1), "不支持的类型返回 null"),
+                () -> assertInstanceOf(Integer.class, SampleValues.RANDOM.value("int", 1), "随机值忽略序号")
+        );
+    }
+
+    @Test
+    @DisplayName("固定值：时间类型取固定时刻（UTC），与本机时区无关")
+    void fixedTemporalsAreStable() {
+        assertAll(
+                () -> assertEquals("2000-01-01 00:00:00", SampleValues.FIXED.temporal("java.time.LocalDateTime"), "LocalDateTime"),
+                () -> assertEquals("2000-01-01 00:00:00", SampleValues.FIXED.temporal("java.util.Date"), "Date 按 UTC 格式化"),
+                () -> assertEquals("2000-01-01T00:00:00Z", SampleValues.FIXED.temporal("java.time.Instant"), "Instant"),
+                () -> assertEquals("", SampleValues.FIXED.temporal("java.sql.Timestamp"), "不支持的时间类型返回空字符串")
+        );
+    }
+
+    @Test
+    @DisplayName("随机值：类型与原生成规则一致")
+    void randomValuesKeepTypes() {
+        assertAll(
+                () -> assertInstanceOf(Integer.class, SampleValues.RANDOM.value("int"), "int"),
+                () -> assertInstanceOf(byte[].class, SampleValues.RANDOM.value("byte"), "byte 生成字节数组"),
+                () -> assertEquals(10, ((String) SampleValues.RANDOM.value("String")).length(), "随机字符串长度"),
+                () -> assertFalse(SampleValues.RANDOM.temporal("java.time.LocalDate").isEmpty(), "时间类型取当前时间")
+        );
+    }
+
+    @Test
+    @DisplayName("选择：按设置选择生成方式，支持的类型集合两种方式一致")
+    void selectsMode() {
+        assertAll(
+                () -> assertSame(SampleValues.FIXED, SampleValues.of(Boolean.TRUE), "开启时使用固定值"),
+                () -> assertSame(SampleValues.RANDOM, SampleValues.of(Boolean.FALSE), "关闭时使用随机值"),
+                () -> assertTrue(SampleValues.supports("java.lang.Short"), "包装类型应支持"),
+                () -> assertFalse(SampleValues.supports("java.util.List"), "集合不属于基础类型")
+        );
+    }
+}
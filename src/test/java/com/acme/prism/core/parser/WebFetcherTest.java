@@ -0,0 +1,153 @@
+package com.acme.prism.core.parser;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 网络内容获取器单元测试（本地 HTTP 服务）
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+class WebFetcherTest {
+
+    private static final String BODY = "{\"name\":\"prism\",\"items\":[1,2,3]}";
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger notModified = new AtomicInteger();
+    private ExecutorService executor;
+    private HttpServer server;
+    private WebFetcher fetcher;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        this.executor = Executors.newCachedThreadPool();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/etag", exchange -> {
+            this.requests.incrementAndGet();
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                this.notModified.incrementAndGet();
+                exchange.getResponseHeaders().add("ETag", "\"v1\"");
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            send(exchange, 200, BODY.getBytes(StandardCharsets.UTF_8));
+        });
+        this.server.createContext("/fresh", exchange -> {
+            this.requests.incrementAndGet();
+            exchange.getResponseHeaders().add("Last-Modified", "Sat, 01 Jan 2000 00:00:00 GMT");
+            exchange.getResponseHeaders().add("Cache-Control", "max-age=60");
+            send(exchange, 200, BODY.getBytes(StandardCharsets.UTF_8));
+        });
+        this.server.createContext("/gzip", exchange -> {
+            final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (final GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(("[" + "0,".repeat(50_000) + "0]").getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            send(exchange, 200, compressed.toByteArray());
+        });
+        this.server.createContext("/missing", exchange -> send(exchange, 404, new byte[0]));
+        this.server.setExecutor(this.executor);
+        this.server.start();
+        this.fetcher = new WebFetcher(this.executor, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("缓存：ETag 响应再次获取发送条件请求，304 复用缓存")
+    void revalidatesWithEtag() {
+        final String first = this.fetcher.fetch(this.uri("/etag"), 1 << 20).join();
+        final String second = this.fetcher.fetch(this.uri("/etag"), 1 << 20).join();
+        assertAll(
+                () -> assertEquals(BODY, first, "首次应返回响应体"),
+                () -> assertEquals(BODY, second, "304 应返回缓存内容"),
+                () -> assertEquals(2, this.requests.get(), "再次获取应发送请求"),
+                () -> assertEquals(1, this.notModified.get(), "再次获取应命中条件请求")
+        );
+    }
+
+    @Test
+    @DisplayName("缓存：max-age 内不再发送请求")
+    void servesFreshResponseWithoutRequest() {
+        this.fetcher.fetch(this.uri("/fresh"), 1 << 20).join();
+        final String second = this.fetcher.fetch(this.uri("/fresh"), 1 << 20).join();
+        assertAll(
+                () -> assertEquals(BODY, second, "应返回缓存内容"),
+                () -> assertEquals(1, this.requests.get(), "新鲜期内不应发送请求")
+        );
+    }
+
+    @Test
+    @DisplayName("缓存：超过单条上限的响应体不缓存，超过总量时淘汰最久未用")
+    void boundsCacheBySize() {
+        final WebFetcher bounded = new WebFetcher(this.executor, Duration.ofSeconds(5), BODY.length() - 1, 1 << 20);
+        bounded.fetch(this.uri("/fresh"), 1 << 20).join();
+        bounded.fetch(this.uri("/fresh"), 1 << 20).join();
+        final int oversized = this.requests.getAndSet(0);
+        // 总量只容纳一条：先缓存 /fresh，再缓存 /etag 时淘汰 /fresh
+        final WebFetcher single = new WebFetcher(this.executor, Duration.ofSeconds(5), 1 << 20, BODY.length());
+        single.fetch(this.uri("/fresh"), 1 << 20).join();
+        single.fetch(this.uri("/etag"), 1 << 20).join();
+        single.fetch(this.uri("/fresh"), 1 << 20).join();
+        assertAll(
+                () -> assertEquals(2, oversized, "超过单条上限不应缓存"),
+                () -> assertEquals(3, this.requests.get(), "超过总量应淘汰最久未用")
+        );
+    }
+
+    @Test
+    @DisplayName("上限：解压后超限中止，未超限正常解压")
+    void decompressesWithinLimit() {
+        final String body = this.fetcher.fetch(this.uri("/gzip"), 1 << 20).join();
+        final CompletionException exceeded = assertThrows(CompletionException.class,
+                () -> this.fetcher.fetch(this.uri("/gzip"), 1024).join(), "超限应异常结束");
+        assertAll(
+                () -> assertTrue(body.startsWith("[0,0,") && body.endsWith("0]"), "应解压 gzip 响应体"),
+                () -> assertInstanceOf(IOException.class, exceeded.getCause(), "超限原因应为 IOException")
+        );
+    }
+
+    @Test
+    @DisplayName("异常：非 2xx 状态异常结束")
+    void failsOnErrorStatus() {
+        assertThrows(CompletionException.class, () -> this.fetcher.fetch(this.uri("/missing"), 1024).join(), "404 应异常结束");
+    }
+
+    private URI uri(final String path) {
+        return URI.create("http://127.0.0.1:%d%s".formatted(this.server.getAddress().getPort(), path));
+    }
+
+    private static void send(final HttpExchange exchange, final int status, final byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (final OutputStream output = exchange.getResponseBody()) {
+            output.write(body);
+        }
+    }
+}
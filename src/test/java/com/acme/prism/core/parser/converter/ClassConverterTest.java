@@ -1,9 +1,12 @@
 package com.acme.prism.core.parser.converter;
 
+import com.alibaba.fastjson2.JSONArray;
 import com.alibaba.fastjson2.JSONException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -62,12 +65,13 @@ class ClassConverterTest {
     }
 
     @Test
-    @DisplayName("边界：数组 JSON 根取首个对象元素生成类")
-    void takesFirstElementOfJsonArray() {
-        final String code = converter.convert("[{\"a\":1},{\"b\":2}]");
+    @DisplayName("边界：数组 JSON 根合并各元素的字段生成类")
+    void mergesElementsOfJsonArray() {
+        final String code = converter.convert("[{\"a\":1,\"c\":1},{\"b\":2,\"c\":3000000000}]");
         assertAll(
-                () -> assertTrue(code.contains("private Integer a;"), "jsonToObject 应取数组首个元素"),
-                () -> assertFalse(code.contains("private Integer b;"), "数组后续元素的字段不应出现")
+                () -> assertTrue(code.contains("/* optional */ private Integer a;"), "仅部分元素含有的字段应标记为可选"),
+                () -> assertTrue(code.contains("/* optional */ private Integer b;"), "数组后续元素的字段应合并"),
+                () -> assertTrue(code.contains("    private Long c;"), "全部元素含有的字段不可选，数值按元素加宽")
         );
     }
 
@@ -111,4 +115,118 @@ class ClassConverterTest {
         final String any = "class Dummy {}";
         assertEquals(any, converter.reverseConvert(any), "ClassConverter 未覆写 reverseConvert，走接口默认实现原样返回");
     }
+
+    @Test
+    @DisplayName("正常：对象数组合并全部元素的字段，部分元素缺失的字段标记为可选")
+    void mergesFieldsAcrossArrayElements() {
+        final String code = converter.convert("{\"items\":[{\"id\":1},{\"id\":2,\"name\":\"x\"}]}");
+        assertAll(
+                () -> assertTrue(code.contains("private Integer id;"), "全部元素都有的字段不应标记可选"),
+                () -> assertTrue(code.contains("/* optional */ private String name;"), "后续元素独有的字段应合并并标记可选"),
+                () -> assertEquals(1, code.split("class Items").length - 1, "合并后只生成一个嵌套类")
+        );
+    }
+
+    @Test
+    @DisplayName("正常：数组数值类型按 Integer → Long → Double 加宽，类型冲突退化为 Object")
+    void widensNumericElementTypes() {
+        final String code = converter.convert(
+                "{\"a\":[1,2],\"b\":[1,9999999999],\"c\":[1,2.5],\"d\":[1,\"x\"],\"e\":[null,true],\"f\":[{\"v\":1},{\"v\":1.5}]}"
+        );
+        assertAll(
+                () -> assertTrue(code.contains("private List<Integer> a;"), "纯整数数组应为 Integer"),
+                () -> assertTrue(code.contains("private List<Long> b;"), "含长整数应加宽为 Long"),
+                () -> assertTrue(code.contains("private List<Double> c;"), "含小数应加宽为 Double"),
+                () -> assertTrue(code.contains("private List<Object> d;"), "字符串与数值混用应退化为 Object"),
+                () -> assertTrue(code.contains("private List<Boolean> e;"), "null 元素不应参与类型判断"),
+                () -> assertTrue(code.contains("private Double v;"), "对象元素的同名字段也应加宽")
+        );
+    }
+
+    @Test
+    @DisplayName("边界：采样上限内等距采样，超大数组也能推断完整结构")
+    void samplesLargeArrayWithinLimit() {
+        final StringBuilder json = new StringBuilder("{\"rows\":[");
+        for (int index = 0; index < 20_000; index++) {
+            json.append(index == 0 ? "" : ",").append(index % 2 == 0 ? "{\"a\":1}" : "{\"a\":1,\"b\":true}");
+        }
+        json.append("]}");
+        assertAll(
+                () -> assertTrue(converter.convert(json.toString()).contains("/* optional */ private Boolean b;"), "并行采样应合并奇数元素的字段"),
+                () -> assertFalse(new ClassConverter(1).convert(json.toString()).contains("Boolean b"), "采样上限为 1 时只取首个元素")
+        );
+    }
+
+    @Test
+    @DisplayName("边界：嵌套数组共享采样上限，采样量不随层数相乘")
+    void boundsNestedArraySampling() {
+        final AtomicInteger reads = new AtomicInteger();
+        final JSONArray rows = new CountingArray(reads);
+        for (int row = 0; row < 1_000; row++) {
+            final JSONArray cells = new CountingArray(reads);
+            for (int cell = 0; cell < 1_000; cell++) {
+                cells.add(cell == 999 && row == 999 ? 1L : 1);
+            }
+            rows.add(cells);
+        }
+        final Object element = SchemaInference.infer(rows, 100);
+        assertAll(
+                () -> assertInstanceOf(JSONArray.class, element, "嵌套数组应推断为数组"),
+                () -> assertTrue(reads.get() <= 200, "每层最多采样上限个元素，实际读取 " + reads.get())
+        );
+    }
+
+    /**
+     * 统计元素读取次数的数组
+     */
+    private static final class CountingArray extends JSONArray {
+        private final transient AtomicInteger reads;
+
+        private CountingArray(final AtomicInteger reads) {
+            this.reads = reads;
+        }
+
+        @Override
+        public Object get(final int index) {
+            this.reads.incrementAndGet();
+            return super.get(index);
+        }
+    }
+
+    @Test
+    @DisplayName("正常：结构相同的嵌套对象只生成一个类，其余字段引用它")
+    void deduplicatesIdenticalNestedClasses() {
+        final String code = converter.convert(
+                "{\"billingAddress\":{\"city\":\"bj\",\"zip\":1},\"shippingAddress\":{\"city\":\"sh\",\"zip\":2},\"contact\":{\"city\":\"x\"}}"
+        );
+        assertAll(
+                () -> assertTrue(code.contains("private BillingAddress billingAddress;"), "首次出现的结构保留原类名"),
+                () -> assertTrue(code.contains("private BillingAddress shippingAddress;"), "相同结构的字段应引用已生成的类"),
+                () -> assertFalse(code.contains("class ShippingAddress"), "相同结构不应重复生成类"),
+                () -> assertTrue(code.contains("public static class Contact {"), "字段不同的结构仍单独生成")
+        );
+    }
+
+    @Test
+    @DisplayName("边界：跨分支的相同结构使用自根类起的限定名引用")
+    void referencesDistantDuplicateByQualifiedName() {
+        final String code = converter.convert(
+                "{\"customer\":{\"addr\":{\"city\":\"bj\"}},\"order\":{\"addr\":{\"city\":\"sh\"},\"id\":1},\"home\":{\"city\":\"gz\"}}"
+        );
+        assertAll(
+                () -> assertTrue(code.contains("private Dummy.Customer.Addr addr;"), "不可见的保留类应使用限定名"),
+                () -> assertTrue(code.contains("private Dummy.Customer.Addr home;"), "根类字段同样以限定名引用深层保留类"),
+                () -> assertEquals(1, code.split("class Addr").length - 1, "相同结构只生成一个类")
+        );
+    }
+
+    @Test
+    @DisplayName("边界：字段名或可选性不同的结构不合并")
+    void keepsStructurallyDifferentClasses() {
+        final String code = converter.convert("{\"a\":{\"x\":1},\"b\":{\"y\":1},\"c\":[{\"x\":1},{}]}");
+        assertAll(
+                () -> assertTrue(code.contains("public static class B {"), "字段名不同不应合并"),
+                () -> assertTrue(code.contains("public static class C {"), "含可选字段的结构不应与必填结构合并")
+        );
+    }
 }
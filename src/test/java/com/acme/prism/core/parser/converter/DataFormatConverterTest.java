@@ -4,6 +4,8 @@ import com.alibaba.fastjson2.JSONObject;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 /**
@@ -22,15 +24,22 @@ class DataFormatConverterTest {
     }
 
     @Test
-    @DisplayName("边界：jsonToObject 对数组取首个对象元素")
-    void jsonToObjectTakesFirstArrayElement() {
-        final JSONObject obj = DataFormatConverter.jsonToObject("[{\"a\":1},{\"b\":2}]");
+    @DisplayName("边界：jsonToObject 对数组合并各元素的字段")
+    void jsonToObjectMergesArrayElements() {
+        final JSONObject obj = DataFormatConverter.jsonToObject("[{\"a\":1},{\"b\":\"x\"}]");
         assertAll(
-                () -> assertEquals(1, obj.getIntValue("a"), "应取数组首个元素"),
-                () -> assertTrue(obj.isEmpty() || !obj.containsKey("b"), "数组后续元素应被忽略")
+                () -> assertEquals(List.of("a", "b"), List.copyOf(obj.keySet()), "字段应取各元素的并集并保持首次出现顺序"),
+                () -> assertInstanceOf(Integer.class, obj.get("a"), "数值字段应保留数值代表值"),
+                () -> assertInstanceOf(String.class, obj.get("b"), "字符串字段应保留字符串代表值")
         );
     }
 
+    @Test
+    @DisplayName("边界：jsonToObject 对非对象元素的数组返回空对象")
+    void jsonToObjectReturnsEmptyObjectForScalarArray() {
+        assertTrue(DataFormatConverter.jsonToObject("[1,2]").isEmpty(), "标量数组应返回空 JSONObject");
+    }
+
     @Test
     @DisplayName("边界：jsonToObject 对空数组返回空对象")
     void jsonToObjectReturnsEmptyObjectForEmptyArray() {
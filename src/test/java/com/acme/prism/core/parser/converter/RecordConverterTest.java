@@ -50,10 +50,13 @@ class RecordConverterTest {
     }
 
     @Test
-    @DisplayName("边界：数组 JSON 根取首个对象元素生成 record")
-    void takesFirstElementOfJsonArray() {
-        final String code = converter.convert("[{\"a\":1}]");
-        assertTrue(code.contains("Integer a"), "jsonToObject 应取数组首个元素生成 record 组件");
+    @DisplayName("边界：数组 JSON 根合并各元素的字段生成 record")
+    void mergesElementsOfJsonArray() {
+        final String code = converter.convert("[{\"a\":1},{\"b\":2}]");
+        assertAll(
+                () -> assertTrue(code.contains("/* optional */ Integer a"), "仅部分元素含有的字段应标记为可选"),
+                () -> assertTrue(code.contains("/* optional */ Integer b"), "数组后续元素的字段应合并为 record 组件")
+        );
     }
 
     @Test
@@ -75,4 +78,12 @@ class RecordConverterTest {
         final String any = "record Dummy() {}";
         assertEquals(any, converter.reverseConvert(any), "RecordConverter 未覆写 reverseConvert，走接口默认实现原样返回");
     }
+
+    @Test
+    @DisplayName("正常：对象数组合并字段，可选字段在 record 组件上标注")
+    void marksOptionalComponent() {
+        final String code = converter.convert("{\"items\":[{\"id\":1},{\"name\":\"x\"}]}");
+        assertTrue(code.contains("public record Items(/* optional */ Integer id, /* optional */ String name)"),
+                "各元素互缺的字段都应作为可选组件合并");
+    }
 }
@@ -0,0 +1,189 @@
+package com.acme.prism.core.schema;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JSON Schema 校验单元测试
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+class SchemaValidatorTest {
+    private static final String PERSON = """
+            {
+              "type": "object",
+              "required": ["name", "age"],
+              "additionalProperties": false,
+              "properties": {
+                "name": {"type": "string", "minLength": 2, "pattern": "^[A-Z]"},
+                "age": {"type": "integer", "minimum": 0, "exclusiveMaximum": 150},
+                "role": {"enum": ["admin", "user", null]},
+                "tags": {"type": "array", "items": {"type": "string"}, "uniqueItems": true, "maxItems": 3},
+                "score": {"oneOf": [{"type": "integer"}, {"multipleOf": 0.5}]}
+              }
+            }
+            """;
+
+    @Test
+    @DisplayName("正常：符合 Schema 的文档无错误")
+    void acceptsValidDocument() {
+        final SchemaValidation result = SchemaValidator.of(PERSON)
+                .validate("{\"name\": \"Ann\", \"age\": 30.0, \"role\": null, \"tags\": [\"a\", \"b\"], \"score\": 1.5}");
+        assertAll(
+                () -> assertTrue(result.validJson()),
+                () -> assertEquals(List.of(), result.errors())
+        );
+    }
+
+    @Test
+    @DisplayName("正常：各关键字的错误定位到对应值")
+    void reportsKeywordErrors() {
+        final String text = "{\"name\": \"a\", \"age\": 150, \"role\": \"root\", \"tags\": [\"x\", \"x\", 1, \"y\"], \"extra\": 1}";
+        final List<SchemaError> errors = SchemaValidator.of(PERSON).validate(text).errors();
+        final List<String> marked = errors.stream().map(error -> text.substring(error.start(), error.end())).toList();
+        assertAll(
+                () -> assertTrue(errors.stream().anyMatch(error -> error.message().contains("at least 2"))),
+                () -> assertTrue(errors.stream().anyMatch(error -> error.message().contains("pattern"))),
+                () -> assertTrue(errors.stream().anyMatch(error -> error.message().equals("Value must be < 150"))),
+                () -> assertTrue(errors.stream().anyMatch(error -> error.message().startsWith("Value must be one of"))),
+                () -> assertTrue(errors.stream().anyMatch(error -> error.message().startsWith("Duplicate array item"))),
+                () -> assertTrue(errors.stream().anyMatch(error -> error.message().startsWith("Expected string"))),
+                () -> assertTrue(errors.stream().anyMatch(error -> error.message().contains("at most 3 items"))),
+                () -> assertTrue(marked.contains("\"extra\"")),
+                () -> assertTrue(marked.contains("\"root\"")),
+                () -> assertEquals(errors.stream().mapToInt(SchemaError::start).sorted().boxed().toList(),
+                        errors.stream().map(SchemaError::start).toList())
+        );
+    }
+
+    @Test
+    @DisplayName("正常：必填属性缺失标记在对象开括号上")
+    void reportsMissingRequired() {
+        final List<SchemaError> errors = SchemaValidator.of(PERSON).validate("  {\"name\": \"Bob\"}").errors();
+        assertAll(
+                () -> assertEquals(1, errors.size()),
+                () -> assertEquals(new SchemaError(2, 3, "Missing required property 'age'"), errors.getFirst())
+        );
+    }
+
+    @Test
+    @DisplayName("正常：递归 $ref 与 if/then/else")
+    void resolvesRecursiveReferences() {
+        final SchemaValidator validator = SchemaValidator.of("""
+                {
+                  "$defs": {
+                    "node": {
+                      "type": "object",
+                      "properties": {"value": {"type": "number"}, "children": {"type": "array", "items": {"$ref": "#/$defs/node"}}},
+                      "if": {"required": ["leaf"]}, "then": {"properties": {"children": {"maxItems": 0}}}
+                    }
+                  },
+                  "$ref": "#/$defs/node"
+                }
+                """);
+        final String text = "{\"value\": 1, \"children\": [{\"value\": 2, \"children\": [{\"value\": \"x\"}]}, {\"leaf\": true, \"children\": [{}]}]}";
+        final List<SchemaError> errors = validator.validate(text).errors();
+        assertAll(
+                () -> assertEquals(2, errors.size()),
+                () -> assertEquals("\"x\"", text.substring(errors.get(0).start(), errors.get(0).end())),
+                () -> assertTrue(errors.get(1).message().contains("at most 0 items"))
+        );
+    }
+
+    @Test
+    @DisplayName("正常：增量校验复用未变子树，结果与全量校验一致")
+    void reusesUnchangedSubtrees() {
+        final SchemaValidator validator = SchemaValidator.of("""
+                {"type": "array", "items": {"type": "object", "properties": {"id": {"type": "integer"}, "note": {"type": "string"}}}}
+                """);
+        final String original = document(-1);
+        final SchemaValidation first = validator.validate(original);
+        final String edited = document(3);
+        final SchemaValidation second = validator.validate(edited, first);
+        assertAll(
+                () -> assertEquals(0, first.reusedSubtrees()),
+                () -> assertTrue(second.reusedSubtrees() > 0),
+                () -> assertEquals(validator.validate(edited).errors(), second.errors()),
+                () -> assertEquals(first.errors().size() + 1, second.errors().size())
+        );
+    }
+
+    @Test
+    @DisplayName("正常：复用的子树带上其内部子树，再次编辑其中一项时内部子树继续复用")
+    void carriesNestedSubtreesOfReusedSubtree() {
+        final SchemaValidator validator = SchemaValidator.of("""
+                {"type": "array", "items": {"type": "object", "properties": {"id": {"type": "integer"}, "note": {"type": "object"}}}}
+                """);
+        final SchemaValidation first = validator.validate(nestedDocument(-1, -1));
+        final SchemaValidation second = validator.validate(nestedDocument(0, -1), first);
+        final String third = nestedDocument(0, 5);
+        final SchemaValidation chained = validator.validate(third, second);
+        final SchemaValidation direct = validator.validate(third, validator.validate(nestedDocument(0, -1)));
+        assertAll(
+                () -> assertEquals(direct.reusedSubtrees(), chained.reusedSubtrees(), "经复用得到的结果应与全量结果一样可供复用"),
+                () -> assertEquals(validator.validate(third).errors(), chained.errors()),
+                () -> assertEquals(2, chained.errors().size())
+        );
+    }
+
+    @Test
+    @DisplayName("边界：additionalItems 只作用于数组形式 items 之后的项")
+    void appliesAdditionalItemsOnlyAfterTuple() {
+        final SchemaValidator tuple = SchemaValidator.of("{\"items\": [{\"type\": \"integer\"}], \"additionalItems\": {\"type\": \"string\"}}");
+        final SchemaValidator bare = SchemaValidator.of("{\"additionalItems\": {\"type\": \"string\"}}");
+        final SchemaValidator prefix = SchemaValidator.of("{\"prefixItems\": [{\"type\": \"integer\"}], \"additionalItems\": {\"type\": \"string\"}}");
+        assertAll(
+                () -> assertEquals(List.of(), tuple.validate("[1, \"a\"]").errors()),
+                () -> assertEquals(1, tuple.validate("[1, 2]").errors().size(), "元组之后的项按 additionalItems 校验"),
+                () -> assertEquals(List.of(), bare.validate("[1, 2]").errors(), "未声明 items 时 additionalItems 不生效"),
+                () -> assertEquals(List.of(), prefix.validate("[1, 2]").errors(), "prefixItems 之后不按 additionalItems 校验")
+        );
+    }
+
+    @Test
+    @DisplayName("边界：非法 JSON 不校验，非法 Schema 抛出异常")
+    void handlesInvalidInput() {
+        final SchemaValidation result = SchemaValidator.of(PERSON).validate("{\"name\": ");
+        assertAll(
+                () -> assertFalse(result.validJson()),
+                () -> assertEquals(List.of(), result.errors()),
+                () -> assertThrows(IllegalArgumentException.class, () -> SchemaValidator.of("{\"type\": ")),
+                () -> assertThrows(IllegalArgumentException.class, () -> SchemaValidator.of("{\"$ref\": \"other.json#/a\"}")),
+                () -> assertThrows(IllegalArgumentException.class, () -> SchemaValidator.of("{\"pattern\": \"[\"}"))
+        );
+    }
+
+    /**
+     * 生成由若干较大对象组成的数组，第 broken 个对象的 id 为字符串（-1 表示全部合法），偶数项的 note 为数字
+     */
+    private static String document(final int broken) {
+        final StringBuilder builder = new StringBuilder("[\n");
+        for (int index = 0; index < 8; index++) {
+            final String id = index == broken ? "\"" + index + "\"" : String.valueOf(index);
+            final String note = index % 2 == 0 ? "0" : "\"" + "n".repeat(SchemaValidator.SUBTREE_CACHE_MIN_LENGTH) + "\"";
+            builder.append(index == 0 ? "" : ",\n")
+                    .append("  {\"id\": ").append(id).append(", \"note\": ").append(note)
+                    .append(", \"padding\": \"").append("p".repeat(SchemaValidator.SUBTREE_CACHE_MIN_LENGTH)).append("\"}");
+        }
+        return builder.append("\n]").toString();
+    }
+
+    /**
+     * 生成由若干较大对象组成的数组，每个对象的 note 为同样较大的嵌套对象；第 first 与 second 个对象的 id 为字符串（-1 表示不修改）
+     */
+    private static String nestedDocument(final int first, final int second) {
+        final StringBuilder builder = new StringBuilder("[\n");
+        for (int index = 0; index < 8; index++) {
+            final String id = index == first || index == second ? "\"" + index + "\"" : String.valueOf(index);
+            builder.append(index == 0 ? "" : ",\n")
+                    .append("  {\"id\": ").append(id)
+                    .append(", \"note\": {\"text\": \"").append("n".repeat(SchemaValidator.SUBTREE_CACHE_MIN_LENGTH)).append("\"}}");
+        }
+        return builder.append("\n]").toString();
+    }
+}
@@ -0,0 +1,161 @@
+package com.acme.prism.ui.panel;
+
+import com.acme.prism.core.parser.JsonNodeParser;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.swing.event.TreeModelEvent;
+import javax.swing.event.TreeModelListener;
+import javax.swing.tree.DefaultTreeModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * JSON 树增量协调器单元测试
+ *
+ * @author 拒绝者
+ * @date 2026-10-18
+ */
+class JsonTreeReconcilerTest {
+
+    @Test
+    @DisplayName("正常：变更区间前后的子节点原样保留，只重绘受影响的节点")
+    void keepsHeadAndTailNodes() {
+        final Fixture fixture = new Fixture("{\"a\": {\"x\": 1}, \"b\": 2, \"c\": {\"y\": [3]}}");
+        final JsonTreeNode head = fixture.child(0);
+        final JsonTreeNode tail = fixture.child(2);
+        final JsonNodeParser.JsonNode tailGrandChild = ((JsonTreeNode) tail.getChildAt(0)).data();
+        fixture.apply("{\"a\": {\"x\": 1}, \"b\": 2345, \"c\": {\"y\": [3]}}");
+        assertAll(
+                () -> assertSame(head, fixture.child(0), "首段节点应原样保留"),
+                () -> assertSame(tail, fixture.child(2), "尾段节点应原样保留"),
+                () -> assertEquals(List.of(), fixture.events(), "不应产生增删事件"),
+                () -> assertEquals(tailGrandChild.start() + 3, ((JsonTreeNode) tail.getChildAt(0)).data().start(), "尾段已展开子树应平移偏移"),
+                () -> assertEquals(fixture.expected(), fixture.actual(), "协调结果应与全量解析一致")
+        );
+    }
+
+    @Test
+    @DisplayName("边界：首尾已展开的子树换到新原文，不再引用编辑前的文本")
+    void rebasesExpandedSubtreesOntoNewSource() {
+        final Fixture fixture = new Fixture("{\"a\": {\"x\": 1, \"n\": {}}, \"b\": 2, \"c\": {\"y\": [3]}}");
+        final JsonNodeParser.JsonNode headScalar = ((JsonTreeNode) fixture.child(0).getChildAt(0)).data();
+        fixture.child(2).getChildAt(0);
+        final String text = "{\"a\": {\"x\": 1, \"n\": {}}, \"b\": 7, \"c\": {\"y\": [3]}}";
+        fixture.apply(text);
+        assertAll(
+                () -> assertSame(headScalar, ((JsonTreeNode) fixture.child(0).getChildAt(0)).data(), "偏移不变的标量节点应原样沿用"),
+                () -> assertSame(text, ((JsonTreeNode) fixture.child(0).getChildAt(1)).data().source(), "首段容器子节点应指向新原文"),
+                () -> assertSame(text, ((JsonTreeNode) fixture.child(2).getChildAt(0)).data().source(), "尾段容器子节点应指向新原文"),
+                () -> assertEquals("7", fixture.child(1).data().preview(), "变更节点应换用新值"),
+                () -> assertEquals(fixture.expected(), fixture.actual(), "协调结果应与全量解析一致")
+        );
+    }
+
+    @Test
+    @DisplayName("正常：对象键重排时保留前向匹配的节点，其余按删除与插入处理")
+    void reordersKeys() {
+        final Fixture fixture = new Fixture("{\"a\": 1, \"b\": {\"x\": 2}}");
+        final JsonTreeNode moved = fixture.child(1);
+        fixture.apply("{\"b\": {\"x\": 2}, \"a\": 1}");
+        assertAll(
+                () -> assertSame(moved, fixture.child(0), "前向匹配的节点应保留（含展开状态）"),
+                () -> assertEquals(List.of("removed[0]", "inserted[1]"), fixture.events(), "未能前向匹配的键应删除后重新插入"),
+                () -> assertEquals(fixture.expected(), fixture.actual(), "协调结果应与全量解析一致")
+        );
+    }
+
+    @Test
+    @DisplayName("正常：数组中段插入元素只发出插入事件，尾段元素序号随之更新")
+    void insertsArrayElements() {
+        final Fixture fixture = new Fixture("[1, [2], 3, 4]");
+        final JsonTreeNode last = fixture.child(3);
+        fixture.apply("[1, [2], 9, 8, 3, 4]");
+        assertAll(
+                () -> assertEquals(List.of("inserted[3, 4]"), fixture.events(), "应只插入新增元素"),
+                () -> assertSame(last, fixture.child(5), "尾段节点应原样保留"),
+                () -> assertEquals("[5]", last.data().key(), "尾段序号键应更新"),
+                () -> assertEquals(fixture.expected(), fixture.actual(), "协调结果应与全量解析一致")
+        );
+    }
+
+    /**
+     * 测试夹具：已全部展开的树模型，记录增删事件
+     */
+    private static final class Fixture implements TreeModelListener {
+        private final DefaultTreeModel model;
+        private final JsonTreeNode root;
+        private final List<String> events = new ArrayList<>();
+        private String text;
+
+        private Fixture(final String text) {
+            this.text = text;
+            this.root = new JsonTreeNode(JsonNodeParser.parse("root", text));
+            this.model = new DefaultTreeModel(this.root, Boolean.TRUE);
+            expandAll(this.root);
+            this.model.addTreeModelListener(this);
+        }
+
+        private void apply(final String next) {
+            final JsonNodeParser.EditRange range = JsonNodeParser.editRange(this.text, next);
+            final JsonNodeParser.JsonNode nextRoot = JsonNodeParser.reparse(this.root.data(), next, range);
+            assertNotNull(nextRoot, "合法编辑应能增量解析");
+            new JsonTreeReconciler(this.model, next, range).reconcile(this.root, nextRoot);
+            this.text = next;
+        }
+
+        private JsonTreeNode child(final int index) {
+            return (JsonTreeNode) this.root.getChildAt(index);
+        }
+
+        private List<String> events() {
+            return this.events;
+        }
+
+        private String expected() {
+            final JsonTreeNode fresh = new JsonTreeNode(JsonNodeParser.parse("root", this.text));
+            expandAll(fresh);
+            return dump(fresh);
+        }
+
+        private String actual() {
+            return dump(this.root);
+        }
+
+        private static void expandAll(final JsonTreeNode node) {
+            IntStream.range(0, node.getChildCount()).forEach(index -> expandAll((JsonTreeNode) node.getChildAt(index)));
+        }
+
+        private static String dump(final JsonTreeNode node) {
+            final JsonNodeParser.JsonNode data = node.data();
+            return "%s@%d-%d=%s".formatted(data.key(), data.start(), data.end(), data.preview())
+                    + IntStream.range(0, node.getChildCount())
+                    .mapToObj(index -> dump((JsonTreeNode) node.getChildAt(index)))
+                    .collect(Collectors.joining(",", "(", ")"));
+        }
+
+        @Override
+        public void treeNodesChanged(final TreeModelEvent e) {
+        }
+
+        @Override
+        public void treeNodesInserted(final TreeModelEvent e) {
+            this.events.add("inserted" + Arrays.toString(e.getChildIndices()));
+        }
+
+        @Override
+        public void treeNodesRemoved(final TreeModelEvent e) {
+            this.events.add("removed" + Arrays.toString(e.getChildIndices()));
+        }
+
+        @Override
+        public void treeStructureChanged(final TreeModelEvent e) {
+            this.events.add("structure");
+        }
+    }
+}